@@ -146,3 +146,57 @@ create table qrtz_locks
     lock_name  varchar(40) not null, 
       primary key (sched_name,lock_name)
 );
+
+-- quartz-boot: 分片任务进度（AbstractShardedQuartzJobBean）
+create table qrtz_job_progress (
+    sched_name varchar(120) not null,
+    run_id varchar(95) not null,
+    job_name varchar(200) not null,
+    job_group varchar(200) not null,
+    shard_total integer not null,
+    shard_succeeded integer not null,
+    shard_failed integer not null,
+    start_time bigint not null,
+    primary key (sched_name,run_id)
+);
+
+-- quartz-boot: 分块批处理任务检查点（AbstractChunkedQuartzJobBean）
+create table qrtz_job_checkpoint (
+    sched_name varchar(120) not null,
+    job_name varchar(200) not null,
+    job_group varchar(200) not null,
+    checkpoint_value varchar(1000) null,
+    item_count bigint not null,
+    update_time bigint not null,
+    primary key (sched_name,job_name,job_group)
+);
+
+-- quartz-boot: 任务执行历史（QuartzJobHistoryWriter）
+create table qrtz_job_history (
+    sched_name varchar(120) not null,
+    entry_id varchar(95) not null,
+    job_name varchar(200) not null,
+    job_group varchar(200) not null,
+    trigger_name varchar(200) not null,
+    trigger_group varchar(200) not null,
+    instance_name varchar(200) not null,
+    start_time bigint not null,
+    end_time bigint not null,
+    run_time bigint not null,
+    outcome varchar(16) not null,
+    exception_class varchar(250) null,
+    exception_message varchar(1000) null,
+    primary key (sched_name,entry_id)
+);
+create index idx_qrtz_jh_j_st on qrtz_job_history(sched_name,job_name,job_group,start_time);
+create index idx_qrtz_jh_st on qrtz_job_history(sched_name,start_time);
+
+-- quartz-boot: 分片任务各分片的结束记录（AbstractShardedQuartzJobBean），按分片序号幂等计数
+create table qrtz_job_progress_shards (
+    sched_name varchar(120) not null,
+    run_id varchar(95) not null,
+    shard_index integer not null,
+    succeeded integer not null,
+    end_time bigint not null,
+    primary key (sched_name,run_id,shard_index)
+);
@@ -151,4 +151,58 @@ CREATE TABLE QRTZ_LOCKS (
     CONSTRAINT PK_QRTZ_LOCKS PRIMARY KEY (SCHED_NAME,LOCK_NAME)
 );
 
+-- quartz-boot: 分片任务进度（AbstractShardedQuartzJobBean）
+CREATE TABLE QRTZ_JOB_PROGRESS (
+    SCHED_NAME VARCHAR(120) NOT NULL,
+    RUN_ID VARCHAR(95) NOT NULL,
+    JOB_NAME VARCHAR(200) NOT NULL,
+    JOB_GROUP VARCHAR(200) NOT NULL,
+    SHARD_TOTAL INTEGER NOT NULL,
+    SHARD_SUCCEEDED INTEGER NOT NULL,
+    SHARD_FAILED INTEGER NOT NULL,
+    START_TIME BIGINT NOT NULL,
+    CONSTRAINT PK_QRTZ_JOB_PROGRESS PRIMARY KEY (SCHED_NAME,RUN_ID)
+);
+
+-- quartz-boot: 分块批处理任务检查点（AbstractChunkedQuartzJobBean）
+CREATE TABLE QRTZ_JOB_CHECKPOINT (
+    SCHED_NAME VARCHAR(120) NOT NULL,
+    JOB_NAME VARCHAR(200) NOT NULL,
+    JOB_GROUP VARCHAR(200) NOT NULL,
+    CHECKPOINT_VALUE VARCHAR(1000),
+    ITEM_COUNT BIGINT NOT NULL,
+    UPDATE_TIME BIGINT NOT NULL,
+    CONSTRAINT PK_QRTZ_JOB_CHECKPOINT PRIMARY KEY (SCHED_NAME,JOB_NAME,JOB_GROUP)
+);
+
+-- quartz-boot: 任务执行历史（QuartzJobHistoryWriter）
+CREATE TABLE QRTZ_JOB_HISTORY (
+    SCHED_NAME VARCHAR(120) NOT NULL,
+    ENTRY_ID VARCHAR(95) NOT NULL,
+    JOB_NAME VARCHAR(200) NOT NULL,
+    JOB_GROUP VARCHAR(200) NOT NULL,
+    TRIGGER_NAME VARCHAR(200) NOT NULL,
+    TRIGGER_GROUP VARCHAR(200) NOT NULL,
+    INSTANCE_NAME VARCHAR(200) NOT NULL,
+    START_TIME BIGINT NOT NULL,
+    END_TIME BIGINT NOT NULL,
+    RUN_TIME BIGINT NOT NULL,
+    OUTCOME VARCHAR(16) NOT NULL,
+    EXCEPTION_CLASS VARCHAR(250),
+    EXCEPTION_MESSAGE VARCHAR(1000),
+    CONSTRAINT PK_QRTZ_JOB_HISTORY PRIMARY KEY (SCHED_NAME,ENTRY_ID)
+);
+CREATE INDEX IDX_QRTZ_JH_J_ST ON QRTZ_JOB_HISTORY(SCHED_NAME,JOB_NAME,JOB_GROUP,START_TIME);
+CREATE INDEX IDX_QRTZ_JH_ST ON QRTZ_JOB_HISTORY(SCHED_NAME,START_TIME);
+
+-- quartz-boot: 分片任务各分片的结束记录（AbstractShardedQuartzJobBean），按分片序号幂等计数
+CREATE TABLE QRTZ_JOB_PROGRESS_SHARDS (
+    SCHED_NAME VARCHAR(120) NOT NULL,
+    RUN_ID VARCHAR(95) NOT NULL,
+    SHARD_INDEX INTEGER NOT NULL,
+    SUCCEEDED INTEGER NOT NULL,
+    END_TIME BIGINT NOT NULL,
+    CONSTRAINT PK_QRTZ_JOB_PROGRESS_SHARDS PRIMARY KEY (SCHED_NAME,RUN_ID,SHARD_INDEX)
+);
+
 COMMIT;
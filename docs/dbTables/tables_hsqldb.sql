@@ -159,3 +159,56 @@ LOCK_NAME VARCHAR(40) NOT NULL,
 PRIMARY KEY (SCHED_NAME,LOCK_NAME)
 );
 
+-- quartz-boot: 分片任务进度（AbstractShardedQuartzJobBean）
+CREATE TABLE qrtz_job_progress (
+    SCHED_NAME VARCHAR(120) NOT NULL,
+    RUN_ID VARCHAR(95) NOT NULL,
+    JOB_NAME VARCHAR(200) NOT NULL,
+    JOB_GROUP VARCHAR(200) NOT NULL,
+    SHARD_TOTAL INTEGER NOT NULL,
+    SHARD_SUCCEEDED INTEGER NOT NULL,
+    SHARD_FAILED INTEGER NOT NULL,
+    START_TIME NUMERIC(13) NOT NULL,
+    PRIMARY KEY (SCHED_NAME,RUN_ID)
+);
+
+-- quartz-boot: 分块批处理任务检查点（AbstractChunkedQuartzJobBean）
+CREATE TABLE qrtz_job_checkpoint (
+    SCHED_NAME VARCHAR(120) NOT NULL,
+    JOB_NAME VARCHAR(200) NOT NULL,
+    JOB_GROUP VARCHAR(200) NOT NULL,
+    CHECKPOINT_VALUE VARCHAR(1000) NULL,
+    ITEM_COUNT NUMERIC(13) NOT NULL,
+    UPDATE_TIME NUMERIC(13) NOT NULL,
+    PRIMARY KEY (SCHED_NAME,JOB_NAME,JOB_GROUP)
+);
+
+-- quartz-boot: 任务执行历史（QuartzJobHistoryWriter）
+CREATE TABLE qrtz_job_history (
+    SCHED_NAME VARCHAR(120) NOT NULL,
+    ENTRY_ID VARCHAR(95) NOT NULL,
+    JOB_NAME VARCHAR(200) NOT NULL,
+    JOB_GROUP VARCHAR(200) NOT NULL,
+    TRIGGER_NAME VARCHAR(200) NOT NULL,
+    TRIGGER_GROUP VARCHAR(200) NOT NULL,
+    INSTANCE_NAME VARCHAR(200) NOT NULL,
+    START_TIME NUMERIC(13) NOT NULL,
+    END_TIME NUMERIC(13) NOT NULL,
+    RUN_TIME NUMERIC(13) NOT NULL,
+    OUTCOME VARCHAR(16) NOT NULL,
+    EXCEPTION_CLASS VARCHAR(250) NULL,
+    EXCEPTION_MESSAGE VARCHAR(1000) NULL,
+    PRIMARY KEY (SCHED_NAME,ENTRY_ID)
+);
+CREATE INDEX idx_qrtz_jh_j_st ON qrtz_job_history(SCHED_NAME,JOB_NAME,JOB_GROUP,START_TIME);
+CREATE INDEX idx_qrtz_jh_st ON qrtz_job_history(SCHED_NAME,START_TIME);
+
+-- quartz-boot: 分片任务各分片的结束记录（AbstractShardedQuartzJobBean），按分片序号幂等计数
+CREATE TABLE qrtz_job_progress_shards (
+    SCHED_NAME VARCHAR(120) NOT NULL,
+    RUN_ID VARCHAR(95) NOT NULL,
+    SHARD_INDEX INTEGER NOT NULL,
+    SUCCEEDED INTEGER NOT NULL,
+    END_TIME NUMERIC(13) NOT NULL,
+    PRIMARY KEY (SCHED_NAME,RUN_ID,SHARD_INDEX)
+);
@@ -184,3 +184,56 @@ ALTER TABLE qtriggers
 ADD CONSTRAINT FOREIGN KEY (SCHED_NAME,JOB_NAME, JOB_GROUP)
 REFERENCES qjob_details; 
 
+-- quartz-boot: 分片任务进度（AbstractShardedQuartzJobBean）
+CREATE TABLE qjob_progress (
+    SCHED_NAME VARCHAR(120) NOT NULL,
+    RUN_ID VARCHAR(95) NOT NULL,
+    JOB_NAME VARCHAR(200) NOT NULL,
+    JOB_GROUP VARCHAR(200) NOT NULL,
+    SHARD_TOTAL integer NOT NULL,
+    SHARD_SUCCEEDED integer NOT NULL,
+    SHARD_FAILED integer NOT NULL,
+    START_TIME numeric(13) NOT NULL,
+    PRIMARY KEY (SCHED_NAME,RUN_ID)
+);
+
+-- quartz-boot: 分块批处理任务检查点（AbstractChunkedQuartzJobBean）
+CREATE TABLE qjob_checkpoint (
+    SCHED_NAME VARCHAR(120) NOT NULL,
+    JOB_NAME VARCHAR(200) NOT NULL,
+    JOB_GROUP VARCHAR(200) NOT NULL,
+    CHECKPOINT_VALUE VARCHAR(1000),
+    ITEM_COUNT numeric(13) NOT NULL,
+    UPDATE_TIME numeric(13) NOT NULL,
+    PRIMARY KEY (SCHED_NAME,JOB_NAME,JOB_GROUP)
+);
+
+-- quartz-boot: 任务执行历史（QuartzJobHistoryWriter）
+CREATE TABLE qjob_history (
+    SCHED_NAME VARCHAR(120) NOT NULL,
+    ENTRY_ID VARCHAR(95) NOT NULL,
+    JOB_NAME VARCHAR(200) NOT NULL,
+    JOB_GROUP VARCHAR(200) NOT NULL,
+    TRIGGER_NAME VARCHAR(200) NOT NULL,
+    TRIGGER_GROUP VARCHAR(200) NOT NULL,
+    INSTANCE_NAME VARCHAR(200) NOT NULL,
+    START_TIME numeric(13) NOT NULL,
+    END_TIME numeric(13) NOT NULL,
+    RUN_TIME numeric(13) NOT NULL,
+    OUTCOME VARCHAR(16) NOT NULL,
+    EXCEPTION_CLASS VARCHAR(250),
+    EXCEPTION_MESSAGE VARCHAR(1000),
+    PRIMARY KEY (SCHED_NAME,ENTRY_ID)
+);
+CREATE INDEX idx_qrtz_jh_j_st ON qjob_history(SCHED_NAME,JOB_NAME,JOB_GROUP,START_TIME);
+CREATE INDEX idx_qrtz_jh_st ON qjob_history(SCHED_NAME,START_TIME);
+
+-- quartz-boot: 分片任务各分片的结束记录（AbstractShardedQuartzJobBean），按分片序号幂等计数
+CREATE TABLE qjob_progress_shards (
+    SCHED_NAME VARCHAR(120) NOT NULL,
+    RUN_ID VARCHAR(95) NOT NULL,
+    SHARD_INDEX integer NOT NULL,
+    SUCCEEDED integer NOT NULL,
+    END_TIME numeric(13) NOT NULL,
+    PRIMARY KEY (SCHED_NAME,RUN_ID,SHARD_INDEX)
+);
@@ -190,4 +190,56 @@ create index idx_qrtz_ft_jg on qrtz_fired_triggers(SCHED_NAME,JOB_GROUP);
 create index idx_qrtz_ft_t_g on qrtz_fired_triggers(SCHED_NAME,TRIGGER_NAME,TRIGGER_GROUP);
 create index idx_qrtz_ft_tg on qrtz_fired_triggers(SCHED_NAME,TRIGGER_GROUP);
 
+-- quartz-boot: 分片任务进度（AbstractShardedQuartzJobBean）
+CREATE TABLE qrtz_job_progress (
+    SCHED_NAME VARCHAR2(120) NOT NULL,
+    RUN_ID VARCHAR2(95) NOT NULL,
+    JOB_NAME VARCHAR2(200) NOT NULL,
+    JOB_GROUP VARCHAR2(200) NOT NULL,
+    SHARD_TOTAL NUMBER(13) NOT NULL,
+    SHARD_SUCCEEDED NUMBER(13) NOT NULL,
+    SHARD_FAILED NUMBER(13) NOT NULL,
+    START_TIME NUMBER(13) NOT NULL,
+    PRIMARY KEY (SCHED_NAME,RUN_ID)
+);
+
+-- quartz-boot: 分块批处理任务检查点（AbstractChunkedQuartzJobBean）
+CREATE TABLE qrtz_job_checkpoint (
+    SCHED_NAME VARCHAR2(120) NOT NULL,
+    JOB_NAME VARCHAR2(200) NOT NULL,
+    JOB_GROUP VARCHAR2(200) NOT NULL,
+    CHECKPOINT_VALUE VARCHAR2(1000) NULL,
+    ITEM_COUNT NUMBER(13) NOT NULL,
+    UPDATE_TIME NUMBER(13) NOT NULL,
+    PRIMARY KEY (SCHED_NAME,JOB_NAME,JOB_GROUP)
+);
 
+-- quartz-boot: 任务执行历史（QuartzJobHistoryWriter）
+CREATE TABLE qrtz_job_history (
+    SCHED_NAME VARCHAR2(120) NOT NULL,
+    ENTRY_ID VARCHAR2(95) NOT NULL,
+    JOB_NAME VARCHAR2(200) NOT NULL,
+    JOB_GROUP VARCHAR2(200) NOT NULL,
+    TRIGGER_NAME VARCHAR2(200) NOT NULL,
+    TRIGGER_GROUP VARCHAR2(200) NOT NULL,
+    INSTANCE_NAME VARCHAR2(200) NOT NULL,
+    START_TIME NUMBER(13) NOT NULL,
+    END_TIME NUMBER(13) NOT NULL,
+    RUN_TIME NUMBER(13) NOT NULL,
+    OUTCOME VARCHAR2(16) NOT NULL,
+    EXCEPTION_CLASS VARCHAR2(250) NULL,
+    EXCEPTION_MESSAGE VARCHAR2(1000) NULL,
+    PRIMARY KEY (SCHED_NAME,ENTRY_ID)
+);
+CREATE INDEX idx_qrtz_jh_j_st ON qrtz_job_history(SCHED_NAME,JOB_NAME,JOB_GROUP,START_TIME);
+CREATE INDEX idx_qrtz_jh_st ON qrtz_job_history(SCHED_NAME,START_TIME);
+
+-- quartz-boot: 分片任务各分片的结束记录（AbstractShardedQuartzJobBean），按分片序号幂等计数
+CREATE TABLE qrtz_job_progress_shards (
+    SCHED_NAME VARCHAR2(120) NOT NULL,
+    RUN_ID VARCHAR2(95) NOT NULL,
+    SHARD_INDEX NUMBER(13) NOT NULL,
+    SUCCEEDED NUMBER(13) NOT NULL,
+    END_TIME NUMBER(13) NOT NULL,
+    PRIMARY KEY (SCHED_NAME,RUN_ID,SHARD_INDEX)
+);
@@ -347,3 +347,62 @@ ALTER TABLE [dbo].[QRTZ_TRIGGERS] ADD
   )
 GO
 
+-- quartz-boot: 分片任务进度（AbstractShardedQuartzJobBean）
+CREATE TABLE [dbo].[QRTZ_JOB_PROGRESS] (
+    [SCHED_NAME] [VARCHAR] (120) NOT NULL,
+    [RUN_ID] [VARCHAR] (95) NOT NULL,
+    [JOB_NAME] [VARCHAR] (200) NOT NULL,
+    [JOB_GROUP] [VARCHAR] (200) NOT NULL,
+    [SHARD_TOTAL] [INTEGER] NOT NULL,
+    [SHARD_SUCCEEDED] [INTEGER] NOT NULL,
+    [SHARD_FAILED] [INTEGER] NOT NULL,
+    [START_TIME] [BIGINT] NOT NULL,
+    CONSTRAINT [PK_QRTZ_JOB_PROGRESS] PRIMARY KEY ([SCHED_NAME],[RUN_ID])
+) ON [PRIMARY]
+GO
+
+-- quartz-boot: 分块批处理任务检查点（AbstractChunkedQuartzJobBean）
+CREATE TABLE [dbo].[QRTZ_JOB_CHECKPOINT] (
+    [SCHED_NAME] [VARCHAR] (120) NOT NULL,
+    [JOB_NAME] [VARCHAR] (200) NOT NULL,
+    [JOB_GROUP] [VARCHAR] (200) NOT NULL,
+    [CHECKPOINT_VALUE] [VARCHAR] (1000) NULL,
+    [ITEM_COUNT] [BIGINT] NOT NULL,
+    [UPDATE_TIME] [BIGINT] NOT NULL,
+    CONSTRAINT [PK_QRTZ_JOB_CHECKPOINT] PRIMARY KEY ([SCHED_NAME],[JOB_NAME],[JOB_GROUP])
+) ON [PRIMARY]
+GO
+
+-- quartz-boot: 任务执行历史（QuartzJobHistoryWriter）
+CREATE TABLE [dbo].[QRTZ_JOB_HISTORY] (
+    [SCHED_NAME] [VARCHAR] (120) NOT NULL,
+    [ENTRY_ID] [VARCHAR] (95) NOT NULL,
+    [JOB_NAME] [VARCHAR] (200) NOT NULL,
+    [JOB_GROUP] [VARCHAR] (200) NOT NULL,
+    [TRIGGER_NAME] [VARCHAR] (200) NOT NULL,
+    [TRIGGER_GROUP] [VARCHAR] (200) NOT NULL,
+    [INSTANCE_NAME] [VARCHAR] (200) NOT NULL,
+    [START_TIME] [BIGINT] NOT NULL,
+    [END_TIME] [BIGINT] NOT NULL,
+    [RUN_TIME] [BIGINT] NOT NULL,
+    [OUTCOME] [VARCHAR] (16) NOT NULL,
+    [EXCEPTION_CLASS] [VARCHAR] (250) NULL,
+    [EXCEPTION_MESSAGE] [VARCHAR] (1000) NULL,
+    CONSTRAINT [PK_QRTZ_JOB_HISTORY] PRIMARY KEY ([SCHED_NAME],[ENTRY_ID])
+) ON [PRIMARY]
+GO
+CREATE INDEX IDX_QRTZ_JH_J_ST ON [dbo].[QRTZ_JOB_HISTORY]([SCHED_NAME],[JOB_NAME],[JOB_GROUP],[START_TIME])
+GO
+CREATE INDEX IDX_QRTZ_JH_ST ON [dbo].[QRTZ_JOB_HISTORY]([SCHED_NAME],[START_TIME])
+GO
+
+-- quartz-boot: 分片任务各分片的结束记录（AbstractShardedQuartzJobBean），按分片序号幂等计数
+CREATE TABLE [dbo].[QRTZ_JOB_PROGRESS_SHARDS] (
+    [SCHED_NAME] [VARCHAR] (120) NOT NULL,
+    [RUN_ID] [VARCHAR] (95) NOT NULL,
+    [SHARD_INDEX] [INTEGER] NOT NULL,
+    [SUCCEEDED] [INTEGER] NOT NULL,
+    [END_TIME] [BIGINT] NOT NULL,
+    CONSTRAINT [PK_QRTZ_JOB_PROGRESS_SHARDS] PRIMARY KEY ([SCHED_NAME],[RUN_ID],[SHARD_INDEX])
+) ON [PRIMARY]
+GO
@@ -308,6 +308,66 @@ add constraint FK_blob_triggers_triggers foreign key (SCHED_NAME,TRIGGER_NAME,TR
 references QRTZ_TRIGGERS (SCHED_NAME,TRIGGER_NAME,TRIGGER_GROUP)
 go
 
+-- quartz-boot: 分片任务进度（AbstractShardedQuartzJobBean）
+create table QRTZ_JOB_PROGRESS (
+    SCHED_NAME varchar(120) not null,
+    RUN_ID varchar(95) not null,
+    JOB_NAME varchar(200) not null,
+    JOB_GROUP varchar(200) not null,
+    SHARD_TOTAL int not null,
+    SHARD_SUCCEEDED int not null,
+    SHARD_FAILED int not null,
+    START_TIME numeric(13,0) not null,
+    primary key (SCHED_NAME,RUN_ID)
+)
+go
+
+-- quartz-boot: 分块批处理任务检查点（AbstractChunkedQuartzJobBean）
+create table QRTZ_JOB_CHECKPOINT (
+    SCHED_NAME varchar(120) not null,
+    JOB_NAME varchar(200) not null,
+    JOB_GROUP varchar(200) not null,
+    CHECKPOINT_VALUE varchar(1000) null,
+    ITEM_COUNT numeric(13,0) not null,
+    UPDATE_TIME numeric(13,0) not null,
+    primary key (SCHED_NAME,JOB_NAME,JOB_GROUP)
+)
+go
+
+-- quartz-boot: 任务执行历史（QuartzJobHistoryWriter）
+create table QRTZ_JOB_HISTORY (
+    SCHED_NAME varchar(120) not null,
+    ENTRY_ID varchar(95) not null,
+    JOB_NAME varchar(200) not null,
+    JOB_GROUP varchar(200) not null,
+    TRIGGER_NAME varchar(200) not null,
+    TRIGGER_GROUP varchar(200) not null,
+    INSTANCE_NAME varchar(200) not null,
+    START_TIME numeric(13,0) not null,
+    END_TIME numeric(13,0) not null,
+    RUN_TIME numeric(13,0) not null,
+    OUTCOME varchar(16) not null,
+    EXCEPTION_CLASS varchar(250) null,
+    EXCEPTION_MESSAGE varchar(1000) null,
+    primary key (SCHED_NAME,ENTRY_ID)
+)
+go
+create index IDX_QRTZ_JH_J_ST on QRTZ_JOB_HISTORY(SCHED_NAME,JOB_NAME,JOB_GROUP,START_TIME)
+go
+create index IDX_QRTZ_JH_ST on QRTZ_JOB_HISTORY(SCHED_NAME,START_TIME)
+go
+
+-- quartz-boot: 分片任务各分片的结束记录（AbstractShardedQuartzJobBean），按分片序号幂等计数
+create table QRTZ_JOB_PROGRESS_SHARDS (
+    SCHED_NAME varchar(120) not null,
+    RUN_ID varchar(95) not null,
+    SHARD_INDEX int not null,
+    SUCCEEDED int not null,
+    END_TIME numeric(13,0) not null,
+    primary key (SCHED_NAME,RUN_ID,SHARD_INDEX)
+)
+go
+
 /*==============================================================================*/
 /* End of script. */
 /*==============================================================================*/
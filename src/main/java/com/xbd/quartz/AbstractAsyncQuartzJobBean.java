@@ -0,0 +1,192 @@
+package com.xbd.quartz;
+
+import org.quartz.DisallowConcurrentExecution;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.quartz.utils.ClassUtils;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 异步定时任务QuartzJobBean
+ * <p>{@link #executeAsync(JobExecutionContext)}返回{@link CompletionStage}后立即释放Quartz工作线程，任务实际在{@link CompletionStage}完成时结束.
+ * 完成结果通过{@link JobExecutionContext#setResult(Object)}设置，异常包装为{@link JobExecutionException}.
+ * <p>{@link QuartzListenerRegister}注册的JobListener、TriggerListener，其{@code jobWasExecuted}、{@code triggerComplete}
+ * 在{@link CompletionStage}完成后回调，见{@link #COMPLETION_STAGE_KEY}.
+ * <p>同一任务类同时未完成的执行数量不超过{@link #maxInFlight()}，超出时工作线程等待，避免无限制扇出.
+ * <p>注意：
+ * <ul>
+ *     <li>推迟回调仅对{@link QuartzListenerRegister}包装注册的监听器生效. 直接添加到{@code ListenerManager}的全局监听器、
+ *     {@code LoggingJobHistoryPlugin}等插件，以及{@code JobRunShell}中的{@code triggeredJobComplete}（完成Trigger、
+ *     解除{@link DisallowConcurrentExecution}的阻塞、持久化JobDataMap）仍在工作线程返回时执行，此时异步执行可能尚未完成</li>
+ *     <li>因此标记{@link DisallowConcurrentExecution}的任务将在工作线程中等待完成，以保证不并发执行；
+ *     等待被超时或{@code Scheduler.interrupt}中断时工作线程提前返回，任务可能在异步执行结束前再次触发</li>
+ *     <li>{@code PersistJobDataAfterExecution}仅能持久化工作线程返回前对JobDataMap的修改</li>
+ * </ul>
+ *
+ * @author luas
+ * @since 2.0
+ */
+public abstract class AbstractAsyncQuartzJobBean extends AbstractQuartzJobBean {
+
+	/**
+	 * {@link JobExecutionContext}中保存完成通知{@link CompletableFuture}的Key
+	 */
+	public static final String COMPLETION_STAGE_KEY = AbstractAsyncQuartzJobBean.class.getName() + ".completionStage";
+
+	/**
+	 * 默认同时未完成的执行数量上限
+	 */
+	public static final int DEFAULT_MAX_IN_FLIGHT = 1000;
+
+	private static final Map<Class<?>, InFlight> IN_FLIGHT = new ConcurrentHashMap<>();
+
+	/**
+	 * 获取执行的完成通知
+	 *
+	 * @param context 任务执行上下文
+	 * @return 完成通知，同步任务返回null
+	 */
+	@SuppressWarnings("unchecked")
+	public static CompletableFuture<Object> getCompletion(JobExecutionContext context) {
+		return (CompletableFuture<Object>) context.get(COMPLETION_STAGE_KEY);
+	}
+
+	/**
+	 * 获取任务类当前未完成的执行数量
+	 *
+	 * @param jobClass 任务类
+	 * @return 未完成的执行数量
+	 */
+	public static int getInFlight(Class<? extends AbstractAsyncQuartzJobBean> jobClass) {
+		InFlight inFlight = IN_FLIGHT.get(jobClass);
+
+		return inFlight == null ? 0 : inFlight.permits - inFlight.semaphore.availablePermits();
+	}
+
+	@Override
+	protected final void executeInternalInternal(JobExecutionContext context) throws JobExecutionException {
+		InFlight inFlight = IN_FLIGHT.computeIfAbsent(getClass(), jobClass -> new InFlight(maxInFlight()));
+
+		Semaphore semaphore = inFlight.semaphore;
+
+		try {
+			semaphore.acquire();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+
+			throw new JobExecutionException("任务" + name() + "等待执行许可时被中断！", e);
+		}
+
+		CompletionStage<?> stage;
+
+		try {
+			stage = executeAsync(context);
+		} catch (JobExecutionException e) {
+			semaphore.release();
+			throw e;
+		} catch (Exception e) {
+			semaphore.release();
+			throw new JobExecutionException(e);
+		}
+
+		if (stage == null) {
+			semaphore.release();
+			return;
+		}
+
+		try {
+			QuartzJobWatchdog.attach(context, stage.toCompletableFuture());
+		} catch (UnsupportedOperationException e) {
+			// 不支持转换的CompletionStage无法在超时时结束，仅记录超时
+		}
+
+		CompletableFuture<Object> completion = new CompletableFuture<>();
+
+		context.put(COMPLETION_STAGE_KEY, completion);
+
+		stage.whenComplete((result, failure) -> {
+			semaphore.release();
+
+			if (failure == null) {
+				context.setResult(result);
+				completion.complete(result);
+			} else {
+				completion.completeExceptionally(toJobExecutionException(failure));
+			}
+		});
+
+		if (inFlight.concurrentExecutionDisallowed(getClass())) {
+			try {
+				completion.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+
+				throw new JobExecutionException("任务" + name() + "等待完成时被中断！", e);
+			} catch (ExecutionException e) {
+				throw (JobExecutionException) e.getCause();
+			}
+		}
+	}
+
+	/**
+	 * 同一任务类同时未完成的执行数量上限，首次执行时读取
+	 */
+	protected int maxInFlight() {
+		return DEFAULT_MAX_IN_FLIGHT;
+	}
+
+	/**
+	 * 异步执行任务
+	 *
+	 * @param context 任务执行上下文
+	 * @return 任务完成时结束的{@link CompletionStage}，返回null表示已同步完成
+	 * @throws Exception 同步阶段的异常
+	 */
+	protected abstract CompletionStage<?> executeAsync(JobExecutionContext context) throws Exception;
+
+	/**
+	 * 将异步执行的异常转换为{@link JobExecutionException}
+	 *
+	 * @param failure 异常
+	 * @return {@link JobExecutionException}
+	 */
+	public static JobExecutionException toJobExecutionException(Throwable failure) {
+		Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+
+		return cause instanceof JobExecutionException ? (JobExecutionException) cause : new JobExecutionException(cause);
+	}
+
+	private static final class InFlight {
+
+		private final int permits;
+
+		private final Semaphore semaphore;
+
+		private volatile Boolean concurrentExecutionDisallowed;
+
+		private InFlight(int permits) {
+			this.permits = permits > 0 ? permits : DEFAULT_MAX_IN_FLIGHT;
+			this.semaphore = new Semaphore(this.permits);
+		}
+
+		private boolean concurrentExecutionDisallowed(Class<?> jobClass) {
+			Boolean disallowed = concurrentExecutionDisallowed;
+
+			if (disallowed == null) {
+				disallowed = ClassUtils.isAnnotationPresent(jobClass, DisallowConcurrentExecution.class);
+				concurrentExecutionDisallowed = disallowed;
+			}
+
+			return disallowed;
+		}
+
+	}
+
+}
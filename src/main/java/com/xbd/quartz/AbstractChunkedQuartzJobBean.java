@@ -0,0 +1,219 @@
+package com.xbd.quartz;
+
+import com.xbd.quartz.batch.QuartzCheckpoint;
+import com.xbd.quartz.batch.QuartzItemProcessor;
+import com.xbd.quartz.batch.QuartzItemReader;
+import com.xbd.quartz.batch.QuartzItemWriter;
+import com.xbd.quartz.jdbcjobstore.QuartzJobStoreTX;
+import org.apache.commons.lang3.StringUtils;
+import org.quartz.DisallowConcurrentExecution;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.quartz.JobKey;
+import org.quartz.SchedulerException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 分块批处理定时任务QuartzJobBean
+ * <p>按读取{@link QuartzItemReader}、处理{@link QuartzItemProcessor}、写入{@link QuartzItemWriter}的流程执行，
+ * 每读取{@link #CHUNK_SIZE_KEY}（见{@code QuartzJobBuilder.withChunkSize}，默认{@value #DEFAULT_CHUNK_SIZE}）条数据写入一次，
+ * 写入成功后保存读取位置作为检查点. 使用{@link QuartzJobStoreTX}时检查点保存在{@code QRTZ_JOB_CHECKPOINT}表中，否则保存在本节点内存中.
+ * <p>执行失败、超时或节点宕机时保留检查点，下一次执行从检查点继续读取，全部写入后删除检查点.
+ * 任务设置{@code requestRecovery}后，节点宕机时集群中接手的节点立即恢复执行.
+ * <p>写入成功与保存检查点之间节点宕机时，恢复执行会再次写入最后一块数据，{@link QuartzItemWriter}应当幂等.
+ * 同一任务不允许并发执行，检查点按JobKey保存.
+ *
+ * @param <I> 读取的数据类型
+ * @param <O> 写入的数据类型
+ * @author luas
+ * @since 2.0
+ */
+@DisallowConcurrentExecution
+public abstract class AbstractChunkedQuartzJobBean<I, O> extends AbstractQuartzJobBean {
+
+	/**
+	 * JobDataMap中每块数据条数的Key
+	 */
+	public static final String CHUNK_SIZE_KEY = "jobChunkSize";
+
+	public static final int DEFAULT_CHUNK_SIZE = 100;
+
+	private static final Map<JobKey, QuartzCheckpoint> LOCAL_CHECKPOINTS = new ConcurrentHashMap<>();
+
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	@Override
+	protected final void executeInternalInternal(JobExecutionContext context) throws JobExecutionException {
+		JobKey jobKey = context.getJobDetail().getKey();
+		QuartzJobStoreTX jobStore = jobStore(context);
+
+		QuartzCheckpoint checkpoint = loadCheckpoint(jobStore, jobKey);
+
+		if (checkpoint != null) {
+			this.logger.info("任务{}从检查点{}继续执行，已读取{}条", name(), checkpoint.getValue(), checkpoint.getItemCount());
+		}
+
+		int chunkSize = chunkSize(context);
+		long itemCount = checkpoint == null ? 0L : checkpoint.getItemCount();
+
+		QuartzItemReader<? extends I> reader = reader(context);
+		QuartzItemProcessor<? super I, ? extends O> processor = processor(context);
+		QuartzItemWriter<? super O> writer = writer(context);
+
+		try {
+			reader.open(checkpoint == null ? null : checkpoint.getValue());
+
+			List<O> chunk = new ArrayList<>(chunkSize);
+			boolean exhausted = false;
+
+			while (!exhausted) {
+				if (Thread.currentThread().isInterrupted()) {
+					throw new JobExecutionException("任务" + name() + "执行被中断，已读取" + itemCount + "条！");
+				}
+
+				int read = 0;
+
+				while (read < chunkSize) {
+					I item = reader.read();
+
+					if (item == null) {
+						exhausted = true;
+						break;
+					}
+
+					read++;
+
+					O output = processor.process(item);
+
+					if (output != null) {
+						chunk.add(output);
+					}
+				}
+
+				if (read == 0) {
+					break;
+				}
+
+				if (!chunk.isEmpty()) {
+					writer.write(chunk);
+					chunk = new ArrayList<>(chunkSize);
+				}
+
+				itemCount += read;
+
+				saveCheckpoint(jobStore, jobKey, reader.checkpoint(), itemCount);
+			}
+		} catch (JobExecutionException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new JobExecutionException("任务" + name() + "执行失败，已读取" + itemCount + "条！", e);
+		} finally {
+			try {
+				reader.close();
+			} catch (Exception e) {
+				this.logger.warn("任务" + name() + "关闭读取失败", e);
+			}
+		}
+
+		deleteCheckpoint(jobStore, jobKey);
+
+		context.setResult(itemCount);
+
+		onCompleted(context, itemCount);
+	}
+
+	/**
+	 * 本次执行的数据读取，每次执行调用一次
+	 */
+	protected abstract QuartzItemReader<? extends I> reader(JobExecutionContext context) throws JobExecutionException;
+
+	/**
+	 * 本次执行的数据处理，每次执行调用一次，默认原样写入
+	 */
+	@SuppressWarnings("unchecked")
+	protected QuartzItemProcessor<? super I, ? extends O> processor(JobExecutionContext context) throws JobExecutionException {
+		return item -> (O) item;
+	}
+
+	/**
+	 * 本次执行的数据写入，每次执行调用一次
+	 */
+	protected abstract QuartzItemWriter<? super O> writer(JobExecutionContext context) throws JobExecutionException;
+
+	/**
+	 * 全部数据写入完成，检查点已删除
+	 *
+	 * @param context   任务执行上下文
+	 * @param itemCount 读取的数据条数，包括之前中断的执行读取的条数
+	 * @throws JobExecutionException 回调异常
+	 */
+	protected void onCompleted(JobExecutionContext context, long itemCount) throws JobExecutionException {
+
+	}
+
+	/**
+	 * 每块数据条数
+	 */
+	protected int chunkSize(JobExecutionContext context) {
+		Object chunkSize = context.getMergedJobDataMap().get(CHUNK_SIZE_KEY);
+
+		if (chunkSize == null || StringUtils.isBlank(chunkSize.toString())) {
+			return DEFAULT_CHUNK_SIZE;
+		}
+
+		return Math.max(1, Integer.parseInt(chunkSize.toString().trim()));
+	}
+
+	private QuartzJobStoreTX jobStore(JobExecutionContext context) throws JobExecutionException {
+		try {
+			return QuartzJobStoreTX.getInstance(context.getScheduler().getSchedulerName());
+		} catch (SchedulerException e) {
+			throw new JobExecutionException("任务" + name() + "获取调度器失败！", e);
+		}
+	}
+
+	private QuartzCheckpoint loadCheckpoint(QuartzJobStoreTX jobStore, JobKey jobKey) throws JobExecutionException {
+		if (jobStore == null) {
+			return LOCAL_CHECKPOINTS.get(jobKey);
+		}
+
+		try {
+			return jobStore.selectJobCheckpoint(jobKey);
+		} catch (SchedulerException e) {
+			throw new JobExecutionException("任务" + name() + "读取检查点失败！", e);
+		}
+	}
+
+	private void saveCheckpoint(QuartzJobStoreTX jobStore, JobKey jobKey, String checkpoint, long itemCount) throws JobExecutionException {
+		if (jobStore == null) {
+			LOCAL_CHECKPOINTS.put(jobKey, new QuartzCheckpoint(checkpoint, itemCount, System.currentTimeMillis()));
+			return;
+		}
+
+		try {
+			jobStore.saveJobCheckpoint(jobKey, checkpoint, itemCount);
+		} catch (SchedulerException e) {
+			throw new JobExecutionException("任务" + name() + "保存检查点失败，已读取" + itemCount + "条！", e);
+		}
+	}
+
+	private void deleteCheckpoint(QuartzJobStoreTX jobStore, JobKey jobKey) {
+		if (jobStore == null) {
+			LOCAL_CHECKPOINTS.remove(jobKey);
+			return;
+		}
+
+		try {
+			jobStore.deleteJobCheckpoint(jobKey);
+		} catch (SchedulerException e) {
+			this.logger.error("任务" + name() + "删除检查点失败，下次执行将从最后的检查点继续", e);
+		}
+	}
+
+}
@@ -0,0 +1,156 @@
+package com.xbd.quartz;
+
+import org.quartz.DisallowConcurrentExecution;
+import org.quartz.JobExecutionContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 微批次定时任务QuartzJobBean
+ * <p>适用于大量同一任务类、同一时刻触发的轻量任务（如每个实体一个任务）. 合并在线程池分发前完成：
+ * {@link com.xbd.quartz.executor.MicroBatchTaskExecutor}将同一任务类在{@link #batchWindowMillis()}内交给线程池的触发合并为一个工作线程任务，
+ * 各触发只登记为批次中的一项，全部登记后调用一次{@link #executeBatch(List)}，不为每次触发单独占用工作线程或等待批次窗口.
+ * 未配置{@link com.xbd.quartz.executor.MicroBatchTaskExecutor}时，每次触发以只含一项的批次直接执行.
+ * <p>每次触发的结果通过{@link QuartzMicroBatchItem#succeed(Object)}、{@link QuartzMicroBatchItem#fail(Throwable)}报告，
+ * {@link #executeBatch(List)}返回时未报告的触发视为成功，抛出异常时未报告的触发均以该异常失败.
+ * JobListener、TriggerListener仍按每次触发回调，见{@link AbstractAsyncQuartzJobBean}.
+ * <p>注意：
+ * <ul>
+ *     <li>标记{@link DisallowConcurrentExecution}的任务不合并</li>
+ *     <li>批次在第一次触发的任务实例上执行，其超时时间限制整个批次；配合{@code AutowiredSpringBeanJobFactory.setJobInstanceCaching(true)}
+ *     及{@link StatelessJob}可同时省去其余触发的实例创建及注入</li>
+ *     <li>批次大小不超过{@link #maxBatchSize()}及{@link #maxInFlight()}</li>
+ * </ul>
+ *
+ * @author luas
+ * @since 2.0
+ */
+public abstract class AbstractMicroBatchQuartzJobBean extends AbstractAsyncQuartzJobBean {
+
+	/**
+	 * {@link JobExecutionContext}中保存所属{@link QuartzMicroBatch}的Key
+	 */
+	public static final String MICRO_BATCH_KEY = AbstractMicroBatchQuartzJobBean.class.getName() + ".microBatch";
+
+	/**
+	 * 默认批次窗口，单位：毫秒
+	 */
+	public static final long DEFAULT_BATCH_WINDOW_MILLIS = 20L;
+
+	/**
+	 * 默认批次大小上限
+	 */
+	public static final int DEFAULT_MAX_BATCH_SIZE = 500;
+
+	private static final Map<Class<?>, Counters> COUNTERS = new ConcurrentHashMap<>();
+
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	/**
+	 * 获取任务类已执行的批次数量
+	 *
+	 * @param jobClass 任务类
+	 * @return 批次数量
+	 */
+	public static long getBatchCount(Class<? extends AbstractMicroBatchQuartzJobBean> jobClass) {
+		Counters counters = COUNTERS.get(jobClass);
+
+		return counters == null ? 0L : counters.batches.get();
+	}
+
+	/**
+	 * 获取任务类已合并执行的触发数量
+	 *
+	 * @param jobClass 任务类
+	 * @return 触发数量
+	 */
+	public static long getItemCount(Class<? extends AbstractMicroBatchQuartzJobBean> jobClass) {
+		Counters counters = COUNTERS.get(jobClass);
+
+		return counters == null ? 0L : counters.items.get();
+	}
+
+	@Override
+	protected final CompletionStage<?> executeAsync(JobExecutionContext context) throws Exception {
+		QuartzMicroBatchItem item = new QuartzMicroBatchItem(context);
+
+		Object batch = context.get(MICRO_BATCH_KEY);
+
+		if (batch instanceof QuartzMicroBatch) {
+			((QuartzMicroBatch) batch).add(this, item);
+		} else {
+			execute(Collections.singletonList(item));
+		}
+
+		return item.getFuture();
+	}
+
+	/**
+	 * 执行一个批次
+	 *
+	 * @param items 批次中的触发，按触发先后排列
+	 * @throws Exception 批次执行失败，未报告结果的触发均以该异常失败
+	 */
+	protected abstract void executeBatch(List<QuartzMicroBatchItem> items) throws Exception;
+
+	/**
+	 * 批次窗口，单位：毫秒，自批次第一次触发交给线程池开始计时
+	 */
+	protected long batchWindowMillis() {
+		return DEFAULT_BATCH_WINDOW_MILLIS;
+	}
+
+	/**
+	 * 批次大小上限，达到上限时立即分发
+	 */
+	protected int maxBatchSize() {
+		return DEFAULT_MAX_BATCH_SIZE;
+	}
+
+	void execute(List<QuartzMicroBatchItem> items) {
+		Counters counters = COUNTERS.computeIfAbsent(getClass(), jobClass -> new Counters());
+
+		counters.batches.incrementAndGet();
+		counters.items.addAndGet(items.size());
+
+		if (this.logger.isDebugEnabled()) {
+			this.logger.debug("任务{}合并{}次触发为一个批次", name(), items.size());
+		}
+
+		try {
+			executeBatch(items);
+		} catch (Exception e) {
+			this.logger.error("任务" + name() + "批次执行失败，共" + items.size() + "次触发", e);
+
+			for (QuartzMicroBatchItem item : items) {
+				item.fail(e);
+			}
+		} catch (Error e) {
+			for (QuartzMicroBatchItem item : items) {
+				item.fail(e);
+			}
+
+			throw e;
+		}
+
+		for (QuartzMicroBatchItem item : items) {
+			item.succeed(null);
+		}
+	}
+
+	private static final class Counters {
+
+		private final AtomicLong batches = new AtomicLong();
+
+		private final AtomicLong items = new AtomicLong();
+
+	}
+
+}
@@ -1,35 +1,127 @@
 package com.xbd.quartz;
 
+import org.apache.commons.lang3.StringUtils;
+import org.quartz.InterruptableJob;
 import org.quartz.JobExecutionContext;
 import org.quartz.JobExecutionException;
+import org.quartz.UnableToInterruptJobException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.scheduling.quartz.QuartzJobBean;
 
 import java.time.LocalDateTime;
 
 /**
  * 默认定时任务QuartzJobBean
+ * <p>与{@code QuartzJobBean}一致，执行前将SchedulerContext及合并后的JobDataMap中的值绑定到同名属性，
+ * setter由{@link QuartzJobBeanMetadata}解析一次后缓存，不再每次创建{@code BeanWrapper}；标记为{@link StatelessJob}的任务不绑定属性.
+ * <p>合并后的JobDataMap中包含{@link #TIMEOUT_KEY}时限时执行，超时后由{@link QuartzJobWatchdog}中断执行线程，
+ * 本次执行以{@link JobExecutionException}结束；{@code Scheduler.interrupt}同样中断执行线程.
  *
  * @author luas
  * @since 1.0
  */
-public abstract class AbstractQuartzJobBean extends QuartzJobBean {
+public abstract class AbstractQuartzJobBean implements InterruptableJob {
+
+	/**
+	 * JobDataMap中执行超时时间的Key，单位：毫秒；Trigger的JobDataMap优先于任务的JobDataMap
+	 */
+	public static final String TIMEOUT_KEY = "jobTimeoutMillis";
+
 	private final Logger logger = LoggerFactory.getLogger(getClass());
 
+	/**
+	 * 首次执行时解析，构造子类实例时不访问元数据
+	 */
+	private volatile QuartzJobBeanMetadata metadata;
+
 	public abstract String name();
 
+	/**
+	 * 绑定属性后执行{@link #executeInternal(JobExecutionContext)}
+	 */
 	@Override
+	public void execute(JobExecutionContext context) throws JobExecutionException {
+		// 无状态任务的实例可能被并发执行，不绑定属性
+		QuartzJobBeanMetadata metadata = metadata();
+
+		if (!metadata.isStateless()) {
+			metadata.bind(this, context);
+		}
+
+		executeInternal(context);
+	}
+
+	private QuartzJobBeanMetadata metadata() {
+		QuartzJobBeanMetadata metadata = this.metadata;
+
+		// 并发首次执行时重复获取的是同一缓存实例
+		if (metadata == null) {
+			metadata = QuartzJobBeanMetadata.forClass(getClass());
+			this.metadata = metadata;
+		}
+
+		return metadata;
+	}
+
+	/**
+	 * 限时执行{@link #executeInternalInternal(JobExecutionContext)}
+	 */
 	protected void executeInternal(JobExecutionContext context) throws JobExecutionException {
-		if (this.logger.isDebugEnabled()) {
-			this.logger.debug("任务{}执行开始{}...", new Object[] { name(), LocalDateTime.now()});
+		QuartzJobWatchdog.Execution execution = QuartzJobWatchdog.begin(this, context, timeoutMillis(context));
+
+		try {
+			if (this.logger.isDebugEnabled()) {
+				this.logger.debug("任务{}执行开始{}...", new Object[] { name(), LocalDateTime.now()});
+			}
+
+			executeInternalInternal(context);
+
+			if (this.logger.isDebugEnabled()) {
+				this.logger.debug("任务{}执行完成{}...", new Object[] { name(), LocalDateTime.now()});
+			}
+		} catch (JobExecutionException e) {
+			if (execution.isTimedOut()) {
+				throw new JobExecutionException("任务" + name() + "执行超过" + execution.getTimeoutMillis() + "毫秒！", e);
+			}
+
+			throw e;
+		} finally {
+			QuartzJobWatchdog.end(execution);
 		}
 
-		executeInternalInternal(context);
+		if (execution.isTimedOut()) {
+			throw new JobExecutionException("任务" + name() + "执行超过" + execution.getTimeoutMillis() + "毫秒！");
+		}
+	}
 
-		if (this.logger.isDebugEnabled()) {
-			this.logger.debug("任务{}执行完成{}...", new Object[] { name(), LocalDateTime.now()});
+	/**
+	 * 中断本实例正在进行的执行；实例被多次触发共享时抛出{@link UnableToInterruptJobException}，
+	 * 应通过{@link QuartzJobWatchdog#interrupt(String)}按fireInstanceId中断
+	 */
+	@Override
+	public void interrupt() throws UnableToInterruptJobException {
+		QuartzJobWatchdog.interrupt(this);
+	}
+
+	/**
+	 * 执行超时时间，单位：毫秒，小于等于0表示不限时
+	 */
+	protected long timeoutMillis(JobExecutionContext context) {
+		Object timeout = context.getMergedJobDataMap().get(TIMEOUT_KEY);
+
+		if (timeout instanceof Number) {
+			return ((Number) timeout).longValue();
 		}
+
+		if (timeout instanceof String && StringUtils.isNotBlank((String) timeout)) {
+			try {
+				return Long.parseLong(((String) timeout).trim());
+			} catch (NumberFormatException e) {
+				this.logger.warn("任务{}的{}不是有效的毫秒数：{}", name(), TIMEOUT_KEY, timeout);
+			}
+		}
+
+		return 0L;
 	}
 
 	protected abstract void executeInternalInternal(JobExecutionContext context) throws JobExecutionException;
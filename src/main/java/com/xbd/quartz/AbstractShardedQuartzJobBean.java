@@ -0,0 +1,381 @@
+package com.xbd.quartz;
+
+import com.xbd.quartz.jdbcjobstore.QuartzJobStoreTX;
+import org.apache.commons.lang3.StringUtils;
+import org.quartz.JobDataMap;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.quartz.JobKey;
+import org.quartz.JobPersistenceException;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.SimpleScheduleBuilder;
+import org.quartz.Trigger;
+import org.quartz.TriggerBuilder;
+import org.quartz.TriggerKey;
+import org.quartz.spi.OperableTrigger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 分片定时任务QuartzJobBean
+ * <p>任务的每次触发拆分为{@link #SHARDS_KEY}（见{@code QuartzJobBuilder.withShards}）个分片，每个分片对应一个立即触发的一次性Trigger，
+ * 分组为{@link #SHARD_TRIGGER_GROUP}. 集群模式下各节点通过JDBC JobStore争抢这些Trigger，分片因此分散到集群的各个节点并行执行.
+ * <p>每个分片结束时累加进度，最后一个结束的分片回调{@link #onShardsCompleted(JobExecutionContext, QuartzShardProgress)}，全局仅回调一次.
+ * 进度按分片序号计数，同一分片重试时不重复计数.
+ * 使用{@link QuartzJobStoreTX}时进度保存在{@code QRTZ_JOB_PROGRESS}、{@code QRTZ_JOB_PROGRESS_SHARDS}表中，进度与分片Trigger在同一事务中写入；
+ * 否则保存在本节点内存中，此时不支持集群模式.
+ * <p>分片所在节点宕机且任务未设置{@code requestRecovery}时，该分片不会再执行，这次触发无法结束；
+ * 任务下次触发时清理超过{@link #getShardTimeoutMillis()}仍未结束的触发，并回调{@link #onShardsExpired(JobExecutionContext, QuartzShardProgress)}.
+ * <p>分片任务不应标记{@code DisallowConcurrentExecution}，否则同一任务的分片只能依次执行.
+ *
+ * @author luas
+ * @since 2.0
+ */
+public abstract class AbstractShardedQuartzJobBean extends AbstractQuartzJobBean {
+
+	/**
+	 * JobDataMap中分片数量的Key
+	 */
+	public static final String SHARDS_KEY = "jobShards";
+
+	/**
+	 * 分片Trigger的JobDataMap中分片序号的Key，从0开始
+	 */
+	public static final String SHARD_INDEX_KEY = "jobShardIndex";
+
+	/**
+	 * 分片Trigger的JobDataMap中分片数量的Key
+	 */
+	public static final String SHARD_TOTAL_KEY = "jobShardTotal";
+
+	/**
+	 * 分片Trigger的JobDataMap中触发标识的Key
+	 */
+	public static final String SHARD_RUN_ID_KEY = "jobShardRunId";
+
+	/**
+	 * 分片Trigger的分组
+	 */
+	public static final String SHARD_TRIGGER_GROUP = "QUARTZ_SHARDS";
+
+	/**
+	 * Trigger名称的最大长度，与{@code QRTZ_TRIGGERS.TRIGGER_NAME}一致
+	 */
+	private static final int MAX_TRIGGER_NAME_LENGTH = 200;
+
+	private static final Map<String, LocalProgress> LOCAL_PROGRESS = new ConcurrentHashMap<>();
+
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	@Override
+	protected final void executeInternalInternal(JobExecutionContext context) throws JobExecutionException {
+		JobDataMap jobDataMap = context.getMergedJobDataMap();
+
+		String runId = toString(jobDataMap.get(SHARD_RUN_ID_KEY));
+
+		if (runId == null) {
+			fanOut(context, Math.max(1, toInt(jobDataMap.get(SHARDS_KEY), 1)));
+			return;
+		}
+
+		int shardIndex = toInt(jobDataMap.get(SHARD_INDEX_KEY), 0);
+		int shardTotal = toInt(jobDataMap.get(SHARD_TOTAL_KEY), 1);
+
+		boolean succeeded = false;
+
+		try {
+			executeShard(context, shardIndex, shardTotal);
+			succeeded = true;
+		} finally {
+			completeShard(context, runId, shardIndex, succeeded);
+		}
+	}
+
+	/**
+	 * 执行一个分片
+	 *
+	 * @param context    任务执行上下文
+	 * @param shardIndex 分片序号，从0开始
+	 * @param shardTotal 分片数量
+	 * @throws JobExecutionException 分片执行失败
+	 */
+	protected abstract void executeShard(JobExecutionContext context, int shardIndex, int shardTotal) throws JobExecutionException;
+
+	/**
+	 * 一次触发的全部分片均已结束，由最后结束的分片所在节点回调一次
+	 *
+	 * @param context  最后结束的分片的执行上下文
+	 * @param progress 执行进度，包括成功、失败的分片数量
+	 * @throws JobExecutionException 回调异常，仅记录日志
+	 */
+	protected void onShardsCompleted(JobExecutionContext context, QuartzShardProgress progress) throws JobExecutionException {
+
+	}
+
+	/**
+	 * 一次触发超过{@link #getShardTimeoutMillis()}仍未结束，进度已被清理，由清理该触发的节点回调一次
+	 *
+	 * @param context  清理时的执行上下文，即任务的下一次触发
+	 * @param progress 清理时的进度，未结束的分片数量为{@code total - succeeded - failed}
+	 * @throws JobExecutionException 回调异常，仅记录日志
+	 */
+	protected void onShardsExpired(JobExecutionContext context, QuartzShardProgress progress) throws JobExecutionException {
+		this.logger.warn("任务{}的触发{}超时未结束，已清理，进度{}", name(), progress.getRunId(), progress);
+	}
+
+	/**
+	 * 一次触发的最长执行时间，超过后在任务下次触发时清理，默认24小时
+	 *
+	 * @return 单位：毫秒
+	 */
+	protected long getShardTimeoutMillis() {
+		return TimeUnit.HOURS.toMillis(24);
+	}
+
+	/**
+	 * 为本次触发创建分片Trigger
+	 */
+	private void fanOut(JobExecutionContext context, int shards) throws JobExecutionException {
+		JobKey jobKey = context.getJobDetail().getKey();
+		String runId = UUID.randomUUID().toString().replace("-", "");
+
+		try {
+			Scheduler scheduler = context.getScheduler();
+
+			QuartzJobStoreTX jobStore = QuartzJobStoreTX.getInstance(scheduler.getSchedulerName());
+
+			if (jobStore == null && scheduler.getMetaData().isJobStoreClustered()) {
+				throw new JobExecutionException("任务" + name() + "为分片任务，集群模式下需配置" + QuartzJobStoreTX.class.getName() + "！");
+			}
+
+			expire(context, jobStore);
+
+			int priority = context.getTrigger() == null ? Trigger.DEFAULT_PRIORITY : context.getTrigger().getPriority();
+
+			List<OperableTrigger> triggers = new ArrayList<>(shards);
+
+			for (int i = 0; i < shards; i++) {
+				OperableTrigger trigger = (OperableTrigger) TriggerBuilder.newTrigger()
+						.withIdentity(triggerName(jobKey, runId, i), SHARD_TRIGGER_GROUP)
+						.forJob(jobKey)
+						.startNow()
+						.withPriority(priority)
+						.withSchedule(SimpleScheduleBuilder.simpleSchedule().withMisfireHandlingInstructionFireNow())
+						.usingJobData(SHARD_RUN_ID_KEY, runId)
+						.usingJobData(SHARD_INDEX_KEY, String.valueOf(i))
+						.usingJobData(SHARD_TOTAL_KEY, String.valueOf(shards))
+						.build();
+
+				trigger.computeFirstFireTime(null);
+
+				triggers.add(trigger);
+			}
+
+			if (jobStore != null) {
+				if (scheduler.getMetaData().isJobStoreClustered() && !context.getJobDetail().requestsRecovery()) {
+					this.logger.debug("任务{}未设置requestRecovery，分片所在节点宕机时该次触发将在超时后清理", name());
+				}
+
+				jobStore.insertJobProgress(runId, jobKey, triggers);
+			} else {
+				scheduleLocal(scheduler, runId, jobKey, triggers);
+			}
+
+			this.logger.debug("任务{}拆分为{}个分片，触发标识{}", name(), shards, runId);
+		} catch (JobExecutionException e) {
+			throw e;
+		} catch (SchedulerException e) {
+			throw new JobExecutionException("任务" + name() + "创建分片失败！", e);
+		}
+	}
+
+	/**
+	 * 本节点内存中登记进度并逐个调度分片Trigger，任一调度失败时撤销已调度的Trigger及进度
+	 */
+	private static void scheduleLocal(Scheduler scheduler, String runId, JobKey jobKey, List<OperableTrigger> triggers) throws SchedulerException {
+		LOCAL_PROGRESS.put(runId, new LocalProgress(jobKey, triggers.size()));
+
+		List<TriggerKey> scheduled = new ArrayList<>(triggers.size());
+
+		try {
+			for (OperableTrigger trigger : triggers) {
+				scheduler.scheduleJob(trigger);
+				scheduled.add(trigger.getKey());
+			}
+		} catch (SchedulerException | RuntimeException e) {
+			LOCAL_PROGRESS.remove(runId);
+
+			try {
+				scheduler.unscheduleJobs(scheduled);
+			} catch (SchedulerException ex) {
+				e.addSuppressed(ex);
+			}
+
+			throw e;
+		}
+	}
+
+	/**
+	 * 清理本任务超时未结束的触发
+	 */
+	private void expire(JobExecutionContext context, QuartzJobStoreTX jobStore) {
+		JobKey jobKey = context.getJobDetail().getKey();
+
+		long startedBefore = System.currentTimeMillis() - getShardTimeoutMillis();
+
+		List<QuartzShardProgress> expired;
+
+		if (jobStore != null) {
+			try {
+				expired = jobStore.deleteExpiredJobProgress(jobKey, startedBefore);
+			} catch (JobPersistenceException e) {
+				this.logger.error("任务" + name() + "清理超时的分片进度失败", e);
+				return;
+			}
+		} else {
+			expired = new ArrayList<>();
+
+			for (Map.Entry<String, LocalProgress> entry : LOCAL_PROGRESS.entrySet()) {
+				LocalProgress local = entry.getValue();
+
+				if (local.jobKey.equals(jobKey) && local.startTime < startedBefore && LOCAL_PROGRESS.remove(entry.getKey(), local)) {
+					synchronized (local) {
+						expired.add(local.toProgress(entry.getKey()));
+					}
+				}
+			}
+		}
+
+		for (QuartzShardProgress progress : expired) {
+			try {
+				onShardsExpired(context, progress);
+			} catch (Exception e) {
+				this.logger.error("任务" + name() + "分片超时回调异常，触发标识" + progress.getRunId(), e);
+			}
+		}
+	}
+
+	/**
+	 * 分片Trigger名称：任务名称（超长时截断）.触发标识.分片序号，不超过{@link #MAX_TRIGGER_NAME_LENGTH}
+	 */
+	private static String triggerName(JobKey jobKey, String runId, int shardIndex) {
+		String suffix = "." + runId + "." + shardIndex;
+
+		return StringUtils.left(jobKey.getName(), MAX_TRIGGER_NAME_LENGTH - suffix.length()) + suffix;
+	}
+
+	private void completeShard(JobExecutionContext context, String runId, int shardIndex, boolean succeeded) {
+		QuartzShardProgress progress;
+
+		try {
+			QuartzJobStoreTX jobStore = QuartzJobStoreTX.getInstance(context.getScheduler().getSchedulerName());
+
+			progress = jobStore != null ? jobStore.completeShard(runId, shardIndex, succeeded) : completeLocalShard(runId, shardIndex, succeeded);
+		} catch (JobPersistenceException e) {
+			this.logger.error("任务" + name() + "更新分片进度失败，触发标识" + runId, e);
+			return;
+		} catch (SchedulerException e) {
+			this.logger.error("任务" + name() + "获取调度器失败，触发标识" + runId, e);
+			return;
+		}
+
+		if (progress == null || !progress.isFinished()) {
+			return;
+		}
+
+		try {
+			onShardsCompleted(context, progress);
+		} catch (Exception e) {
+			this.logger.error("任务" + name() + "分片完成回调异常，触发标识" + runId, e);
+		}
+	}
+
+	private static QuartzShardProgress completeLocalShard(String runId, int shardIndex, boolean succeeded) {
+		LocalProgress local = LOCAL_PROGRESS.get(runId);
+
+		if (local == null) {
+			return null;
+		}
+
+		synchronized (local) {
+			if (shardIndex < 0 || shardIndex >= local.states.length) {
+				return null;
+			}
+
+			byte state = local.states[shardIndex];
+
+			if (state == LocalProgress.SUCCEEDED || (state == LocalProgress.FAILED && !succeeded)) {
+				return null;
+			}
+
+			if (state == LocalProgress.FAILED) {
+				local.failed--;
+			}
+
+			if (succeeded) {
+				local.succeeded++;
+				local.states[shardIndex] = LocalProgress.SUCCEEDED;
+			} else {
+				local.failed++;
+				local.states[shardIndex] = LocalProgress.FAILED;
+			}
+
+			QuartzShardProgress progress = local.toProgress(runId);
+
+			if (progress.isFinished() && !LOCAL_PROGRESS.remove(runId, local)) {
+				return null;
+			}
+
+			return progress;
+		}
+	}
+
+	private static String toString(Object value) {
+		return value == null || StringUtils.isBlank(value.toString()) ? null : value.toString();
+	}
+
+	private static int toInt(Object value, int defaultValue) {
+		String text = toString(value);
+
+		return text == null ? defaultValue : Integer.parseInt(text.trim());
+	}
+
+	/**
+	 * 本节点内存中的一次触发进度，各分片的结束状态按分片序号记录
+	 */
+	private static final class LocalProgress {
+
+		private static final byte SUCCEEDED = 1;
+
+		private static final byte FAILED = 2;
+
+		private final JobKey jobKey;
+
+		private final byte[] states;
+
+		private final long startTime = System.currentTimeMillis();
+
+		private int succeeded;
+
+		private int failed;
+
+		private LocalProgress(JobKey jobKey, int total) {
+			this.jobKey = jobKey;
+			this.states = new byte[total];
+		}
+
+		private QuartzShardProgress toProgress(String runId) {
+			return new QuartzShardProgress(runId, this.jobKey, this.states.length, this.succeeded, this.failed, this.startTime);
+		}
+
+	}
+
+}
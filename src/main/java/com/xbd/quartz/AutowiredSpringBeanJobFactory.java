@@ -4,9 +4,29 @@ import org.quartz.spi.TriggerFiredBundle;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.scheduling.quartz.SpringBeanJobFactory;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 自动装载Bean到Spring，可在JobBean中直接注入定义的Bean
+ * <p>{@link AbstractQuartzJobBean}在执行时自行绑定SchedulerContext及JobDataMap，创建实例时不再绑定.
+ * <p>开启{@code jobInstanceCaching}后（默认关闭），{@link AbstractQuartzJobBean}子类：
+ * <ul>
+ *     <li>标记为{@link StatelessJob}的任务只创建、注入一次，之后的触发复用同一实例</li>
+ *     <li>其它任务每次触发仍创建新实例，但首次创建时记录注入结果（注入的字段及其值），之后直接回放，不再解析依赖；
+ *     两次注入结果不一致（如注入了prototype Bean）的任务类，每次触发仍完整注入</li>
+ * </ul>
+ * <p>回放仅还原字段，带有其它副作用的{@code @Autowired}方法，请勿开启或改为字段注入.
  *
  * @author luas
  * @since 1.0
@@ -15,16 +35,184 @@ public class AutowiredSpringBeanJobFactory extends SpringBeanJobFactory implemen
 
 	private ApplicationContext applicationContext;
 
+	private boolean jobInstanceCaching = false;
+
+	private final Map<Class<?>, InjectionPlan> injectionPlans = new ConcurrentHashMap<>();
+
 	@Override
 	protected Object createJobInstance(TriggerFiredBundle bundle) throws Exception {
+		Class<?> jobClass = bundle.getJobDetail().getJobClass();
+
+		if (this.jobInstanceCaching && AbstractQuartzJobBean.class.isAssignableFrom(jobClass)) {
+			InjectionPlan injectionPlan = this.injectionPlans.get(jobClass);
+
+			if (injectionPlan == null) {
+				injectionPlan = createInjectionPlan(jobClass);
+
+				InjectionPlan existing = this.injectionPlans.putIfAbsent(jobClass, injectionPlan);
+
+				if (existing != null) {
+					injectionPlan = existing;
+				}
+			}
+
+			return injectionPlan.getJob();
+		}
+
 		Object job = super.createJobInstance(bundle);
 		this.applicationContext.getAutowireCapableBeanFactory().autowireBean(job);
 		return job;
 	}
 
+	/**
+	 * {@link AbstractQuartzJobBean}在执行时绑定属性，与{@code QuartzJobBean}一致
+	 */
+	@Override
+	protected boolean isEligibleForPropertyPopulation(Object jobObject) {
+		return !(jobObject instanceof AbstractQuartzJobBean) && super.isEligibleForPropertyPopulation(jobObject);
+	}
+
+	/**
+	 * 清除任务类的注入记录，之后的首次触发重新记录
+	 */
+	public void evictInjectionPlans() {
+		this.injectionPlans.clear();
+	}
+
+	private InjectionPlan createInjectionPlan(Class<?> jobClass) throws Exception {
+		QuartzJobBeanMetadata metadata = QuartzJobBeanMetadata.forClass(jobClass);
+
+		if (metadata.isStateless()) {
+			return new InjectionPlan(metadata, autowire(metadata.newInstance()), null);
+		}
+
+		Object baseline = metadata.newInstance();
+		Object first = autowire(metadata.newInstance());
+		Object second = autowire(metadata.newInstance());
+
+		List<FieldValue> fieldValues = new ArrayList<>();
+
+		for (Class<?> clazz = jobClass; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+			for (Field field : clazz.getDeclaredFields()) {
+				if (Modifier.isStatic(field.getModifiers()) || Modifier.isFinal(field.getModifiers())) {
+					continue;
+				}
+
+				ReflectionUtils.makeAccessible(field);
+
+				Object injected = field.get(first);
+
+				if (same(field, field.get(baseline), injected)) {
+					continue;
+				}
+
+				// 两次注入结果不一致，无法回放
+				if (!same(field, injected, field.get(second))) {
+					return new InjectionPlan(metadata, null, null);
+				}
+
+				MethodHandle setter = MethodHandles.lookup().unreflectSetter(field)
+						.asType(MethodType.methodType(void.class, Object.class, Object.class));
+
+				fieldValues.add(new FieldValue(setter, injected));
+			}
+		}
+
+		return new InjectionPlan(metadata, null, fieldValues);
+	}
+
+	private static boolean same(Field field, Object value1, Object value2) {
+		return field.getType().isPrimitive() ? Objects.equals(value1, value2) : value1 == value2;
+	}
+
+	private Object autowire(Object job) {
+		this.applicationContext.getAutowireCapableBeanFactory().autowireBean(job);
+		return job;
+	}
+
 	@Override
 	public void setApplicationContext(ApplicationContext applicationContext) {
 		this.applicationContext = applicationContext;
 	}
 
+	public boolean isJobInstanceCaching() {
+		return jobInstanceCaching;
+	}
+
+	/**
+	 * 是否开启任务实例缓存，默认false
+	 */
+	public void setJobInstanceCaching(boolean jobInstanceCaching) {
+		this.jobInstanceCaching = jobInstanceCaching;
+	}
+
+	/**
+	 * 任务类的实例创建方式
+	 */
+	private final class InjectionPlan {
+
+		private final QuartzJobBeanMetadata metadata;
+
+		/**
+		 * 无状态任务的唯一实例
+		 */
+		private final Object singleton;
+
+		/**
+		 * 可回放的注入字段，为null时每次完整注入
+		 */
+		private final List<FieldValue> fieldValues;
+
+		private InjectionPlan(QuartzJobBeanMetadata metadata, Object singleton, List<FieldValue> fieldValues) {
+			this.metadata = metadata;
+			this.singleton = singleton;
+			this.fieldValues = fieldValues;
+		}
+
+		private Object getJob() throws Exception {
+			if (this.singleton != null) {
+				return this.singleton;
+			}
+
+			Object job = this.metadata.newInstance();
+
+			if (this.fieldValues == null) {
+				return autowire(job);
+			}
+
+			for (FieldValue fieldValue : this.fieldValues) {
+				fieldValue.apply(job);
+			}
+
+			return job;
+		}
+
+	}
+
+	/**
+	 * 注入的字段及其值
+	 */
+	private static final class FieldValue {
+
+		private final MethodHandle setter;
+
+		private final Object value;
+
+		private FieldValue(MethodHandle setter, Object value) {
+			this.setter = setter;
+			this.value = value;
+		}
+
+		private void apply(Object job) throws Exception {
+			try {
+				this.setter.invokeExact(job, this.value);
+			} catch (Exception | Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+	}
+
 }
@@ -1,8 +1,5 @@
 package com.xbd.quartz;
 
-import com.alibaba.fastjson.JSON;
-import com.alibaba.fastjson.JSONArray;
-import com.alibaba.fastjson.JSONObject;
 import org.apache.commons.lang3.StringUtils;
 import org.quartz.JobExecutionContext;
 import org.quartz.JobExecutionException;
@@ -11,12 +8,9 @@ import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationContext;
 import org.springframework.scheduling.quartz.QuartzJobBean;
 
-import java.lang.reflect.Method;
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * 默认定时任务QuartzJobBean
+ * <p>目标Bean、方法及参数的解析结果由{@link QuartzTaskInvoker}缓存.
  *
  * @author luas
  * @since 1.0
@@ -47,46 +41,25 @@ public class DefaultQuartzJobBean extends QuartzJobBean {
 				throw new JobExecutionException("定时任务目标方法为空！");
 			}
 
-			Object bean;
-			Method m;
-
-			if (StringUtils.isNotBlank(targetObject)) {
-				ApplicationContext ctx = (ApplicationContext) context.getScheduler().getContext().get("applicationContext");
-
-				bean = ctx.getBean(targetObject);
-			} else {
-				bean = Class.forName(targetClass).newInstance();
-			}
-
-			if (StringUtils.isBlank(targetMethodParam)) {
-				m = bean.getClass().getMethod(targetMethod);
-
-				m.invoke(bean, new Object[] {});
-			} else {
-				Object paramObject = JSON.parse(targetMethodParam);
-
-				if (paramObject instanceof JSONObject) {
-					m = bean.getClass().getMethod(targetMethod, Object.class);
+			ApplicationContext ctx = StringUtils.isNotBlank(targetObject)
+					? (ApplicationContext) context.getScheduler().getContext().get("applicationContext")
+					: null;
 
-					m.invoke(bean, new Object[] { targetMethodParam });
-				} else if (paramObject instanceof JSONArray) {
-					JSONArray params = (JSONArray) paramObject;
-
-					List<Class> argClasss = new ArrayList<>();
-					List<Object> args = new ArrayList<>();
-
-					for (Object param : params) {
-						argClasss.add(param.getClass());
-						args.add(param);
-					}
+			QuartzTaskInvoker.invoke(ctx, targetObject, targetClass, targetMethod, targetMethodParam);
+		} catch (JobExecutionException e) {
+			logger.error(e.getMessage(), e);
 
-					m = bean.getClass().getMethod(targetMethod, argClasss.toArray(new Class[] {}));
+			throw e;
+		} catch (Error e) {
+			logger.error(e.getMessage(), e);
 
-					m.invoke(bean, ((JSONArray) paramObject).toArray(new Object[] {}));
-				}
-			}
-		} catch (Exception e) {
+			// Error不应被当作可重试的任务失败，原样抛出交由Quartz处理
+			throw e;
+		} catch (Throwable e) {
 			logger.error(e.getMessage(), e);
+
+			// 以JobExecutionException结束，JobListener据此判断失败并按QuartzRetryPolicy重试
+			throw new JobExecutionException(e);
 		}
 	}
 
@@ -0,0 +1,90 @@
+package com.xbd.quartz;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
+
+import org.quartz.JobKey;
+import org.quartz.SchedulerException;
+
+/**
+ * 批量写入结果
+ * <p>批量添加、保存任务时，每一批次（一个事务）对应一个结果，包含批次序号、任务Key、耗时及异常信息.
+ *
+ * @author luas
+ * @since 2.0
+ */
+public class QuartzBatchResult implements Serializable {
+
+    private static final long serialVersionUID = 3127925473915064210L;
+
+    /**
+     * 批次序号，从0开始
+     */
+    private final int index;
+
+    private final List<JobKey> jobKeys;
+
+    /**
+     * 定义未发生变化、跳过写入的任务数量
+     */
+    private final int skipped;
+
+    /**
+     * 批次写入耗时，单位：毫秒
+     */
+    private final long elapsedMillis;
+
+    private final SchedulerException exception;
+
+    public QuartzBatchResult(int index, List<JobKey> jobKeys, long elapsedMillis, SchedulerException exception) {
+        this(index, jobKeys, 0, elapsedMillis, exception);
+    }
+
+    public QuartzBatchResult(int index, List<JobKey> jobKeys, int skipped, long elapsedMillis, SchedulerException exception) {
+        this.index = index;
+        this.jobKeys = Collections.unmodifiableList(jobKeys);
+        this.skipped = skipped;
+        this.elapsedMillis = elapsedMillis;
+        this.exception = exception;
+    }
+
+    public boolean isSuccess() {
+        return exception == null;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public List<JobKey> getJobKeys() {
+        return jobKeys;
+    }
+
+    public int getSize() {
+        return jobKeys.size();
+    }
+
+    public int getSkipped() {
+        return skipped;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public SchedulerException getException() {
+        return exception;
+    }
+
+    @Override
+    public String toString() {
+        return "QuartzBatchResult{" +
+                "index=" + index +
+                ", size=" + jobKeys.size() +
+                ", skipped=" + skipped +
+                ", elapsedMillis=" + elapsedMillis +
+                ", success=" + isSuccess() +
+                '}';
+    }
+}
@@ -26,8 +26,14 @@ public class QuartzJob implements Serializable {
 
     private Map<String, Object> jobData;
 
-    private boolean durability = false;
-
+    /**
+     * 是否持久保存，没有Trigger关联时任务仍然保留
+     */
+    private boolean durability = true;
+
+    /**
+     * 执行中的节点宕机后，是否由集群中其它节点重新执行（{@link org.quartz.JobExecutionContext#isRecovering()}为true）
+     */
     private boolean shouldRecover = false;
 
     private Set<QuartzTrigger> triggers;
@@ -0,0 +1,214 @@
+package com.xbd.quartz;
+
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.quartz.SchedulerException;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.util.ReflectionUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 任务类元数据，每个任务类解析一次并缓存
+ * <p>包含是否为{@link StatelessJob}、无参构造器及可写属性的setter，{@link AbstractQuartzJobBean}执行前以缓存的setter绑定属性，
+ * 替代{@code QuartzJobBean}每次执行创建{@code BeanWrapper}；{@code DefaultConversionService}无法转换的值仍由{@code BeanWrapper}转换.
+ *
+ * @author luas
+ * @since 2.0
+ */
+public final class QuartzJobBeanMetadata {
+
+	private static final Map<Class<?>, QuartzJobBeanMetadata> METADATA = new ConcurrentHashMap<>();
+
+	private static final ConversionService CONVERSION_SERVICE = DefaultConversionService.getSharedInstance();
+
+	private final Class<?> jobClass;
+
+	private final boolean stateless;
+
+	private final MethodHandle constructor;
+
+	private final Map<String, PropertySetter> setters = new HashMap<>();
+
+	private QuartzJobBeanMetadata(Class<?> jobClass) {
+		this.jobClass = jobClass;
+		this.stateless = jobClass.isAnnotationPresent(StatelessJob.class);
+
+		this.constructor = resolveConstructor(jobClass);
+
+		try {
+			for (PropertyDescriptor pd : BeanUtils.getPropertyDescriptors(jobClass)) {
+				Method writeMethod = pd.getWriteMethod();
+
+				if (writeMethod == null) {
+					continue;
+				}
+
+				ReflectionUtils.makeAccessible(writeMethod);
+
+				MethodHandle setter = MethodHandles.lookup().unreflect(writeMethod);
+
+				this.setters.put(pd.getName(), new PropertySetter(
+						setter.asType(MethodType.methodType(void.class, Object.class, Object.class)),
+						pd.getPropertyType(),
+						new TypeDescriptor(new MethodParameter(writeMethod, 0))));
+			}
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException("任务类" + jobClass.getName() + "的setter无法访问：" + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * 无参构造器只用于{@link #newInstance()}，由其它方式创建的任务（如有参构造器的子类）仍可绑定属性
+	 */
+	private static MethodHandle resolveConstructor(Class<?> jobClass) {
+		try {
+			Constructor<?> ctor = jobClass.getDeclaredConstructor();
+			ReflectionUtils.makeAccessible(ctor);
+
+			return MethodHandles.lookup().unreflectConstructor(ctor).asType(MethodType.methodType(Object.class));
+		} catch (NoSuchMethodException | IllegalAccessException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * 获取任务类元数据
+	 *
+	 * @param jobClass 任务类
+	 * @return 任务类元数据
+	 */
+	public static QuartzJobBeanMetadata forClass(Class<?> jobClass) {
+		return METADATA.computeIfAbsent(jobClass, QuartzJobBeanMetadata::new);
+	}
+
+	public Class<?> getJobClass() {
+		return jobClass;
+	}
+
+	public boolean isStateless() {
+		return stateless;
+	}
+
+	/**
+	 * 以无参构造器创建实例，不执行注入
+	 *
+	 * @return 任务实例
+	 * @throws Exception 构造器抛出的异常，任务类没有无参构造器时抛出{@link IllegalStateException}
+	 */
+	public Object newInstance() throws Exception {
+		if (this.constructor == null) {
+			throw new IllegalStateException("任务类" + this.jobClass.getName() + "须包含无参构造器！");
+		}
+
+		try {
+			return (Object) this.constructor.invokeExact();
+		} catch (Exception | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * 将SchedulerContext及合并后的JobDataMap中的值依次绑定到同名属性，忽略不存在的属性，与{@code QuartzJobBean}一致
+	 *
+	 * @param job 任务实例
+	 * @param context 执行上下文
+	 * @throws JobExecutionException 获取SchedulerContext失败、类型转换失败或setter抛出异常
+	 */
+	public void bind(Object job, JobExecutionContext context) throws JobExecutionException {
+		if (this.setters.isEmpty()) {
+			return;
+		}
+
+		try {
+			bind(job, context.getScheduler().getContext());
+		} catch (SchedulerException e) {
+			throw new JobExecutionException(e);
+		}
+
+		bind(job, context.getMergedJobDataMap());
+	}
+
+	private void bind(Object job, Map<String, Object> values) throws JobExecutionException {
+		for (Map.Entry<String, Object> entry : values.entrySet()) {
+			PropertySetter setter = this.setters.get(entry.getKey());
+
+			if (setter != null) {
+				setter.set(job, entry.getKey(), entry.getValue());
+			}
+		}
+	}
+
+	/**
+	 * 缓存的属性setter
+	 */
+	private static final class PropertySetter {
+
+		private final MethodHandle setter;
+
+		private final Class<?> propertyType;
+
+		private final TypeDescriptor typeDescriptor;
+
+		private PropertySetter(MethodHandle setter, Class<?> propertyType, TypeDescriptor typeDescriptor) {
+			this.setter = setter;
+			this.propertyType = propertyType;
+			this.typeDescriptor = typeDescriptor;
+		}
+
+		private void set(Object job, String name, Object value) throws JobExecutionException {
+			Object converted;
+
+			try {
+				converted = value == null || (!this.propertyType.isPrimitive() && this.propertyType.isInstance(value))
+						? value
+						: CONVERSION_SERVICE.convert(value, TypeDescriptor.forObject(value), this.typeDescriptor);
+			} catch (ConversionException e) {
+				// DefaultConversionService无法转换时，与QuartzJobBean一致通过BeanWrapper（PropertyEditor）转换并设置
+				setWithBeanWrapper(job, name, value);
+				return;
+			}
+
+			// 基本类型属性不接受null，与BeanWrapper一致
+			if (converted == null && this.propertyType.isPrimitive()) {
+				throw new JobExecutionException("属性" + name + "为基本类型，不能设置为null！");
+			}
+
+			try {
+				this.setter.invokeExact(job, converted);
+			} catch (Throwable e) {
+				throw new JobExecutionException("属性" + name + "设置失败：" + e.getMessage(), e);
+			}
+		}
+
+		private void setWithBeanWrapper(Object job, String name, Object value) throws JobExecutionException {
+			try {
+				PropertyAccessorFactory.forBeanPropertyAccess(job).setPropertyValue(name, value);
+			} catch (TypeMismatchException e) {
+				throw new JobExecutionException("属性" + name + "类型转换失败：" + e.getMessage(), e);
+			} catch (BeansException e) {
+				throw new JobExecutionException("属性" + name + "设置失败：" + e.getMessage(), e);
+			}
+		}
+
+	}
+
+}
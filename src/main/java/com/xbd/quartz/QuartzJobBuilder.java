@@ -4,9 +4,11 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import org.quartz.JobKey;
 import org.quartz.utils.Key;
+import org.springframework.util.Assert;
 
 /**
  * {@code QuartzJob} to {@link org.quartz.JobDetail}
@@ -23,6 +25,10 @@ public class QuartzJobBuilder {
 
     private Map<String, Object> jobData = new HashMap<>();
 
+    private boolean durability = true;
+
+    private boolean shouldRecover = false;
+
     private Set<QuartzTrigger> triggers = new HashSet<>();
 
     private QuartzJobBuilder() {
@@ -51,6 +57,8 @@ public class QuartzJobBuilder {
         }
 
         job.setKey(key);
+        job.setDurability(durability);
+        job.setShouldRecover(shouldRecover);
 
         if(!jobData.isEmpty()) {
             job.setJobData(jobData);
@@ -83,6 +91,16 @@ public class QuartzJobBuilder {
         return this;
     }
 
+    public QuartzJobBuilder storeDurably(boolean jobDurability) {
+        this.durability = jobDurability;
+        return this;
+    }
+
+    public QuartzJobBuilder requestRecovery(boolean jobShouldRecover) {
+        this.shouldRecover = jobShouldRecover;
+        return this;
+    }
+
     public QuartzJobBuilder forJob(Class<? extends AbstractQuartzJobBean> jobClazz) {
         this.jobClass = jobClazz;
         return this;
@@ -105,6 +123,44 @@ public class QuartzJobBuilder {
         return this;
     }
 
+    /**
+     * 分片数量，仅对{@link AbstractShardedQuartzJobBean}有效，每次触发拆分为{@code shards}个分片在集群中并行执行
+     */
+    public QuartzJobBuilder withShards(int shards) {
+        Assert.isTrue(shards > 0, "shards必须大于0！");
+
+        this.jobData.put(AbstractShardedQuartzJobBean.SHARDS_KEY, String.valueOf(shards));
+        return this;
+    }
+
+    /**
+     * 每块数据条数，仅对{@link AbstractChunkedQuartzJobBean}有效，每写完一块保存一次检查点
+     */
+    public QuartzJobBuilder withChunkSize(int chunkSize) {
+        Assert.isTrue(chunkSize > 0, "chunkSize必须大于0！");
+
+        this.jobData.put(AbstractChunkedQuartzJobBean.CHUNK_SIZE_KEY, String.valueOf(chunkSize));
+        return this;
+    }
+
+    /**
+     * 执行超时时间，超时后中断执行，见{@link AbstractQuartzJobBean#TIMEOUT_KEY}
+     */
+    public QuartzJobBuilder withTimeout(long timeout, TimeUnit unit) {
+        this.jobData.put(AbstractQuartzJobBean.TIMEOUT_KEY, String.valueOf(unit.toMillis(timeout)));
+        return this;
+    }
+
+    /**
+     * 失败重试策略，需声明{@link com.xbd.quartz.listener.QuartzRetryJobListener}，见{@link QuartzRetryPolicy}
+     */
+    public QuartzJobBuilder withRetry(QuartzRetryPolicy retryPolicy) {
+        Assert.notNull(retryPolicy, "retryPolicy不能为空！");
+
+        this.jobData.putAll(retryPolicy.toJobData());
+        return this;
+    }
+
     public QuartzJobBuilder usingJobData(String key, String value) {
         this.jobData.put(key, value);
         return this;
@@ -0,0 +1,264 @@
+package com.xbd.quartz;
+
+import org.quartz.JobExecutionContext;
+import org.quartz.UnableToInterruptJobException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 任务执行超时监控
+ * <p>所有任务共用一个定时线程，到期时中断执行线程（异步任务则以{@link TimeoutException}结束其{@code CompletionStage}），
+ * 并在{@link JobExecutionContext}中记录{@link #TIMED_OUT_KEY}. 中断是协作式的，任务应响应{@link Thread#interrupted()}、
+ * {@link InterruptedException}，或在阻塞调用上设置自身的超时. 执行按fireInstanceId登记，工作线程结束时清除由本类设置的中断标记.
+ *
+ * @author luas
+ * @since 2.0
+ */
+public final class QuartzJobWatchdog {
+
+	/**
+	 * {@link JobExecutionContext}中记录执行超时的Key，值为{@link Boolean#TRUE}
+	 */
+	public static final String TIMED_OUT_KEY = QuartzJobWatchdog.class.getName() + ".timedOut";
+
+	private static final Logger logger = LoggerFactory.getLogger(QuartzJobWatchdog.class);
+
+	private static final ScheduledThreadPoolExecutor TIMER;
+
+	private static final Map<String, Execution> EXECUTIONS = new ConcurrentHashMap<>();
+
+	private static final LongAdder TIMEOUT_COUNT = new LongAdder();
+
+	static {
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("QuartzJobWatchdog-");
+		threadFactory.setDaemon(true);
+
+		TIMER = new ScheduledThreadPoolExecutor(1, threadFactory);
+		TIMER.setRemoveOnCancelPolicy(true);
+	}
+
+	private QuartzJobWatchdog() {
+
+	}
+
+	/**
+	 * 登记一次执行
+	 *
+	 * @param job           任务实例
+	 * @param context       任务执行上下文
+	 * @param timeoutMillis 超时时间，单位：毫秒，小于等于0表示不限时
+	 * @return 执行记录
+	 */
+	static Execution begin(AbstractQuartzJobBean job, JobExecutionContext context, long timeoutMillis) {
+		Execution execution = new Execution(job, context, Thread.currentThread(), timeoutMillis);
+
+		EXECUTIONS.put(context.getFireInstanceId(), execution);
+
+		if (timeoutMillis > 0) {
+			execution.timer = TIMER.schedule(execution::expire, timeoutMillis, TimeUnit.MILLISECONDS);
+		}
+
+		return execution;
+	}
+
+	/**
+	 * 工作线程执行结束；已关联未完成的异步结果时，继续监控直到其完成
+	 */
+	static void end(Execution execution) {
+		boolean interrupted;
+
+		synchronized (execution) {
+			execution.thread = null;
+			interrupted = execution.interrupted;
+		}
+
+		// 清除超时或interrupt()残留的中断标记，避免影响工作线程执行的下一个任务
+		if (interrupted) {
+			Thread.interrupted();
+		}
+
+		CompletableFuture<?> async = execution.async;
+
+		if (async == null || async.isDone()) {
+			execution.finish();
+		} else {
+			async.whenComplete((result, failure) -> execution.finish());
+		}
+	}
+
+	/**
+	 * 将异步执行结果关联到当前执行，超时时以{@link TimeoutException}结束
+	 */
+	static void attach(JobExecutionContext context, CompletableFuture<?> async) {
+		Execution execution = EXECUTIONS.get(context.getFireInstanceId());
+
+		if (execution != null) {
+			execution.async = async;
+
+			if (execution.timedOut) {
+				async.completeExceptionally(execution.timeoutException());
+			}
+		}
+	}
+
+	/**
+	 * 中断任务实例正在进行的执行
+	 * <p>同一实例被多次触发共享（如{@link StatelessJob}的缓存实例）时，无法确定要中断的是哪一次触发，
+	 * 应通过{@link #interrupt(String)}按fireInstanceId中断.
+	 *
+	 * @param job 任务实例
+	 * @return 是否中断了执行，实例无进行中的执行时返回false
+	 * @throws UnableToInterruptJobException 实例有多次进行中的执行
+	 */
+	static boolean interrupt(AbstractQuartzJobBean job) throws UnableToInterruptJobException {
+		Execution target = null;
+
+		for (Execution execution : EXECUTIONS.values()) {
+			if (execution.job != job) {
+				continue;
+			}
+
+			if (target != null) {
+				throw new UnableToInterruptJobException("任务" + job.name() + "的实例被多次触发共享，请通过fireInstanceId中断！");
+			}
+
+			target = execution;
+		}
+
+		if (target == null) {
+			return false;
+		}
+
+		target.interrupt(new TimeoutException("任务" + job.name() + "被中断！"));
+
+		return true;
+	}
+
+	/**
+	 * 按fireInstanceId中断一次进行中的执行
+	 *
+	 * @param fireInstanceId {@link JobExecutionContext#getFireInstanceId()}
+	 * @return 是否中断了执行，执行不存在或已结束时返回false
+	 */
+	public static boolean interrupt(String fireInstanceId) {
+		Execution execution = EXECUTIONS.get(fireInstanceId);
+
+		if (execution == null) {
+			return false;
+		}
+
+		execution.interrupt(new TimeoutException("任务" + execution.job.name() + "被中断！"));
+
+		return true;
+	}
+
+	/**
+	 * 执行是否已超时
+	 */
+	public static boolean isTimedOut(JobExecutionContext context) {
+		return Boolean.TRUE.equals(context.get(TIMED_OUT_KEY));
+	}
+
+	/**
+	 * 当前进行中的执行数量
+	 */
+	public static int getExecutingCount() {
+		return EXECUTIONS.size();
+	}
+
+	/**
+	 * 累计超时次数
+	 */
+	public static long getTimeoutCount() {
+		return TIMEOUT_COUNT.sum();
+	}
+
+	static final class Execution {
+
+		private final AbstractQuartzJobBean job;
+
+		private final JobExecutionContext context;
+
+		private final long timeoutMillis;
+
+		private Thread thread;
+
+		private volatile CompletableFuture<?> async;
+
+		private volatile ScheduledFuture<?> timer;
+
+		private volatile boolean timedOut;
+
+		/**
+		 * 是否中断过执行线程，由this保护
+		 */
+		private boolean interrupted;
+
+		private Execution(AbstractQuartzJobBean job, JobExecutionContext context, Thread thread, long timeoutMillis) {
+			this.job = job;
+			this.context = context;
+			this.thread = thread;
+			this.timeoutMillis = timeoutMillis;
+		}
+
+		boolean isTimedOut() {
+			return this.timedOut;
+		}
+
+		long getTimeoutMillis() {
+			return this.timeoutMillis;
+		}
+
+		private void expire() {
+			this.timedOut = true;
+			this.context.put(TIMED_OUT_KEY, Boolean.TRUE);
+
+			TIMEOUT_COUNT.increment();
+
+			logger.warn("任务{}执行超过{}毫秒，中断执行！", this.job.name(), this.timeoutMillis);
+
+			interrupt(timeoutException());
+		}
+
+		private void interrupt(TimeoutException cause) {
+			CompletableFuture<?> async = this.async;
+
+			if (async != null && !async.isDone()) {
+				async.completeExceptionally(cause);
+			}
+
+			synchronized (this) {
+				if (this.thread != null) {
+					this.interrupted = true;
+					this.thread.interrupt();
+				}
+			}
+		}
+
+		private TimeoutException timeoutException() {
+			return new TimeoutException("任务" + this.job.name() + "执行超过" + this.timeoutMillis + "毫秒！");
+		}
+
+		private void finish() {
+			ScheduledFuture<?> timer = this.timer;
+
+			if (timer != null) {
+				timer.cancel(false);
+			}
+
+			EXECUTIONS.remove(this.context.getFireInstanceId(), this);
+		}
+
+	}
+
+}
@@ -1,13 +1,23 @@
 package com.xbd.quartz;
 
+import com.xbd.quartz.configure.QuartzProperties;
 import com.xbd.quartz.listener.AbstractJobListener;
 import com.xbd.quartz.listener.AbstractSchedulerListener;
 import com.xbd.quartz.listener.AbstractTriggerListener;
+import com.xbd.quartz.listener.AsyncAwareJobListener;
+import com.xbd.quartz.listener.AsyncAwareTriggerListener;
+import com.xbd.quartz.listener.IndexedJobListener;
+import com.xbd.quartz.listener.IndexedTriggerListener;
+import com.xbd.quartz.listener.QuartzListenerDispatcher;
 import org.apache.commons.collections.MapUtils;
+import org.quartz.JobListener;
 import org.quartz.Scheduler;
+import org.quartz.SchedulerListener;
+import org.quartz.TriggerListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
@@ -16,11 +26,18 @@ import java.util.Map;
 
 /**
  * JobListener、SchedulerListener、TriggerListener自动注册监听
+ * <p>JobListener、TriggerListener包装为{@link AsyncAwareJobListener}、{@link AsyncAwareTriggerListener}注册，
+ * 以便{@link AbstractAsyncQuartzJobBean}实际完成时再回调{@code jobWasExecuted}、{@code triggerComplete}；
+ * 未经本类注册的监听器及插件不受影响，仍在工作线程返回时回调.
+ * <p>JobListener、TriggerListener按各自的{@code matcher()}分别添加到{@link IndexedJobListener}、{@link IndexedTriggerListener}，
+ * 以一个组合监听器注册到Scheduler，等值匹配通过哈希索引查找，不再由Quartz逐个判断.
+ * <p>开启{@code listenerDispatch.async}后，监听器回调经{@link QuartzListenerDispatcher}异步分发，
+ * 不再占用工作线程及JobStore锁的持有时间；{@code vetoJobExecution}仍同步回调，{@code asyncDispatch()}返回false的监听器始终同步回调.
  *
  * @author luas
  * @since 1.0
  */
-public class QuartzListenerRegister implements ApplicationContextAware, InitializingBean {
+public class QuartzListenerRegister implements ApplicationContextAware, InitializingBean, DisposableBean {
 
 	private Logger log = LoggerFactory.getLogger(getClass());
 
@@ -28,8 +45,21 @@ public class QuartzListenerRegister implements ApplicationContextAware, Initiali
 
 	private Scheduler scheduler;
 
+	private QuartzProperties.ListenerDispatch listenerDispatch = new QuartzProperties.ListenerDispatch();
+
+	private QuartzListenerDispatcher dispatcher;
+
+	private final IndexedJobListener indexedJobListener = new IndexedJobListener();
+
+	private final IndexedTriggerListener indexedTriggerListener = new IndexedTriggerListener();
+
 	@Override
 	public void afterPropertiesSet() throws Exception {
+		if (listenerDispatch.isAsync()) {
+			dispatcher = new QuartzListenerDispatcher("QuartzListenerDispatcher", listenerDispatch.getThreads(),
+					listenerDispatch.getQueueCapacity(), listenerDispatch.getOverflowPolicy());
+		}
+
 		awareSchedulerListeners();
 		awareJobListeners();
 		awareTriggerListeners();
@@ -52,7 +82,7 @@ public class QuartzListenerRegister implements ApplicationContextAware, Initiali
 		}
 		
 		for (AbstractSchedulerListener schedulerListener : schedulerListenerMap.values()) {
-			scheduler.getListenerManager().addSchedulerListener(schedulerListener);
+			scheduler.getListenerManager().addSchedulerListener(dispatch(schedulerListener));
 		}
 		
 		log.info("--------加载SchedulerListener结束--------");
@@ -75,8 +105,10 @@ public class QuartzListenerRegister implements ApplicationContextAware, Initiali
 		}
 		
 		for (AbstractJobListener jobListener : jobListenerMap.values()) {
-			scheduler.getListenerManager().addJobListener(jobListener);
+			indexedJobListener.addJobListener(jobListener.asyncDispatch() ? dispatch(jobListener) : jobListener, jobListener.matcher());
 		}
+
+		scheduler.getListenerManager().addJobListener(new AsyncAwareJobListener(indexedJobListener));
 		
 		log.info("--------加载JobListener结束--------");
 	}
@@ -99,12 +131,34 @@ public class QuartzListenerRegister implements ApplicationContextAware, Initiali
 		
 		for (AbstractTriggerListener abstractTriggerListener : triggerListenerMap.values()) {
 			log.info("--------" + abstractTriggerListener.getClass().getName());
-			scheduler.getListenerManager().addTriggerListener(abstractTriggerListener);
+			indexedTriggerListener.addTriggerListener(abstractTriggerListener.asyncDispatch() ? dispatch(abstractTriggerListener) : abstractTriggerListener,
+					abstractTriggerListener.matcher());
 		}
+
+		scheduler.getListenerManager().addTriggerListener(new AsyncAwareTriggerListener(indexedTriggerListener));
 		
 		log.info("--------加载TriggerListener结束--------");
 	}
 
+	private SchedulerListener dispatch(SchedulerListener schedulerListener) {
+		return dispatcher == null ? schedulerListener : dispatcher.wrap(schedulerListener);
+	}
+
+	private JobListener dispatch(JobListener jobListener) {
+		return dispatcher == null ? jobListener : dispatcher.wrap(jobListener);
+	}
+
+	private TriggerListener dispatch(TriggerListener triggerListener) {
+		return dispatcher == null ? triggerListener : dispatcher.wrap(triggerListener);
+	}
+
+	@Override
+	public void destroy() throws Exception {
+		if (dispatcher != null) {
+			dispatcher.shutdown(listenerDispatch.getAwaitTerminationMillis());
+		}
+	}
+
 	@Override
 	public void setApplicationContext(ApplicationContext applicationContext)
 			throws BeansException {
@@ -115,4 +169,23 @@ public class QuartzListenerRegister implements ApplicationContextAware, Initiali
 		this.scheduler = scheduler;
 	}
 
+	public void setListenerDispatch(QuartzProperties.ListenerDispatch listenerDispatch) {
+		this.listenerDispatch = listenerDispatch;
+	}
+
+	public IndexedJobListener getIndexedJobListener() {
+		return indexedJobListener;
+	}
+
+	public IndexedTriggerListener getIndexedTriggerListener() {
+		return indexedTriggerListener;
+	}
+
+	/**
+	 * 异步分发器，用于获取丢弃数量、滞后等统计，未开启异步分发时返回null
+	 */
+	public QuartzListenerDispatcher getDispatcher() {
+		return dispatcher;
+	}
+
 }
@@ -0,0 +1,108 @@
+package com.xbd.quartz;
+
+import org.quartz.Job;
+import org.quartz.JobExecutionContext;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 线程池分发前合并的一批同一任务类的触发
+ * <p>由{@link com.xbd.quartz.executor.MicroBatchTaskExecutor}在同一工作线程中依次执行各触发的{@code JobRunShell}：
+ * 各触发的{@link AbstractMicroBatchQuartzJobBean}只登记为批次中的一项并立即返回，全部执行后由{@link #execute()}
+ * 调用一次{@link AbstractMicroBatchQuartzJobBean#executeBatch(List)}. 被TriggerListener否决的触发不会登记.
+ * <p>非线程安全，登记及执行应在同一线程中完成.
+ *
+ * @author luas
+ * @since 2.0
+ */
+public final class QuartzMicroBatch {
+
+	private final List<QuartzMicroBatchItem> items = new ArrayList<>();
+
+	private AbstractMicroBatchQuartzJobBean job;
+
+	private boolean executed;
+
+	/**
+	 * 触发是否可以合并：任务实例为{@link AbstractMicroBatchQuartzJobBean}且未标记{@code DisallowConcurrentExecution}
+	 *
+	 * @param context 任务执行上下文
+	 * @return 可以合并时返回true
+	 */
+	public static boolean isBatchable(JobExecutionContext context) {
+		Job job = context.getJobInstance();
+
+		return job instanceof AbstractMicroBatchQuartzJobBean && !context.getJobDetail().isConcurrentExectionDisallowed();
+	}
+
+	/**
+	 * 获取批次窗口，单位：毫秒
+	 *
+	 * @param context 可以合并的任务执行上下文
+	 * @return 批次窗口
+	 */
+	public static long getBatchWindowMillis(JobExecutionContext context) {
+		return Math.max(0L, ((AbstractMicroBatchQuartzJobBean) context.getJobInstance()).batchWindowMillis());
+	}
+
+	/**
+	 * 获取批次大小上限，不超过同时未完成的执行数量上限，否则批次中后登记的触发将等待执行许可
+	 *
+	 * @param context 可以合并的任务执行上下文
+	 * @return 批次大小上限，至少为1
+	 */
+	public static int getMaxBatchSize(JobExecutionContext context) {
+		AbstractMicroBatchQuartzJobBean job = (AbstractMicroBatchQuartzJobBean) context.getJobInstance();
+
+		int maxInFlight = job.maxInFlight() > 0 ? job.maxInFlight() : AbstractAsyncQuartzJobBean.DEFAULT_MAX_IN_FLIGHT;
+
+		return Math.max(1, Math.min(job.maxBatchSize(), maxInFlight));
+	}
+
+	/**
+	 * 将触发加入本批次，应在执行其{@code JobRunShell}前调用
+	 *
+	 * @param context 任务执行上下文
+	 */
+	public void join(JobExecutionContext context) {
+		context.put(AbstractMicroBatchQuartzJobBean.MICRO_BATCH_KEY, this);
+	}
+
+	void add(AbstractMicroBatchQuartzJobBean job, QuartzMicroBatchItem item) {
+		if (this.executed) {
+			job.execute(Collections.singletonList(item));
+			return;
+		}
+
+		if (this.job == null) {
+			this.job = job;
+		}
+
+		this.items.add(item);
+	}
+
+	/**
+	 * 以第一次登记的任务实例执行批次，未登记任何触发时不执行
+	 */
+	public void execute() {
+		if (this.executed) {
+			return;
+		}
+
+		this.executed = true;
+
+		if (!this.items.isEmpty()) {
+			this.job.execute(new ArrayList<>(this.items));
+		}
+	}
+
+	/**
+	 * 已登记的触发数量
+	 */
+	public int size() {
+		return this.items.size();
+	}
+
+}
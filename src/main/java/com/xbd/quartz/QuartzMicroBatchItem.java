@@ -0,0 +1,81 @@
+package com.xbd.quartz;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.quartz.JobDataMap;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobKey;
+
+/**
+ * 微批次中的一次触发
+ * <p>由{@link AbstractMicroBatchQuartzJobBean#executeBatch(java.util.List)}通过{@link #succeed(Object)}、{@link #fail(Throwable)}
+ * 报告该次触发的执行结果，结果即该次触发的{@link JobExecutionContext#getResult()}或异常.
+ *
+ * @author luas
+ * @since 2.0
+ */
+public class QuartzMicroBatchItem {
+
+    private final JobExecutionContext context;
+
+    private final CompletableFuture<Object> future = new CompletableFuture<>();
+
+    QuartzMicroBatchItem(JobExecutionContext context) {
+        this.context = context;
+    }
+
+    public JobExecutionContext getContext() {
+        return context;
+    }
+
+    public JobKey getJobKey() {
+        return context.getJobDetail().getKey();
+    }
+
+    /**
+     * 合并后的JobDataMap，Trigger的JobDataMap优先于任务的JobDataMap
+     */
+    public JobDataMap getJobDataMap() {
+        return context.getMergedJobDataMap();
+    }
+
+    /**
+     * 报告执行成功
+     *
+     * @param result 执行结果，可为null
+     * @return 是否为首次报告
+     */
+    public boolean succeed(Object result) {
+        return future.complete(result);
+    }
+
+    /**
+     * 报告执行失败
+     *
+     * @param failure 异常
+     * @return 是否为首次报告
+     */
+    public boolean fail(Throwable failure) {
+        return future.completeExceptionally(failure);
+    }
+
+    /**
+     * 是否已报告执行结果
+     */
+    public boolean isDone() {
+        return future.isDone();
+    }
+
+    CompletableFuture<Object> getFuture() {
+        return future;
+    }
+
+    @Override
+    public String toString() {
+        return "QuartzMicroBatchItem{" +
+                "jobKey=" + getJobKey() +
+                ", fireInstanceId='" + context.getFireInstanceId() + '\'' +
+                ", done=" + future.isDone() +
+                '}';
+    }
+}
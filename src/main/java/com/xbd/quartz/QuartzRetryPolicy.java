@@ -0,0 +1,289 @@
+package com.xbd.quartz;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.apache.commons.lang3.StringUtils;
+import org.quartz.JobDataMap;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+/**
+ * 任务失败重试策略
+ * <p>以字符串形式保存在JobDataMap中（见{@code QuartzJobBuilder.withRetry}、{@code QuartzTriggerBuilder.withRetry}），
+ * 由{@link com.xbd.quartz.listener.QuartzRetryJobListener}在任务失败后读取，按指数退避创建一次性的重试Trigger.
+ * 第n次重试的间隔为{@code min(intervalMillis * multiplier^(n-1), maxIntervalMillis)}，再随机浮动{@code ±jitter}.
+ *
+ * @author luas
+ * @since 2.0
+ */
+public class QuartzRetryPolicy implements Serializable {
+
+    private static final long serialVersionUID = -2071826469503127561L;
+
+    /**
+     * JobDataMap中最大执行次数（含首次执行）的Key
+     */
+    public static final String MAX_ATTEMPTS_KEY = "jobRetryMaxAttempts";
+
+    /**
+     * JobDataMap中首次重试间隔的Key，单位：毫秒
+     */
+    public static final String INTERVAL_KEY = "jobRetryIntervalMillis";
+
+    /**
+     * JobDataMap中重试间隔倍数的Key
+     */
+    public static final String MULTIPLIER_KEY = "jobRetryMultiplier";
+
+    /**
+     * JobDataMap中最大重试间隔的Key，单位：毫秒
+     */
+    public static final String MAX_INTERVAL_KEY = "jobRetryMaxIntervalMillis";
+
+    /**
+     * JobDataMap中重试间隔随机浮动比例的Key
+     */
+    public static final String JITTER_KEY = "jobRetryJitter";
+
+    /**
+     * JobDataMap中可重试异常类名的Key，多个以逗号分隔
+     */
+    public static final String RETRY_ON_KEY = "jobRetryOn";
+
+    /**
+     * 重试Trigger的JobDataMap中本次为第几次执行的Key，首次执行时不存在
+     */
+    public static final String ATTEMPT_KEY = "jobRetryAttempt";
+
+    private int maxAttempts = 3;
+
+    private long intervalMillis = 1000L;
+
+    private double multiplier = 2.0D;
+
+    private long maxIntervalMillis = 10 * 60 * 1000L;
+
+    /**
+     * 随机浮动比例，取值[0, 1]，避免同时失败的任务同时重试
+     */
+    private double jitter = 0.2D;
+
+    /**
+     * 可重试的异常类型，异常本身或其任一原因是其中之一（含子类）时重试；为空时重试所有异常
+     */
+    private List<Class<? extends Throwable>> retryOn = new ArrayList<>();
+
+    public static QuartzRetryPolicy newPolicy(int maxAttempts) {
+        QuartzRetryPolicy policy = new QuartzRetryPolicy();
+        policy.setMaxAttempts(maxAttempts);
+        return policy;
+    }
+
+    /**
+     * 从JobDataMap中读取重试策略
+     *
+     * @param jobDataMap 合并后的JobDataMap
+     * @param classLoader 加载可重试异常类型的ClassLoader
+     * @return 重试策略，未配置{@link #MAX_ATTEMPTS_KEY}时返回null
+     * @throws ClassNotFoundException 可重试异常类型不存在
+     */
+    @SuppressWarnings("unchecked")
+    public static QuartzRetryPolicy fromJobData(JobDataMap jobDataMap, ClassLoader classLoader) throws ClassNotFoundException {
+        String maxAttempts = getString(jobDataMap, MAX_ATTEMPTS_KEY);
+
+        if (maxAttempts == null) {
+            return null;
+        }
+
+        QuartzRetryPolicy policy = newPolicy(Integer.parseInt(maxAttempts));
+
+        String value = getString(jobDataMap, INTERVAL_KEY);
+
+        if (value != null) {
+            policy.setIntervalMillis(Long.parseLong(value));
+        }
+
+        if ((value = getString(jobDataMap, MULTIPLIER_KEY)) != null) {
+            policy.setMultiplier(Double.parseDouble(value));
+        }
+
+        if ((value = getString(jobDataMap, MAX_INTERVAL_KEY)) != null) {
+            policy.setMaxIntervalMillis(Long.parseLong(value));
+        }
+
+        if ((value = getString(jobDataMap, JITTER_KEY)) != null) {
+            policy.setJitter(Double.parseDouble(value));
+        }
+
+        if ((value = getString(jobDataMap, RETRY_ON_KEY)) != null) {
+            for (String className : StringUtils.split(value, ',')) {
+                policy.retryOn.add((Class<? extends Throwable>) ClassUtils.forName(className.trim(), classLoader));
+            }
+        }
+
+        return policy;
+    }
+
+    /**
+     * 转换为JobDataMap中的值
+     */
+    public Map<String, Object> toJobData() {
+        Map<String, Object> jobData = new HashMap<>();
+
+        jobData.put(MAX_ATTEMPTS_KEY, String.valueOf(maxAttempts));
+        jobData.put(INTERVAL_KEY, String.valueOf(intervalMillis));
+        jobData.put(MULTIPLIER_KEY, String.valueOf(multiplier));
+        jobData.put(MAX_INTERVAL_KEY, String.valueOf(maxIntervalMillis));
+        jobData.put(JITTER_KEY, String.valueOf(jitter));
+
+        if (!retryOn.isEmpty()) {
+            List<String> classNames = new ArrayList<>(retryOn.size());
+
+            for (Class<? extends Throwable> type : retryOn) {
+                classNames.add(type.getName());
+            }
+
+            jobData.put(RETRY_ON_KEY, StringUtils.join(classNames, ','));
+        }
+
+        return jobData;
+    }
+
+    /**
+     * 异常是否可重试
+     */
+    public boolean isRetryable(Throwable failure) {
+        if (retryOn.isEmpty()) {
+            return true;
+        }
+
+        for (Throwable cause = failure; cause != null; cause = cause.getCause() == cause ? null : cause.getCause()) {
+            for (Class<? extends Throwable> type : retryOn) {
+                if (type.isInstance(cause)) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * 第{@code retry}次重试前的等待时间
+     *
+     * @param retry 重试序号，从1开始
+     * @return 等待时间，单位：毫秒
+     */
+    public long delayMillis(int retry) {
+        double delay = intervalMillis * Math.pow(multiplier, Math.max(0, retry - 1));
+
+        delay = Math.min(delay, maxIntervalMillis);
+
+        if (jitter > 0) {
+            delay = delay * (1 + jitter * (ThreadLocalRandom.current().nextDouble() * 2 - 1));
+        }
+
+        return Math.max(0L, (long) delay);
+    }
+
+    public QuartzRetryPolicy withBackoff(long intervalMillis, double multiplier, long maxIntervalMillis) {
+        setIntervalMillis(intervalMillis);
+        setMultiplier(multiplier);
+        setMaxIntervalMillis(maxIntervalMillis);
+        return this;
+    }
+
+    public QuartzRetryPolicy withJitter(double jitter) {
+        setJitter(jitter);
+        return this;
+    }
+
+    @SafeVarargs
+    public final QuartzRetryPolicy retryOn(Class<? extends Throwable>... types) {
+        for (Class<? extends Throwable> type : types) {
+            this.retryOn.add(type);
+        }
+        return this;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public void setMaxAttempts(int maxAttempts) {
+        Assert.isTrue(maxAttempts > 0, "maxAttempts必须大于0！");
+
+        this.maxAttempts = maxAttempts;
+    }
+
+    public long getIntervalMillis() {
+        return intervalMillis;
+    }
+
+    public void setIntervalMillis(long intervalMillis) {
+        Assert.isTrue(intervalMillis >= 0, "intervalMillis不能小于0！");
+
+        this.intervalMillis = intervalMillis;
+    }
+
+    public double getMultiplier() {
+        return multiplier;
+    }
+
+    public void setMultiplier(double multiplier) {
+        Assert.isTrue(multiplier >= 1, "multiplier不能小于1！");
+
+        this.multiplier = multiplier;
+    }
+
+    public long getMaxIntervalMillis() {
+        return maxIntervalMillis;
+    }
+
+    public void setMaxIntervalMillis(long maxIntervalMillis) {
+        Assert.isTrue(maxIntervalMillis >= 0, "maxIntervalMillis不能小于0！");
+
+        this.maxIntervalMillis = maxIntervalMillis;
+    }
+
+    public double getJitter() {
+        return jitter;
+    }
+
+    public void setJitter(double jitter) {
+        Assert.isTrue(jitter >= 0 && jitter <= 1, "jitter必须在0到1之间！");
+
+        this.jitter = jitter;
+    }
+
+    public List<Class<? extends Throwable>> getRetryOn() {
+        return retryOn;
+    }
+
+    public void setRetryOn(List<Class<? extends Throwable>> retryOn) {
+        this.retryOn = retryOn == null ? new ArrayList<>() : retryOn;
+    }
+
+    private static String getString(JobDataMap jobDataMap, String key) {
+        Object value = jobDataMap.get(key);
+
+        return value == null || StringUtils.isBlank(value.toString()) ? null : value.toString().trim();
+    }
+
+    @Override
+    public String toString() {
+        return "QuartzRetryPolicy{" +
+                "maxAttempts=" + maxAttempts +
+                ", intervalMillis=" + intervalMillis +
+                ", multiplier=" + multiplier +
+                ", maxIntervalMillis=" + maxIntervalMillis +
+                ", jitter=" + jitter +
+                ", retryOn=" + retryOn +
+                '}';
+    }
+}
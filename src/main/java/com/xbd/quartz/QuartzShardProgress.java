@@ -0,0 +1,82 @@
+package com.xbd.quartz;
+
+import java.io.Serializable;
+
+import org.quartz.JobKey;
+
+/**
+ * 分片任务一次触发的执行进度
+ *
+ * @author luas
+ * @since 2.0
+ */
+public class QuartzShardProgress implements Serializable {
+
+    private static final long serialVersionUID = -6120958421057324871L;
+
+    private final String runId;
+
+    private final JobKey jobKey;
+
+    private final int total;
+
+    private final int succeeded;
+
+    private final int failed;
+
+    /**
+     * 触发时间
+     */
+    private final long startTime;
+
+    public QuartzShardProgress(String runId, JobKey jobKey, int total, int succeeded, int failed, long startTime) {
+        this.runId = runId;
+        this.jobKey = jobKey;
+        this.total = total;
+        this.succeeded = succeeded;
+        this.failed = failed;
+        this.startTime = startTime;
+    }
+
+    public String getRunId() {
+        return runId;
+    }
+
+    public JobKey getJobKey() {
+        return jobKey;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public long getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * 全部分片是否均已结束
+     */
+    public boolean isFinished() {
+        return succeeded + failed >= total;
+    }
+
+    @Override
+    public String toString() {
+        return "QuartzShardProgress{" +
+                "runId='" + runId + '\'' +
+                ", jobKey=" + jobKey +
+                ", total=" + total +
+                ", succeeded=" + succeeded +
+                ", failed=" + failed +
+                '}';
+    }
+}
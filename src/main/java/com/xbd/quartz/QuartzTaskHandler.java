@@ -1,12 +1,32 @@
 package com.xbd.quartz;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.*;
-
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import com.xbd.quartz.history.QuartzJobExecution;
+import com.xbd.quartz.history.QuartzJobHistoryStats;
+import com.xbd.quartz.jdbcjobstore.QuartzJobStoreTX;
+import com.xbd.quartz.metrics.QuartzJobMetricsSnapshot;
+import com.xbd.quartz.metrics.QuartzMetrics;
+import com.xbd.quartz.query.QuartzJobView;
+import com.xbd.quartz.query.QuartzPage;
+import com.xbd.quartz.query.QuartzTriggerQuery;
+import com.xbd.quartz.query.QuartzTriggerView;
+import com.xbd.quartz.transfer.QuartzJobSnapshot;
+import com.xbd.quartz.transfer.QuartzSnapshotReader;
+import com.xbd.quartz.transfer.QuartzSnapshotSummary;
+import com.xbd.quartz.transfer.QuartzSnapshotWriter;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.quartz.Calendar;
 import org.quartz.*;
 import org.quartz.impl.matchers.GroupMatcher;
+import org.quartz.listeners.SchedulerListenerSupport;
+import org.quartz.spi.OperableTrigger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.lang.NonNull;
@@ -23,9 +43,53 @@ public abstract class QuartzTaskHandler {
 
     protected Logger logger = LoggerFactory.getLogger(getClass());
 
+    /**
+     * 批量写入时每一批次（事务）默认包含的任务数量
+     */
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
     @NonNull
     protected Scheduler scheduler;
 
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
+    /**
+     * {@link #getTriggerStates(Collection)}结果缓存时间，单位：毫秒，0表示不缓存
+     */
+    private long triggerStateCacheMillis = 0L;
+
+    /**
+     * {@link #getTriggerStates(Collection)}结果缓存的最大条数，超出时清空
+     */
+    private int triggerStateCacheMaxSize = 100000;
+
+    private final Map<TriggerKey, CachedTriggerState> triggerStateCache = new ConcurrentHashMap<>();
+
+    /**
+     * 已确认存在的Calendar名称缓存时间，单位：毫秒，0表示不缓存
+     */
+    private long calendarCacheMillis = 60000L;
+
+    /**
+     * 已确认存在的Calendar名称及确认时间
+     */
+    private final Map<String, Long> calendarCache = new ConcurrentHashMap<>();
+
+    /**
+     * 调度数据被清空、调度器关闭时清空Calendar缓存，每个{@code Scheduler}只注册一次
+     */
+    private final SchedulerListener calendarCacheListener = new SchedulerListenerSupport() {
+        @Override
+        public void schedulingDataCleared() {
+            evictCalendars();
+        }
+
+        @Override
+        public void schedulerShutdown() {
+            evictCalendars();
+        }
+    };
+
     /**
      * 动态添加任务
      *
@@ -235,10 +299,61 @@ public abstract class QuartzTaskHandler {
      */
     public abstract void updateJob(QuartzJob... quartzJobs) throws SchedulerException;
 
+    /**
+     * 动态保存任务
+     * <p>
+     *     任务不存在时添加；已存在时，比较任务及Trigger的定义与{@code Scheduler}中保存的是否一致，定义未变化的任务不再写入。
+     *     配置{@link QuartzJobStoreTX}时，比较与写入在一个事务内完成，仅重新调度定义发生变化的Trigger；
+     *     否则定义发生任何变化时整体覆盖写入任务及其Trigger
+     * </p>
+     *
+     * @param quartzJob 定时任务信息
+     *
+     * @since 2.0
+     * @see QuartzJob 定时任务信息
+     * @see #saveChangedJobs(Collection)
+     *
+     * @throws SchedulerException 如果声明的定时任务不能被保存到{@code Scheduler}中，或者{@code Scheduler}内部异常
+     */
     public abstract void saveJob(QuartzJob quartzJob) throws SchedulerException;
 
     public abstract void saveJob(QuartzJob... quartzJobs) throws SchedulerException;
 
+    /**
+     * 批量动态添加任务
+     * <p>
+     *     按{@link #getBatchSize()}分批，每一批次在一个事务中写入{@code Scheduler}，某一批次失败不影响其它批次
+     * </p>
+     *
+     * @param quartzJobs 定时任务信息集合
+     * @return 每一批次的写入结果
+     *
+     * @since 2.0
+     * @see QuartzBatchResult
+     *
+     * @throws SchedulerException {@code Scheduler}内部异常
+     * @throws IllegalArgumentException JobKey重复，或没有Trigger的任务未设置持久化，此时不写入任何任务
+     */
+    public abstract List<QuartzBatchResult> addJobs(Collection<QuartzJob> quartzJobs) throws SchedulerException;
+
+    /**
+     * 批量动态保存任务
+     * <p>
+     *     按{@link #getBatchSize()}分批，每一批次在一个事务中写入{@code Scheduler}，已存在的任务将被覆盖，某一批次失败不影响其它批次。
+     *     定义与{@code Scheduler}中一致的任务跳过写入，见{@link #saveChangedJobs(Collection)}
+     * </p>
+     *
+     * @param quartzJobs 定时任务信息集合
+     * @return 每一批次的写入结果
+     *
+     * @since 2.0
+     * @see QuartzBatchResult
+     *
+     * @throws SchedulerException {@code Scheduler}内部异常
+     * @throws IllegalArgumentException JobKey重复，或没有Trigger的任务未设置持久化，此时不写入任何任务
+     */
+    public abstract List<QuartzBatchResult> saveJobs(Collection<QuartzJob> quartzJobs) throws SchedulerException;
+
     /**
      * 暂停声明的{@code QuartzJob}任务
      *
@@ -573,6 +688,18 @@ public abstract class QuartzTaskHandler {
      */
     public abstract void pauseAll() throws SchedulerException;
 
+    /**
+     * 恢复所有任务Trigger
+     * <p>
+     *     与{@link Scheduler#resumeAll()}不同，死信分组{@link com.xbd.quartz.listener.QuartzRetryJobListener#DEAD_LETTER_TRIGGER_GROUP}
+     *     保持暂停，避免死信Trigger随之立即执行
+     * </p>
+     *
+     * @since 2.0
+     * @throws SchedulerException {@code Scheduler}内部异常
+     */
+    public abstract void resumeAll() throws SchedulerException;
+
     /**
      * 重启任务Trigger
      *
@@ -676,7 +803,8 @@ public abstract class QuartzTaskHandler {
                 .newJob(quartzJob.getJobClass())
                 .withIdentity(quartzJob.getKey())
                 .withDescription(quartzJob.getDescription())
-                .storeDurably();
+                .storeDurably(quartzJob.isDurability())
+                .requestRecovery(quartzJob.isShouldRecover());
 
         if (quartzJob.getJobData() != null) {
             jobBuilder.usingJobData(new JobDataMap(quartzJob.getJobData()));
@@ -696,6 +824,7 @@ public abstract class QuartzTaskHandler {
     protected Trigger createTrigger(QuartzTrigger quartzTrigger) throws SchedulerException {
         TriggerBuilder<Trigger> triggerBuilder = TriggerBuilder.newTrigger()
                 .withIdentity(quartzTrigger.getKey())
+                .withPriority(quartzTrigger.getPriority())
                 .withSchedule(initCronScheduleBuilder(quartzTrigger));
 
         if (quartzTrigger.getJobKey() != null) {
@@ -703,15 +832,12 @@ public abstract class QuartzTaskHandler {
         }
 
         if (quartzTrigger.getJobData() != null) {
-            JobDataMap jobDataMap = new JobDataMap();
-            jobDataMap.putAll(quartzTrigger.getJobData());
-            triggerBuilder.usingJobData(jobDataMap);
+            triggerBuilder.usingJobData(new JobDataMap(quartzTrigger.getJobData()));
         }
 
         if (StringUtils.isNotEmpty(quartzTrigger.getCalendarName())) {
-            Calendar calendarInScheduler = this.scheduler.getCalendar(quartzTrigger.getCalendarName());
-            if (calendarInScheduler == null) {
-                this.logger.error("Calendar{}尚未添加到Scheduler中！");
+            if (!calendarExists(quartzTrigger.getCalendarName())) {
+                this.logger.error("Calendar{}尚未添加到Scheduler中！", quartzTrigger.getCalendarName());
 
                 throw new SchedulerException("Calendar " + quartzTrigger.getCalendarName() + "尚未添加到Scheduler中！");
             }
@@ -804,6 +930,347 @@ public abstract class QuartzTaskHandler {
         return triggersAndJobs;
     }
 
+    /**
+     * 分批将任务写入{@code Scheduler}
+     * <p>
+     *     每一批次组织为{@link JobDetail}及其{@link Trigger}集合Map，通过{@link Scheduler#scheduleJobs(Map, boolean)}在一个事务中写入，
+     *     没有Trigger的任务以空集合写入，必须设置为持久化。某一批次失败时记录异常并继续下一批次
+     * </p>
+     * <p>
+     *     分批前通过{@link #validateJob(QuartzJob)}校验全部任务，任一任务属性错误、同一任务（JobKey）重复出现时抛出异常，不写入任何任务；
+     *     写入时才能发现的错误（如Calendar不存在）记为所在批次失败
+     * </p>
+     *
+     * @param quartzJobs {@link QuartzJob}集合
+     * @param replace 是否覆盖已存在的任务
+     * @return 每一批次的写入结果
+     * @since 2.0
+     * @throws IllegalArgumentException {@link QuartzJob}属性错误，或JobKey重复
+     */
+    protected List<QuartzBatchResult> scheduleJobsInBatches(Collection<QuartzJob> quartzJobs, boolean replace) {
+        Set<JobKey> jobKeys = new HashSet<>();
+
+        for (QuartzJob quartzJob : quartzJobs) {
+            validateJob(quartzJob);
+
+            Assert.isTrue(jobKeys.add(quartzJob.getKey()), "任务" + quartzJob.getKey() + "重复！");
+        }
+
+        List<QuartzBatchResult> results = new ArrayList<>();
+
+        List<QuartzJob> batch = new ArrayList<>(Math.min(this.batchSize, quartzJobs.size()));
+
+        for (QuartzJob quartzJob : quartzJobs) {
+            batch.add(quartzJob);
+
+            if (batch.size() >= this.batchSize) {
+                results.add(scheduleBatch(results.size(), batch, replace));
+                batch.clear();
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            results.add(scheduleBatch(results.size(), batch, replace));
+        }
+
+        return results;
+    }
+
+    private QuartzBatchResult scheduleBatch(int index, List<QuartzJob> batch, boolean replace) {
+        long start = System.currentTimeMillis();
+
+        List<JobKey> jobKeys = new ArrayList<>(batch.size());
+
+        int skipped = 0;
+
+        SchedulerException exception = null;
+
+        try {
+            for (QuartzJob quartzJob : batch) {
+                jobKeys.add(quartzJob.getKey());
+            }
+
+            if (replace) {
+                skipped = saveChangedJobs(batch);
+            } else {
+                Map<JobDetail, Set<? extends Trigger>> triggersAndJobs = new LinkedHashMap<>();
+
+                for (QuartzJob quartzJob : batch) {
+                    Set<? extends Trigger> triggers = createTriggers(quartzJob);
+
+                    triggersAndJobs.put(createJobDetail(quartzJob), triggers == null ? Collections.emptySet() : triggers);
+                }
+
+                this.scheduler.scheduleJobs(triggersAndJobs, false);
+            }
+        } catch (SchedulerException e) {
+            this.logger.error("第{}批次任务写入失败，共{}个任务！", index, batch.size(), e);
+
+            exception = e;
+        } catch (RuntimeException e) {
+            this.logger.error("第{}批次任务写入失败，共{}个任务！", index, batch.size(), e);
+
+            exception = new SchedulerException("第" + index + "批次任务写入失败：" + e.getMessage(), e);
+        }
+
+        return new QuartzBatchResult(index, jobKeys, skipped, System.currentTimeMillis() - start, exception);
+    }
+
+    /**
+     * 写入前校验任务：按{@link #createJobDetail(QuartzJob)}、{@link #createTrigger(QuartzTrigger)}的方式构建JobDetail及Trigger并校验，
+     * 不访问{@code Scheduler}，Calendar是否存在在写入时检查
+     *
+     * @param quartzJob {@link QuartzJob}
+     * @since 2.0
+     * @throws IllegalArgumentException {@link QuartzJob}、{@link QuartzTrigger}属性错误，或没有Trigger的任务未设置持久化
+     */
+    public void validateJob(QuartzJob quartzJob) {
+        Assert.notNull(quartzJob, "job不能为空！");
+        Assert.notNull(quartzJob.getJobClass(), "job class不能为空！");
+        Assert.notNull(quartzJob.getKey(), "Key不能为空！");
+        Assert.notNull(quartzJob.getKey().getName(), "Key名称不能为空！");
+        Assert.isTrue(quartzJob.isDurability() || !CollectionUtils.isEmpty(quartzJob.getTriggers()),
+                "任务" + quartzJob.getKey() + "没有Trigger，必须设置为持久化（durability）！");
+
+        if (quartzJob.getTriggers() == null) {
+            return;
+        }
+
+        for (QuartzTrigger quartzTrigger : quartzJob.getTriggers()) {
+            Assert.notNull(quartzTrigger, "任务" + quartzJob.getKey() + "的Trigger不能为空！");
+            Assert.notNull(quartzTrigger.getKey(), "任务" + quartzJob.getKey() + "的Trigger Key不能为空！");
+            Assert.notNull(quartzTrigger.getType(), "Trigger " + quartzTrigger.getKey() + "类型不能为空！");
+
+            if (QuartzTrigger.TriggerType.CRON.equals(quartzTrigger.getType())) {
+                Assert.isTrue(CronExpression.isValidExpression(quartzTrigger.getCronExpression()),
+                        "Trigger " + quartzTrigger.getKey() + "的Cron表达式" + quartzTrigger.getCronExpression() + "错误！");
+            }
+
+            try {
+                TriggerBuilder<Trigger> triggerBuilder = TriggerBuilder.newTrigger()
+                        .withIdentity(quartzTrigger.getKey())
+                        .forJob(quartzJob.getKey())
+                        .withPriority(quartzTrigger.getPriority())
+                        .withSchedule(initCronScheduleBuilder(quartzTrigger));
+
+                if (quartzTrigger.getStartAt() != null && !quartzTrigger.isStartNow()) {
+                    triggerBuilder.startAt(quartzTrigger.getStartAt());
+                }
+
+                if (quartzTrigger.getEndAt() != null) {
+                    triggerBuilder.endAt(quartzTrigger.getEndAt());
+                }
+
+                ((OperableTrigger) triggerBuilder.build()).validate();
+            } catch (SchedulerException | RuntimeException e) {
+                throw new IllegalArgumentException("Trigger " + quartzTrigger.getKey() + "属性错误：" + e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * 保存任务，跳过定义与{@code Scheduler}中一致的任务
+     * <p>
+     *     配置{@link QuartzJobStoreTX}时，通过{@link QuartzJobStoreTX#storeChangedJobsAndTriggers}在一次锁获取、一个事务内比较并写入，
+     *     只覆盖定义发生变化的JobDetail及Trigger，未变化的Trigger保持原有的触发时间；
+     *     否则逐个读取比较，定义发生任何变化的任务及其全部Trigger通过一次{@link Scheduler#scheduleJobs(Map, boolean)}覆盖写入，
+     *     并发保存同一任务时以最后一次写入为准
+     * </p>
+     *
+     * @param quartzJobs {@link QuartzJob}集合
+     * @return 定义未变化、跳过写入的任务数量
+     * @since 2.0
+     * @throws SchedulerException {@link QuartzJob}属性错误、{@code Scheduler}内部异常
+     */
+    protected int saveChangedJobs(Collection<QuartzJob> quartzJobs) throws SchedulerException {
+        Map<JobDetail, Set<Trigger>> triggersAndJobs = new LinkedHashMap<>();
+
+        // 未指定开始时间的Trigger以创建时间开始，比较时忽略开始时间
+        Set<TriggerKey> floatingStartTriggers = new HashSet<>();
+
+        for (QuartzJob quartzJob : quartzJobs) {
+            JobDetail jobDetail = createJobDetail(quartzJob);
+
+            Set<Trigger> triggers = createTriggers(quartzJob);
+
+            if (triggers == null) {
+                triggers = Collections.emptySet();
+            }
+
+            if (triggers.isEmpty() && !jobDetail.isDurable()) {
+                throw new SchedulerException("任务" + jobDetail.getKey() + "没有Trigger，必须设置为持久化（durability）！");
+            }
+
+            for (Trigger trigger : triggers) {
+                OperableTrigger operableTrigger = (OperableTrigger) trigger;
+
+                operableTrigger.setJobKey(jobDetail.getKey());
+                operableTrigger.validate();
+            }
+
+            for (QuartzTrigger quartzTrigger : quartzJob.getTriggers() == null ? Collections.<QuartzTrigger>emptyList() : quartzJob.getTriggers()) {
+                if (quartzTrigger.isStartNow() || quartzTrigger.getStartAt() == null) {
+                    floatingStartTriggers.add(quartzTrigger.getKey());
+                }
+            }
+
+            triggersAndJobs.put(jobDetail, triggers);
+        }
+
+        QuartzJobStoreTX jobStore = getJobStore();
+
+        if (jobStore != null) {
+            Map<JobDetail, Set<Trigger>> stored = jobStore.storeChangedJobsAndTriggers(triggersAndJobs, this::isUnchanged,
+                    (trigger, triggerInScheduler) -> isUnchanged(trigger, triggerInScheduler, floatingStartTriggers.contains(trigger.getKey())));
+
+            if (!stored.isEmpty()) {
+                notifySchedulerListeners(schedulerListener -> stored.forEach((jobDetail, triggers) -> {
+                    schedulerListener.jobAdded(jobDetail);
+                    triggers.forEach(schedulerListener::jobScheduled);
+                }));
+            }
+
+            return triggersAndJobs.size() - stored.size();
+        }
+
+        Map<JobDetail, Set<? extends Trigger>> changed = new LinkedHashMap<>();
+
+        for (Map.Entry<JobDetail, Set<Trigger>> entry : triggersAndJobs.entrySet()) {
+            if (!isUnchanged(entry.getKey(), entry.getValue(), floatingStartTriggers)) {
+                changed.put(entry.getKey(), entry.getValue());
+            }
+        }
+
+        if (!changed.isEmpty()) {
+            this.scheduler.scheduleJobs(changed, true);
+        }
+
+        return triggersAndJobs.size() - changed.size();
+    }
+
+    /**
+     * 判断任务及其Trigger的定义与{@code Scheduler}中保存的是否一致，每个任务读取一次JobDetail及其Trigger
+     *
+     * @param jobDetail 由{@link #createJobDetail(QuartzJob)}创建的{@link JobDetail}
+     * @param triggers 由{@link #createTriggers(QuartzJob)}创建、已设置所属任务的{@link Trigger}集合
+     * @param floatingStartTriggers 未指定开始时间的Trigger
+     * @return 任务及所有Trigger的定义均与{@code Scheduler}中一致时返回true
+     * @since 2.0
+     * @throws SchedulerException {@code Scheduler}内部异常
+     */
+    protected boolean isUnchanged(JobDetail jobDetail, Set<? extends Trigger> triggers, Set<TriggerKey> floatingStartTriggers) throws SchedulerException {
+        if (!isUnchanged(jobDetail, this.scheduler.getJobDetail(jobDetail.getKey()))) {
+            return false;
+        }
+
+        if (CollectionUtils.isEmpty(triggers)) {
+            return true;
+        }
+
+        Map<TriggerKey, Trigger> triggersInScheduler = getTriggersOfJob(jobDetail.getKey());
+
+        for (Trigger trigger : triggers) {
+            if (!isUnchanged(trigger, triggersInScheduler.get(trigger.getKey()), floatingStartTriggers.contains(trigger.getKey()))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * 判断任务的定义与已读取的{@code Scheduler}中的任务是否一致：任务类、描述、持久化及宕机恢复标志、JobDataMap
+     *
+     * @param jobDetail 由{@link #createJobDetail(QuartzJob)}创建的{@link JobDetail}
+     * @param jobDetailInScheduler {@code Scheduler}中的任务，可为null
+     * @return 一致时返回true，任务不存在时返回false
+     * @since 2.0
+     */
+    protected boolean isUnchanged(JobDetail jobDetail, JobDetail jobDetailInScheduler) {
+        return jobDetailInScheduler != null
+                && Objects.equals(jobDetail.getJobClass(), jobDetailInScheduler.getJobClass())
+                && Objects.equals(jobDetail.getDescription(), jobDetailInScheduler.getDescription())
+                && jobDetail.isDurable() == jobDetailInScheduler.isDurable()
+                && jobDetail.requestsRecovery() == jobDetailInScheduler.requestsRecovery()
+                && jobDetail.getJobDataMap().getWrappedMap().equals(jobDetailInScheduler.getJobDataMap().getWrappedMap());
+    }
+
+    /**
+     * 判断Trigger的定义与已读取的{@code Scheduler}中的Trigger是否一致：所属任务、类型、调度规则、开始及结束时间、Calendar、优先级、
+     * 错过触发策略、描述、JobDataMap；不比较下次触发时间、已触发次数等运行状态
+     *
+     * @param trigger 由{@link #createTrigger(QuartzTrigger)}创建、已设置所属任务的{@link Trigger}
+     * @param triggerInScheduler {@code Scheduler}中的Trigger，可为null
+     * @param floatingStart 未指定开始时间时为true，不比较开始时间
+     * @return 一致时返回true，Trigger不存在时返回false
+     * @since 2.0
+     */
+    protected boolean isUnchanged(Trigger trigger, Trigger triggerInScheduler, boolean floatingStart) {
+        if (triggerInScheduler == null
+                || trigger.getClass() != triggerInScheduler.getClass()
+                || !Objects.equals(trigger.getJobKey(), triggerInScheduler.getJobKey())
+                || (!floatingStart && !Objects.equals(trigger.getStartTime(), triggerInScheduler.getStartTime()))
+                || !Objects.equals(trigger.getEndTime(), triggerInScheduler.getEndTime())
+                || !Objects.equals(trigger.getCalendarName(), triggerInScheduler.getCalendarName())
+                || trigger.getPriority() != triggerInScheduler.getPriority()
+                || trigger.getMisfireInstruction() != triggerInScheduler.getMisfireInstruction()
+                || !Objects.equals(trigger.getDescription(), triggerInScheduler.getDescription())
+                || !trigger.getJobDataMap().getWrappedMap().equals(triggerInScheduler.getJobDataMap().getWrappedMap())) {
+            return false;
+        }
+
+        if (trigger instanceof CronTrigger) {
+            CronTrigger cronTrigger = (CronTrigger) trigger;
+            CronTrigger cronTriggerInScheduler = (CronTrigger) triggerInScheduler;
+
+            return Objects.equals(cronTrigger.getCronExpression(), cronTriggerInScheduler.getCronExpression())
+                    && Objects.equals(cronTrigger.getTimeZone(), cronTriggerInScheduler.getTimeZone());
+        }
+
+        if (trigger instanceof SimpleTrigger) {
+            SimpleTrigger simpleTrigger = (SimpleTrigger) trigger;
+            SimpleTrigger simpleTriggerInScheduler = (SimpleTrigger) triggerInScheduler;
+
+            return simpleTrigger.getRepeatCount() == simpleTriggerInScheduler.getRepeatCount()
+                    && simpleTrigger.getRepeatInterval() == simpleTriggerInScheduler.getRepeatInterval();
+        }
+
+        return false;
+    }
+
+    /**
+     * 一次读取任务在{@code Scheduler}中已有的Trigger
+     *
+     * @param jobKey 任务
+     * @return 以TriggerKey为Key的Trigger
+     * @since 2.0
+     * @throws SchedulerException {@code Scheduler}内部异常
+     */
+    protected Map<TriggerKey, Trigger> getTriggersOfJob(JobKey jobKey) throws SchedulerException {
+        Map<TriggerKey, Trigger> triggersInScheduler = new HashMap<>();
+
+        for (Trigger triggerInScheduler : this.scheduler.getTriggersOfJob(jobKey)) {
+            triggersInScheduler.put(triggerInScheduler.getKey(), triggerInScheduler);
+        }
+
+        return triggersInScheduler;
+    }
+
+    /**
+     * 如有批次写入失败，抛出第一个失败批次的异常
+     *
+     * @param results 批量写入结果
+     * @since 2.0
+     * @throws SchedulerException 第一个失败批次的异常
+     */
+    protected void throwIfFailed(List<QuartzBatchResult> results) throws SchedulerException {
+        for (QuartzBatchResult result : results) {
+            if (!result.isSuccess()) {
+                throw result.getException();
+            }
+        }
+    }
+
     /**
      * 根据定时任务信息组织CronScheduleBuilder
      *
@@ -860,6 +1327,21 @@ public abstract class QuartzTaskHandler {
         return scheduleBuilder;
     }
 
+    /**
+     * 按fireInstanceId中断本节点一次进行中的执行
+     * <p>{@link AbstractQuartzJobBean}由{@link QuartzJobWatchdog}中断，多次触发共享同一实例时也只中断该次触发；其它任务委托{@link Scheduler#interrupt(String)}</p>
+     *
+     * @param fireInstanceId {@link JobExecutionContext#getFireInstanceId()}
+     * @return 是否中断了执行
+     * @since 2.0
+     * @throws SchedulerException 任务不支持中断，或者{@code Scheduler}内部异常
+     */
+    public boolean interrupt(String fireInstanceId) throws SchedulerException {
+        Assert.hasText(fireInstanceId, "fireInstanceId不能为空！");
+
+        return QuartzJobWatchdog.interrupt(fireInstanceId) || this.scheduler.interrupt(fireInstanceId);
+    }
+
     /**
      * 根据任务名称、任务分组获取定时任务调度器中的该任务触发器
      *
@@ -924,6 +1406,97 @@ public abstract class QuartzTaskHandler {
         return this.scheduler.getTriggerState(triggerKey);
     }
 
+    /**
+     * 批量获取Trigger状态
+     * <p>
+     *     使用{@link QuartzJobStoreTX}时分批以一条SQL查询多个Trigger，否则逐个查询.
+     *     {@link #setTriggerStateCacheMillis(long)}大于0时，缓存时间内重复查询直接返回缓存结果，状态最多滞后该时间
+     * </p>
+     *
+     * @param triggerKeys TriggerKey集合
+     * @return 各Trigger的状态，不存在的Trigger为{@link Trigger.TriggerState#NONE}
+     * @since 2.0
+     * @throws SchedulerException {@code Scheduler}内部异常
+     */
+    public Map<TriggerKey, Trigger.TriggerState> getTriggerStates(Collection<TriggerKey> triggerKeys) throws SchedulerException {
+        Assert.notNull(triggerKeys, "triggers不能为空！");
+
+        Map<TriggerKey, Trigger.TriggerState> triggerStates = new HashMap<>(triggerKeys.size() * 2);
+
+        Collection<TriggerKey> missingKeys = triggerKeys;
+
+        long now = System.currentTimeMillis();
+
+        if (this.triggerStateCacheMillis > 0) {
+            missingKeys = new ArrayList<>();
+
+            for (TriggerKey triggerKey : triggerKeys) {
+                CachedTriggerState cached = this.triggerStateCache.get(triggerKey);
+
+                if (cached != null && now - cached.loadedAt < this.triggerStateCacheMillis) {
+                    triggerStates.put(triggerKey, cached.triggerState);
+                } else {
+                    missingKeys.add(triggerKey);
+                }
+            }
+
+            if (missingKeys.isEmpty()) {
+                return triggerStates;
+            }
+        }
+
+        Map<TriggerKey, Trigger.TriggerState> loaded;
+
+        QuartzJobStoreTX jobStore = getJobStore();
+
+        if (jobStore != null) {
+            loaded = jobStore.selectTriggerStates(missingKeys);
+        } else {
+            loaded = new HashMap<>(missingKeys.size() * 2);
+
+            for (TriggerKey triggerKey : missingKeys) {
+                loaded.put(triggerKey, this.scheduler.getTriggerState(triggerKey));
+            }
+        }
+
+        if (this.triggerStateCacheMillis > 0) {
+            if (this.triggerStateCache.size() + loaded.size() > this.triggerStateCacheMaxSize) {
+                this.triggerStateCache.clear();
+            }
+
+            loaded.forEach((triggerKey, triggerState) -> this.triggerStateCache.put(triggerKey, new CachedTriggerState(triggerState, now)));
+        }
+
+        triggerStates.putAll(loaded);
+
+        return triggerStates;
+    }
+
+    /**
+     * 清空{@link #getTriggerStates(Collection)}的结果缓存
+     *
+     * @since 2.0
+     */
+    public void evictTriggerStates() {
+        this.triggerStateCache.clear();
+    }
+
+    /**
+     * 缓存的Trigger状态
+     */
+    private static final class CachedTriggerState {
+
+        private final Trigger.TriggerState triggerState;
+
+        private final long loadedAt;
+
+        private CachedTriggerState(Trigger.TriggerState triggerState, long loadedAt) {
+            this.triggerState = triggerState;
+            this.loadedAt = loadedAt;
+        }
+
+    }
+
     /**
      * Add (register) the given <code>Calendar</code> to the Scheduler.
      *
@@ -940,6 +1513,10 @@ public abstract class QuartzTaskHandler {
     public void addCalendar(String calName, Calendar calendar, boolean replace, boolean updateTriggers)
             throws SchedulerException {
         this.scheduler.addCalendar(calName, calendar, replace, updateTriggers);
+
+        if (this.calendarCacheMillis > 0) {
+            this.calendarCache.put(calName, System.currentTimeMillis());
+        }
     }
 
     /**
@@ -958,7 +1535,56 @@ public abstract class QuartzTaskHandler {
      *           triggers reference the calendar
      */
     public boolean deleteCalendar(String calName) throws SchedulerException {
-        return this.scheduler.deleteCalendar(calName);
+        boolean deleted = this.scheduler.deleteCalendar(calName);
+
+        // 删除完成后再清除，避免并发的calendarExists在删除前重新写入缓存
+        this.calendarCache.remove(calName);
+
+        return deleted;
+    }
+
+    /**
+     * 判断Calendar是否存在
+     * <p>
+     *     存在的Calendar名称在{@link #getCalendarCacheMillis()}内缓存于内存，不再读取并反序列化Calendar.
+     *     本实例的{@link #addCalendar}、{@link #deleteCalendar(String)}及{@link Scheduler#clear()}即时更新缓存；
+     *     集群中其它实例删除的Calendar，最多在缓存时间后感知
+     * </p>
+     *
+     * @param calName Calendar名称
+     * @return 存在时返回true
+     * @since 2.0
+     * @throws SchedulerException {@code Scheduler}内部异常
+     */
+    public boolean calendarExists(String calName) throws SchedulerException {
+        long now = System.currentTimeMillis();
+
+        Long verifiedAt = this.calendarCache.get(calName);
+
+        if (verifiedAt != null && now - verifiedAt < this.calendarCacheMillis) {
+            return true;
+        }
+
+        if (this.scheduler.getCalendar(calName) == null) {
+            this.calendarCache.remove(calName);
+
+            return false;
+        }
+
+        if (this.calendarCacheMillis > 0) {
+            this.calendarCache.put(calName, now);
+        }
+
+        return true;
+    }
+
+    /**
+     * 清空Calendar缓存
+     *
+     * @since 2.0
+     */
+    public void evictCalendars() {
+        this.calendarCache.clear();
     }
 
     /**
@@ -1016,11 +1642,491 @@ public abstract class QuartzTaskHandler {
         return this.scheduler.checkExists(triggerKey);
     }
 
+    /**
+     * 游标分页查询Trigger
+     * <p>以一条关联QRTZ_TRIGGERS、QRTZ_JOB_DETAILS的SQL返回一页投影，需配置{@link QuartzJobStoreTX}</p>
+     *
+     * @param query 查询条件
+     * @return 一页Trigger投影
+     * @since 2.0
+     * @see QuartzTriggerQuery
+     * @throws SchedulerException 未配置{@link QuartzJobStoreTX}、游标格式错误，或{@code Scheduler}内部异常
+     */
+    public QuartzPage<QuartzTriggerView> queryTriggers(QuartzTriggerQuery query) throws SchedulerException {
+        Assert.notNull(query, "query不能为空！");
+
+        return requireJobStore().selectTriggerViews(query);
+    }
+
+    /**
+     * 游标分页查询任务，按任务分组、名称升序
+     * <p>以一条查询QRTZ_JOB_DETAILS的SQL返回一页投影，需配置{@link QuartzJobStoreTX}</p>
+     *
+     * @param groupPrefix 任务分组前缀，可为null
+     * @param jobClass 任务类，可为null
+     * @param cursor 上一页返回的{@link QuartzPage#getNextCursor()}，首页传null
+     * @param limit 每页数量
+     * @return 一页任务投影
+     * @since 2.0
+     * @throws SchedulerException 未配置{@link QuartzJobStoreTX}、游标格式错误，或{@code Scheduler}内部异常
+     */
+    public QuartzPage<QuartzJobView> queryJobs(String groupPrefix, Class<? extends Job> jobClass, String cursor, int limit) throws SchedulerException {
+        Assert.isTrue(limit > 0 && limit <= QuartzTriggerQuery.MAX_LIMIT, "limit须在1到" + QuartzTriggerQuery.MAX_LIMIT + "之间！");
+
+        return requireJobStore().selectJobViews(groupPrefix, jobClass == null ? null : jobClass.getName(), cursor, limit);
+    }
+
+    /**
+     * 查询任务最近的执行历史，按开始时间倒序
+     * <p>由{@link com.xbd.quartz.listener.QuartzJobHistoryListener}记录，需配置{@link QuartzJobStoreTX}</p>
+     *
+     * @param jobKey 任务
+     * @param limit 最大记录数
+     * @return 执行历史
+     * @since 2.0
+     * @throws SchedulerException 未配置{@link QuartzJobStoreTX}，或{@code Scheduler}内部异常
+     */
+    public List<QuartzJobExecution> queryJobHistory(JobKey jobKey, int limit) throws SchedulerException {
+        return queryJobHistory(jobKey, 0L, Long.MAX_VALUE, limit);
+    }
+
+    /**
+     * 查询任务开始时间在[from, to)内的执行历史，按开始时间倒序
+     * <p>走QRTZ_JOB_HISTORY上的(SCHED_NAME, JOB_NAME, JOB_GROUP, START_TIME)索引，需配置{@link QuartzJobStoreTX}</p>
+     *
+     * @param jobKey 任务
+     * @param from 开始时间下限（含），毫秒
+     * @param to 开始时间上限（不含），毫秒
+     * @param limit 最大记录数
+     * @return 执行历史
+     * @since 2.0
+     * @throws SchedulerException 未配置{@link QuartzJobStoreTX}，或{@code Scheduler}内部异常
+     */
+    public List<QuartzJobExecution> queryJobHistory(JobKey jobKey, long from, long to, int limit) throws SchedulerException {
+        Assert.notNull(jobKey, "jobKey不能为空！");
+        Assert.isTrue(from < to, "from必须小于to！");
+        Assert.isTrue(limit > 0 && limit <= QuartzTriggerQuery.MAX_LIMIT, "limit须在1到" + QuartzTriggerQuery.MAX_LIMIT + "之间！");
+
+        return requireJobStore().selectJobHistory(jobKey, from, to, limit);
+    }
+
+    /**
+     * 统计任务开始时间在[from, to)内的执行次数、成功失败次数与耗时
+     * <p>由数据库聚合，需配置{@link QuartzJobStoreTX}</p>
+     *
+     * @param jobKey 任务
+     * @param from 开始时间下限（含），毫秒
+     * @param to 开始时间上限（不含），毫秒
+     * @return 执行统计
+     * @since 2.0
+     * @throws SchedulerException 未配置{@link QuartzJobStoreTX}，或{@code Scheduler}内部异常
+     */
+    public QuartzJobHistoryStats getJobHistoryStats(JobKey jobKey, long from, long to) throws SchedulerException {
+        Assert.notNull(jobKey, "jobKey不能为空！");
+        Assert.isTrue(from < to, "from必须小于to！");
+
+        return requireJobStore().selectJobHistoryStats(jobKey, from, to);
+    }
+
+    /**
+     * 获取全部任务的调度延迟汇总指标
+     * <p>由{@link com.xbd.quartz.listener.QuartzMetricsTriggerListener}采集，需配置{@link QuartzMetrics}</p>
+     *
+     * @return 触发延迟、排队等待、执行耗时的百分位及错过触发次数
+     * @since 2.0
+     * @throws SchedulerException 未配置{@link QuartzMetrics}，或{@code Scheduler}内部异常
+     */
+    public QuartzJobMetricsSnapshot getJobMetrics() throws SchedulerException {
+        return requireMetrics().getTotal();
+    }
+
+    /**
+     * 获取任务分组的调度延迟指标
+     *
+     * @param jobGroup 任务分组
+     * @return 触发延迟、排队等待、执行耗时的百分位及错过触发次数，尚无记录时返回null
+     * @since 2.0
+     * @throws SchedulerException 未配置{@link QuartzMetrics}，或{@code Scheduler}内部异常
+     */
+    public QuartzJobMetricsSnapshot getJobGroupMetrics(String jobGroup) throws SchedulerException {
+        Assert.hasText(jobGroup, "jobGroup不能为空！");
+
+        return requireMetrics().getJobGroup(jobGroup);
+    }
+
+    /**
+     * 获取任务类的调度延迟指标
+     *
+     * @param jobClass 任务类
+     * @return 触发延迟、排队等待、执行耗时的百分位及错过触发次数，尚无记录时返回null
+     * @since 2.0
+     * @throws SchedulerException 未配置{@link QuartzMetrics}，或{@code Scheduler}内部异常
+     */
+    public QuartzJobMetricsSnapshot getJobClassMetrics(Class<? extends Job> jobClass) throws SchedulerException {
+        Assert.notNull(jobClass, "jobClass不能为空！");
+
+        return requireMetrics().getJobClass(jobClass.getName());
+    }
+
+    /**
+     * 导出快照
+     * <p>
+     *     包含暂停的Trigger分组、Calendar、全部任务（含JobDataMap）及其Trigger与Trigger状态，格式见{@link QuartzSnapshotWriter}.
+     *     使用{@link QuartzJobStoreTX}时按JobKey顺序每次读取{@link #getBatchSize()}个任务，一页在一个连接内完成；
+     *     否则按任务分组逐个读取
+     * </p>
+     *
+     * @param outputStream 输出流，由调用方关闭
+     * @return 导出结果
+     * @since 2.0
+     * @throws SchedulerException {@code Scheduler}内部异常
+     * @throws IOException 写入异常
+     */
+    public QuartzSnapshotSummary exportSnapshot(OutputStream outputStream) throws SchedulerException, IOException {
+        Assert.notNull(outputStream, "outputStream不能为空！");
+
+        long start = System.currentTimeMillis();
+
+        int calendars = 0;
+        int jobs = 0;
+        int triggers = 0;
+
+        QuartzSnapshotWriter writer = new QuartzSnapshotWriter(outputStream, this.batchSize);
+
+        for (String group : this.scheduler.getPausedTriggerGroups()) {
+            writer.writePausedTriggerGroup(group);
+        }
+
+        for (String calendarName : this.scheduler.getCalendarNames()) {
+            Calendar calendar = this.scheduler.getCalendar(calendarName);
+
+            if (calendar != null) {
+                writer.writeCalendar(calendarName, calendar);
+                calendars++;
+            }
+        }
+
+        QuartzJobStoreTX jobStore = getJobStore();
+
+        if (jobStore != null) {
+            String cursor = null;
+
+            do {
+                QuartzPage<QuartzJobSnapshot> page = jobStore.selectJobSnapshots(cursor, this.batchSize);
+
+                for (QuartzJobSnapshot jobSnapshot : page.getItems()) {
+                    writer.writeJob(jobSnapshot);
+
+                    jobs++;
+                    triggers += jobSnapshot.getTriggers().size();
+                }
+
+                // 按扫描到的JobKey翻页，并发删除使本页变短时不会提前结束
+                cursor = page.getNextCursor();
+            } while (cursor != null);
+        } else {
+            for (String group : this.scheduler.getJobGroupNames()) {
+                for (JobKey jobKey : this.scheduler.getJobKeys(GroupMatcher.jobGroupEquals(group))) {
+                    JobDetail jobDetail = this.scheduler.getJobDetail(jobKey);
+
+                    if (jobDetail == null) {
+                        continue;
+                    }
+
+                    List<OperableTrigger> operableTriggers = new ArrayList<>();
+
+                    Map<TriggerKey, Trigger.TriggerState> triggerStates = new HashMap<>();
+
+                    for (Trigger trigger : this.scheduler.getTriggersOfJob(jobKey)) {
+                        operableTriggers.add((OperableTrigger) trigger);
+                        triggerStates.put(trigger.getKey(), this.scheduler.getTriggerState(trigger.getKey()));
+                    }
+
+                    writer.writeJob(new QuartzJobSnapshot(jobDetail, operableTriggers, triggerStates));
+
+                    jobs++;
+                    triggers += operableTriggers.size();
+                }
+            }
+        }
+
+        writer.finish();
+
+        QuartzSnapshotSummary summary = new QuartzSnapshotSummary(calendars, jobs, triggers, System.currentTimeMillis() - start);
+
+        this.logger.info("快照导出完成，{}", summary);
+
+        return summary;
+    }
+
+    /**
+     * 由快照恢复，已存在的Calendar、任务、Trigger将被覆盖
+     * <p>
+     *     任务按{@link #getBatchSize()}分批，每批在一个事务中写入.
+     *     使用{@link QuartzJobStoreTX}时Trigger保留快照中的下次触发时间及状态，暂停状态与Trigger在同一事务内写入；
+     *     否则通过{@code Scheduler}重新调度，下次触发时间按Trigger开始时间重新计算，已完成的Trigger不再恢复，
+     *     暂停的Trigger在其批次写入后再暂停，期间已到期的Trigger可能被触发一次
+     * </p>
+     * <p>快照中只允许JobDetail、Trigger、Calendar及JobDataMap常用值类型，其它类型见{@link #restoreSnapshot(InputStream, Collection)}</p>
+     *
+     * @param inputStream 快照输入流，由调用方关闭
+     * @return 恢复结果
+     * @since 2.0
+     * @throws SchedulerException {@code Scheduler}内部异常
+     * @throws IOException 读取异常、快照格式错误
+     */
+    public QuartzSnapshotSummary restoreSnapshot(InputStream inputStream) throws SchedulerException, IOException {
+        return restoreSnapshot(inputStream, Collections.emptyList());
+    }
+
+    /**
+     * 由快照恢复，已存在的Calendar、任务、Trigger将被覆盖
+     * <p>同{@link #restoreSnapshot(InputStream)}，另外允许JobDataMap中出现指定的类型</p>
+     *
+     * @param inputStream    快照输入流，由调用方关闭
+     * @param allowedClasses 额外允许反序列化的类名，以{@code .*}结尾时表示包前缀
+     * @return 恢复结果
+     * @since 2.0
+     * @throws SchedulerException {@code Scheduler}内部异常
+     * @throws IOException 读取异常、快照格式错误、包含不允许的类型
+     */
+    public QuartzSnapshotSummary restoreSnapshot(InputStream inputStream, Collection<String> allowedClasses) throws SchedulerException, IOException {
+        Assert.notNull(inputStream, "inputStream不能为空！");
+        Assert.notNull(allowedClasses, "allowedClasses不能为空！");
+
+        long start = System.currentTimeMillis();
+
+        int calendars = 0;
+        int jobs = 0;
+        int triggers = 0;
+
+        QuartzJobStoreTX jobStore = getJobStore();
+
+        QuartzSnapshotReader reader = new QuartzSnapshotReader(inputStream, allowedClasses);
+
+        List<QuartzJobSnapshot> batch = new ArrayList<>(this.batchSize);
+
+        while (reader.next()) {
+            switch (reader.getType()) {
+                case QuartzSnapshotWriter.RECORD_PAUSED_TRIGGER_GROUP:
+                    this.scheduler.pauseTriggers(GroupMatcher.triggerGroupEquals(reader.getPausedTriggerGroup()));
+                    break;
+                case QuartzSnapshotWriter.RECORD_CALENDAR:
+                    addCalendar(reader.getCalendarName(), reader.getCalendar(), true, true);
+                    calendars++;
+                    break;
+                case QuartzSnapshotWriter.RECORD_JOB:
+                    batch.add(reader.getJob());
+                    jobs++;
+                    triggers += reader.getJob().getTriggers().size();
+
+                    if (batch.size() >= this.batchSize) {
+                        restoreJobSnapshots(jobStore, batch);
+                        batch.clear();
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            restoreJobSnapshots(jobStore, batch);
+        }
+
+        QuartzSnapshotSummary summary = new QuartzSnapshotSummary(calendars, jobs, triggers, System.currentTimeMillis() - start);
+
+        this.logger.info("快照恢复完成，{}", summary);
+
+        return summary;
+    }
+
+    private void restoreJobSnapshots(QuartzJobStoreTX jobStore, List<QuartzJobSnapshot> batch) throws SchedulerException {
+        if (jobStore != null) {
+            jobStore.storeJobSnapshots(batch, true);
+
+            notifySchedulerListeners(schedulerListener -> batch.forEach(jobSnapshot -> {
+                schedulerListener.jobAdded(jobSnapshot.getJobDetail());
+                jobSnapshot.getTriggers().forEach(schedulerListener::jobScheduled);
+            }));
+
+            return;
+        }
+
+        Map<JobDetail, Set<? extends Trigger>> triggersAndJobs = new LinkedHashMap<>();
+
+        List<TriggerKey> pausedTriggerKeys = new ArrayList<>();
+
+        for (QuartzJobSnapshot jobSnapshot : batch) {
+            Set<Trigger> jobTriggers = new HashSet<>();
+
+            for (OperableTrigger trigger : jobSnapshot.getTriggers()) {
+                Trigger.TriggerState triggerState = jobSnapshot.getTriggerState(trigger);
+
+                if (Trigger.TriggerState.COMPLETE.equals(triggerState)) {
+                    continue;
+                }
+
+                if (Trigger.TriggerState.PAUSED.equals(triggerState)) {
+                    pausedTriggerKeys.add(trigger.getKey());
+                }
+
+                jobTriggers.add(trigger);
+            }
+
+            triggersAndJobs.put(jobSnapshot.getJobDetail(), jobTriggers);
+        }
+
+        this.scheduler.scheduleJobs(triggersAndJobs, true);
+
+        // Scheduler无法直接以暂停状态调度Trigger，写入后立即暂停；需要原子地恢复暂停状态时应使用QuartzJobStoreTX
+        for (TriggerKey triggerKey : pausedTriggerKeys) {
+            this.scheduler.pauseTrigger(triggerKey);
+        }
+    }
+
+    /**
+     * 获取当前{@code Scheduler}使用的{@link QuartzJobStoreTX}
+     *
+     * @return 当前{@code Scheduler}使用的{@link QuartzJobStoreTX}，未使用时返回null
+     * @since 2.0
+     * @throws SchedulerException {@code Scheduler}内部异常
+     */
+    protected QuartzJobStoreTX getJobStore() throws SchedulerException {
+        return QuartzJobStoreTX.getInstance(this.scheduler.getSchedulerName());
+    }
+
+    /**
+     * 获取当前{@code Scheduler}使用的{@link QuartzJobStoreTX}，未使用时抛出异常
+     *
+     * @return 当前{@code Scheduler}使用的{@link QuartzJobStoreTX}
+     * @since 2.0
+     * @throws SchedulerException 未配置{@link QuartzJobStoreTX}，或{@code Scheduler}内部异常
+     */
+    protected QuartzJobStoreTX requireJobStore() throws SchedulerException {
+        QuartzJobStoreTX jobStore = getJobStore();
+
+        if (jobStore == null) {
+            throw new SchedulerException("Scheduler " + this.scheduler.getSchedulerName() + "未配置" + QuartzJobStoreTX.class.getName() + "！");
+        }
+
+        return jobStore;
+    }
+
+    /**
+     * 获取当前{@code Scheduler}的{@link QuartzMetrics}，未配置时抛出异常
+     *
+     * @return 当前{@code Scheduler}的{@link QuartzMetrics}
+     * @since 2.0
+     * @throws SchedulerException 未配置{@link QuartzMetrics}，或{@code Scheduler}内部异常
+     */
+    protected QuartzMetrics requireMetrics() throws SchedulerException {
+        QuartzMetrics metrics = QuartzMetrics.getInstance(this.scheduler.getSchedulerName());
+
+        if (metrics == null) {
+            throw new SchedulerException("Scheduler " + this.scheduler.getSchedulerName() + "未配置" + QuartzMetrics.class.getName() + "！");
+        }
+
+        return metrics;
+    }
+
+    /**
+     * 通知已注册的{@link SchedulerListener}
+     * <p>直接通过{@link QuartzJobStoreTX}批量操作时，{@code Scheduler}不会通知监听，由此方法补发</p>
+     *
+     * @param notification 通知内容
+     * @since 2.0
+     * @throws SchedulerException {@code Scheduler}内部异常
+     */
+    protected void notifySchedulerListeners(Consumer<SchedulerListener> notification) throws SchedulerException {
+        for (SchedulerListener schedulerListener : this.scheduler.getListenerManager().getSchedulerListeners()) {
+            try {
+                notification.accept(schedulerListener);
+            } catch (Exception e) {
+                this.logger.error("SchedulerListener {}通知失败！", schedulerListener, e);
+            }
+        }
+    }
+
     public Scheduler getScheduler() {
         return scheduler;
     }
 
     public void setScheduler(Scheduler scheduler) {
+        Scheduler previous = this.scheduler;
+
         this.scheduler = scheduler;
+
+        this.calendarCache.clear();
+
+        if (previous == scheduler) {
+            return;
+        }
+
+        if (previous != null) {
+            try {
+                previous.getListenerManager().removeSchedulerListener(this.calendarCacheListener);
+            } catch (SchedulerException e) {
+                this.logger.warn("Calendar缓存监听移除失败！", e);
+            }
+        }
+
+        if (scheduler == null) {
+            return;
+        }
+
+        try {
+            scheduler.getListenerManager().addSchedulerListener(this.calendarCacheListener);
+        } catch (SchedulerException e) {
+            this.logger.warn("Calendar缓存监听注册失败，仅依赖缓存时间失效！", e);
+        }
+    }
+
+    public long getCalendarCacheMillis() {
+        return calendarCacheMillis;
+    }
+
+    public void setCalendarCacheMillis(long calendarCacheMillis) {
+        Assert.isTrue(calendarCacheMillis >= 0, "calendarCacheMillis不能小于0！");
+
+        this.calendarCacheMillis = calendarCacheMillis;
+
+        if (calendarCacheMillis == 0) {
+            this.calendarCache.clear();
+        }
+    }
+
+    public long getTriggerStateCacheMillis() {
+        return triggerStateCacheMillis;
+    }
+
+    public void setTriggerStateCacheMillis(long triggerStateCacheMillis) {
+        Assert.isTrue(triggerStateCacheMillis >= 0, "triggerStateCacheMillis不能小于0！");
+
+        this.triggerStateCacheMillis = triggerStateCacheMillis;
+
+        if (triggerStateCacheMillis == 0) {
+            this.triggerStateCache.clear();
+        }
+    }
+
+    public int getTriggerStateCacheMaxSize() {
+        return triggerStateCacheMaxSize;
+    }
+
+    public void setTriggerStateCacheMaxSize(int triggerStateCacheMaxSize) {
+        Assert.isTrue(triggerStateCacheMaxSize > 0, "triggerStateCacheMaxSize必须大于0！");
+
+        this.triggerStateCacheMaxSize = triggerStateCacheMaxSize;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        Assert.isTrue(batchSize > 0, "batchSize必须大于0！");
+
+        this.batchSize = batchSize;
     }
 }
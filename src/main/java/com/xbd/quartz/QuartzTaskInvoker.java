@@ -0,0 +1,267 @@
+package com.xbd.quartz;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.ApplicationContext;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link DefaultQuartzJobBean}的调用引擎
+ * <p>按（targetObject、targetClass、targetMethod、targetMethodParam）解析一次目标Bean、方法及参数，缓存为{@link MethodHandle}，
+ * 之后的每次触发不再执行Class.forName、getMethod、参数解析及反射调用.
+ * <p>参数中包含JSON对象、JSON数组等可变对象时，每次触发重新解析参数，避免并发执行共享同一参数实例.
+ * <p>{@link com.xbd.quartz.handler.DefaultQuartzTaskHandler}更新、删除任务时调用{@link #evict(String, String)}清除对应缓存.
+ *
+ * @author luas
+ * @since 2.0
+ */
+public final class QuartzTaskInvoker {
+
+	/**
+	 * 缓存的最大条数，超出时清空
+	 */
+	private static final int MAX_CACHE_SIZE = 10000;
+
+	private static final MethodType GENERIC_CONSTRUCTOR = MethodType.methodType(Object.class);
+
+	private static final Map<InvocationKey, Invocation> INVOCATIONS = new ConcurrentHashMap<>();
+
+	private QuartzTaskInvoker() {
+
+	}
+
+	/**
+	 * 调用目标方法，与{@link DefaultQuartzJobBean}原有的反射调用语义一致
+	 *
+	 * @param applicationContext Spring上下文，{@code targetObject}不为空时使用
+	 * @param targetObject 目标Bean名称
+	 * @param targetClass 目标类名，{@code targetObject}为空时使用，每次调用创建新实例
+	 * @param targetMethod 目标方法
+	 * @param targetMethodParam 目标方法参数，JSON对象时以原字符串作为唯一的Object参数，JSON数组时按元素类型匹配方法
+	 * @throws Throwable 解析、调用异常，或目标方法抛出的异常
+	 */
+	public static void invoke(ApplicationContext applicationContext, String targetObject, String targetClass,
+							  String targetMethod, String targetMethodParam) throws Throwable {
+		InvocationKey key = new InvocationKey(targetObject, targetClass, targetMethod, targetMethodParam);
+
+		Invocation invocation = INVOCATIONS.get(key);
+
+		if (invocation == null || (invocation.beanName != null && invocation.applicationContext != applicationContext)) {
+			invocation = resolve(applicationContext, key);
+
+			if (INVOCATIONS.size() >= MAX_CACHE_SIZE) {
+				INVOCATIONS.clear();
+			}
+
+			INVOCATIONS.put(key, invocation);
+		}
+
+		invocation.invoke();
+	}
+
+	/**
+	 * 清除目标Bean或目标类对应的全部缓存
+	 *
+	 * @param targetObject 目标Bean名称，可为null
+	 * @param targetClass 目标类名，可为null
+	 */
+	public static void evict(String targetObject, String targetClass) {
+		INVOCATIONS.keySet().removeIf(key -> (targetObject != null && targetObject.equals(key.targetObject))
+				|| (targetClass != null && targetClass.equals(key.targetClass)));
+	}
+
+	/**
+	 * 清除全部缓存
+	 */
+	public static void evictAll() {
+		INVOCATIONS.clear();
+	}
+
+	private static Invocation resolve(ApplicationContext applicationContext, InvocationKey key) throws Throwable {
+		Invocation invocation = new Invocation();
+
+		Class<?> beanClass;
+
+		if (StringUtils.isNotBlank(key.targetObject)) {
+			Object bean = applicationContext.getBean(key.targetObject);
+
+			beanClass = bean.getClass();
+
+			invocation.applicationContext = applicationContext;
+			invocation.beanName = key.targetObject;
+
+			// 非单例Bean每次调用重新获取
+			if (applicationContext.isSingleton(key.targetObject)) {
+				invocation.bean = bean;
+			}
+		} else {
+			beanClass = Class.forName(key.targetClass);
+
+			invocation.constructor = MethodHandles.publicLookup()
+					.findConstructor(beanClass, MethodType.methodType(void.class))
+					.asType(GENERIC_CONSTRUCTOR);
+		}
+
+		if (StringUtils.isBlank(key.targetMethodParam)) {
+			invocation.method = spreader(beanClass.getMethod(key.targetMethod));
+			invocation.args = new Object[] {};
+
+			return invocation;
+		}
+
+		Object paramObject = JSON.parse(key.targetMethodParam);
+
+		if (paramObject instanceof JSONObject) {
+			invocation.method = spreader(beanClass.getMethod(key.targetMethod, Object.class));
+			invocation.args = new Object[] { key.targetMethodParam };
+		} else if (paramObject instanceof JSONArray) {
+			Object[] args = ((JSONArray) paramObject).toArray(new Object[] {});
+
+			Class<?>[] argClasses = new Class<?>[args.length];
+
+			boolean immutable = true;
+
+			for (int i = 0; i < args.length; i++) {
+				argClasses[i] = args[i].getClass();
+
+				immutable &= !(args[i] instanceof JSONObject || args[i] instanceof JSONArray);
+			}
+
+			invocation.method = spreader(beanClass.getMethod(key.targetMethod, argClasses));
+
+			if (immutable) {
+				invocation.args = args;
+			} else {
+				invocation.targetMethodParam = key.targetMethodParam;
+			}
+		}
+
+		// 其它类型的参数不调用目标方法，与原有实现一致
+		return invocation;
+	}
+
+	/**
+	 * 转换为(Object, Object[])void类型的{@link MethodHandle}，目标方法的返回值被丢弃
+	 */
+	private static MethodHandle spreader(Method method) throws IllegalAccessException {
+		MethodHandle methodHandle = MethodHandles.publicLookup().unreflect(method);
+
+		return methodHandle.asType(methodHandle.type().generic().changeReturnType(void.class))
+				.asSpreader(Object[].class, method.getParameterCount());
+	}
+
+	/**
+	 * 缓存Key
+	 */
+	private static final class InvocationKey {
+
+		private final String targetObject;
+
+		private final String targetClass;
+
+		private final String targetMethod;
+
+		private final String targetMethodParam;
+
+		private final int hash;
+
+		private InvocationKey(String targetObject, String targetClass, String targetMethod, String targetMethodParam) {
+			this.targetObject = targetObject;
+			this.targetClass = targetClass;
+			this.targetMethod = targetMethod;
+			this.targetMethodParam = targetMethodParam;
+			this.hash = Arrays.hashCode(new Object[] { targetObject, targetClass, targetMethod, targetMethodParam });
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+
+			if (!(o instanceof InvocationKey)) {
+				return false;
+			}
+
+			InvocationKey that = (InvocationKey) o;
+
+			return Objects.equals(targetObject, that.targetObject)
+					&& Objects.equals(targetClass, that.targetClass)
+					&& Objects.equals(targetMethod, that.targetMethod)
+					&& Objects.equals(targetMethodParam, that.targetMethodParam);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+	}
+
+	/**
+	 * 解析完成的调用
+	 */
+	private static final class Invocation {
+
+		private ApplicationContext applicationContext;
+
+		private String beanName;
+
+		/**
+		 * 单例Bean
+		 */
+		private Object bean;
+
+		/**
+		 * targetClass的无参构造器
+		 */
+		private MethodHandle constructor;
+
+		private MethodHandle method;
+
+		/**
+		 * 不可变参数，可在多次调用间共享
+		 */
+		private Object[] args;
+
+		/**
+		 * 包含可变参数时，每次调用重新解析
+		 */
+		private String targetMethodParam;
+
+		private void invoke() throws Throwable {
+			if (this.method == null) {
+				return;
+			}
+
+			Object target;
+
+			if (this.bean != null) {
+				target = this.bean;
+			} else if (this.beanName != null) {
+				target = this.applicationContext.getBean(this.beanName);
+			} else {
+				target = (Object) this.constructor.invokeExact();
+			}
+
+			Object[] invokeArgs = this.args != null
+					? this.args
+					: ((JSONArray) JSON.parse(this.targetMethodParam)).toArray(new Object[] {});
+
+			// invokeExact要求调用点类型与MethodHandle完全一致，以语句调用即(Object, Object[])void
+			this.method.invokeExact(target, invokeArgs);
+		}
+
+	}
+
+}
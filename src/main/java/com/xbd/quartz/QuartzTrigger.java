@@ -67,6 +67,11 @@ public class QuartzTrigger implements Serializable {
 
     private String cronExpression;
 
+    /**
+     * 优先级，数值越大优先级越高；同一时刻触发的Trigger，Quartz按优先级先后获取，执行线程繁忙时亦按优先级先后执行
+     */
+    private int priority = Trigger.DEFAULT_PRIORITY;
+
     /**
      * 任务错过触发时间执行策略
      * <p>
@@ -236,6 +241,14 @@ public class QuartzTrigger implements Serializable {
         this.cronExpression = cronExpression;
     }
 
+    public int getPriority() {
+        return priority;
+    }
+
+    public void setPriority(int priority) {
+        this.priority = priority;
+    }
+
     public int getMisfireInstruction() {
         return misfireInstruction;
     }
@@ -2,10 +2,12 @@ package com.xbd.quartz;
 
 import org.quartz.*;
 import org.quartz.utils.Key;
+import org.springframework.util.Assert;
 
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * {@code QuartzTrigger} to {@link Trigger}
@@ -42,6 +44,8 @@ public class QuartzTriggerBuilder {
 
     private String cronExpression;
 
+    private int priority = Trigger.DEFAULT_PRIORITY;
+
     private int misfireInstruction = Trigger.MISFIRE_INSTRUCTION_SMART_POLICY;
 
     private Date startAt;
@@ -84,6 +88,7 @@ public class QuartzTriggerBuilder {
         quartzTrigger.setRepeatCount(this.repeatCount);
         quartzTrigger.setRepeatInterval(this.interval);
         quartzTrigger.setCronExpression(this.cronExpression);
+        quartzTrigger.setPriority(this.priority);
         quartzTrigger.setMisfireInstruction(this.misfireInstruction);
 
         return quartzTrigger;
@@ -184,6 +189,11 @@ public class QuartzTriggerBuilder {
         return this;
     }
 
+    public QuartzTriggerBuilder withPriority(int priority) {
+        this.priority = priority;
+        return this;
+    }
+
     public QuartzTriggerBuilder withMisfireInstruction(int misfireInstruction) {
         this.misfireInstruction = misfireInstruction;
         return this;
@@ -210,6 +220,24 @@ public class QuartzTriggerBuilder {
         return this;
     }
 
+    /**
+     * 执行超时时间，超时后中断执行，见{@link AbstractQuartzJobBean#TIMEOUT_KEY}
+     */
+    public QuartzTriggerBuilder withTimeout(long timeout, TimeUnit unit) {
+        this.jobData.put(AbstractQuartzJobBean.TIMEOUT_KEY, String.valueOf(unit.toMillis(timeout)));
+        return this;
+    }
+
+    /**
+     * 失败重试策略，需声明{@link com.xbd.quartz.listener.QuartzRetryJobListener}，见{@link QuartzRetryPolicy}
+     */
+    public QuartzTriggerBuilder withRetry(QuartzRetryPolicy retryPolicy) {
+        Assert.notNull(retryPolicy, "retryPolicy不能为空！");
+
+        this.jobData.putAll(retryPolicy.toJobData());
+        return this;
+    }
+
     public QuartzTriggerBuilder usingJobData(String key, String value) {
         this.jobData.put(key, value);
         return this;
@@ -0,0 +1,25 @@
+package com.xbd.quartz;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 标记{@link AbstractQuartzJobBean}子类为无状态任务
+ * <p>无状态任务不保存执行过程中的状态，JobDataMap中的值应通过{@code JobExecutionContext#getMergedJobDataMap()}获取.
+ * {@link AutowiredSpringBeanJobFactory}开启{@code jobInstanceCaching}后，无状态任务只创建、注入一次，所有触发复用同一实例，
+ * 同一实例可能被并发执行，因此执行前不绑定SchedulerContext及JobDataMap中的值.
+ *
+ * @author luas
+ * @since 2.0
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+public @interface StatelessJob {
+
+}
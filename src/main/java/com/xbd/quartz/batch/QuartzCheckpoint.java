@@ -0,0 +1,50 @@
+package com.xbd.quartz.batch;
+
+import java.io.Serializable;
+
+/**
+ * 分块批处理任务的检查点
+ *
+ * @author luas
+ * @since 2.0
+ */
+public class QuartzCheckpoint implements Serializable {
+
+    private static final long serialVersionUID = 3320481179215361520L;
+
+    /**
+     * 读取位置，见{@link QuartzItemReader#checkpoint()}
+     */
+    private final String value;
+
+    /**
+     * 截至该检查点已读取的数据条数
+     */
+    private final long itemCount;
+
+    private final long updateTime;
+
+    public QuartzCheckpoint(String value, long itemCount, long updateTime) {
+        this.value = value;
+        this.itemCount = itemCount;
+        this.updateTime = updateTime;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public long getItemCount() {
+        return itemCount;
+    }
+
+    public long getUpdateTime() {
+        return updateTime;
+    }
+
+    @Override
+    public String toString() {
+        return "QuartzCheckpoint{value='" + value + "', itemCount=" + itemCount + ", updateTime=" + updateTime + "}";
+    }
+
+}
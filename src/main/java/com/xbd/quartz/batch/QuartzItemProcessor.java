@@ -0,0 +1,23 @@
+package com.xbd.quartz.batch;
+
+/**
+ * 分块批处理任务的数据处理
+ *
+ * @param <I> 读取的数据类型
+ * @param <O> 写入的数据类型
+ * @author luas
+ * @since 2.0
+ */
+@FunctionalInterface
+public interface QuartzItemProcessor<I, O> {
+
+    /**
+     * 处理一条数据
+     *
+     * @param item 读取的数据
+     * @return 处理结果，返回null时过滤该条数据
+     * @throws Exception 处理失败
+     */
+    O process(I item) throws Exception;
+
+}
@@ -0,0 +1,48 @@
+package com.xbd.quartz.batch;
+
+/**
+ * 分块批处理任务的数据读取
+ * <p>读取位置以字符串形式的游标（如最后一条记录的主键、文件偏移量）表示，
+ * 每写完一块后保存为检查点，任务中断后由接手的节点从检查点继续读取.
+ *
+ * @param <T> 数据类型
+ * @author luas
+ * @since 2.0
+ */
+public interface QuartzItemReader<T> {
+
+    /**
+     * 打开读取
+     *
+     * @param checkpoint 上次保存的检查点，首次执行时为null
+     * @throws Exception 打开失败
+     */
+    default void open(String checkpoint) throws Exception {
+
+    }
+
+    /**
+     * 读取下一条数据
+     *
+     * @return 下一条数据，读取完毕时返回null
+     * @throws Exception 读取失败
+     */
+    T read() throws Exception;
+
+    /**
+     * 当前读取位置，即最后一次{@link #read()}返回的数据之后的位置
+     *
+     * @return 检查点，不能超过1000个字符
+     */
+    String checkpoint();
+
+    /**
+     * 关闭读取，无论执行成功与否均会调用
+     *
+     * @throws Exception 关闭失败
+     */
+    default void close() throws Exception {
+
+    }
+
+}
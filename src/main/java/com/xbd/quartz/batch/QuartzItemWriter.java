@@ -0,0 +1,24 @@
+package com.xbd.quartz.batch;
+
+import java.util.List;
+
+/**
+ * 分块批处理任务的数据写入
+ * <p>一块数据写入成功后才保存检查点，写入与保存检查点之间节点宕机时，恢复执行会再次写入该块，写入应当幂等.
+ *
+ * @param <O> 数据类型
+ * @author luas
+ * @since 2.0
+ */
+@FunctionalInterface
+public interface QuartzItemWriter<O> {
+
+    /**
+     * 写入一块数据
+     *
+     * @param items 数据，不为空
+     * @throws Exception 写入失败
+     */
+    void write(List<? extends O> items) throws Exception;
+
+}
@@ -1,8 +1,14 @@
 package com.xbd.quartz.configure;
 
+import com.xbd.quartz.listener.QuartzListenerDispatcher;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.core.io.Resource;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * @author luas
  * @since 1.0
@@ -13,6 +19,18 @@ public class QuartzProperties {
     private ThreadPool threadPool = new ThreadPool();
     private Scheduler scheduler = new Scheduler();
 
+    /**
+     * 舱壁（bulkhead）配置，Key为舱壁名称；未匹配任何舱壁的任务进入名为{@code default}的舱壁
+     */
+    private Map<String, Bulkhead> bulkheads = new LinkedHashMap<>();
+
+    /**
+     * 舱壁线程全忙时，是否借用优先级不高于自身的其它舱壁的空闲线程
+     */
+    private boolean bulkheadBorrowing = true;
+
+    private ListenerDispatch listenerDispatch = new ListenerDispatch();
+
     public QuartzProperties() {
 
     }
@@ -33,7 +51,76 @@ public class QuartzProperties {
         this.scheduler = scheduler;
     }
 
+    public Map<String, Bulkhead> getBulkheads() {
+        return bulkheads;
+    }
+
+    public void setBulkheads(Map<String, Bulkhead> bulkheads) {
+        this.bulkheads = bulkheads;
+    }
+
+    public boolean isBulkheadBorrowing() {
+        return bulkheadBorrowing;
+    }
+
+    public void setBulkheadBorrowing(boolean bulkheadBorrowing) {
+        this.bulkheadBorrowing = bulkheadBorrowing;
+    }
+
+    public ListenerDispatch getListenerDispatch() {
+        return listenerDispatch;
+    }
+
+    public void setListenerDispatch(ListenerDispatch listenerDispatch) {
+        this.listenerDispatch = listenerDispatch;
+    }
+
     public static class ThreadPool {
+
+        /**
+         * 线程模式
+         */
+        public enum Mode {
+
+            /**
+             * 平台线程池，即ThreadPoolTaskExecutor
+             */
+            PLATFORM,
+
+            /**
+             * 每个任务一个虚拟线程，JVM不支持时回退为PLATFORM
+             */
+            VIRTUAL
+
+        }
+
+        private Mode mode = Mode.PLATFORM;
+
+        /**
+         * VIRTUAL模式下同时执行的任务数量上限
+         */
+        private int maxConcurrency = 1000;
+
+        /**
+         * VIRTUAL模式下等待执行许可的最长时间，单位：毫秒，小于0表示一直等待
+         */
+        private long acquireTimeoutMillis = -1L;
+
+        /**
+         * VIRTUAL模式下是否统计虚拟线程钉住载体线程的情况
+         */
+        private boolean pinningMonitor = false;
+
+        /**
+         * 执行线程繁忙时是否按Trigger优先级分发积压的任务
+         */
+        private boolean priorityDispatch = true;
+
+        /**
+         * 是否合并同一时刻触发的AbstractMicroBatchQuartzJobBean，见MicroBatchTaskExecutor
+         */
+        private boolean microBatch = false;
+
         private String threadNamePrefix;
 
         private int threadPriority = 5;
@@ -56,6 +143,54 @@ public class QuartzProperties {
 
         private int awaitTerminationSeconds = 0;
 
+        public Mode getMode() {
+            return mode;
+        }
+
+        public void setMode(Mode mode) {
+            this.mode = mode;
+        }
+
+        public int getMaxConcurrency() {
+            return maxConcurrency;
+        }
+
+        public void setMaxConcurrency(int maxConcurrency) {
+            this.maxConcurrency = maxConcurrency;
+        }
+
+        public long getAcquireTimeoutMillis() {
+            return acquireTimeoutMillis;
+        }
+
+        public void setAcquireTimeoutMillis(long acquireTimeoutMillis) {
+            this.acquireTimeoutMillis = acquireTimeoutMillis;
+        }
+
+        public boolean isPinningMonitor() {
+            return pinningMonitor;
+        }
+
+        public void setPinningMonitor(boolean pinningMonitor) {
+            this.pinningMonitor = pinningMonitor;
+        }
+
+        public boolean isPriorityDispatch() {
+            return priorityDispatch;
+        }
+
+        public void setPriorityDispatch(boolean priorityDispatch) {
+            this.priorityDispatch = priorityDispatch;
+        }
+
+        public boolean isMicroBatch() {
+            return microBatch;
+        }
+
+        public void setMicroBatch(boolean microBatch) {
+            this.microBatch = microBatch;
+        }
+
         public String getThreadNamePrefix() {
             return threadNamePrefix;
         }
@@ -145,6 +280,155 @@ public class QuartzProperties {
         }
     }
 
+    public static class Bulkhead {
+
+        /**
+         * 线程数量
+         */
+        private int poolSize = 10;
+
+        /**
+         * 等待队列容量
+         */
+        private int queueCapacity = 100;
+
+        /**
+         * 等待队列已满时调度线程等待空位的最长时间，单位：毫秒；超时后任务超出容量入队
+         */
+        private long overflowTimeoutMillis = 1000L;
+
+        /**
+         * 优先级，数值越大优先级越高
+         */
+        private int priority = 5;
+
+        /**
+         * 进入该舱壁的任务分组
+         */
+        private List<String> groups = new ArrayList<>();
+
+        /**
+         * 进入该舱壁的任务类（全限定名），包括其子类；优先于groups匹配
+         */
+        private List<String> jobClasses = new ArrayList<>();
+
+        public int getPoolSize() {
+            return poolSize;
+        }
+
+        public void setPoolSize(int poolSize) {
+            this.poolSize = poolSize;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public long getOverflowTimeoutMillis() {
+            return overflowTimeoutMillis;
+        }
+
+        public void setOverflowTimeoutMillis(long overflowTimeoutMillis) {
+            this.overflowTimeoutMillis = overflowTimeoutMillis;
+        }
+
+        public int getPriority() {
+            return priority;
+        }
+
+        public void setPriority(int priority) {
+            this.priority = priority;
+        }
+
+        public List<String> getGroups() {
+            return groups;
+        }
+
+        public void setGroups(List<String> groups) {
+            this.groups = groups;
+        }
+
+        public List<String> getJobClasses() {
+            return jobClasses;
+        }
+
+        public void setJobClasses(List<String> jobClasses) {
+            this.jobClasses = jobClasses;
+        }
+    }
+
+    public static class ListenerDispatch {
+
+        /**
+         * 是否异步分发监听器回调，TriggerListener.vetoJobExecution始终同步回调
+         */
+        private boolean async = false;
+
+        /**
+         * 分发线程数量
+         */
+        private int threads = 1;
+
+        /**
+         * 队列总容量，平均分配给各分发线程
+         */
+        private int queueCapacity = 1024;
+
+        /**
+         * 队列已满时的处理策略
+         */
+        private QuartzListenerDispatcher.OverflowPolicy overflowPolicy = QuartzListenerDispatcher.OverflowPolicy.BLOCK;
+
+        /**
+         * 关闭时等待队列中回调分发完毕的最长时间，单位：毫秒
+         */
+        private long awaitTerminationMillis = 5000L;
+
+        public boolean isAsync() {
+            return async;
+        }
+
+        public void setAsync(boolean async) {
+            this.async = async;
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public QuartzListenerDispatcher.OverflowPolicy getOverflowPolicy() {
+            return overflowPolicy;
+        }
+
+        public void setOverflowPolicy(QuartzListenerDispatcher.OverflowPolicy overflowPolicy) {
+            this.overflowPolicy = overflowPolicy;
+        }
+
+        public long getAwaitTerminationMillis() {
+            return awaitTerminationMillis;
+        }
+
+        public void setAwaitTerminationMillis(long awaitTerminationMillis) {
+            this.awaitTerminationMillis = awaitTerminationMillis;
+        }
+    }
+
     public static class Scheduler {
         private Resource configLocation;
 
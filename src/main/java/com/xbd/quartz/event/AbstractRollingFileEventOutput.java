@@ -0,0 +1,189 @@
+package com.xbd.quartz.event;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+import org.springframework.util.Assert;
+
+/**
+ * 按文件大小滚动的事件文件输出
+ * <p>当前文件为{@code directory/baseName.suffix}，超过{@link #setMaxFileSize(long) maxFileSize}后依次重命名为
+ * {@code baseName.1.suffix}、{@code baseName.2.suffix}…，最多保留{@link #setMaxFiles(int) maxFiles}个历史文件.
+ *
+ * @author luas
+ * @since 2.0
+ */
+public abstract class AbstractRollingFileEventOutput implements QuartzExecutionEventOutput {
+
+	private final File directory;
+
+	private final String baseName;
+
+	private final String suffix;
+
+	private long maxFileSize = 64L * 1024 * 1024;
+
+	private int maxFiles = 10;
+
+	private OutputStream outputStream;
+
+	private long fileSize;
+
+	protected AbstractRollingFileEventOutput(File directory, String baseName, String suffix) {
+		Assert.notNull(directory, "directory不能为空！");
+		Assert.hasText(baseName, "baseName不能为空！");
+		Assert.hasText(suffix, "suffix不能为空！");
+
+		this.directory = directory;
+		this.baseName = baseName;
+		this.suffix = suffix;
+	}
+
+	@Override
+	public void write(List<QuartzExecutionEvent> events) throws IOException {
+		OutputStream out = open();
+
+		for (QuartzExecutionEvent event : events) {
+			write(event, out);
+		}
+
+		if (this.fileSize >= this.maxFileSize) {
+			roll();
+		}
+	}
+
+	/**
+	 * 写入一个事件
+	 *
+	 * @param event 事件
+	 * @param out   当前文件的输出流，已缓冲
+	 * @throws IOException 写入失败
+	 */
+	protected abstract void write(QuartzExecutionEvent event, OutputStream out) throws IOException;
+
+	/**
+	 * 新文件的文件头，默认无
+	 *
+	 * @param out 新文件的输出流
+	 * @throws IOException 写入失败
+	 */
+	protected void writeHeader(OutputStream out) throws IOException {
+
+	}
+
+	@Override
+	public void flush() throws IOException {
+		if (this.outputStream != null) {
+			this.outputStream.flush();
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (this.outputStream != null) {
+			try {
+				this.outputStream.close();
+			} finally {
+				this.outputStream = null;
+			}
+		}
+	}
+
+	/**
+	 * 当前文件
+	 */
+	public File getFile() {
+		return new File(this.directory, this.baseName + "." + this.suffix);
+	}
+
+	private OutputStream open() throws IOException {
+		if (this.outputStream != null) {
+			return this.outputStream;
+		}
+
+		if (!this.directory.isDirectory() && !this.directory.mkdirs()) {
+			throw new IOException("创建目录" + this.directory + "失败！");
+		}
+
+		File file = getFile();
+
+		this.fileSize = file.length();
+		this.outputStream = new BufferedOutputStream(new FilterOutputStream(new FileOutputStream(file, true)) {
+			@Override
+			public void write(int b) throws IOException {
+				out.write(b);
+				fileSize++;
+			}
+
+			@Override
+			public void write(byte[] b, int off, int len) throws IOException {
+				out.write(b, off, len);
+				fileSize += len;
+			}
+		}, 64 * 1024);
+
+		if (this.fileSize == 0) {
+			writeHeader(this.outputStream);
+		}
+
+		return this.outputStream;
+	}
+
+	private void roll() throws IOException {
+		close();
+
+		File oldest = new File(this.directory, this.baseName + "." + this.maxFiles + "." + this.suffix);
+
+		if (oldest.exists() && !oldest.delete()) {
+			throw new IOException("删除文件" + oldest + "失败！");
+		}
+
+		for (int i = this.maxFiles - 1; i >= 1; i--) {
+			File source = new File(this.directory, this.baseName + "." + i + "." + this.suffix);
+
+			if (source.exists() && !source.renameTo(new File(this.directory, this.baseName + "." + (i + 1) + "." + this.suffix))) {
+				throw new IOException("重命名文件" + source + "失败！");
+			}
+		}
+
+		File current = getFile();
+
+		if (this.maxFiles > 0 && !current.renameTo(new File(this.directory, this.baseName + ".1." + this.suffix))) {
+			throw new IOException("重命名文件" + current + "失败！");
+		}
+
+		if (this.maxFiles == 0 && !current.delete()) {
+			throw new IOException("删除文件" + current + "失败！");
+		}
+	}
+
+	public long getMaxFileSize() {
+		return maxFileSize;
+	}
+
+	public void setMaxFileSize(long maxFileSize) {
+		Assert.isTrue(maxFileSize > 0, "maxFileSize必须大于0！");
+
+		this.maxFileSize = maxFileSize;
+	}
+
+	public int getMaxFiles() {
+		return maxFiles;
+	}
+
+	public void setMaxFiles(int maxFiles) {
+		Assert.isTrue(maxFiles >= 0, "maxFiles不能小于0！");
+
+		this.maxFiles = maxFiles;
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "{" + getFile() + "}";
+	}
+}
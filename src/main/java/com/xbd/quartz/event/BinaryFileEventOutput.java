@@ -0,0 +1,60 @@
+package com.xbd.quartz.event;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 二进制滚动文件输出
+ * <p>文件以4字节魔数{@code QEV1}开头，之后每个事件依次为：类型序号（byte）、事件时间（long）、任务分组、任务名称、Trigger分组、Trigger名称、
+ * fireInstanceId（均为modified UTF-8，不存在时为空串）、计划触发时间、实际触发时间、下次触发时间、执行耗时（long）、根异常类名（UTF，成功时为空串）.
+ * 与{@link java.io.DataInputStream}的读取方法一一对应.
+ *
+ * @author luas
+ * @since 2.0
+ */
+public class BinaryFileEventOutput extends AbstractRollingFileEventOutput {
+
+	public static final byte[] MAGIC = { 'Q', 'E', 'V', '1' };
+
+	private OutputStream target;
+
+	private DataOutputStream data;
+
+	public BinaryFileEventOutput(File directory, String baseName) {
+		super(directory, baseName, "bin");
+	}
+
+	@Override
+	protected void writeHeader(OutputStream out) throws IOException {
+		out.write(MAGIC);
+	}
+
+	@Override
+	protected void write(QuartzExecutionEvent event, OutputStream out) throws IOException {
+		if (this.target != out) {
+			this.target = out;
+			this.data = new DataOutputStream(out);
+		}
+
+		DataOutputStream data = this.data;
+
+		data.writeByte(event.getType().ordinal());
+		data.writeLong(event.getTimestamp());
+		data.writeUTF(nullToEmpty(event.getJobGroup()));
+		data.writeUTF(nullToEmpty(event.getJobName()));
+		data.writeUTF(nullToEmpty(event.getTriggerGroup()));
+		data.writeUTF(nullToEmpty(event.getTriggerName()));
+		data.writeUTF(nullToEmpty(event.getFireInstanceId()));
+		data.writeLong(event.getScheduledFireTime());
+		data.writeLong(event.getFireTime());
+		data.writeLong(event.getNextFireTime());
+		data.writeLong(event.getRunTime());
+		data.writeUTF(event.getException() == null ? "" : event.getException().getName());
+	}
+
+	private static String nullToEmpty(String value) {
+		return value == null ? "" : value;
+	}
+}
@@ -0,0 +1,44 @@
+package com.xbd.quartz.event;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import com.alibaba.fastjson.JSONObject;
+
+/**
+ * JSON Lines滚动文件输出，每个事件一行
+ *
+ * @author luas
+ * @since 2.0
+ */
+public class JsonLinesEventOutput extends AbstractRollingFileEventOutput {
+
+	private static final byte[] LINE_SEPARATOR = { '\n' };
+
+	public JsonLinesEventOutput(File directory, String baseName) {
+		super(directory, baseName, "jsonl");
+	}
+
+	@Override
+	protected void write(QuartzExecutionEvent event, OutputStream out) throws IOException {
+		JSONObject json = new JSONObject(true);
+
+		json.put("type", event.getType().name());
+		json.put("timestamp", event.getTimestamp());
+		json.put("jobGroup", event.getJobGroup());
+		json.put("jobName", event.getJobName());
+		json.put("triggerGroup", event.getTriggerGroup());
+		json.put("triggerName", event.getTriggerName());
+		json.put("fireInstanceId", event.getFireInstanceId());
+		json.put("scheduledFireTime", event.getScheduledFireTime());
+		json.put("fireTime", event.getFireTime());
+		json.put("nextFireTime", event.getNextFireTime());
+		json.put("runTime", event.getRunTime());
+		json.put("exception", event.getException() == null ? null : event.getException().getName());
+
+		out.write(json.toJSONString().getBytes(StandardCharsets.UTF_8));
+		out.write(LINE_SEPARATOR);
+	}
+}
@@ -0,0 +1,70 @@
+package com.xbd.quartz.event;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+/**
+ * 抽样日志输出
+ * <p>每{@link #setSampleRate(int) sampleRate}个事件以INFO输出一个，执行失败的事件始终以WARN输出（{@link #setLogFailures(boolean) logFailures}）.
+ * 格式化在刷新线程中进行，不影响工作线程.
+ *
+ * @author luas
+ * @since 2.0
+ */
+public class LoggingEventOutput implements QuartzExecutionEventOutput {
+
+	private final Logger logger;
+
+	private int sampleRate = 100;
+
+	private boolean logFailures = true;
+
+	private long count;
+
+	public LoggingEventOutput() {
+		this(LoggerFactory.getLogger(LoggingEventOutput.class));
+	}
+
+	public LoggingEventOutput(Logger logger) {
+		Assert.notNull(logger, "logger不能为空！");
+
+		this.logger = logger;
+	}
+
+	@Override
+	public void write(List<QuartzExecutionEvent> events) {
+		for (QuartzExecutionEvent event : events) {
+			if (event.isFailed() && this.logFailures) {
+				if (this.logger.isWarnEnabled()) {
+					this.logger.warn("任务执行事件：{}", event);
+				}
+			} else if (++this.count % this.sampleRate == 0 && this.logger.isInfoEnabled()) {
+				this.logger.info("任务执行事件（每{}个抽样1个）：{}", this.sampleRate, event);
+			}
+		}
+	}
+
+	public int getSampleRate() {
+		return sampleRate;
+	}
+
+	/**
+	 * 抽样间隔，1表示输出全部事件
+	 */
+	public void setSampleRate(int sampleRate) {
+		Assert.isTrue(sampleRate > 0, "sampleRate必须大于0！");
+
+		this.sampleRate = sampleRate;
+	}
+
+	public boolean isLogFailures() {
+		return logFailures;
+	}
+
+	public void setLogFailures(boolean logFailures) {
+		this.logFailures = logFailures;
+	}
+}
@@ -0,0 +1,204 @@
+package com.xbd.quartz.event;
+
+import java.util.Date;
+
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.quartz.Trigger;
+
+/**
+ * 任务执行事件
+ * <p>由{@link QuartzExecutionEventSink}预先分配、循环复用，采集时只保存引用及时间戳，不做任何字符串格式化.
+ * {@link QuartzExecutionEventOutput#write(java.util.List)}返回后事件即被复用，输出需要保留的内容应在返回前复制.
+ *
+ * @author luas
+ * @since 2.0
+ */
+public final class QuartzExecutionEvent {
+
+	/**
+	 * 事件类型
+	 */
+	public enum Type {
+
+		/**
+		 * 任务即将执行
+		 */
+		FIRED,
+
+		/**
+		 * 任务执行结束，失败时{@link #getException()}不为null
+		 */
+		COMPLETED,
+
+		/**
+		 * 任务执行被TriggerListener否决
+		 */
+		VETOED,
+
+		/**
+		 * Trigger错过触发时间
+		 */
+		MISFIRED
+
+	}
+
+	private Type type;
+
+	private long timestamp;
+
+	private String jobName;
+
+	private String jobGroup;
+
+	private String triggerName;
+
+	private String triggerGroup;
+
+	private String fireInstanceId;
+
+	private long scheduledFireTime;
+
+	private long fireTime;
+
+	private long nextFireTime;
+
+	/**
+	 * 执行耗时，单位：毫秒，仅{@link Type#COMPLETED}有效
+	 */
+	private long runTime = -1L;
+
+	private Class<? extends Throwable> exception;
+
+	QuartzExecutionEvent() {
+
+	}
+
+	void set(Type type, JobExecutionContext context, JobExecutionException jobException) {
+		this.type = type;
+		this.timestamp = System.currentTimeMillis();
+		this.jobName = context.getJobDetail().getKey().getName();
+		this.jobGroup = context.getJobDetail().getKey().getGroup();
+		this.triggerName = context.getTrigger().getKey().getName();
+		this.triggerGroup = context.getTrigger().getKey().getGroup();
+		this.fireInstanceId = context.getFireInstanceId();
+		this.scheduledFireTime = toMillis(context.getScheduledFireTime());
+		this.fireTime = toMillis(context.getFireTime());
+		this.nextFireTime = toMillis(context.getNextFireTime());
+		this.runTime = type == Type.COMPLETED ? context.getJobRunTime() : -1L;
+		this.exception = jobException == null ? null : rootCause(jobException).getClass();
+	}
+
+	void set(Type type, Trigger trigger) {
+		this.type = type;
+		this.timestamp = System.currentTimeMillis();
+		this.jobName = trigger.getJobKey().getName();
+		this.jobGroup = trigger.getJobKey().getGroup();
+		this.triggerName = trigger.getKey().getName();
+		this.triggerGroup = trigger.getKey().getGroup();
+		this.fireInstanceId = null;
+		// Quartz在updateAfterMisfire之前通知，此时的nextFireTime即错过的计划触发时间，新的下次触发时间尚未计算
+		this.scheduledFireTime = toMillis(trigger.getNextFireTime());
+		this.fireTime = 0L;
+		this.nextFireTime = 0L;
+		this.runTime = -1L;
+		this.exception = null;
+	}
+
+	public Type getType() {
+		return type;
+	}
+
+	/**
+	 * 事件发生时间，单位：毫秒
+	 */
+	public long getTimestamp() {
+		return timestamp;
+	}
+
+	public String getJobName() {
+		return jobName;
+	}
+
+	public String getJobGroup() {
+		return jobGroup;
+	}
+
+	public String getTriggerName() {
+		return triggerName;
+	}
+
+	public String getTriggerGroup() {
+		return triggerGroup;
+	}
+
+	public String getFireInstanceId() {
+		return fireInstanceId;
+	}
+
+	/**
+	 * 计划触发时间，单位：毫秒，不存在时为0；{@link Type#MISFIRED}时为错过的触发时间
+	 */
+	public long getScheduledFireTime() {
+		return scheduledFireTime;
+	}
+
+	/**
+	 * 实际触发时间，单位：毫秒，不存在时为0
+	 */
+	public long getFireTime() {
+		return fireTime;
+	}
+
+	/**
+	 * 下次触发时间，单位：毫秒，不存在时为0；{@link Type#MISFIRED}时尚未计算，始终为0
+	 */
+	public long getNextFireTime() {
+		return nextFireTime;
+	}
+
+	public long getRunTime() {
+		return runTime;
+	}
+
+	/**
+	 * 执行失败的根异常类型，成功时为null
+	 */
+	public Class<? extends Throwable> getException() {
+		return exception;
+	}
+
+	public boolean isFailed() {
+		return exception != null;
+	}
+
+	private static long toMillis(Date date) {
+		return date == null ? 0L : date.getTime();
+	}
+
+	private static Throwable rootCause(Throwable failure) {
+		Throwable cause = failure;
+
+		while (cause.getCause() != null && cause.getCause() != cause) {
+			cause = cause.getCause();
+		}
+
+		return cause;
+	}
+
+	@Override
+	public String toString() {
+		return "QuartzExecutionEvent{" +
+				"type=" + type +
+				", timestamp=" + timestamp +
+				", job=" + jobGroup + '.' + jobName +
+				", trigger=" + triggerGroup + '.' + triggerName +
+				", fireInstanceId='" + fireInstanceId + '\'' +
+				", scheduledFireTime=" + scheduledFireTime +
+				", fireTime=" + fireTime +
+				", nextFireTime=" + nextFireTime +
+				", runTime=" + runTime +
+				", exception=" + (exception == null ? null : exception.getName()) +
+				'}';
+	}
+}
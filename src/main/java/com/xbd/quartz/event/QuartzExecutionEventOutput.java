@@ -0,0 +1,41 @@
+package com.xbd.quartz.event;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * 任务执行事件输出
+ * <p>由{@link QuartzExecutionEventSink}的刷新线程按批次调用，同一输出不会被并发调用.
+ *
+ * @author luas
+ * @since 2.0
+ */
+public interface QuartzExecutionEventOutput {
+
+	/**
+	 * 输出一批事件，返回后事件即被复用
+	 *
+	 * @param events 事件，按发生顺序排列
+	 * @throws IOException 输出失败，该批次事件被丢弃
+	 */
+	void write(List<QuartzExecutionEvent> events) throws IOException;
+
+	/**
+	 * 暂无新事件时调用，将缓冲的内容写出
+	 *
+	 * @throws IOException 输出失败
+	 */
+	default void flush() throws IOException {
+
+	}
+
+	/**
+	 * 关闭输出
+	 *
+	 * @throws IOException 关闭失败
+	 */
+	default void close() throws IOException {
+
+	}
+
+}
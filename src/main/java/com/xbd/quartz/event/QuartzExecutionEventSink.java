@@ -0,0 +1,326 @@
+package com.xbd.quartz.event;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.quartz.Trigger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.util.Assert;
+
+/**
+ * 任务执行事件采集
+ * <p>事件保存在预先分配的环形缓冲区中，采集线程（Quartz工作线程）只需一次CAS占位并写入引用、时间戳，不分配对象、不格式化字符串；
+ * 专用的刷新线程每{@link #setFlushIntervalMillis(long) flushIntervalMillis}按批次将事件交给各{@link QuartzExecutionEventOutput}.
+ * <p>缓冲区已满时丢弃新事件并计数，采集线程从不等待.
+ *
+ * @author luas
+ * @since 2.0
+ */
+public class QuartzExecutionEventSink implements InitializingBean, DisposableBean {
+
+	private static final Logger logger = LoggerFactory.getLogger(QuartzExecutionEventSink.class);
+
+	private int capacity = 8192;
+
+	private int batchSize = 512;
+
+	private long flushIntervalMillis = 200L;
+
+	private List<QuartzExecutionEventOutput> outputs = new ArrayList<>();
+
+	private QuartzExecutionEvent[] events;
+
+	/**
+	 * 各槽位已写入的事件序号
+	 */
+	private AtomicLongArray published;
+
+	private int mask;
+
+	/**
+	 * 下一个待占用的序号
+	 */
+	private final AtomicLong claimed = new AtomicLong();
+
+	/**
+	 * 下一个待刷新的序号
+	 */
+	private volatile long flushed;
+
+	private volatile boolean running;
+
+	private Thread flusher;
+
+	private final LongAdder droppedCount = new LongAdder();
+
+	private final LongAdder writtenCount = new LongAdder();
+
+	private final LongAdder failedCount = new LongAdder();
+
+	@Override
+	public void afterPropertiesSet() {
+		start();
+	}
+
+	@Override
+	public void destroy() {
+		stop();
+	}
+
+	/**
+	 * 分配缓冲区并启动刷新线程
+	 */
+	public synchronized void start() {
+		if (this.running) {
+			return;
+		}
+
+		int size = Integer.highestOneBit(Math.max(2, this.capacity) - 1) << 1;
+
+		this.events = new QuartzExecutionEvent[size];
+		this.published = new AtomicLongArray(size);
+		this.mask = size - 1;
+
+		for (int i = 0; i < size; i++) {
+			this.events[i] = new QuartzExecutionEvent();
+			this.published.set(i, -1L);
+		}
+
+		this.claimed.set(0L);
+		this.flushed = 0L;
+		this.running = true;
+
+		this.flusher = new Thread(this::flushLoop, "QuartzExecutionEventSink");
+		this.flusher.setDaemon(true);
+		this.flusher.start();
+	}
+
+	/**
+	 * 停止采集，刷新剩余事件并关闭各输出
+	 */
+	public synchronized void stop() {
+		if (!this.running) {
+			return;
+		}
+
+		this.running = false;
+
+		LockSupport.unpark(this.flusher);
+
+		try {
+			this.flusher.join(TimeUnit.SECONDS.toMillis(10));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+
+		for (QuartzExecutionEventOutput output : this.outputs) {
+			try {
+				output.close();
+			} catch (Exception e) {
+				logger.warn("关闭执行事件输出{}失败！", output, e);
+			}
+		}
+	}
+
+	public void publish(QuartzExecutionEvent.Type type, JobExecutionContext context, JobExecutionException jobException) {
+		long sequence = claim();
+
+		if (sequence < 0) {
+			return;
+		}
+
+		try {
+			this.events[(int) sequence & this.mask].set(type, context, jobException);
+		} finally {
+			// 无论写入是否成功均需发布，否则刷新线程将停在该序号
+			this.published.set((int) sequence & this.mask, sequence);
+		}
+	}
+
+	public void publish(QuartzExecutionEvent.Type type, Trigger trigger) {
+		long sequence = claim();
+
+		if (sequence < 0) {
+			return;
+		}
+
+		try {
+			this.events[(int) sequence & this.mask].set(type, trigger);
+		} finally {
+			// 无论写入是否成功均需发布，否则刷新线程将停在该序号
+			this.published.set((int) sequence & this.mask, sequence);
+		}
+	}
+
+	/**
+	 * 占用一个槽位
+	 *
+	 * @return 序号，缓冲区已满或未启动时返回-1
+	 */
+	private long claim() {
+		if (!this.running) {
+			this.droppedCount.increment();
+			return -1L;
+		}
+
+		long sequence;
+
+		do {
+			sequence = this.claimed.get();
+
+			if (sequence - this.flushed > this.mask) {
+				this.droppedCount.increment();
+				return -1L;
+			}
+		} while (!this.claimed.compareAndSet(sequence, sequence + 1));
+
+		return sequence;
+	}
+
+	private void flushLoop() {
+		List<QuartzExecutionEvent> batch = new ArrayList<>(this.batchSize);
+
+		long idleNanos = TimeUnit.MILLISECONDS.toNanos(this.flushIntervalMillis);
+
+		while (true) {
+			boolean stopping = !this.running;
+
+			int drained = drain(batch);
+
+			if (drained > 0) {
+				continue;
+			}
+
+			flushOutputs();
+
+			// 停止后再排空一次，覆盖停止前已占位、尚未写完的事件
+			if (stopping && this.flushed == this.claimed.get()) {
+				return;
+			}
+
+			LockSupport.parkNanos(this, stopping ? TimeUnit.MILLISECONDS.toNanos(1) : idleNanos);
+		}
+	}
+
+	private int drain(List<QuartzExecutionEvent> batch) {
+		long next = this.flushed;
+
+		while (batch.size() < this.batchSize && this.published.get((int) (next + batch.size()) & this.mask) == next + batch.size()) {
+			batch.add(this.events[(int) (next + batch.size()) & this.mask]);
+		}
+
+		int size = batch.size();
+
+		if (size == 0) {
+			return 0;
+		}
+
+		for (QuartzExecutionEventOutput output : this.outputs) {
+			try {
+				output.write(batch);
+			} catch (Exception e) {
+				this.failedCount.add(size);
+
+				logger.warn("执行事件输出{}失败，丢弃{}个事件！", output, size, e);
+			}
+		}
+
+		batch.clear();
+
+		this.writtenCount.add(size);
+		this.flushed = next + size;
+
+		return size;
+	}
+
+	private void flushOutputs() {
+		for (QuartzExecutionEventOutput output : this.outputs) {
+			try {
+				output.flush();
+			} catch (Exception e) {
+				logger.warn("执行事件输出{}刷新失败！", output, e);
+			}
+		}
+	}
+
+	/**
+	 * 缓冲区已满或未启动时丢弃的事件数量
+	 */
+	public long getDroppedCount() {
+		return droppedCount.sum();
+	}
+
+	/**
+	 * 已交给输出的事件数量
+	 */
+	public long getWrittenCount() {
+		return writtenCount.sum();
+	}
+
+	/**
+	 * 输出失败的事件数量，每个输出分别计数
+	 */
+	public long getFailedCount() {
+		return failedCount.sum();
+	}
+
+	/**
+	 * 等待刷新的事件数量
+	 */
+	public long getPending() {
+		return this.claimed.get() - this.flushed;
+	}
+
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * 缓冲区容量，向上取整为2的幂，启动前设置
+	 */
+	public void setCapacity(int capacity) {
+		Assert.isTrue(capacity > 0, "capacity必须大于0！");
+
+		this.capacity = capacity;
+	}
+
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	public void setBatchSize(int batchSize) {
+		Assert.isTrue(batchSize > 0, "batchSize必须大于0！");
+
+		this.batchSize = batchSize;
+	}
+
+	public long getFlushIntervalMillis() {
+		return flushIntervalMillis;
+	}
+
+	public void setFlushIntervalMillis(long flushIntervalMillis) {
+		Assert.isTrue(flushIntervalMillis > 0, "flushIntervalMillis必须大于0！");
+
+		this.flushIntervalMillis = flushIntervalMillis;
+	}
+
+	public List<QuartzExecutionEventOutput> getOutputs() {
+		return outputs;
+	}
+
+	public void setOutputs(List<QuartzExecutionEventOutput> outputs) {
+		Assert.notNull(outputs, "outputs不能为空！");
+
+		this.outputs = new ArrayList<>(outputs);
+	}
+}
@@ -0,0 +1,121 @@
+package com.xbd.quartz.executor;
+
+import java.io.Serializable;
+
+/**
+ * 舱壁运行状态快照
+ *
+ * @author luas
+ * @since 2.0
+ */
+public class BulkheadStats implements Serializable {
+
+    private static final long serialVersionUID = 6120834561948221857L;
+
+    private final String name;
+
+    private final int priority;
+
+    private final int poolSize;
+
+    private final int activeCount;
+
+    private final int queueCapacity;
+
+    private final int queueSize;
+
+    private final long overflowCount;
+
+    private final long submittedCount;
+
+    private final long borrowedCount;
+
+    private final long lentCount;
+
+    public BulkheadStats(String name, int priority, int poolSize, int activeCount, int queueCapacity, int queueSize,
+                         long overflowCount, long submittedCount, long borrowedCount, long lentCount) {
+        this.name = name;
+        this.priority = priority;
+        this.poolSize = poolSize;
+        this.activeCount = activeCount;
+        this.queueCapacity = queueCapacity;
+        this.queueSize = queueSize;
+        this.overflowCount = overflowCount;
+        this.submittedCount = submittedCount;
+        this.borrowedCount = borrowedCount;
+        this.lentCount = lentCount;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    /**
+     * 占用本舱壁线程的任务数量，包括借出的线程
+     */
+    public int getActiveCount() {
+        return activeCount;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    /**
+     * 队列已满且等待超时后，超出容量入队的提交数量
+     */
+    public long getOverflowCount() {
+        return overflowCount;
+    }
+
+    public long getSubmittedCount() {
+        return submittedCount;
+    }
+
+    /**
+     * 本舱壁任务借用其它舱壁线程执行的次数
+     */
+    public long getBorrowedCount() {
+        return borrowedCount;
+    }
+
+    /**
+     * 本舱壁线程执行其它舱壁任务的次数
+     */
+    public long getLentCount() {
+        return lentCount;
+    }
+
+    /**
+     * 饱和度：线程及队列的整体占用比例，达到1时新的提交将阻塞调度线程，超过1表示存在溢出入队的任务
+     */
+    public double getSaturation() {
+        return (double) (activeCount + queueSize) / ((long) poolSize + queueCapacity);
+    }
+
+    @Override
+    public String toString() {
+        return "BulkheadStats{" +
+                "name='" + name + '\'' +
+                ", activeCount=" + activeCount +
+                "/" + poolSize +
+                ", queueSize=" + queueSize +
+                "/" + queueCapacity +
+                ", overflowCount=" + overflowCount +
+                ", borrowedCount=" + borrowedCount +
+                ", lentCount=" + lentCount +
+                '}';
+    }
+}
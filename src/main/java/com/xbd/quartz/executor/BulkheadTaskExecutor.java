@@ -0,0 +1,458 @@
+package com.xbd.quartz.executor;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import com.xbd.quartz.configure.QuartzProperties;
+
+import org.quartz.JobDetail;
+import org.quartz.JobExecutionContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+/**
+ * 按任务分组、任务类隔离线程的舱壁（bulkhead）{@link TaskExecutor}
+ * <p>每个舱壁拥有独立的线程数量、有界等待队列及优先级，慢任务的突发只会占满所在舱壁，不影响其它舱壁的任务.
+ * 任务按任务类（含子类）、分组的顺序匹配舱壁，均未匹配时进入{@link #DEFAULT_BULKHEAD}舱壁；匹配结果按任务类缓存，触发路径上为常数时间.
+ * <p>开启{@code borrowing}后调度是work-conserving的：舱壁线程全忙时，任务可借用优先级不高于自身的舱壁的空闲线程；
+ * 线程空闲时先取本舱壁队列，再按优先级从高到低取可向其借用的舱壁的队列.
+ * <p>舱壁队列按Trigger优先级出队，优先级相同时先进先出.
+ * <p>舱壁队列已满时，{@link #execute(Runnable)}阻塞Quartz调度线程，最多等待该舱壁的overflowTimeoutMillis，
+ * 仍无空位则超出容量入队并记录告警，不拒绝任务：Quartz会将被拒绝的触发对应任务的全部Trigger置为ERROR状态，且无法自动恢复.
+ * 等待期间其它舱壁的任务暂停分发，各舱壁的queueCapacity应按可接受的积压量配置.
+ * <p>未配置{@link #DEFAULT_BULKHEAD}舱壁时，其线程数、队列容量由{@link #setDefaultBulkhead(QuartzProperties.Bulkhead)}指定，
+ * {@link QuartzTaskExecutors#newBulkheadTaskExecutor(QuartzProperties)}按thread-pool配置生成.
+ *
+ * @author luas
+ * @since 2.0
+ */
+public class BulkheadTaskExecutor implements TaskExecutor, InitializingBean, DisposableBean {
+
+    public static final String DEFAULT_BULKHEAD = "default";
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private Map<String, QuartzProperties.Bulkhead> bulkheads = new LinkedHashMap<>();
+
+    private QuartzProperties.Bulkhead defaultBulkhead = new QuartzProperties.Bulkhead();
+
+    private boolean borrowing = true;
+
+    private String threadNamePrefix = "QuartzBulkhead-";
+
+    /**
+     * 关闭时等待任务结束的时间，单位：秒
+     */
+    private int awaitTerminationSeconds = 0;
+
+    private Map<String, Compartment> compartments;
+
+    private Compartment defaultCompartment;
+
+    private final Map<String, Compartment> groupRoutes = new HashMap<>();
+
+    private final Map<String, Compartment> jobClassRoutes = new HashMap<>();
+
+    private final Map<Class<?>, Optional<Compartment>> jobClassCache = new ConcurrentHashMap<>();
+
+    @Override
+    public void afterPropertiesSet() {
+        Assert.notNull(this.bulkheads, "bulkheads不能为空！");
+        Assert.notNull(this.defaultBulkhead, "defaultBulkhead不能为空！");
+
+        this.compartments = new LinkedHashMap<>();
+
+        for (Map.Entry<String, QuartzProperties.Bulkhead> entry : this.bulkheads.entrySet()) {
+            Compartment compartment = new Compartment(entry.getKey(), entry.getValue());
+
+            this.compartments.put(entry.getKey(), compartment);
+
+            for (String group : entry.getValue().getGroups()) {
+                Assert.isNull(this.groupRoutes.put(group, compartment), "任务分组" + group + "重复配置舱壁！");
+            }
+
+            for (String jobClass : entry.getValue().getJobClasses()) {
+                Assert.isNull(this.jobClassRoutes.put(jobClass, compartment), "任务类" + jobClass + "重复配置舱壁！");
+            }
+        }
+
+        this.defaultCompartment = this.compartments.computeIfAbsent(DEFAULT_BULKHEAD, name -> new Compartment(name, this.defaultBulkhead));
+
+        for (Compartment compartment : this.compartments.values()) {
+            compartment.lenders = this.compartments.values().stream()
+                    .filter(other -> other != compartment && other.priority <= compartment.priority)
+                    .sorted(Comparator.comparingInt(other -> other.priority))
+                    .toArray(Compartment[]::new);
+
+            compartment.borrowers = this.compartments.values().stream()
+                    .filter(other -> other != compartment && other.priority >= compartment.priority)
+                    .sorted(Comparator.comparingInt((Compartment other) -> other.priority).reversed())
+                    .toArray(Compartment[]::new);
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        if (this.compartments == null) {
+            return;
+        }
+
+        for (Compartment compartment : this.compartments.values()) {
+            if (this.awaitTerminationSeconds > 0) {
+                compartment.pool.shutdown();
+            } else {
+                compartment.pool.shutdownNow();
+            }
+        }
+
+        if (this.awaitTerminationSeconds <= 0) {
+            return;
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(this.awaitTerminationSeconds);
+
+        for (Compartment compartment : this.compartments.values()) {
+            if (!compartment.pool.awaitTermination(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                this.logger.warn("舱壁{}关闭超时，尚有{}个任务未执行！", compartment.name, compartment.queue.size());
+
+                compartment.pool.shutdownNow();
+            }
+        }
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        Assert.state(this.compartments != null, "BulkheadTaskExecutor尚未初始化！");
+
+        Compartment compartment = route(task);
+
+        compartment.submittedCount.increment();
+
+        if (compartment.permits.tryAcquire()) {
+            compartment.start(task);
+            return;
+        }
+
+        if (this.borrowing) {
+            for (Compartment lender : compartment.lenders) {
+                if (lender.permits.tryAcquire()) {
+                    compartment.borrowedCount.increment();
+                    lender.lentCount.increment();
+                    lender.start(task);
+                    return;
+                }
+            }
+        }
+
+        // 不拒绝任务：被拒绝的触发会使该任务的全部Trigger进入ERROR状态
+        if (!compartment.enqueue(task)) {
+            compartment.overflowCount.increment();
+
+            this.logger.warn("舱壁{}的队列已满（{}），等待{}毫秒后超出容量入队！", compartment.name, compartment.queueCapacity,
+                    compartment.overflowTimeoutMillis);
+
+            compartment.queue.requeue(task);
+        }
+
+        // 入队期间线程可能已全部空闲，重新检查以免任务滞留
+        compartment.drain();
+
+        if (this.borrowing) {
+            for (Compartment lender : compartment.lenders) {
+                lender.drain();
+            }
+        }
+    }
+
+    /**
+     * 获取任务所属的舱壁名称
+     *
+     * @param jobDetail 任务
+     * @return 舱壁名称
+     */
+    public String getBulkheadName(JobDetail jobDetail) {
+        return route(jobDetail).name;
+    }
+
+    /**
+     * 获取各舱壁的运行状态
+     *
+     * @return Key为舱壁名称
+     */
+    public Map<String, BulkheadStats> getStats() {
+        if (this.compartments == null) {
+            return Collections.emptyMap();
+        }
+
+        return this.compartments.values().stream().collect(Collectors.toMap(compartment -> compartment.name, Compartment::stats,
+                (left, right) -> left, LinkedHashMap::new));
+    }
+
+    private Compartment route(Runnable task) {
+        JobExecutionContext context = JobRunShells.getContext(task);
+
+        return context == null ? this.defaultCompartment : route(context.getJobDetail());
+    }
+
+    private Compartment route(JobDetail jobDetail) {
+        if (!this.jobClassRoutes.isEmpty() && jobDetail.getJobClass() != null) {
+            Optional<Compartment> compartment = this.jobClassCache.computeIfAbsent(jobDetail.getJobClass(), this::resolveJobClass);
+
+            if (compartment.isPresent()) {
+                return compartment.get();
+            }
+        }
+
+        Compartment compartment = this.groupRoutes.get(jobDetail.getKey().getGroup());
+
+        return compartment != null ? compartment : this.defaultCompartment;
+    }
+
+    private Optional<Compartment> resolveJobClass(Class<?> jobClass) {
+        for (Class<?> type = jobClass; type != null && type != Object.class; type = type.getSuperclass()) {
+            Compartment compartment = this.jobClassRoutes.get(type.getName());
+
+            if (compartment != null) {
+                return Optional.of(compartment);
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * 单个舱壁：以许可数限制占用的线程数量，许可在线程取不到任务时归还
+     */
+    private final class Compartment {
+
+        private final String name;
+
+        private final int priority;
+
+        private final int poolSize;
+
+        private final int queueCapacity;
+
+        private final long overflowTimeoutMillis;
+
+        private final Semaphore permits;
+
+        private final PriorityTaskQueue queue;
+
+        private final ThreadPoolExecutor pool;
+
+        private final LongAdder submittedCount = new LongAdder();
+
+        private final LongAdder overflowCount = new LongAdder();
+
+        private final LongAdder borrowedCount = new LongAdder();
+
+        private final LongAdder lentCount = new LongAdder();
+
+        /**
+         * 可向其借用线程的舱壁，优先级从低到高
+         */
+        private Compartment[] lenders = new Compartment[0];
+
+        /**
+         * 可借用本舱壁线程的舱壁，优先级从高到低
+         */
+        private Compartment[] borrowers = new Compartment[0];
+
+        private Compartment(String name, QuartzProperties.Bulkhead bulkhead) {
+            Assert.isTrue(bulkhead.getPoolSize() > 0, "舱壁" + name + "的poolSize必须大于0！");
+            Assert.isTrue(bulkhead.getQueueCapacity() > 0, "舱壁" + name + "的queueCapacity必须大于0！");
+            Assert.isTrue(bulkhead.getOverflowTimeoutMillis() >= 0, "舱壁" + name + "的overflowTimeoutMillis不能小于0！");
+
+            this.name = name;
+            this.priority = bulkhead.getPriority();
+            this.poolSize = bulkhead.getPoolSize();
+            this.queueCapacity = bulkhead.getQueueCapacity();
+            this.overflowTimeoutMillis = bulkhead.getOverflowTimeoutMillis();
+            this.permits = new Semaphore(this.poolSize);
+            this.queue = new PriorityTaskQueue(this.queueCapacity);
+            this.pool = new ThreadPoolExecutor(this.poolSize, this.poolSize, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                    new CustomizableThreadFactory(threadNamePrefix + name + "-"));
+            this.pool.allowCoreThreadTimeOut(true);
+        }
+
+        /**
+         * 入队，队列已满时最多等待overflowTimeoutMillis
+         *
+         * @return 等待超时或调度线程被中断时返回false
+         */
+        private boolean enqueue(Runnable task) {
+            try {
+                return this.queue.offer(task, this.overflowTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+
+                return false;
+            }
+        }
+
+        /**
+         * 在已获取许可的前提下，以本舱壁线程执行任务
+         */
+        private void start(Runnable task) {
+            try {
+                this.pool.execute(() -> work(task));
+            } catch (RejectedExecutionException e) {
+                this.permits.release();
+                throw e;
+            }
+        }
+
+        private void work(Runnable first) {
+            Runnable task = first;
+
+            while (task != null) {
+                try {
+                    task.run();
+                } catch (Throwable e) {
+                    logger.error("舱壁" + this.name + "执行任务异常！", e);
+                }
+
+                task = next();
+
+                if (task == null) {
+                    this.permits.release();
+
+                    if (!hasQueued() || !this.permits.tryAcquire()) {
+                        return;
+                    }
+
+                    task = next();
+
+                    if (task == null) {
+                        this.permits.release();
+                    }
+                }
+            }
+        }
+
+        /**
+         * 先取本舱壁队列，再按优先级取可借用本舱壁线程的舱壁的队列
+         */
+        private Runnable next() {
+            Runnable task = this.queue.poll();
+
+            if (task != null || !borrowing) {
+                return task;
+            }
+
+            for (Compartment borrower : this.borrowers) {
+                task = borrower.queue.poll();
+
+                if (task != null) {
+                    borrower.borrowedCount.increment();
+                    this.lentCount.increment();
+                    return task;
+                }
+            }
+
+            return null;
+        }
+
+        private boolean hasQueued() {
+            if (!this.queue.isEmpty()) {
+                return true;
+            }
+
+            if (borrowing) {
+                for (Compartment borrower : this.borrowers) {
+                    if (!borrower.queue.isEmpty()) {
+                        return true;
+                    }
+                }
+            }
+
+            return false;
+        }
+
+        /**
+         * 有空闲线程且有排队任务时，启动线程处理
+         */
+        private void drain() {
+            if (!hasQueued() || !this.permits.tryAcquire()) {
+                return;
+            }
+
+            Runnable task = next();
+
+            if (task == null) {
+                this.permits.release();
+            } else {
+                start(task);
+            }
+        }
+
+        private BulkheadStats stats() {
+            return new BulkheadStats(this.name, this.priority, this.poolSize, this.poolSize - this.permits.availablePermits(),
+                    this.queueCapacity, this.queue.size(), this.overflowCount.sum(), this.submittedCount.sum(),
+                    this.borrowedCount.sum(), this.lentCount.sum());
+        }
+
+    }
+
+    public Map<String, QuartzProperties.Bulkhead> getBulkheads() {
+        return bulkheads;
+    }
+
+    public void setBulkheads(Map<String, QuartzProperties.Bulkhead> bulkheads) {
+        this.bulkheads = bulkheads;
+    }
+
+    public QuartzProperties.Bulkhead getDefaultBulkhead() {
+        return defaultBulkhead;
+    }
+
+    /**
+     * 未配置{@link #DEFAULT_BULKHEAD}舱壁时，未匹配任何舱壁的任务所用的线程数、队列容量
+     */
+    public void setDefaultBulkhead(QuartzProperties.Bulkhead defaultBulkhead) {
+        this.defaultBulkhead = defaultBulkhead;
+    }
+
+    public boolean isBorrowing() {
+        return borrowing;
+    }
+
+    public void setBorrowing(boolean borrowing) {
+        this.borrowing = borrowing;
+    }
+
+    public String getThreadNamePrefix() {
+        return threadNamePrefix;
+    }
+
+    public void setThreadNamePrefix(String threadNamePrefix) {
+        this.threadNamePrefix = threadNamePrefix;
+    }
+
+    public int getAwaitTerminationSeconds() {
+        return awaitTerminationSeconds;
+    }
+
+    public void setAwaitTerminationSeconds(int awaitTerminationSeconds) {
+        this.awaitTerminationSeconds = awaitTerminationSeconds;
+    }
+
+}
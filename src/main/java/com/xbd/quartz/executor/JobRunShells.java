@@ -0,0 +1,59 @@
+package com.xbd.quartz.executor;
+
+import java.lang.reflect.Field;
+
+import org.quartz.JobExecutionContext;
+import org.quartz.Trigger;
+import org.quartz.core.JobRunShell;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * 读取Quartz交给线程池执行的{@link JobRunShell}中的任务执行上下文
+ *
+ * @author luas
+ * @since 2.0
+ */
+final class JobRunShells {
+
+    private static final Field JOB_EXECUTION_CONTEXT_FIELD;
+
+    static {
+        JOB_EXECUTION_CONTEXT_FIELD = ReflectionUtils.findField(JobRunShell.class, "jec");
+        ReflectionUtils.makeAccessible(JOB_EXECUTION_CONTEXT_FIELD);
+    }
+
+    private JobRunShells() {
+
+    }
+
+    /**
+     * 获取任务执行上下文
+     *
+     * @param task 线程池任务
+     * @return 非{@link JobRunShell}或尚未初始化时返回null，{@link MicroBatchTaskExecutor}合并的任务返回其第一次触发的上下文
+     */
+    static JobExecutionContext getContext(Runnable task) {
+        if (task instanceof JobRunShell) {
+            return (JobExecutionContext) ReflectionUtils.getField(JOB_EXECUTION_CONTEXT_FIELD, task);
+        }
+
+        if (task instanceof MicroBatchTaskExecutor.Group) {
+            return ((MicroBatchTaskExecutor.Group) task).getContext();
+        }
+
+        return null;
+    }
+
+    /**
+     * 获取触发任务的Trigger优先级
+     *
+     * @param task 线程池任务
+     * @return 无法获取时返回{@link Trigger#DEFAULT_PRIORITY}
+     */
+    static int getPriority(Runnable task) {
+        JobExecutionContext context = getContext(task);
+
+        return context == null || context.getTrigger() == null ? Trigger.DEFAULT_PRIORITY : context.getTrigger().getPriority();
+    }
+
+}
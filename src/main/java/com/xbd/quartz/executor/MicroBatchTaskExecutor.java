@@ -0,0 +1,227 @@
+package com.xbd.quartz.executor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.xbd.quartz.AbstractMicroBatchQuartzJobBean;
+import com.xbd.quartz.QuartzMicroBatch;
+
+import org.quartz.JobExecutionContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+/**
+ * 合并同一时刻触发的{@link AbstractMicroBatchQuartzJobBean}的{@link TaskExecutor}装饰器
+ * <p>Quartz交给线程池的触发中，同一任务类在其batchWindowMillis内到达的触发不立即分发，而是合并为一个任务交给{@code delegate}：
+ * 在同一工作线程中依次执行各触发的{@code JobRunShell}，各触发只登记为批次中的一项，最后调用一次
+ * {@link AbstractMicroBatchQuartzJobBean#executeBatch(java.util.List)}. 批次达到上限时立即分发，其余任务直接交给{@code delegate}.
+ * <p>合并后的任务按批次中第一次触发参与{@link PriorityTaskExecutor}、{@link BulkheadTaskExecutor}的优先级及舱壁匹配.
+ * <p>{@code delegate}拒绝批次时在当前线程执行，不拒绝任务：Quartz会将被拒绝的触发对应任务的全部Trigger置为ERROR状态.
+ * <p>{@code delegate}的初始化、销毁由本类回调，{@code delegate}不应再声明为Spring Bean.
+ *
+ * @author luas
+ * @since 2.0
+ */
+public class MicroBatchTaskExecutor implements TaskExecutor, InitializingBean, DisposableBean {
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private Executor delegate;
+
+    private ScheduledExecutorService timer;
+
+    private final Map<Class<?>, Group> openGroups = new HashMap<>();
+
+    private final LongAdder batchCount = new LongAdder();
+
+    private final LongAdder mergedCount = new LongAdder();
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        Assert.notNull(this.delegate, "delegate不能为空！");
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("QuartzMicroBatch-");
+        threadFactory.setDaemon(true);
+
+        this.timer = Executors.newSingleThreadScheduledExecutor(threadFactory);
+
+        if (this.delegate instanceof InitializingBean) {
+            ((InitializingBean) this.delegate).afterPropertiesSet();
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (this.timer != null) {
+            this.timer.shutdownNow();
+        }
+
+        // 已交给本类的触发均已在Quartz中标记为执行中，关闭前分发尚未到期的批次
+        List<Group> groups;
+
+        synchronized (this.openGroups) {
+            groups = new ArrayList<>(this.openGroups.values());
+            this.openGroups.clear();
+        }
+
+        groups.forEach(this::dispatch);
+
+        if (this.delegate instanceof DisposableBean) {
+            ((DisposableBean) this.delegate).destroy();
+        }
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        Assert.state(this.timer != null, "MicroBatchTaskExecutor尚未初始化！");
+
+        JobExecutionContext context = JobRunShells.getContext(task);
+
+        if (context == null || !QuartzMicroBatch.isBatchable(context)) {
+            this.delegate.execute(task);
+            return;
+        }
+
+        Group full = null;
+
+        synchronized (this.openGroups) {
+            Class<?> jobClass = context.getJobInstance().getClass();
+
+            Group group = this.openGroups.get(jobClass);
+
+            if (group == null) {
+                group = new Group(jobClass, QuartzMicroBatch.getMaxBatchSize(context));
+
+                this.openGroups.put(jobClass, group);
+
+                Group opened = group;
+
+                group.timeout = this.timer.schedule(() -> flush(opened), QuartzMicroBatch.getBatchWindowMillis(context), TimeUnit.MILLISECONDS);
+            }
+
+            group.shells.add(task);
+
+            if (group.shells.size() >= group.maxSize) {
+                this.openGroups.remove(jobClass);
+                full = group;
+            }
+        }
+
+        if (full != null) {
+            full.timeout.cancel(false);
+
+            dispatch(full);
+        }
+    }
+
+    private void flush(Group group) {
+        synchronized (this.openGroups) {
+            if (!this.openGroups.remove(group.jobClass, group)) {
+                return;
+            }
+        }
+
+        dispatch(group);
+    }
+
+    private void dispatch(Group group) {
+        Runnable task = group.shells.size() == 1 ? group.shells.get(0) : group;
+
+        if (task == group) {
+            this.batchCount.increment();
+            this.mergedCount.add(group.shells.size());
+        }
+
+        try {
+            this.delegate.execute(task);
+        } catch (RejectedExecutionException e) {
+            this.logger.warn("任务类{}的{}次触发分发被拒绝，在当前线程执行！", group.jobClass.getName(), group.shells.size(), e);
+
+            task.run();
+        }
+    }
+
+    /**
+     * 同一任务类的一组触发，分发后在同一工作线程中依次执行，最后执行合并的批次
+     */
+    final class Group implements Runnable {
+
+        private final Class<?> jobClass;
+
+        private final int maxSize;
+
+        private final List<Runnable> shells = new ArrayList<>();
+
+        private ScheduledFuture<?> timeout;
+
+        private Group(Class<?> jobClass, int maxSize) {
+            this.jobClass = jobClass;
+            this.maxSize = maxSize;
+        }
+
+        /**
+         * 第一次触发的任务执行上下文
+         */
+        JobExecutionContext getContext() {
+            return JobRunShells.getContext(this.shells.get(0));
+        }
+
+        @Override
+        public void run() {
+            QuartzMicroBatch batch = new QuartzMicroBatch();
+
+            for (Runnable shell : this.shells) {
+                batch.join(JobRunShells.getContext(shell));
+            }
+
+            try {
+                for (Runnable shell : this.shells) {
+                    try {
+                        shell.run();
+                    } catch (RuntimeException e) {
+                        logger.error("任务类{}的触发执行异常！", this.jobClass.getName(), e);
+                    }
+                }
+            } finally {
+                batch.execute();
+            }
+        }
+    }
+
+    /**
+     * 合并执行的批次数量
+     */
+    public long getBatchCount() {
+        return this.batchCount.sum();
+    }
+
+    /**
+     * 合并执行的触发数量
+     */
+    public long getMergedCount() {
+        return this.mergedCount.sum();
+    }
+
+    public Executor getDelegate() {
+        return delegate;
+    }
+
+    public void setDelegate(Executor delegate) {
+        this.delegate = delegate;
+    }
+
+}
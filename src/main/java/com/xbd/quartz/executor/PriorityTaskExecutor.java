@@ -0,0 +1,234 @@
+package com.xbd.quartz.executor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.util.Assert;
+
+/**
+ * 按Trigger优先级分发的{@link TaskExecutor}装饰器
+ * <p>同时交给{@code delegate}执行的任务不超过{@code maxConcurrency}，超出的任务在优先级队列中等待，
+ * 有任务结束时由同一工作线程接着执行优先级最高的任务，优先级相同时先进先出. {@code maxConcurrency}应与{@code delegate}实际可同时执行的数量一致，
+ * 如ThreadPoolTaskExecutor的corePoolSize，使积压的任务留在本队列而不是{@code delegate}的先进先出队列；
+ * {@code delegate}应保留少量排队余量，工作线程归还许可后、回到线程池前提交的任务可短暂排队而不被拒绝.
+ * <p>{@code delegate}拒绝时，已从队列取出的任务放回队列，不会丢失.
+ * <p>优先级队列已满时，{@link #execute(Runnable)}阻塞调用方（即Quartz调度线程）直到有空位.
+ * <p>{@code delegate}的初始化、销毁由本类回调，{@code delegate}不应再声明为Spring Bean.
+ *
+ * @author luas
+ * @since 2.0
+ */
+public class PriorityTaskExecutor implements TaskExecutor, InitializingBean, DisposableBean {
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private Executor delegate;
+
+    private int maxConcurrency = 10;
+
+    private int queueCapacity = Integer.MAX_VALUE;
+
+    private PriorityTaskQueue queue;
+
+    private Semaphore permits;
+
+    private final AtomicInteger waitingCount = new AtomicInteger();
+
+    private final LongAdder submittedCount = new LongAdder();
+
+    private final LongAdder queuedCount = new LongAdder();
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        Assert.notNull(this.delegate, "delegate不能为空！");
+        Assert.isTrue(this.maxConcurrency > 0, "maxConcurrency必须大于0！");
+        Assert.isTrue(this.queueCapacity > 0, "queueCapacity必须大于0！");
+
+        this.queue = new PriorityTaskQueue(this.queueCapacity);
+        this.permits = new Semaphore(this.maxConcurrency);
+
+        if (this.delegate instanceof InitializingBean) {
+            ((InitializingBean) this.delegate).afterPropertiesSet();
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (this.delegate instanceof DisposableBean) {
+            ((DisposableBean) this.delegate).destroy();
+        }
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        Assert.state(this.queue != null, "PriorityTaskExecutor尚未初始化！");
+
+        this.submittedCount.increment();
+
+        if (this.queue.isEmpty() && this.permits.tryAcquire()) {
+            try {
+                this.delegate.execute(new Worker(task));
+            } catch (RejectedExecutionException e) {
+                this.permits.release();
+
+                // 仍有工作线程时交给其从队列中取出执行，否则由Quartz按执行失败处理
+                if (getActiveCount() == 0) {
+                    throw e;
+                }
+
+                this.queuedCount.increment();
+                this.queue.requeue(task);
+                dispatch();
+            }
+
+            return;
+        }
+
+        this.queuedCount.increment();
+        this.waitingCount.incrementAndGet();
+
+        try {
+            this.queue.put(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("等待优先级队列空位时被中断！", e);
+        } finally {
+            this.waitingCount.decrementAndGet();
+        }
+
+        dispatch();
+    }
+
+    /**
+     * 有空闲许可时启动一个工作线程，已取出的任务在提交被拒绝时放回队列
+     */
+    private void dispatch() {
+        while (!this.queue.isEmpty() && this.permits.tryAcquire()) {
+            Runnable task = this.queue.poll();
+
+            if (task == null) {
+                this.permits.release();
+                continue;
+            }
+
+            try {
+                this.delegate.execute(new Worker(task));
+            } catch (RejectedExecutionException e) {
+                this.permits.release();
+                this.queue.requeue(task);
+
+                this.logger.warn("优先级队列分发任务被拒绝，任务已放回队列！", e);
+                return;
+            }
+        }
+    }
+
+    /**
+     * 持有一个许可的工作线程，执行完当前任务后继续取出优先级最高的任务，队列为空时归还许可
+     * <p>由同一线程连续执行，不在{@code delegate}的工作线程内再次提交，避免{@code delegate}线程尚未空闲时被拒绝，
+     * 以及虚拟线程模式下持有许可时再次等待并发许可.
+     */
+    private final class Worker implements Runnable {
+
+        private Runnable task;
+
+        private Worker(Runnable task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            while (this.task != null) {
+                try {
+                    this.task.run();
+                } catch (RuntimeException | Error e) {
+                    logger.error("优先级队列任务执行异常！", e);
+                }
+
+                this.task = next();
+            }
+        }
+
+        private Runnable next() {
+            while (true) {
+                Runnable next = queue.poll();
+
+                if (next != null) {
+                    return next;
+                }
+
+                permits.release();
+
+                // 归还许可前入队、而提交方未取得许可的任务，由本线程重新取得许可后执行
+                if (queue.isEmpty() || !permits.tryAcquire()) {
+                    return null;
+                }
+            }
+        }
+    }
+
+    /**
+     * 正在执行的任务数量
+     */
+    public int getActiveCount() {
+        return this.permits == null ? 0 : this.maxConcurrency - this.permits.availablePermits();
+    }
+
+    /**
+     * 在优先级队列中等待分发的任务数量
+     */
+    public int getQueueSize() {
+        return this.queue == null ? 0 : this.queue.size();
+    }
+
+    /**
+     * 因优先级队列已满而阻塞等待的提交数量
+     */
+    public int getWaitingCount() {
+        return this.waitingCount.get();
+    }
+
+    public long getSubmittedCount() {
+        return this.submittedCount.sum();
+    }
+
+    /**
+     * 进入优先级队列等待过的任务数量
+     */
+    public long getQueuedCount() {
+        return this.queuedCount.sum();
+    }
+
+    public Executor getDelegate() {
+        return delegate;
+    }
+
+    public void setDelegate(Executor delegate) {
+        this.delegate = delegate;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public void setMaxConcurrency(int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+}
@@ -0,0 +1,175 @@
+package com.xbd.quartz.executor;
+
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 按Trigger优先级出队的有界阻塞队列，优先级相同时先进先出
+ *
+ * @author luas
+ * @since 2.0
+ */
+final class PriorityTaskQueue {
+
+    private final int capacity;
+
+    private final PriorityQueue<Entry> queue = new PriorityQueue<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition notFull = lock.newCondition();
+
+    private long sequence;
+
+    PriorityTaskQueue(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * 入队，队列已满时等待
+     */
+    void put(Runnable task) throws InterruptedException {
+        int priority = JobRunShells.getPriority(task);
+
+        this.lock.lockInterruptibly();
+
+        try {
+            while (this.queue.size() >= this.capacity) {
+                this.notFull.await();
+            }
+
+            this.queue.add(new Entry(task, priority, this.sequence++));
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * 入队，队列已满时不等待
+     *
+     * @return 队列已满时返回false
+     */
+    boolean offer(Runnable task) {
+        int priority = JobRunShells.getPriority(task);
+
+        this.lock.lock();
+
+        try {
+            if (this.queue.size() >= this.capacity) {
+                return false;
+            }
+
+            this.queue.add(new Entry(task, priority, this.sequence++));
+
+            return true;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * 入队，队列已满时最多等待{@code timeout}
+     *
+     * @return 等待超时仍已满时返回false
+     */
+    boolean offer(Runnable task, long timeout, TimeUnit unit) throws InterruptedException {
+        int priority = JobRunShells.getPriority(task);
+        long nanos = unit.toNanos(timeout);
+
+        this.lock.lockInterruptibly();
+
+        try {
+            while (this.queue.size() >= this.capacity) {
+                if (nanos <= 0L) {
+                    return false;
+                }
+
+                nanos = this.notFull.awaitNanos(nanos);
+            }
+
+            this.queue.add(new Entry(task, priority, this.sequence++));
+
+            return true;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * 不受容量限制地入队：放回已取出的任务，或等待超时后溢出入队，避免任务因队列已满而丢失
+     */
+    void requeue(Runnable task) {
+        int priority = JobRunShells.getPriority(task);
+
+        this.lock.lock();
+
+        try {
+            this.queue.add(new Entry(task, priority, this.sequence++));
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * 取出优先级最高的任务
+     *
+     * @return 队列为空时返回null
+     */
+    Runnable poll() {
+        this.lock.lock();
+
+        try {
+            Entry entry = this.queue.poll();
+
+            if (entry == null) {
+                return null;
+            }
+
+            this.notFull.signal();
+
+            return entry.task;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    int size() {
+        this.lock.lock();
+
+        try {
+            return this.queue.size();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    boolean isEmpty() {
+        return size() == 0;
+    }
+
+    private static final class Entry implements Comparable<Entry> {
+
+        private final Runnable task;
+
+        private final int priority;
+
+        private final long sequence;
+
+        private Entry(Runnable task, int priority, long sequence) {
+            this.task = task;
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            int result = Integer.compare(other.priority, this.priority);
+
+            return result != 0 ? result : Long.compare(this.sequence, other.sequence);
+        }
+
+    }
+
+}
@@ -0,0 +1,183 @@
+package com.xbd.quartz.executor;
+
+import com.xbd.quartz.configure.QuartzProperties;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * 根据{@link QuartzProperties.ThreadPool}创建Scheduler使用的{@link TaskExecutor}
+ * <p>返回的对象尚未初始化，应声明为Spring Bean，由容器回调初始化、销毁方法：
+ * <pre>
+ *    {@code
+ *      @Bean
+ *      public TaskExecutor quartzTaskExecutor() {
+ *          return QuartzTaskExecutors.newTaskExecutor(quartzProperties().getThreadPool());
+ *      }
+ *    }
+ * </pre>
+ *
+ * @author luas
+ * @since 2.0
+ */
+public abstract class QuartzTaskExecutors {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuartzTaskExecutors.class);
+
+    /**
+     * 配置了舱壁时创建{@link BulkheadTaskExecutor}，否则按线程模式创建；开启microBatch时以{@link MicroBatchTaskExecutor}包装
+     *
+     * @param properties 配置
+     * @return {@link TaskExecutor}
+     */
+    public static TaskExecutor newTaskExecutor(QuartzProperties properties) {
+        Assert.notNull(properties, "properties不能为空！");
+
+        TaskExecutor executor;
+
+        if (properties.getBulkheads() != null && !properties.getBulkheads().isEmpty()) {
+            if (properties.getThreadPool().getMode() == QuartzProperties.ThreadPool.Mode.VIRTUAL) {
+                logger.warn("已配置舱壁，舱壁使用平台线程，忽略thread-pool.mode=virtual！");
+            }
+
+            executor = newBulkheadTaskExecutor(properties);
+        } else {
+            executor = newTaskExecutor(properties.getThreadPool());
+        }
+
+        return properties.getThreadPool().isMicroBatch() ? newMicroBatchTaskExecutor(executor) : executor;
+    }
+
+    /**
+     * 按线程模式创建{@link TaskExecutor}，VIRTUAL模式在JVM不支持虚拟线程时回退为平台线程池；
+     * 开启priorityDispatch时以{@link PriorityTaskExecutor}包装，积压的任务按Trigger优先级分发
+     *
+     * @param threadPool 线程池配置
+     * @return {@link VirtualThreadTaskExecutor}、{@link ThreadPoolTaskExecutor}或包装后的{@link PriorityTaskExecutor}
+     */
+    public static TaskExecutor newTaskExecutor(QuartzProperties.ThreadPool threadPool) {
+        Assert.notNull(threadPool, "threadPool不能为空！");
+
+        if (threadPool.getMode() == QuartzProperties.ThreadPool.Mode.VIRTUAL) {
+            if (VirtualThreadTaskExecutor.isSupported()) {
+                VirtualThreadTaskExecutor executor = newVirtualThreadTaskExecutor(threadPool);
+
+                return threadPool.isPriorityDispatch() ? newPriorityTaskExecutor(executor, threadPool.getMaxConcurrency(), threadPool.getQueueCapacity()) : executor;
+            }
+
+            logger.warn("当前JVM（{}）不支持虚拟线程，回退为平台线程池！", System.getProperty("java.version"));
+        }
+
+        ThreadPoolTaskExecutor executor = newThreadPoolTaskExecutor(threadPool);
+
+        if (!threadPool.isPriorityDispatch()) {
+            return executor;
+        }
+
+        int maxConcurrency = threadPool.getMaxPoolSize() < Integer.MAX_VALUE ? threadPool.getMaxPoolSize() : threadPool.getCorePoolSize();
+
+        // 积压的任务留在优先级队列中：线程池核心线程数即为并发上限，空闲后按keepAlive回收；
+        // 保留与并发上限相同的排队余量，工作线程归还许可后、回到线程池前提交的任务在线程池中短暂排队，不会被拒绝
+        executor.setCorePoolSize(maxConcurrency);
+        executor.setMaxPoolSize(maxConcurrency);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setQueueCapacity(maxConcurrency);
+
+        return newPriorityTaskExecutor(executor, maxConcurrency, threadPool.getQueueCapacity());
+    }
+
+    /**
+     * 以{@link PriorityTaskExecutor}包装，{@code delegate}的初始化、销毁由{@link PriorityTaskExecutor}回调，无需再声明为Spring Bean
+     */
+    public static PriorityTaskExecutor newPriorityTaskExecutor(TaskExecutor delegate, int maxConcurrency, int queueCapacity) {
+        PriorityTaskExecutor executor = new PriorityTaskExecutor();
+
+        executor.setDelegate(delegate);
+        executor.setMaxConcurrency(maxConcurrency);
+        executor.setQueueCapacity(queueCapacity);
+
+        return executor;
+    }
+
+    /**
+     * 以{@link MicroBatchTaskExecutor}包装，{@code delegate}的初始化、销毁由{@link MicroBatchTaskExecutor}回调，无需再声明为Spring Bean
+     */
+    public static MicroBatchTaskExecutor newMicroBatchTaskExecutor(TaskExecutor delegate) {
+        MicroBatchTaskExecutor executor = new MicroBatchTaskExecutor();
+
+        executor.setDelegate(delegate);
+
+        return executor;
+    }
+
+    public static VirtualThreadTaskExecutor newVirtualThreadTaskExecutor(QuartzProperties.ThreadPool threadPool) {
+        VirtualThreadTaskExecutor executor = new VirtualThreadTaskExecutor();
+
+        if (StringUtils.hasText(threadPool.getThreadNamePrefix())) {
+            executor.setThreadNamePrefix(threadPool.getThreadNamePrefix());
+        }
+
+        executor.setMaxConcurrency(threadPool.getMaxConcurrency());
+        executor.setAcquireTimeoutMillis(threadPool.getAcquireTimeoutMillis());
+        executor.setPinningMonitor(threadPool.isPinningMonitor());
+        executor.setAwaitTerminationSeconds(threadPool.isWaitForTasksToCompleteOnShutdown() ? threadPool.getAwaitTerminationSeconds() : 0);
+
+        return executor;
+    }
+
+    public static BulkheadTaskExecutor newBulkheadTaskExecutor(QuartzProperties properties) {
+        BulkheadTaskExecutor executor = new BulkheadTaskExecutor();
+
+        if (StringUtils.hasText(properties.getThreadPool().getThreadNamePrefix())) {
+            executor.setThreadNamePrefix(properties.getThreadPool().getThreadNamePrefix());
+        }
+
+        executor.setBulkheads(properties.getBulkheads());
+        executor.setDefaultBulkhead(newDefaultBulkhead(properties.getThreadPool()));
+        executor.setBorrowing(properties.isBulkheadBorrowing());
+        executor.setAwaitTerminationSeconds(properties.getThreadPool().isWaitForTasksToCompleteOnShutdown() ? properties.getThreadPool().getAwaitTerminationSeconds() : 0);
+
+        return executor;
+    }
+
+    /**
+     * 未配置default舱壁时，按thread-pool配置生成：线程数取最大线程数（未限制时取核心线程数），队列容量取queueCapacity
+     */
+    private static QuartzProperties.Bulkhead newDefaultBulkhead(QuartzProperties.ThreadPool threadPool) {
+        QuartzProperties.Bulkhead bulkhead = new QuartzProperties.Bulkhead();
+
+        bulkhead.setPoolSize(threadPool.getMaxPoolSize() < Integer.MAX_VALUE ? threadPool.getMaxPoolSize() : threadPool.getCorePoolSize());
+        bulkhead.setQueueCapacity(threadPool.getQueueCapacity());
+
+        return bulkhead;
+    }
+
+    public static ThreadPoolTaskExecutor newThreadPoolTaskExecutor(QuartzProperties.ThreadPool threadPool) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+        if (StringUtils.hasText(threadPool.getThreadNamePrefix())) {
+            executor.setThreadNamePrefix(threadPool.getThreadNamePrefix());
+        }
+
+        if (StringUtils.hasText(threadPool.getThreadGroupName())) {
+            executor.setThreadGroupName(threadPool.getThreadGroupName());
+        }
+
+        executor.setThreadPriority(threadPool.getThreadPriority());
+        executor.setDaemon(threadPool.isDaemon());
+        executor.setCorePoolSize(threadPool.getCorePoolSize());
+        executor.setMaxPoolSize(threadPool.getMaxPoolSize());
+        executor.setKeepAliveSeconds(threadPool.getKeepAliveSeconds());
+        executor.setQueueCapacity(threadPool.getQueueCapacity());
+        executor.setAllowCoreThreadTimeOut(threadPool.isAllowCoreThreadTimeOut());
+        executor.setWaitForTasksToCompleteOnShutdown(threadPool.isWaitForTasksToCompleteOnShutdown());
+        executor.setAwaitTerminationSeconds(threadPool.getAwaitTerminationSeconds());
+
+        return executor;
+    }
+
+}
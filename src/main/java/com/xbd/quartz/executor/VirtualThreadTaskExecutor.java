@@ -0,0 +1,327 @@
+package com.xbd.quartz.executor;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.util.Assert;
+
+/**
+ * 每个任务一个虚拟线程的{@link TaskExecutor}，需运行于支持虚拟线程的JVM（Java 21及以上）
+ * <p>以并发上限{@code maxConcurrency}代替线程池大小：同时执行的任务达到上限时，{@link #execute(Runnable)}阻塞调用方（即Quartz调度线程），
+ * 直到有任务结束或等待超过{@code acquireTimeoutMillis}，超时则抛出{@link RejectedExecutionException}，Quartz随即将本次触发的Trigger置为ERROR状态，故一般保持默认的一直等待.
+ * <p>虚拟线程通过反射创建，本类可在Java 8下编译、加载，但{@link #afterPropertiesSet()}会失败，应先以{@link #isSupported()}判断，
+ * 或使用{@link QuartzTaskExecutors#newTaskExecutor(com.xbd.quartz.configure.QuartzProperties.ThreadPool)}自动回退.
+ * <p>开启{@code pinningMonitor}后，通过JFR事件{@code jdk.VirtualThreadPinned}统计虚拟线程钉住（pinning）载体线程的次数及时长.
+ *
+ * @author luas
+ * @since 2.0
+ */
+public class VirtualThreadTaskExecutor implements TaskExecutor, InitializingBean, DisposableBean {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private String threadNamePrefix = "QuartzVirtualThread-";
+
+    /**
+     * 同时执行的任务数量上限
+     */
+    private int maxConcurrency = 1000;
+
+    /**
+     * 等待执行许可的最长时间，单位：毫秒，小于0表示一直等待
+     */
+    private long acquireTimeoutMillis = -1L;
+
+    /**
+     * 是否通过JFR统计虚拟线程钉住载体线程的情况
+     */
+    private boolean pinningMonitor = false;
+
+    /**
+     * 关闭时等待任务结束的时间，单位：秒
+     */
+    private int awaitTerminationSeconds = 0;
+
+    private ExecutorService executor;
+
+    private Semaphore limiter;
+
+    private AutoCloseable pinningStream;
+
+    private final AtomicInteger activeCount = new AtomicInteger();
+
+    private final AtomicInteger peakActiveCount = new AtomicInteger();
+
+    private final AtomicInteger waitingCount = new AtomicInteger();
+
+    private final LongAdder submittedCount = new LongAdder();
+
+    private final LongAdder completedCount = new LongAdder();
+
+    private final LongAdder rejectedCount = new LongAdder();
+
+    private final LongAdder pinnedCount = new LongAdder();
+
+    private final LongAdder pinnedNanos = new LongAdder();
+
+    /**
+     * 当前JVM是否支持虚拟线程
+     */
+    public static boolean isSupported() {
+        try {
+            Thread.class.getMethod("ofVirtual");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        Assert.state(isSupported(), "当前JVM不支持虚拟线程！");
+        Assert.isTrue(this.maxConcurrency > 0, "maxConcurrency必须大于0！");
+
+        this.limiter = new Semaphore(this.maxConcurrency);
+        this.executor = newVirtualThreadPerTaskExecutor(this.threadNamePrefix);
+
+        if (this.pinningMonitor) {
+            this.pinningStream = startPinningMonitor();
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (this.pinningStream != null) {
+            this.pinningStream.close();
+        }
+
+        if (this.executor == null) {
+            return;
+        }
+
+        this.executor.shutdown();
+
+        if (this.awaitTerminationSeconds > 0 && !this.executor.awaitTermination(this.awaitTerminationSeconds, TimeUnit.SECONDS)) {
+            this.logger.warn("VirtualThreadTaskExecutor关闭超时，尚有{}个任务未结束！", this.activeCount.get());
+
+            this.executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        Assert.state(this.executor != null, "VirtualThreadTaskExecutor尚未初始化！");
+
+        acquire();
+
+        this.submittedCount.increment();
+
+        try {
+            this.executor.execute(() -> run(task));
+        } catch (RejectedExecutionException e) {
+            this.limiter.release();
+            this.rejectedCount.increment();
+            throw e;
+        }
+    }
+
+    private void acquire() {
+        if (this.limiter.tryAcquire()) {
+            return;
+        }
+
+        this.waitingCount.incrementAndGet();
+
+        try {
+            if (this.acquireTimeoutMillis < 0) {
+                this.limiter.acquire();
+            } else if (!this.limiter.tryAcquire(this.acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                this.rejectedCount.increment();
+                throw new RejectedExecutionException("虚拟线程并发数已达上限" + this.maxConcurrency + "！");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            this.rejectedCount.increment();
+            throw new RejectedExecutionException("等待执行许可时被中断！", e);
+        } finally {
+            this.waitingCount.decrementAndGet();
+        }
+    }
+
+    private void run(Runnable task) {
+        int active = this.activeCount.incrementAndGet();
+
+        this.peakActiveCount.accumulateAndGet(active, Math::max);
+
+        try {
+            task.run();
+        } finally {
+            this.activeCount.decrementAndGet();
+            this.completedCount.increment();
+            this.limiter.release();
+        }
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor(String threadNamePrefix) throws Exception {
+        Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+
+        Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+
+        builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, threadNamePrefix, 0L);
+
+        ThreadFactory threadFactory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+
+        Method method = java.util.concurrent.Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+
+        return (ExecutorService) method.invoke(null, threadFactory);
+    }
+
+    private AutoCloseable startPinningMonitor() {
+        try {
+            Class<?> streamClass = Class.forName("jdk.jfr.consumer.RecordingStream");
+
+            Object stream = streamClass.getConstructor().newInstance();
+
+            Object settings = streamClass.getMethod("enable", String.class).invoke(stream, PINNED_EVENT);
+
+            Class.forName("jdk.jfr.EventSettings").getMethod("withThreshold", Duration.class).invoke(settings, Duration.ZERO);
+
+            Method getDuration = Class.forName("jdk.jfr.consumer.RecordedEvent").getMethod("getDuration");
+
+            Consumer<Object> handler = event -> {
+                this.pinnedCount.increment();
+
+                try {
+                    this.pinnedNanos.add(((Duration) getDuration.invoke(event)).toNanos());
+                } catch (ReflectiveOperationException e) {
+                    // 仅统计次数
+                }
+            };
+
+            streamClass.getMethod("onEvent", String.class, Consumer.class).invoke(stream, PINNED_EVENT, handler);
+            streamClass.getMethod("startAsync").invoke(stream);
+
+            return (AutoCloseable) stream;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            this.logger.warn("虚拟线程钉住监控启动失败，将不统计pinning！", e);
+            return null;
+        }
+    }
+
+    /**
+     * 当前正在执行的任务数量
+     */
+    public int getActiveCount() {
+        return this.activeCount.get();
+    }
+
+    /**
+     * 同时执行任务数量的峰值
+     */
+    public int getPeakActiveCount() {
+        return this.peakActiveCount.get();
+    }
+
+    /**
+     * 正在等待执行许可的提交数量
+     */
+    public int getWaitingCount() {
+        return this.waitingCount.get();
+    }
+
+    public long getSubmittedCount() {
+        return this.submittedCount.sum();
+    }
+
+    public long getCompletedCount() {
+        return this.completedCount.sum();
+    }
+
+    public long getRejectedCount() {
+        return this.rejectedCount.sum();
+    }
+
+    /**
+     * 虚拟线程钉住载体线程的次数，未开启{@code pinningMonitor}时为0
+     */
+    public long getPinnedCount() {
+        return this.pinnedCount.sum();
+    }
+
+    /**
+     * 虚拟线程钉住载体线程的累计时长，单位：毫秒
+     */
+    public long getPinnedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(this.pinnedNanos.sum());
+    }
+
+    /**
+     * 虚拟线程调度器的载体线程数量，即{@code jdk.virtualThreadScheduler.parallelism}，未设置时为CPU核数
+     */
+    public int getCarrierParallelism() {
+        return Integer.getInteger("jdk.virtualThreadScheduler.parallelism", Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * 载体线程使用率估算：正在执行的任务数量与载体线程数量之比，阻塞中的虚拟线程不占用载体线程，故大于1属于正常现象
+     */
+    public double getCarrierLoad() {
+        return (double) this.activeCount.get() / getCarrierParallelism();
+    }
+
+    public String getThreadNamePrefix() {
+        return threadNamePrefix;
+    }
+
+    public void setThreadNamePrefix(String threadNamePrefix) {
+        this.threadNamePrefix = threadNamePrefix;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public void setMaxConcurrency(int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    public long getAcquireTimeoutMillis() {
+        return acquireTimeoutMillis;
+    }
+
+    public void setAcquireTimeoutMillis(long acquireTimeoutMillis) {
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+    }
+
+    public boolean isPinningMonitor() {
+        return pinningMonitor;
+    }
+
+    public void setPinningMonitor(boolean pinningMonitor) {
+        this.pinningMonitor = pinningMonitor;
+    }
+
+    public int getAwaitTerminationSeconds() {
+        return awaitTerminationSeconds;
+    }
+
+    public void setAwaitTerminationSeconds(int awaitTerminationSeconds) {
+        this.awaitTerminationSeconds = awaitTerminationSeconds;
+    }
+
+}
@@ -0,0 +1,658 @@
+package com.xbd.quartz.handler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+import com.xbd.quartz.QuartzBatchResult;
+import com.xbd.quartz.QuartzJob;
+import com.xbd.quartz.QuartzTaskHandler;
+import com.xbd.quartz.QuartzTrigger;
+
+import org.quartz.JobKey;
+import org.quartz.SchedulerException;
+import org.quartz.TriggerKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+/**
+ * {@code QuartzTaskHandler}的异步门面
+ * <p>所有操作进入有界队列后立即返回{@link CompletableFuture}，由专用线程取出执行，调用线程不再阻塞于JDBC.
+ * 一定时间窗口（{@code lingerMillis}）内到达的同类操作合并为一批，调用{@code QuartzTaskHandler}的批量方法执行.
+ * 队列已满时，返回的{@link CompletableFuture}以{@link RejectedExecutionException}异常结束.
+ * <p>添加、保存任务在提交时校验，属性错误的任务直接以{@link IllegalArgumentException}异常结束，不进入队列.
+ * 批量添加、保存、暂停、恢复、删除失败时逐个重试，异常只归属到失败的任务或Key.
+ * <p>关闭时等待队列中的操作执行完毕，超过{@code awaitTerminationSeconds}仍未执行的操作以{@link RejectedExecutionException}异常结束.
+ * <p>同一个分发线程内，操作按提交顺序执行；{@code threads}大于1时，不同线程之间的操作不保证顺序.
+ * <p>配置方式如下：
+ * <pre>
+ *    {@code
+ *      @Bean
+ *      public AsyncQuartzTaskHandler asyncQuartzTaskHandler() {
+ *          AsyncQuartzTaskHandler asyncQuartzTaskHandler = new AsyncQuartzTaskHandler();
+ *          asyncQuartzTaskHandler.setQuartzTaskHandler(defaultQuartzTaskHandler());
+ *          return asyncQuartzTaskHandler;
+ *      }
+ *    }
+ * </pre>
+ *
+ * @author luas
+ * @since 2.0
+ */
+public class AsyncQuartzTaskHandler implements InitializingBean, DisposableBean {
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    /**
+     * 操作类别
+     */
+    enum OperationType {
+
+        ADD_JOB, SAVE_JOB, PAUSE_JOB, RESUME_JOB, TRIGGER_JOB, DELETE_JOB,
+
+        ADD_TRIGGER, PAUSE_TRIGGER, RESUME_TRIGGER, DELETE_TRIGGER
+
+    }
+
+    private QuartzTaskHandler quartzTaskHandler;
+
+    /**
+     * 分发线程数量
+     */
+    private int threads = 1;
+
+    /**
+     * 等待队列容量
+     */
+    private int queueCapacity = 10000;
+
+    /**
+     * 单批次最大操作数量
+     */
+    private int maxBatchSize = QuartzTaskHandler.DEFAULT_BATCH_SIZE;
+
+    /**
+     * 合并等待时间，单位：毫秒
+     */
+    private long lingerMillis = 10L;
+
+    private String threadNamePrefix = "AsyncQuartzTaskHandler-";
+
+    /**
+     * 关闭时等待队列中操作执行完毕的时间，单位：秒
+     */
+    private int awaitTerminationSeconds = 30;
+
+    private BlockingQueue<PendingOperation> queue;
+
+    private ExecutorService executor;
+
+    private volatile boolean running;
+
+    /**
+     * 关闭超时，分发线程不再执行剩余操作
+     */
+    private volatile boolean aborted;
+
+    /**
+     * 提交持有读锁、关闭持有写锁，关闭后不会再有操作进入队列
+     */
+    private final ReadWriteLock runningLock = new ReentrantReadWriteLock();
+
+    private final LongAdder submittedCount = new LongAdder();
+
+    private final LongAdder rejectedCount = new LongAdder();
+
+    private final LongAdder completedCount = new LongAdder();
+
+    private final LongAdder failedCount = new LongAdder();
+
+    private final LongAdder batchCount = new LongAdder();
+
+    private final LongAdder totalLatencyNanos = new LongAdder();
+
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+    @Override
+    public void afterPropertiesSet() {
+        Assert.notNull(this.quartzTaskHandler, "quartzTaskHandler不能为空！");
+        Assert.isTrue(this.threads > 0, "threads必须大于0！");
+        Assert.isTrue(this.queueCapacity > 0, "queueCapacity必须大于0！");
+        Assert.isTrue(this.maxBatchSize > 0, "maxBatchSize必须大于0！");
+
+        this.queue = new ArrayBlockingQueue<>(this.queueCapacity);
+        this.executor = Executors.newFixedThreadPool(this.threads, new CustomizableThreadFactory(this.threadNamePrefix));
+        this.running = true;
+
+        for (int i = 0; i < this.threads; i++) {
+            this.executor.execute(this::dispatch);
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        this.runningLock.writeLock().lock();
+
+        try {
+            this.running = false;
+        } finally {
+            this.runningLock.writeLock().unlock();
+        }
+
+        this.executor.shutdown();
+
+        try {
+            if (!this.executor.awaitTermination(this.awaitTerminationSeconds, TimeUnit.SECONDS)) {
+                this.logger.warn("AsyncQuartzTaskHandler关闭超时，尚有{}个操作未执行！", this.queue.size());
+
+                this.aborted = true;
+                this.executor.shutdownNow();
+            }
+        } finally {
+            rejectPending();
+        }
+    }
+
+    /**
+     * 队列中剩余的操作以{@link RejectedExecutionException}异常结束
+     */
+    private void rejectPending() {
+        List<PendingOperation> pending = new ArrayList<>();
+
+        this.queue.drainTo(pending);
+
+        reject(pending);
+    }
+
+    private void reject(List<PendingOperation> operations) {
+        for (PendingOperation operation : operations) {
+            complete(operation, new RejectedExecutionException("AsyncQuartzTaskHandler已关闭！"));
+        }
+    }
+    public CompletableFuture<Void> addJob(QuartzJob quartzJob) {
+        return submitJob(OperationType.ADD_JOB, quartzJob);
+    }
+
+    public CompletableFuture<Void> saveJob(QuartzJob quartzJob) {
+        return submitJob(OperationType.SAVE_JOB, quartzJob);
+    }
+
+    public CompletableFuture<Void> updateJob(QuartzJob quartzJob) {
+        return submitJob(OperationType.SAVE_JOB, quartzJob);
+    }
+
+    public CompletableFuture<Void> pauseJob(JobKey jobKey) {
+        return submit(OperationType.PAUSE_JOB, jobKey);
+    }
+
+    public CompletableFuture<Void> resumeJob(JobKey jobKey) {
+        return submit(OperationType.RESUME_JOB, jobKey);
+    }
+
+    public CompletableFuture<Void> triggerJob(JobKey jobKey) {
+        return submit(OperationType.TRIGGER_JOB, jobKey);
+    }
+
+    public CompletableFuture<Void> deleteJob(JobKey jobKey) {
+        return submit(OperationType.DELETE_JOB, jobKey);
+    }
+
+    public CompletableFuture<Void> addTrigger(QuartzTrigger quartzTrigger) {
+        return submit(OperationType.ADD_TRIGGER, quartzTrigger);
+    }
+
+    public CompletableFuture<Void> pauseTrigger(TriggerKey triggerKey) {
+        return submit(OperationType.PAUSE_TRIGGER, triggerKey);
+    }
+
+    public CompletableFuture<Void> resumeTrigger(TriggerKey triggerKey) {
+        return submit(OperationType.RESUME_TRIGGER, triggerKey);
+    }
+
+    public CompletableFuture<Void> deleteTrigger(TriggerKey triggerKey) {
+        return submit(OperationType.DELETE_TRIGGER, triggerKey);
+    }
+
+    /**
+     * 提交前校验任务，属性错误的任务不进入队列，不影响与之合并执行的其它操作
+     */
+    private CompletableFuture<Void> submitJob(OperationType type, QuartzJob quartzJob) {
+        try {
+            this.quartzTaskHandler.validateJob(quartzJob);
+        } catch (IllegalArgumentException e) {
+            this.failedCount.increment();
+
+            CompletableFuture<Void> future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+
+            return future;
+        }
+
+        return submit(type, quartzJob);
+    }
+
+    private CompletableFuture<Void> submit(OperationType type, Object target) {
+        Assert.notNull(target, "操作对象不能为空！");
+
+        PendingOperation operation = new PendingOperation(type, target);
+
+        boolean accepted;
+
+        // 检查状态与入队在同一把锁内，关闭后入队的操作不会滞留在队列中
+        this.runningLock.readLock().lock();
+
+        try {
+            accepted = this.running && this.queue.offer(operation);
+        } finally {
+            this.runningLock.readLock().unlock();
+        }
+
+        if (accepted) {
+            this.submittedCount.increment();
+        } else {
+            this.rejectedCount.increment();
+
+            operation.future.completeExceptionally(new RejectedExecutionException(this.running ? "AsyncQuartzTaskHandler队列已满！" : "AsyncQuartzTaskHandler已关闭！"));
+        }
+
+        return operation.future;
+    }
+
+    /**
+     * 分发线程主循环：取出一个操作后，在合并等待时间内继续收集，直至达到单批次最大数量
+     */
+    private void dispatch() {
+        List<PendingOperation> batch = new ArrayList<>(this.maxBatchSize);
+
+        long lingerNanos = TimeUnit.MILLISECONDS.toNanos(this.lingerMillis);
+
+        while (!this.aborted && (this.running || !this.queue.isEmpty())) {
+            try {
+                PendingOperation first = this.queue.poll(100L, TimeUnit.MILLISECONDS);
+
+                if (first == null) {
+                    continue;
+                }
+
+                batch.add(first);
+
+                long deadline = System.nanoTime() + lingerNanos;
+
+                while (batch.size() < this.maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+
+                    PendingOperation next = remaining > 0 ? this.queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+
+                    if (next == null) {
+                        this.queue.drainTo(batch, this.maxBatchSize - batch.size());
+                        break;
+                    }
+
+                    batch.add(next);
+                }
+
+                execute(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+
+                reject(batch);
+                break;
+            } catch (Exception e) {
+                this.logger.error("AsyncQuartzTaskHandler执行异常！", e);
+
+                batch.forEach(operation -> complete(operation, e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * 按提交顺序，将连续的同类操作合并执行
+     */
+    private void execute(List<PendingOperation> batch) {
+        int from = 0;
+
+        while (from < batch.size()) {
+            if (this.aborted) {
+                reject(batch.subList(from, batch.size()));
+                return;
+            }
+
+            OperationType type = batch.get(from).type;
+
+            int to = from + 1;
+
+            while (to < batch.size() && batch.get(to).type == type) {
+                to++;
+            }
+
+            this.batchCount.increment();
+
+            executeSameType(type, batch.subList(from, to));
+
+            from = to;
+        }
+    }
+
+    private void executeSameType(OperationType type, List<PendingOperation> operations) {
+        switch (type) {
+            case ADD_JOB:
+            case SAVE_JOB:
+                executeJobs(type, operations);
+                break;
+            case PAUSE_JOB:
+            case RESUME_JOB:
+            case DELETE_JOB:
+            case PAUSE_TRIGGER:
+            case RESUME_TRIGGER:
+            case DELETE_TRIGGER:
+                executeKeys(type, operations);
+                break;
+            default:
+                executeOneByOne(type, operations);
+        }
+    }
+
+    private void executeJobs(OperationType type, List<PendingOperation> operations) {
+        // 同一任务多次提交时按提交顺序分段执行，每段内JobKey不重复，后提交的定义覆盖先提交的
+        Set<JobKey> jobKeys = new HashSet<>();
+
+        int from = 0;
+
+        for (int i = 0; i < operations.size(); i++) {
+            if (!jobKeys.add(((QuartzJob) operations.get(i).target).getKey())) {
+                executeDistinctJobs(type, operations.subList(from, i));
+
+                jobKeys.clear();
+                jobKeys.add(((QuartzJob) operations.get(i).target).getKey());
+
+                from = i;
+            }
+        }
+
+        executeDistinctJobs(type, operations.subList(from, operations.size()));
+    }
+
+    private void executeDistinctJobs(OperationType type, List<PendingOperation> operations) {
+        List<QuartzBatchResult> results;
+
+        try {
+            results = invokeJobs(type, operations);
+        } catch (Exception e) {
+            if (operations.size() == 1) {
+                complete(operations.get(0), e);
+                return;
+            }
+
+            this.logger.debug("AsyncQuartzTaskHandler批量执行{}失败，逐个重试", type, e);
+
+            operations.forEach(operation -> executeJob(type, operation));
+            return;
+        }
+
+        Set<JobKey> failedJobKeys = new HashSet<>();
+
+        for (QuartzBatchResult result : results) {
+            if (!result.isSuccess()) {
+                failedJobKeys.addAll(result.getJobKeys());
+            }
+        }
+
+        // 失败批次的事务已回滚，逐个重试，异常只归属到失败的任务
+        for (PendingOperation operation : operations) {
+            if (!failedJobKeys.contains(((QuartzJob) operation.target).getKey())) {
+                complete(operation, null);
+            } else if (operations.size() == 1) {
+                complete(operation, results.get(0).getException());
+            } else {
+                executeJob(type, operation);
+            }
+        }
+    }
+
+    private void executeJob(OperationType type, PendingOperation operation) {
+        try {
+            List<QuartzBatchResult> results = invokeJobs(type, Collections.singletonList(operation));
+
+            complete(operation, results.isEmpty() || results.get(0).isSuccess() ? null : results.get(0).getException());
+        } catch (Exception e) {
+            complete(operation, e);
+        }
+    }
+
+    private List<QuartzBatchResult> invokeJobs(OperationType type, List<PendingOperation> operations) throws SchedulerException {
+        List<QuartzJob> quartzJobs = operations.stream().map(operation -> (QuartzJob) operation.target).collect(Collectors.toList());
+
+        return type == OperationType.ADD_JOB ? this.quartzTaskHandler.addJobs(quartzJobs) : this.quartzTaskHandler.saveJobs(quartzJobs);
+    }
+
+    private void executeKeys(OperationType type, List<PendingOperation> operations) {
+        try {
+            invokeKeys(type, operations.stream().map(operation -> operation.target).collect(Collectors.toList()));
+
+            operations.forEach(operation -> complete(operation, null));
+            return;
+        } catch (Exception e) {
+            if (operations.size() == 1) {
+                complete(operations.get(0), e);
+                return;
+            }
+
+            this.logger.debug("AsyncQuartzTaskHandler批量执行{}失败，逐个重试", type, e);
+        }
+
+        // 批量失败时逐个重试，异常只归属到失败的Key
+        for (PendingOperation operation : operations) {
+            try {
+                invokeKeys(type, Collections.singletonList(operation.target));
+
+                complete(operation, null);
+            } catch (Exception e) {
+                complete(operation, e);
+            }
+        }
+    }
+
+    private void invokeKeys(OperationType type, List<Object> keys) throws SchedulerException {
+        switch (type) {
+            case PAUSE_JOB:
+                this.quartzTaskHandler.pauseJob(castKeys(keys, JobKey.class));
+                break;
+            case RESUME_JOB:
+                this.quartzTaskHandler.resumeJob(castKeys(keys, JobKey.class));
+                break;
+            case DELETE_JOB:
+                this.quartzTaskHandler.deleteJob(castKeys(keys, JobKey.class));
+                break;
+            case PAUSE_TRIGGER:
+                this.quartzTaskHandler.pauseTrigger(castKeys(keys, TriggerKey.class));
+                break;
+            case RESUME_TRIGGER:
+                this.quartzTaskHandler.resumeTrigger(castKeys(keys, TriggerKey.class));
+                break;
+            default:
+                this.quartzTaskHandler.deleteTrigger(castKeys(keys, TriggerKey.class));
+        }
+    }
+
+    private static <K> List<K> castKeys(List<Object> keys, Class<K> keyType) {
+        return keys.stream().map(keyType::cast).collect(Collectors.toList());
+    }
+
+    private void executeOneByOne(OperationType type, List<PendingOperation> operations) {
+        for (PendingOperation operation : operations) {
+            try {
+                if (type == OperationType.TRIGGER_JOB) {
+                    this.quartzTaskHandler.triggerJob((JobKey) operation.target);
+                } else {
+                    this.quartzTaskHandler.addTrigger((QuartzTrigger) operation.target);
+                }
+
+                complete(operation, null);
+            } catch (Exception e) {
+                complete(operation, e);
+            }
+        }
+    }
+
+    private void complete(PendingOperation operation, Exception exception) {
+        if (operation.future.isDone()) {
+            return;
+        }
+
+        long latency = System.nanoTime() - operation.submitNanos;
+
+        this.totalLatencyNanos.add(latency);
+        this.maxLatencyNanos.accumulateAndGet(latency, Math::max);
+        this.completedCount.increment();
+
+        if (exception == null) {
+            operation.future.complete(null);
+        } else {
+            this.failedCount.increment();
+
+            operation.future.completeExceptionally(exception);
+        }
+    }
+
+    /**
+     * 当前等待执行的操作数量
+     */
+    public int getQueueDepth() {
+        return this.queue == null ? 0 : this.queue.size();
+    }
+
+    public long getSubmittedCount() {
+        return this.submittedCount.sum();
+    }
+
+    public long getRejectedCount() {
+        return this.rejectedCount.sum();
+    }
+
+    public long getCompletedCount() {
+        return this.completedCount.sum();
+    }
+
+    public long getFailedCount() {
+        return this.failedCount.sum();
+    }
+
+    /**
+     * 合并执行的批次数量
+     */
+    public long getBatchCount() {
+        return this.batchCount.sum();
+    }
+
+    /**
+     * 从提交到完成的平均耗时，单位：毫秒
+     */
+    public double getAverageLatencyMillis() {
+        long completed = this.completedCount.sum();
+
+        return completed == 0 ? 0D : this.totalLatencyNanos.sum() / (double) completed / 1000000D;
+    }
+
+    /**
+     * 从提交到完成的最大耗时，单位：毫秒
+     */
+    public double getMaxLatencyMillis() {
+        return this.maxLatencyNanos.get() / 1000000D;
+    }
+
+    public QuartzTaskHandler getQuartzTaskHandler() {
+        return quartzTaskHandler;
+    }
+
+    public void setQuartzTaskHandler(QuartzTaskHandler quartzTaskHandler) {
+        this.quartzTaskHandler = quartzTaskHandler;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public long getLingerMillis() {
+        return lingerMillis;
+    }
+
+    public void setLingerMillis(long lingerMillis) {
+        this.lingerMillis = lingerMillis;
+    }
+
+    public int getAwaitTerminationSeconds() {
+        return awaitTerminationSeconds;
+    }
+
+    public void setAwaitTerminationSeconds(int awaitTerminationSeconds) {
+        this.awaitTerminationSeconds = awaitTerminationSeconds;
+    }
+
+    public String getThreadNamePrefix() {
+        return threadNamePrefix;
+    }
+
+    public void setThreadNamePrefix(String threadNamePrefix) {
+        this.threadNamePrefix = threadNamePrefix;
+    }
+
+    /**
+     * 等待执行的操作
+     */
+    private static class PendingOperation {
+
+        private final OperationType type;
+
+        private final Object target;
+
+        private final long submitNanos = System.nanoTime();
+
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        PendingOperation(OperationType type, Object target) {
+            this.type = type;
+            this.target = target;
+        }
+    }
+
+}
@@ -1,11 +1,17 @@
 package com.xbd.quartz.handler;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import com.xbd.quartz.*;
+import com.xbd.quartz.jdbcjobstore.QuartzJobStoreTX;
+import com.xbd.quartz.listener.QuartzRetryJobListener;
 
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -140,6 +146,8 @@ public class DefaultQuartzTaskHandler extends QuartzTaskHandler {
         cronTrigger = triggerBuilder.build();
 
         scheduler.rescheduleJob(TriggerKey.triggerKey(quartzTask.getName(), quartzTask.getGroup()), cronTrigger);
+
+        QuartzTaskInvoker.evict(quartzTask.getTargetObject(), quartzTask.getTargetClass());
     }
 
     /**
@@ -243,6 +251,8 @@ public class DefaultQuartzTaskHandler extends QuartzTaskHandler {
     public void deleteTask(QuartzTask quartzTask) throws SchedulerException {
         JobKey jobKey = new JobKey(quartzTask.getName(), quartzTask.getGroup());
         scheduler.deleteJob(jobKey);
+
+        QuartzTaskInvoker.evict(quartzTask.getTargetObject(), quartzTask.getTargetClass());
     }
 
     /**
@@ -288,9 +298,16 @@ public class DefaultQuartzTaskHandler extends QuartzTaskHandler {
     public void addJob(QuartzJob... quartzJobs) throws SchedulerException {
         Assert.notNull(quartzJobs, "jobs不能为空！");
 
-        for (QuartzJob quartzJob : quartzJobs) {
-            addJob(quartzJob);
-        }
+        throwIfFailed(addJobs(Arrays.asList(quartzJobs)));
+    }
+
+    /**
+     * 批量动态添加任务，分批事务写入
+     */
+    public List<QuartzBatchResult> addJobs(Collection<QuartzJob> quartzJobs) throws SchedulerException {
+        Assert.notNull(quartzJobs, "jobs不能为空！");
+
+        return scheduleJobsInBatches(quartzJobs, false);
     }
 
     /**
@@ -308,28 +325,24 @@ public class DefaultQuartzTaskHandler extends QuartzTaskHandler {
     }
 
     public void saveJob(QuartzJob quartzJob) throws SchedulerException {
-        Assert.notNull(quartzJob, "job不能为空！");
-        Assert.notNull(quartzJob.getJobClass(), "job class不能为空！");
-        Assert.notNull(quartzJob.getKey(), "Key不能为空！");
-        Assert.notNull(quartzJob.getKey().getName(), "Key名称不能为空！");
+        validateJob(quartzJob);
 
-        JobDetail jobDetail = createJobDetail(quartzJob);
+        saveChangedJobs(Collections.singletonList(quartzJob));
+    }
 
-        Set<? extends Trigger> triggers = createTriggers(quartzJob);
+    public void saveJob(QuartzJob... quartzJobs) throws SchedulerException {
+        Assert.notNull(quartzJobs, "jobs不能为空！");
 
-        if (CollectionUtils.isEmpty(triggers)) {
-            this.scheduler.addJob(jobDetail, true);
-        } else {
-            scheduler.scheduleJob(jobDetail, triggers, true);
-        }
+        throwIfFailed(saveJobs(Arrays.asList(quartzJobs)));
     }
 
-    public void saveJob(QuartzJob... quartzJobs) throws SchedulerException {
+    /**
+     * 批量动态保存任务，分批事务写入
+     */
+    public List<QuartzBatchResult> saveJobs(Collection<QuartzJob> quartzJobs) throws SchedulerException {
         Assert.notNull(quartzJobs, "jobs不能为空！");
 
-        for (QuartzJob quartzJob : quartzJobs) {
-            saveJob(quartzJob);
-        }
+        return scheduleJobsInBatches(quartzJobs, true);
     }
 
     /**
@@ -360,9 +373,20 @@ public class DefaultQuartzTaskHandler extends QuartzTaskHandler {
     public void pauseJob(List<JobKey> jobKeys) throws SchedulerException {
         Assert.notNull(jobKeys, "jobs不能为空！");
 
-        for (JobKey jobKey : jobKeys) {
-            pauseJob(jobKey);
+        QuartzJobStoreTX jobStore = getJobStore();
+
+        // 未使用QuartzJobStoreTX时，逐个调用Scheduler
+        if (jobStore == null) {
+            for (JobKey jobKey : jobKeys) {
+                pauseJob(jobKey);
+            }
+
+            return;
         }
+
+        jobStore.pauseJobKeys(jobKeys);
+
+        notifySchedulerListeners(schedulerListener -> jobKeys.forEach(schedulerListener::jobPaused));
     }
 
     public void pauseJob(GroupMatcher<JobKey> matcher) throws SchedulerException {
@@ -399,9 +423,20 @@ public class DefaultQuartzTaskHandler extends QuartzTaskHandler {
     public void resumeJob(List<JobKey> jobKeys) throws SchedulerException {
         Assert.notNull(jobKeys, "jobs不能为空！");
 
-        for (JobKey jobKey : jobKeys) {
-            resumeJob(jobKey);
+        QuartzJobStoreTX jobStore = getJobStore();
+
+        // 未使用QuartzJobStoreTX时，逐个调用Scheduler
+        if (jobStore == null) {
+            for (JobKey jobKey : jobKeys) {
+                resumeJob(jobKey);
+            }
+
+            return;
         }
+
+        jobStore.resumeJobKeys(jobKeys);
+
+        notifySchedulerListeners(schedulerListener -> jobKeys.forEach(schedulerListener::jobResumed));
     }
 
     public void resumeJob(GroupMatcher<JobKey> matcher) throws SchedulerException {
@@ -564,9 +599,20 @@ public class DefaultQuartzTaskHandler extends QuartzTaskHandler {
     public void pauseTrigger(List<TriggerKey> triggerKeys) throws SchedulerException {
         Assert.notNull(triggerKeys, "triggers不能为空！");
 
-        for (TriggerKey triggerKey : triggerKeys) {
-            pauseTrigger(triggerKey);
+        QuartzJobStoreTX jobStore = getJobStore();
+
+        // 未使用QuartzJobStoreTX时，逐个调用Scheduler
+        if (jobStore == null) {
+            for (TriggerKey triggerKey : triggerKeys) {
+                pauseTrigger(triggerKey);
+            }
+
+            return;
         }
+
+        jobStore.pauseTriggerKeys(triggerKeys);
+
+        notifySchedulerListeners(schedulerListener -> triggerKeys.forEach(schedulerListener::triggerPaused));
     }
 
     public void pauseTrigger(GroupMatcher<TriggerKey> matcher) throws SchedulerException {
@@ -582,6 +628,17 @@ public class DefaultQuartzTaskHandler extends QuartzTaskHandler {
         this.scheduler.pauseAll();
     }
 
+    public void resumeAll() throws SchedulerException {
+        // 包含没有Trigger的暂停分组，及JDBC JobStore暂停全部时记录的标记分组
+        Set<String> groups = new LinkedHashSet<>(this.scheduler.getPausedTriggerGroups());
+        groups.addAll(this.scheduler.getTriggerGroupNames());
+        groups.remove(QuartzRetryJobListener.DEAD_LETTER_TRIGGER_GROUP);
+
+        for (String group : groups) {
+            this.scheduler.resumeTriggers(GroupMatcher.triggerGroupEquals(group));
+        }
+    }
+
     public void resumeTrigger(QuartzTrigger quartzTrigger) throws SchedulerException {
         resumeTrigger(quartzTrigger.getKey());
     }
@@ -604,9 +661,20 @@ public class DefaultQuartzTaskHandler extends QuartzTaskHandler {
     public void resumeTrigger(List<TriggerKey> triggerKeys) throws SchedulerException {
         Assert.notNull(triggerKeys, "triggers不能为空！");
 
-        for (TriggerKey triggerKey : triggerKeys) {
-            resumeTrigger(triggerKey);
+        QuartzJobStoreTX jobStore = getJobStore();
+
+        // 未使用QuartzJobStoreTX时，逐个调用Scheduler
+        if (jobStore == null) {
+            for (TriggerKey triggerKey : triggerKeys) {
+                resumeTrigger(triggerKey);
+            }
+
+            return;
         }
+
+        jobStore.resumeTriggerKeys(triggerKeys);
+
+        notifySchedulerListeners(schedulerListener -> triggerKeys.forEach(schedulerListener::triggerResumed));
     }
 
     public void resumeTrigger(GroupMatcher<TriggerKey> matcher) throws SchedulerException {
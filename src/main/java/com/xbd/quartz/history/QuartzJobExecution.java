@@ -0,0 +1,116 @@
+package com.xbd.quartz.history;
+
+import java.io.Serializable;
+
+import org.quartz.JobKey;
+import org.quartz.TriggerKey;
+
+/**
+ * 一次任务执行的历史记录，对应{@code QRTZ_JOB_HISTORY}中的一行
+ *
+ * @author luas
+ * @since 2.0
+ */
+public class QuartzJobExecution implements Serializable {
+
+    private static final long serialVersionUID = 6125290918873410537L;
+
+    /**
+     * 执行结果
+     */
+    public enum Outcome {
+
+        SUCCEEDED, FAILED, VETOED
+    }
+
+    private final String entryId;
+
+    private final JobKey jobKey;
+
+    private final TriggerKey triggerKey;
+
+    private final String instanceName;
+
+    private final long startTime;
+
+    private final long endTime;
+
+    private final Outcome outcome;
+
+    private final String exceptionClass;
+
+    private final String exceptionMessage;
+
+    public QuartzJobExecution(String entryId, JobKey jobKey, TriggerKey triggerKey, String instanceName, long startTime,
+                              long endTime, Outcome outcome, String exceptionClass, String exceptionMessage) {
+        this.entryId = entryId;
+        this.jobKey = jobKey;
+        this.triggerKey = triggerKey;
+        this.instanceName = instanceName;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.outcome = outcome;
+        this.exceptionClass = exceptionClass;
+        this.exceptionMessage = exceptionMessage;
+    }
+
+    /**
+     * 触发实例ID，即{@code JobExecutionContext.getFireInstanceId()}
+     */
+    public String getEntryId() {
+        return entryId;
+    }
+
+    public JobKey getJobKey() {
+        return jobKey;
+    }
+
+    public TriggerKey getTriggerKey() {
+        return triggerKey;
+    }
+
+    /**
+     * 执行节点的{@code Scheduler}实例ID
+     */
+    public String getInstanceName() {
+        return instanceName;
+    }
+
+    public long getStartTime() {
+        return startTime;
+    }
+
+    public long getEndTime() {
+        return endTime;
+    }
+
+    public long getRunTime() {
+        return Math.max(0L, endTime - startTime);
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    public String getExceptionClass() {
+        return exceptionClass;
+    }
+
+    public String getExceptionMessage() {
+        return exceptionMessage;
+    }
+
+    @Override
+    public String toString() {
+        return "QuartzJobExecution{" +
+                "entryId='" + entryId + '\'' +
+                ", jobKey=" + jobKey +
+                ", triggerKey=" + triggerKey +
+                ", instanceName='" + instanceName + '\'' +
+                ", startTime=" + startTime +
+                ", runTime=" + getRunTime() +
+                ", outcome=" + outcome +
+                ", exceptionClass='" + exceptionClass + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,56 @@
+package com.xbd.quartz.history;
+
+import org.quartz.DisallowConcurrentExecution;
+import org.quartz.Job;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.quartz.JobKey;
+import org.quartz.SchedulerException;
+import org.quartz.TriggerKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 清理任务执行历史的Quartz任务
+ * <p>由{@link QuartzJobHistoryWriter}按{@link QuartzJobHistoryWriter#setPurgeIntervalMillis(long) purgeIntervalMillis}调度，
+ * 集群中每次只由获得Trigger的一个节点执行，不占用写入线程. 执行时委托本节点同名调度器的{@link QuartzJobHistoryWriter#purge()}.
+ *
+ * @author luas
+ * @since 2.0
+ */
+@DisallowConcurrentExecution
+public class QuartzJobHistoryPurgeJob implements Job {
+
+    /**
+     * 清理任务及其Trigger的分组
+     */
+    public static final String GROUP = "QUARTZ_JOB_HISTORY";
+
+    public static final JobKey JOB_KEY = JobKey.jobKey("purge", GROUP);
+
+    public static final TriggerKey TRIGGER_KEY = TriggerKey.triggerKey("purge", GROUP);
+
+    private static final Logger logger = LoggerFactory.getLogger(QuartzJobHistoryPurgeJob.class);
+
+    @Override
+    public void execute(JobExecutionContext context) throws JobExecutionException {
+        try {
+            String schedulerName = context.getScheduler().getSchedulerName();
+
+            QuartzJobHistoryWriter writer = QuartzJobHistoryWriter.getInstance(schedulerName);
+
+            if (writer == null) {
+                logger.warn("Scheduler {}未配置{}，跳过清理任务执行历史。", schedulerName, QuartzJobHistoryWriter.class.getName());
+                return;
+            }
+
+            int purged = writer.purge();
+
+            if (purged > 0) {
+                logger.info("清理任务执行历史{}条。", purged);
+            }
+        } catch (SchedulerException e) {
+            throw new JobExecutionException("清理任务执行历史失败！", e);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.xbd.quartz.history;
+
+import java.io.Serializable;
+
+import org.quartz.JobKey;
+
+/**
+ * 任务在一段时间内的执行统计，由数据库聚合得出
+ *
+ * @author luas
+ * @since 2.0
+ */
+public class QuartzJobHistoryStats implements Serializable {
+
+    private static final long serialVersionUID = -2217530457306416694L;
+
+    private final JobKey jobKey;
+
+    private final long total;
+
+    private final long succeeded;
+
+    private final long failed;
+
+    private final long vetoed;
+
+    private final long averageRunTime;
+
+    private final long maxRunTime;
+
+    public QuartzJobHistoryStats(JobKey jobKey, long total, long succeeded, long failed, long vetoed,
+                                 long averageRunTime, long maxRunTime) {
+        this.jobKey = jobKey;
+        this.total = total;
+        this.succeeded = succeeded;
+        this.failed = failed;
+        this.vetoed = vetoed;
+        this.averageRunTime = averageRunTime;
+        this.maxRunTime = maxRunTime;
+    }
+
+    public JobKey getJobKey() {
+        return jobKey;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public long getSucceeded() {
+        return succeeded;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public long getVetoed() {
+        return vetoed;
+    }
+
+    /**
+     * 平均执行耗时（毫秒），不含被否决的记录
+     */
+    public long getAverageRunTime() {
+        return averageRunTime;
+    }
+
+    /**
+     * 最大执行耗时（毫秒）
+     */
+    public long getMaxRunTime() {
+        return maxRunTime;
+    }
+
+    @Override
+    public String toString() {
+        return "QuartzJobHistoryStats{" +
+                "jobKey=" + jobKey +
+                ", total=" + total +
+                ", succeeded=" + succeeded +
+                ", failed=" + failed +
+                ", vetoed=" + vetoed +
+                ", averageRunTime=" + averageRunTime +
+                ", maxRunTime=" + maxRunTime +
+                '}';
+    }
+}
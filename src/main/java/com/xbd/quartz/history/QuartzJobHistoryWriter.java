@@ -0,0 +1,386 @@
+package com.xbd.quartz.history;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.xbd.quartz.jdbcjobstore.QuartzJobStoreTX;
+import org.quartz.JobBuilder;
+import org.quartz.JobDetail;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.SimpleScheduleBuilder;
+import org.quartz.SimpleTrigger;
+import org.quartz.Trigger;
+import org.quartz.TriggerBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.util.Assert;
+
+/**
+ * 任务执行历史的异步批量写入
+ * <p>Quartz工作线程只将记录放入有界队列，队列已满时丢弃并计数，从不等待数据库；
+ * 专用的写入线程攒够{@link #setBatchSize(int) batchSize}条或每{@link #setFlushIntervalMillis(long) flushIntervalMillis}
+ * 通过{@link QuartzJobStoreTX#insertJobHistory(List)}以一次JDBC批处理写入{@code QRTZ_JOB_HISTORY}.
+ * <p>启动时添加{@link QuartzJobHistoryPurgeJob}，每{@link #setPurgeIntervalMillis(long) purgeIntervalMillis}按天分区清理超过
+ * {@link #setRetentionMillis(long) retentionMillis}的记录；清理由Quartz调度，集群中每次只在一个节点执行，不占用写入线程.
+ * <p>启动后按调度器名称登记，{@link QuartzJobHistoryPurgeJob}通过{@link #getInstance(String)}获取.
+ * <p>需配置{@link QuartzJobStoreTX}，否则记录将被丢弃.
+ *
+ * @author luas
+ * @since 2.0
+ */
+public class QuartzJobHistoryWriter implements InitializingBean, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuartzJobHistoryWriter.class);
+
+    private static final Map<String, QuartzJobHistoryWriter> INSTANCES = new ConcurrentHashMap<>();
+
+    private Scheduler scheduler;
+
+    private int queueCapacity = 10000;
+
+    private int batchSize = 500;
+
+    private long flushIntervalMillis = 1000L;
+
+    private long retentionMillis = TimeUnit.DAYS.toMillis(30);
+
+    private long purgeIntervalMillis = TimeUnit.HOURS.toMillis(1);
+
+    private long partitionMillis = TimeUnit.DAYS.toMillis(1);
+
+    private BlockingQueue<QuartzJobExecution> queue;
+
+    private volatile boolean running;
+
+    private Thread writer;
+
+    private String schedulerName;
+
+    private final LongAdder droppedCount = new LongAdder();
+
+    private final LongAdder writtenCount = new LongAdder();
+
+    private final LongAdder failedCount = new LongAdder();
+
+    private final LongAdder purgedCount = new LongAdder();
+
+    @Override
+    public void afterPropertiesSet() throws SchedulerException {
+        Assert.notNull(this.scheduler, "scheduler不能为空！");
+
+        this.schedulerName = this.scheduler.getSchedulerName();
+
+        INSTANCES.put(this.schedulerName, this);
+
+        schedulePurge();
+        start();
+    }
+
+    @Override
+    public void destroy() {
+        stop();
+
+        if (this.schedulerName != null) {
+            INSTANCES.remove(this.schedulerName, this);
+        }
+    }
+
+    /**
+     * 获取指定调度器的执行历史写入器
+     *
+     * @param schedulerName 调度器名称
+     * @return 写入器，未配置时返回null
+     */
+    public static QuartzJobHistoryWriter getInstance(String schedulerName) {
+        return INSTANCES.get(schedulerName);
+    }
+
+    /**
+     * 添加{@link QuartzJobHistoryPurgeJob}，已存在且间隔相同时保持不变，集群中各节点共用同一个Trigger
+     */
+    private void schedulePurge() throws SchedulerException {
+        if (getJobStore() == null) {
+            return;
+        }
+
+        Trigger existing = this.scheduler.getTrigger(QuartzJobHistoryPurgeJob.TRIGGER_KEY);
+
+        if (existing instanceof SimpleTrigger && ((SimpleTrigger) existing).getRepeatInterval() == this.purgeIntervalMillis) {
+            return;
+        }
+
+        JobDetail jobDetail = JobBuilder.newJob(QuartzJobHistoryPurgeJob.class)
+                .withIdentity(QuartzJobHistoryPurgeJob.JOB_KEY)
+                .withDescription("清理任务执行历史")
+                .storeDurably()
+                .build();
+
+        Trigger trigger = TriggerBuilder.newTrigger()
+                .withIdentity(QuartzJobHistoryPurgeJob.TRIGGER_KEY)
+                .forJob(jobDetail)
+                .startAt(new Date(System.currentTimeMillis() + this.purgeIntervalMillis))
+                .withSchedule(SimpleScheduleBuilder.simpleSchedule()
+                        .withIntervalInMilliseconds(this.purgeIntervalMillis)
+                        .repeatForever()
+                        .withMisfireHandlingInstructionNextWithRemainingCount())
+                .build();
+
+        this.scheduler.scheduleJob(jobDetail, Collections.singleton(trigger), true);
+    }
+
+    /**
+     * 启动写入线程
+     */
+    public synchronized void start() {
+        if (this.running) {
+            return;
+        }
+
+        this.queue = new ArrayBlockingQueue<>(this.queueCapacity);
+        this.running = true;
+
+        this.writer = new Thread(this::writeLoop, "QuartzJobHistoryWriter");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * 停止接收记录，写入剩余记录后返回
+     */
+    public synchronized void stop() {
+        if (!this.running) {
+            return;
+        }
+
+        // 不中断写入线程，避免打断进行中的JDBC调用，最迟flushIntervalMillis后退出
+        this.running = false;
+
+        try {
+            this.writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 提交一条执行记录，不阻塞
+     *
+     * @param execution 执行记录
+     * @return 是否已放入队列，队列已满或未启动时返回false
+     */
+    public boolean offer(QuartzJobExecution execution) {
+        if (!this.running || !this.queue.offer(execution)) {
+            this.droppedCount.increment();
+            return false;
+        }
+
+        return true;
+    }
+
+    private void writeLoop() {
+        List<QuartzJobExecution> batch = new ArrayList<>(this.batchSize);
+
+        long deadline = System.currentTimeMillis() + this.flushIntervalMillis;
+
+        while (this.running) {
+            try {
+                QuartzJobExecution execution = this.queue.poll(Math.max(1L, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+
+                if (execution != null) {
+                    batch.add(execution);
+                    this.queue.drainTo(batch, this.batchSize - batch.size());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+
+            long now = System.currentTimeMillis();
+
+            if (batch.size() >= this.batchSize || now >= deadline) {
+                write(batch);
+
+                deadline = now + this.flushIntervalMillis;
+            }
+        }
+
+        do {
+            write(batch);
+        } while (this.queue.drainTo(batch, this.batchSize) > 0);
+    }
+
+    private void write(List<QuartzJobExecution> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            QuartzJobStoreTX jobStore = getJobStore();
+
+            if (jobStore == null) {
+                this.droppedCount.add(batch.size());
+            } else {
+                int written = jobStore.insertJobHistory(batch);
+
+                // 数据错误或违反约束被跳过的记录计为失败
+                this.writtenCount.add(written);
+                this.failedCount.add(batch.size() - written);
+            }
+        } catch (Exception e) {
+            this.failedCount.add(batch.size());
+
+            logger.warn("写入任务执行历史失败，丢弃{}条记录！", batch.size(), e);
+        } finally {
+            batch.clear();
+        }
+    }
+
+    /**
+     * 立即清理超过保留时长的执行历史
+     *
+     * @return 删除的记录数
+     * @throws SchedulerException 未配置{@link QuartzJobStoreTX}，或数据库异常
+     */
+    public int purge() throws SchedulerException {
+        QuartzJobStoreTX jobStore = getJobStore();
+
+        if (jobStore == null) {
+            throw new SchedulerException("Scheduler " + this.scheduler.getSchedulerName() + "未配置" + QuartzJobStoreTX.class.getName() + "！");
+        }
+
+        int purged = jobStore.purgeJobHistory(System.currentTimeMillis() - this.retentionMillis, this.partitionMillis);
+
+        this.purgedCount.add(purged);
+
+        return purged;
+    }
+
+    private QuartzJobStoreTX getJobStore() throws SchedulerException {
+        return QuartzJobStoreTX.getInstance(this.scheduler.getSchedulerName());
+    }
+
+    /**
+     * 队列已满、未启动或未配置{@link QuartzJobStoreTX}时丢弃的记录数量
+     */
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    /**
+     * 已写入数据库的记录数量
+     */
+    public long getWrittenCount() {
+        return writtenCount.sum();
+    }
+
+    /**
+     * 写入失败的记录数量
+     */
+    public long getFailedCount() {
+        return failedCount.sum();
+    }
+
+    /**
+     * 已清理的记录数量
+     */
+    public long getPurgedCount() {
+        return purgedCount.sum();
+    }
+
+    /**
+     * 等待写入的记录数量
+     */
+    public int getPending() {
+        return this.queue == null ? 0 : this.queue.size();
+    }
+
+    public Scheduler getScheduler() {
+        return scheduler;
+    }
+
+    public void setScheduler(Scheduler scheduler) {
+        Assert.notNull(scheduler, "scheduler不能为空！");
+
+        this.scheduler = scheduler;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * 队列容量，启动前设置
+     */
+    public void setQueueCapacity(int queueCapacity) {
+        Assert.isTrue(queueCapacity > 0, "queueCapacity必须大于0！");
+
+        this.queueCapacity = queueCapacity;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        Assert.isTrue(batchSize > 0, "batchSize必须大于0！");
+
+        this.batchSize = batchSize;
+    }
+
+    public long getFlushIntervalMillis() {
+        return flushIntervalMillis;
+    }
+
+    public void setFlushIntervalMillis(long flushIntervalMillis) {
+        Assert.isTrue(flushIntervalMillis > 0, "flushIntervalMillis必须大于0！");
+
+        this.flushIntervalMillis = flushIntervalMillis;
+    }
+
+    public long getRetentionMillis() {
+        return retentionMillis;
+    }
+
+    public void setRetentionMillis(long retentionMillis) {
+        Assert.isTrue(retentionMillis > 0, "retentionMillis必须大于0！");
+
+        this.retentionMillis = retentionMillis;
+    }
+
+    public long getPurgeIntervalMillis() {
+        return purgeIntervalMillis;
+    }
+
+    /**
+     * 清理间隔，默认1小时，启动前设置；修改后各节点重启时更新{@link QuartzJobHistoryPurgeJob}的Trigger
+     */
+    public void setPurgeIntervalMillis(long purgeIntervalMillis) {
+        Assert.isTrue(purgeIntervalMillis > 0, "purgeIntervalMillis必须大于0！");
+
+        this.purgeIntervalMillis = purgeIntervalMillis;
+    }
+
+    public long getPartitionMillis() {
+        return partitionMillis;
+    }
+
+    /**
+     * 清理时每个时间分区的跨度，默认1天
+     */
+    public void setPartitionMillis(long partitionMillis) {
+        Assert.isTrue(partitionMillis > 0, "partitionMillis必须大于0！");
+
+        this.partitionMillis = partitionMillis;
+    }
+}
@@ -0,0 +1,1905 @@
+package com.xbd.quartz.jdbcjobstore;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.PushbackInputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLDataException;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.text.ParseException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiPredicate;
+import java.util.stream.Collectors;
+
+import com.xbd.quartz.QuartzShardProgress;
+import com.xbd.quartz.batch.QuartzCheckpoint;
+import com.xbd.quartz.history.QuartzJobExecution;
+import com.xbd.quartz.history.QuartzJobHistoryStats;
+import com.xbd.quartz.query.QuartzJobView;
+import com.xbd.quartz.query.QuartzPage;
+import com.xbd.quartz.query.QuartzTriggerQuery;
+import com.xbd.quartz.query.QuartzTriggerView;
+import com.xbd.quartz.transfer.QuartzJobSnapshot;
+
+import org.quartz.Calendar;
+import org.quartz.Job;
+import org.quartz.JobDataMap;
+import org.quartz.JobDetail;
+import org.quartz.JobKey;
+import org.quartz.JobPersistenceException;
+import org.quartz.SchedulerConfigException;
+import org.quartz.Trigger;
+import org.quartz.Trigger.TriggerState;
+import org.quartz.TriggerKey;
+import org.quartz.impl.JobDetailImpl;
+import org.quartz.impl.jdbcjobstore.Constants;
+import org.quartz.impl.jdbcjobstore.DriverDelegate;
+import org.quartz.impl.jdbcjobstore.JobStoreTX;
+import org.quartz.impl.jdbcjobstore.StdJDBCDelegate;
+import org.quartz.impl.jdbcjobstore.Util;
+import org.quartz.impl.triggers.AbstractTrigger;
+import org.quartz.impl.triggers.CronTriggerImpl;
+import org.quartz.impl.triggers.SimpleTriggerImpl;
+import org.quartz.spi.ClassLoadHelper;
+import org.quartz.spi.OperableTrigger;
+import org.quartz.spi.SchedulerSignaler;
+import org.quartz.utils.Key;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * 扩展的{@link JobStoreTX}
+ * <p>在{@link JobStoreTX}的基础上，提供基于集合的批量操作，多个Key在一次锁获取、一个事务内以少量SQL完成.
+ * <p>配置方式如下：
+ * <pre>
+ *     org.quartz.jobStore.class = com.xbd.quartz.jdbcjobstore.QuartzJobStoreTX
+ * </pre>
+ * <p>{@link com.xbd.quartz.QuartzTaskHandler}通过{@link #getInstance(String)}按调度器名称获取，未配置时回退到逐个Key调用{@code Scheduler}.
+ * <p>{@link JobStoreTX}以原始类型覆盖了{@code JobStoreSupport#executeInLock}，子类无法以泛型签名再次覆盖，
+ * 故仅在类上抑制继承而来的unchecked警告，本类的回调均显式转换返回值.
+ *
+ * @author luas
+ * @since 2.0
+ */
+@SuppressWarnings("unchecked")
+public class QuartzJobStoreTX extends JobStoreTX {
+
+    /**
+     * 单条SQL中包含的最大Key数量，避免超出数据库参数个数限制
+     */
+    public static final int MAX_KEYS_PER_STATEMENT = 100;
+
+    private static final Map<String, QuartzJobStoreTX> INSTANCES = new ConcurrentHashMap<>();
+
+    private static final String TRIGGER_KEY_COLUMNS = "(" + Constants.COL_TRIGGER_NAME + " = ? AND " + Constants.COL_TRIGGER_GROUP + " = ?)";
+
+    private static final String JOB_KEY_COLUMNS = "(" + Constants.COL_JOB_NAME + " = ? AND " + Constants.COL_JOB_GROUP + " = ?)";
+
+    private static final String UPDATE_TRIGGER_STATES_FROM_STATES = "UPDATE {0}" + Constants.TABLE_TRIGGERS
+            + " SET " + Constants.COL_TRIGGER_STATE + " = ? WHERE " + Constants.COL_SCHEDULER_NAME + " = {1} AND "
+            + Constants.COL_TRIGGER_STATE + " IN (?, ?) AND ";
+
+    private static final String BLOCKED_BY_FIRED_TRIGGERS = " AND EXISTS (SELECT 1 FROM {0}" + Constants.TABLE_FIRED_TRIGGERS
+            + " F WHERE F." + Constants.COL_SCHEDULER_NAME + " = {1} AND F." + Constants.COL_JOB_NAME + " = {0}" + Constants.TABLE_TRIGGERS
+            + "." + Constants.COL_JOB_NAME + " AND F." + Constants.COL_JOB_GROUP + " = {0}" + Constants.TABLE_TRIGGERS
+            + "." + Constants.COL_JOB_GROUP + " AND F." + Constants.COL_IS_NONCONCURRENT + " = ?)";
+
+    /**
+     * {@link StdJDBCDelegate}按数据库绑定布尔值的方法，子类可能覆盖（如以字符或数字保存布尔值的数据库）
+     */
+    private static final Method DELEGATE_SET_BOOLEAN;
+
+    static {
+        DELEGATE_SET_BOOLEAN = ReflectionUtils.findMethod(StdJDBCDelegate.class, "setBoolean", PreparedStatement.class, int.class, boolean.class);
+        ReflectionUtils.makeAccessible(DELEGATE_SET_BOOLEAN);
+    }
+
+    private static final String SELECT_JOB_KEYS = "SELECT " + Constants.COL_JOB_NAME + ", " + Constants.COL_JOB_GROUP
+            + " FROM {0}" + Constants.TABLE_JOB_DETAILS + " WHERE " + Constants.COL_SCHEDULER_NAME + " = {1}";
+
+    private static final String SELECT_JOB_DETAILS = "SELECT " + Constants.COL_JOB_NAME + ", " + Constants.COL_JOB_GROUP + ", "
+            + Constants.COL_DESCRIPTION + ", " + Constants.COL_JOB_CLASS + ", " + Constants.COL_IS_DURABLE + ", "
+            + Constants.COL_REQUESTS_RECOVERY + ", " + Constants.COL_JOB_DATAMAP + " FROM {0}" + Constants.TABLE_JOB_DETAILS
+            + " WHERE " + Constants.COL_SCHEDULER_NAME + " = {1} AND ";
+
+    private static final String SELECT_TRIGGERS_OF_JOBS = "SELECT " + Constants.COL_TRIGGER_NAME + ", " + Constants.COL_TRIGGER_GROUP
+            + ", " + Constants.COL_JOB_NAME + ", " + Constants.COL_JOB_GROUP + ", " + Constants.COL_DESCRIPTION + ", "
+            + Constants.COL_NEXT_FIRE_TIME + ", " + Constants.COL_PREV_FIRE_TIME + ", " + Constants.COL_PRIORITY + ", "
+            + Constants.COL_TRIGGER_STATE + ", " + Constants.COL_TRIGGER_TYPE + ", " + Constants.COL_START_TIME + ", "
+            + Constants.COL_END_TIME + ", " + Constants.COL_CALENDAR_NAME + ", " + Constants.COL_MISFIRE_INSTRUCTION + ", "
+            + Constants.COL_JOB_DATAMAP + " FROM {0}" + Constants.TABLE_TRIGGERS + " WHERE " + Constants.COL_SCHEDULER_NAME + " = {1} AND ";
+
+    private static final String TRIGGERS_OF_JOBS_JOIN = " X JOIN {0}" + Constants.TABLE_TRIGGERS + " T ON T." + Constants.COL_SCHEDULER_NAME
+            + " = X." + Constants.COL_SCHEDULER_NAME + " AND T." + Constants.COL_TRIGGER_NAME + " = X." + Constants.COL_TRIGGER_NAME
+            + " AND T." + Constants.COL_TRIGGER_GROUP + " = X." + Constants.COL_TRIGGER_GROUP + " WHERE T." + Constants.COL_SCHEDULER_NAME
+            + " = {1} AND ";
+
+    private static final String SELECT_SIMPLE_TRIGGERS_OF_JOBS = "SELECT X." + Constants.COL_TRIGGER_NAME + ", X." + Constants.COL_TRIGGER_GROUP
+            + ", X." + Constants.COL_REPEAT_COUNT + ", X." + Constants.COL_REPEAT_INTERVAL + ", X." + Constants.COL_TIMES_TRIGGERED
+            + " FROM {0}" + Constants.TABLE_SIMPLE_TRIGGERS + TRIGGERS_OF_JOBS_JOIN;
+
+    private static final String SELECT_CRON_TRIGGERS_OF_JOBS = "SELECT X." + Constants.COL_TRIGGER_NAME + ", X." + Constants.COL_TRIGGER_GROUP
+            + ", X." + Constants.COL_CRON_EXPRESSION + ", X." + Constants.COL_TIME_ZONE_ID
+            + " FROM {0}" + Constants.TABLE_CRON_TRIGGERS + TRIGGERS_OF_JOBS_JOIN;
+
+    private static final String JOB_KEY_AFTER = " AND (" + Constants.COL_JOB_GROUP + " > ? OR (" + Constants.COL_JOB_GROUP
+            + " = ? AND " + Constants.COL_JOB_NAME + " > ?))";
+
+    private static final String ORDER_BY_JOB_KEY = " ORDER BY " + Constants.COL_JOB_GROUP + ", " + Constants.COL_JOB_NAME;
+
+    private static final String SELECT_TRIGGER_STATES = "SELECT " + Constants.COL_TRIGGER_NAME + ", " + Constants.COL_TRIGGER_GROUP
+            + ", " + Constants.COL_TRIGGER_STATE + " FROM {0}" + Constants.TABLE_TRIGGERS + " WHERE " + Constants.COL_SCHEDULER_NAME
+            + " = {1} AND ";
+
+    private static final String SELECT_TRIGGER_VIEWS = "SELECT T." + Constants.COL_TRIGGER_NAME + ", T." + Constants.COL_TRIGGER_GROUP
+            + ", T." + Constants.COL_JOB_NAME + ", T." + Constants.COL_JOB_GROUP + ", J." + Constants.COL_JOB_CLASS
+            + ", T." + Constants.COL_TRIGGER_TYPE + ", T." + Constants.COL_TRIGGER_STATE + ", T." + Constants.COL_NEXT_FIRE_TIME
+            + ", T." + Constants.COL_PREV_FIRE_TIME + ", T." + Constants.COL_PRIORITY + ", T." + Constants.COL_CALENDAR_NAME
+            + ", T." + Constants.COL_DESCRIPTION + " FROM {0}" + Constants.TABLE_TRIGGERS + " T JOIN {0}" + Constants.TABLE_JOB_DETAILS
+            + " J ON J." + Constants.COL_SCHEDULER_NAME + " = T." + Constants.COL_SCHEDULER_NAME + " AND J." + Constants.COL_JOB_NAME
+            + " = T." + Constants.COL_JOB_NAME + " AND J." + Constants.COL_JOB_GROUP + " = T." + Constants.COL_JOB_GROUP
+            + " WHERE T." + Constants.COL_SCHEDULER_NAME + " = {1}";
+
+    private static final String SELECT_JOB_VIEWS = "SELECT " + Constants.COL_JOB_NAME + ", " + Constants.COL_JOB_GROUP + ", "
+            + Constants.COL_JOB_CLASS + ", " + Constants.COL_DESCRIPTION + ", " + Constants.COL_IS_DURABLE + ", "
+            + Constants.COL_IS_NONCONCURRENT + ", " + Constants.COL_REQUESTS_RECOVERY + " FROM {0}" + Constants.TABLE_JOB_DETAILS
+            + " WHERE " + Constants.COL_SCHEDULER_NAME + " = {1}";
+
+    /**
+     * LIKE转义字符，SQL经{@link java.text.MessageFormat}处理，单引号需写两次
+     */
+    private static final char LIKE_ESCAPE = '!';
+
+    private static final String LIKE_ESCAPE_CLAUSE = " ESCAPE ''" + LIKE_ESCAPE + "''";
+
+    private static final String CURSOR_SEPARATOR = "\u0000";
+
+    /**
+     * 分片任务进度表，见docs/dbTables中的{@code QRTZ_JOB_PROGRESS}
+     */
+    public static final String TABLE_JOB_PROGRESS = "JOB_PROGRESS";
+
+    private static final String INSERT_JOB_PROGRESS = "INSERT INTO {0}" + TABLE_JOB_PROGRESS + " (" + Constants.COL_SCHEDULER_NAME
+            + ", RUN_ID, " + Constants.COL_JOB_NAME + ", " + Constants.COL_JOB_GROUP
+            + ", SHARD_TOTAL, SHARD_SUCCEEDED, SHARD_FAILED, START_TIME) VALUES ({1}, ?, ?, ?, ?, 0, 0, ?)";
+
+    private static final String INCREMENT_SHARD_SUCCEEDED = "UPDATE {0}" + TABLE_JOB_PROGRESS
+            + " SET SHARD_SUCCEEDED = SHARD_SUCCEEDED + 1 WHERE " + Constants.COL_SCHEDULER_NAME + " = {1} AND RUN_ID = ?";
+
+    private static final String INCREMENT_SHARD_FAILED = "UPDATE {0}" + TABLE_JOB_PROGRESS
+            + " SET SHARD_FAILED = SHARD_FAILED + 1 WHERE " + Constants.COL_SCHEDULER_NAME + " = {1} AND RUN_ID = ?";
+
+    private static final String SELECT_JOB_PROGRESS = "SELECT " + Constants.COL_JOB_NAME + ", " + Constants.COL_JOB_GROUP
+            + ", SHARD_TOTAL, SHARD_SUCCEEDED, SHARD_FAILED, START_TIME FROM {0}" + TABLE_JOB_PROGRESS
+            + " WHERE " + Constants.COL_SCHEDULER_NAME + " = {1} AND RUN_ID = ?";
+
+    private static final String DELETE_JOB_PROGRESS = "DELETE FROM {0}" + TABLE_JOB_PROGRESS
+            + " WHERE " + Constants.COL_SCHEDULER_NAME + " = {1} AND RUN_ID = ?";
+
+    private static final String RETRY_SHARD_SUCCEEDED = "UPDATE {0}" + TABLE_JOB_PROGRESS
+            + " SET SHARD_SUCCEEDED = SHARD_SUCCEEDED + 1, SHARD_FAILED = SHARD_FAILED - 1 WHERE " + Constants.COL_SCHEDULER_NAME
+            + " = {1} AND RUN_ID = ?";
+
+    private static final String SELECT_EXPIRED_JOB_PROGRESS = "SELECT RUN_ID, SHARD_TOTAL, SHARD_SUCCEEDED, SHARD_FAILED, START_TIME FROM {0}"
+            + TABLE_JOB_PROGRESS + " WHERE " + Constants.COL_SCHEDULER_NAME + " = {1} AND " + Constants.COL_JOB_NAME + " = ? AND "
+            + Constants.COL_JOB_GROUP + " = ? AND START_TIME < ?";
+
+    /**
+     * 分片任务各分片的结束记录表，见docs/dbTables中的{@code QRTZ_JOB_PROGRESS_SHARDS}
+     */
+    public static final String TABLE_JOB_PROGRESS_SHARDS = "JOB_PROGRESS_SHARDS";
+
+    private static final String SELECT_JOB_PROGRESS_SHARD = "SELECT SUCCEEDED FROM {0}" + TABLE_JOB_PROGRESS_SHARDS
+            + " WHERE " + Constants.COL_SCHEDULER_NAME + " = {1} AND RUN_ID = ? AND SHARD_INDEX = ?";
+
+    private static final String INSERT_JOB_PROGRESS_SHARD = "INSERT INTO {0}" + TABLE_JOB_PROGRESS_SHARDS + " ("
+            + Constants.COL_SCHEDULER_NAME + ", RUN_ID, SHARD_INDEX, SUCCEEDED, END_TIME) VALUES ({1}, ?, ?, ?, ?)";
+
+    private static final String UPDATE_JOB_PROGRESS_SHARD = "UPDATE {0}" + TABLE_JOB_PROGRESS_SHARDS
+            + " SET SUCCEEDED = 1, END_TIME = ? WHERE " + Constants.COL_SCHEDULER_NAME + " = {1} AND RUN_ID = ? AND SHARD_INDEX = ?";
+
+    private static final String DELETE_JOB_PROGRESS_SHARDS = "DELETE FROM {0}" + TABLE_JOB_PROGRESS_SHARDS
+            + " WHERE " + Constants.COL_SCHEDULER_NAME + " = {1} AND RUN_ID = ?";
+
+    /**
+     * 分块批处理任务检查点表，见docs/dbTables中的{@code QRTZ_JOB_CHECKPOINT}
+     */
+    public static final String TABLE_JOB_CHECKPOINT = "JOB_CHECKPOINT";
+
+    private static final String JOB_CHECKPOINT_KEY = " WHERE " + Constants.COL_SCHEDULER_NAME + " = {1} AND "
+            + Constants.COL_JOB_NAME + " = ? AND " + Constants.COL_JOB_GROUP + " = ?";
+
+    private static final String SELECT_JOB_CHECKPOINT = "SELECT CHECKPOINT_VALUE, ITEM_COUNT, UPDATE_TIME FROM {0}" + TABLE_JOB_CHECKPOINT
+            + JOB_CHECKPOINT_KEY;
+
+    private static final String UPDATE_JOB_CHECKPOINT = "UPDATE {0}" + TABLE_JOB_CHECKPOINT
+            + " SET CHECKPOINT_VALUE = ?, ITEM_COUNT = ?, UPDATE_TIME = ?" + JOB_CHECKPOINT_KEY;
+
+    private static final String INSERT_JOB_CHECKPOINT = "INSERT INTO {0}" + TABLE_JOB_CHECKPOINT + " (" + Constants.COL_SCHEDULER_NAME
+            + ", " + Constants.COL_JOB_NAME + ", " + Constants.COL_JOB_GROUP
+            + ", CHECKPOINT_VALUE, ITEM_COUNT, UPDATE_TIME) VALUES ({1}, ?, ?, ?, ?, ?)";
+
+    private static final String DELETE_JOB_CHECKPOINT = "DELETE FROM {0}" + TABLE_JOB_CHECKPOINT + JOB_CHECKPOINT_KEY;
+
+    /**
+     * 任务执行历史表，见docs/dbTables中的{@code QRTZ_JOB_HISTORY}
+     */
+    public static final String TABLE_JOB_HISTORY = "JOB_HISTORY";
+
+    /**
+     * EXCEPTION_CLASS、EXCEPTION_MESSAGE列的长度，按UTF-8编码的字节数截断，兼容按字节计算长度的数据库（如Oracle）
+     */
+    private static final int MAX_EXCEPTION_CLASS_BYTES = 250;
+
+    private static final int MAX_EXCEPTION_MESSAGE_BYTES = 1000;
+
+    private static final String INSERT_JOB_HISTORY = "INSERT INTO {0}" + TABLE_JOB_HISTORY + " (" + Constants.COL_SCHEDULER_NAME
+            + ", ENTRY_ID, " + Constants.COL_JOB_NAME + ", " + Constants.COL_JOB_GROUP + ", " + Constants.COL_TRIGGER_NAME + ", "
+            + Constants.COL_TRIGGER_GROUP + ", " + Constants.COL_INSTANCE_NAME + ", START_TIME, END_TIME, RUN_TIME, OUTCOME"
+            + ", EXCEPTION_CLASS, EXCEPTION_MESSAGE) VALUES ({1}, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String JOB_HISTORY_RANGE = " WHERE " + Constants.COL_SCHEDULER_NAME + " = {1} AND " + Constants.COL_JOB_NAME
+            + " = ? AND " + Constants.COL_JOB_GROUP + " = ? AND START_TIME >= ? AND START_TIME < ?";
+
+    private static final String SELECT_JOB_HISTORY = "SELECT ENTRY_ID, " + Constants.COL_TRIGGER_NAME + ", " + Constants.COL_TRIGGER_GROUP
+            + ", " + Constants.COL_INSTANCE_NAME + ", START_TIME, END_TIME, OUTCOME, EXCEPTION_CLASS, EXCEPTION_MESSAGE FROM {0}"
+            + TABLE_JOB_HISTORY + JOB_HISTORY_RANGE + " ORDER BY START_TIME DESC";
+
+    private static final String SELECT_JOB_HISTORY_STATS = "SELECT OUTCOME, COUNT(*), SUM(RUN_TIME), MAX(RUN_TIME) FROM {0}"
+            + TABLE_JOB_HISTORY + JOB_HISTORY_RANGE + " GROUP BY OUTCOME";
+
+    private static final String SELECT_JOB_HISTORY_MIN_START_TIME = "SELECT MIN(START_TIME) FROM {0}" + TABLE_JOB_HISTORY
+            + " WHERE " + Constants.COL_SCHEDULER_NAME + " = {1} AND START_TIME < ?";
+
+    private static final String DELETE_JOB_HISTORY_BEFORE = "DELETE FROM {0}" + TABLE_JOB_HISTORY
+            + " WHERE " + Constants.COL_SCHEDULER_NAME + " = {1} AND START_TIME < ?";
+
+    @Override
+    public void initialize(ClassLoadHelper loadHelper, SchedulerSignaler signaler) throws SchedulerConfigException {
+        super.initialize(loadHelper, signaler);
+
+        INSTANCES.put(getInstanceName(), this);
+    }
+
+    @Override
+    public void shutdown() {
+        INSTANCES.remove(getInstanceName(), this);
+
+        super.shutdown();
+    }
+
+    /**
+     * 根据调度器名称获取对应的{@code QuartzJobStoreTX}
+     *
+     * @param schedulerName 调度器名称
+     * @return 对应的{@code QuartzJobStoreTX}，调度器未使用{@code QuartzJobStoreTX}时返回null
+     */
+    public static QuartzJobStoreTX getInstance(String schedulerName) {
+        return schedulerName == null ? null : INSTANCES.get(schedulerName);
+    }
+
+    /**
+     * 批量暂停Trigger
+     * <p>WAITING、ACQUIRED状态置为PAUSED，BLOCKED状态置为PAUSED_BLOCKED，与{@link #pauseTrigger(Connection, TriggerKey)}一致
+     *
+     * @param triggerKeys TriggerKey集合
+     * @return 状态发生变化的Trigger数量
+     * @throws JobPersistenceException 数据库异常
+     */
+    public int pauseTriggerKeys(final Collection<TriggerKey> triggerKeys) throws JobPersistenceException {
+        return (Integer) executeInLock(LOCK_TRIGGER_ACCESS, conn -> pauseKeys(conn, TRIGGER_KEY_COLUMNS, toNameGroups(triggerKeys)));
+    }
+
+    /**
+     * 批量暂停任务，即暂停任务对应的所有Trigger
+     *
+     * @param jobKeys JobKey集合
+     * @return 状态发生变化的Trigger数量
+     * @throws JobPersistenceException 数据库异常
+     */
+    public int pauseJobKeys(final Collection<JobKey> jobKeys) throws JobPersistenceException {
+        return (Integer) executeInLock(LOCK_TRIGGER_ACCESS, conn -> pauseKeys(conn, JOB_KEY_COLUMNS, toNameGroups(jobKeys)));
+    }
+
+    /**
+     * 批量恢复Trigger
+     * <p>PAUSED、PAUSED_BLOCKED状态置为WAITING，其任务不允许并发且正在执行时置为BLOCKED.
+     * 恢复后已错过触发时间的Trigger由MisfireHandler按其misfire策略处理
+     *
+     * @param triggerKeys TriggerKey集合
+     * @return 状态发生变化的Trigger数量
+     * @throws JobPersistenceException 数据库异常
+     */
+    public int resumeTriggerKeys(final Collection<TriggerKey> triggerKeys) throws JobPersistenceException {
+        return (Integer) executeInLock(LOCK_TRIGGER_ACCESS, conn -> resumeKeys(conn, TRIGGER_KEY_COLUMNS, toNameGroups(triggerKeys)));
+    }
+
+    /**
+     * 批量恢复任务，即恢复任务对应的所有Trigger
+     *
+     * @param jobKeys JobKey集合
+     * @return 状态发生变化的Trigger数量
+     * @throws JobPersistenceException 数据库异常
+     */
+    public int resumeJobKeys(final Collection<JobKey> jobKeys) throws JobPersistenceException {
+        return (Integer) executeInLock(LOCK_TRIGGER_ACCESS, conn -> resumeKeys(conn, JOB_KEY_COLUMNS, toNameGroups(jobKeys)));
+    }
+
+    /**
+     * 批量查询Trigger状态，每{@link #MAX_KEYS_PER_STATEMENT}个Key一条SQL
+     *
+     * @param triggerKeys TriggerKey集合
+     * @return 各Trigger的状态，不存在的Trigger为{@link TriggerState#NONE}
+     * @throws JobPersistenceException 数据库异常
+     */
+    public Map<TriggerKey, TriggerState> selectTriggerStates(final Collection<TriggerKey> triggerKeys) throws JobPersistenceException {
+        return executeWithoutLock(conn -> {
+            Map<TriggerKey, TriggerState> triggerStates = new HashMap<>(triggerKeys.size() * 2);
+
+            List<String[]> nameGroups = toNameGroups(triggerKeys);
+
+            for (int from = 0; from < nameGroups.size(); from += MAX_KEYS_PER_STATEMENT) {
+                triggerStates.putAll(selectTriggerStates(conn, TRIGGER_KEY_COLUMNS, nameGroups.subList(from, Math.min(from + MAX_KEYS_PER_STATEMENT, nameGroups.size()))));
+            }
+
+            for (TriggerKey triggerKey : triggerKeys) {
+                triggerStates.putIfAbsent(triggerKey, TriggerState.NONE);
+            }
+
+            return triggerStates;
+        });
+    }
+
+    /**
+     * 登记分片任务的一次触发，并写入全部分片Trigger
+     * <p>进度记录与分片Trigger在一次锁获取、一个事务内写入，任一写入失败时均不生效
+     *
+     * @param runId    触发标识
+     * @param jobKey   任务
+     * @param triggers 分片Trigger，已计算首次触发时间
+     * @throws JobPersistenceException 数据库异常，或Trigger已存在
+     */
+    public void insertJobProgress(final String runId, final JobKey jobKey, final List<OperableTrigger> triggers) throws JobPersistenceException {
+        executeInLock(LOCK_TRIGGER_ACCESS, conn -> {
+            PreparedStatement ps = null;
+
+            try {
+                ps = conn.prepareStatement(rtp(INSERT_JOB_PROGRESS));
+                ps.setString(1, runId);
+                ps.setString(2, jobKey.getName());
+                ps.setString(3, jobKey.getGroup());
+                ps.setInt(4, triggers.size());
+                ps.setLong(5, System.currentTimeMillis());
+                ps.executeUpdate();
+            } catch (SQLException e) {
+                throw new JobPersistenceException("登记分片任务进度失败: " + e.getMessage(), e);
+            } finally {
+                Util.closeStatement(ps);
+            }
+
+            for (OperableTrigger trigger : triggers) {
+                storeTrigger(conn, trigger, null, false, STATE_WAITING, false, false);
+            }
+
+            signalSchedulingChangeOnTxCompletion(0L);
+
+            return null;
+        });
+    }
+
+    /**
+     * 记录一个分片结束，并返回累计进度
+     * <p>计数、读取在同一事务内完成，更新持有行锁，集群中并发结束的分片依次累加，恰有一个分片读到全部结束；
+     * 全部结束时删除进度记录，重复执行的分片随后返回null.
+     * <p>按分片序号幂等：同一分片重复结束（如重试）时不重复计数，先失败后成功的分片改计为成功
+     *
+     * @param runId      触发标识
+     * @param shardIndex 分片序号
+     * @param succeeded  分片是否执行成功
+     * @return 累计进度，触发标识不存在或分片已计数时返回null
+     * @throws JobPersistenceException 数据库异常
+     */
+    public QuartzShardProgress completeShard(final String runId, final int shardIndex, final boolean succeeded) throws JobPersistenceException {
+        return executeWithoutLock(conn -> {
+            PreparedStatement ps = null;
+            ResultSet rs = null;
+
+            try {
+                ps = conn.prepareStatement(rtp(SELECT_JOB_PROGRESS_SHARD));
+                ps.setString(1, runId);
+                ps.setInt(2, shardIndex);
+                rs = ps.executeQuery();
+
+                boolean completed = rs.next();
+                boolean completedSucceeded = completed && rs.getInt(1) == 1;
+
+                Util.closeResultSet(rs);
+                rs = null;
+                Util.closeStatement(ps);
+
+                if (completed) {
+                    if (completedSucceeded || !succeeded) {
+                        return null;
+                    }
+
+                    ps = conn.prepareStatement(rtp(RETRY_SHARD_SUCCEEDED));
+                    ps.setString(1, runId);
+
+                    if (ps.executeUpdate() == 0) {
+                        return null;
+                    }
+
+                    Util.closeStatement(ps);
+
+                    ps = conn.prepareStatement(rtp(UPDATE_JOB_PROGRESS_SHARD));
+                    ps.setLong(1, System.currentTimeMillis());
+                    ps.setString(2, runId);
+                    ps.setInt(3, shardIndex);
+                    ps.executeUpdate();
+                } else {
+                    ps = conn.prepareStatement(rtp(succeeded ? INCREMENT_SHARD_SUCCEEDED : INCREMENT_SHARD_FAILED));
+                    ps.setString(1, runId);
+
+                    if (ps.executeUpdate() == 0) {
+                        return null;
+                    }
+
+                    Util.closeStatement(ps);
+
+                    ps = conn.prepareStatement(rtp(INSERT_JOB_PROGRESS_SHARD));
+                    ps.setString(1, runId);
+                    ps.setInt(2, shardIndex);
+                    ps.setInt(3, succeeded ? 1 : 0);
+                    ps.setLong(4, System.currentTimeMillis());
+                    ps.executeUpdate();
+                }
+
+                Util.closeStatement(ps);
+
+                ps = conn.prepareStatement(rtp(SELECT_JOB_PROGRESS));
+                ps.setString(1, runId);
+                rs = ps.executeQuery();
+
+                if (!rs.next()) {
+                    return null;
+                }
+
+                QuartzShardProgress progress = new QuartzShardProgress(runId, new JobKey(rs.getString(1), rs.getString(2)),
+                        rs.getInt(3), rs.getInt(4), rs.getInt(5), rs.getLong(6));
+
+                if (progress.isFinished()) {
+                    deleteJobProgress(conn, runId);
+                }
+
+                return progress;
+            } catch (SQLException e) {
+                throw new JobPersistenceException("更新分片任务进度失败: " + e.getMessage(), e);
+            } finally {
+                Util.closeResultSet(rs);
+                Util.closeStatement(ps);
+            }
+        });
+    }
+
+    /**
+     * 删除任务在指定时间之前开始、仍未结束的触发进度，用于清理分片所在节点宕机等原因无法结束的触发
+     * <p>集群中多个节点并发清理时，每条进度记录只由一个节点删除并返回
+     *
+     * @param jobKey        任务
+     * @param startedBefore 触发时间早于该时间的进度将被删除
+     * @return 本次删除的进度
+     * @throws JobPersistenceException 数据库异常
+     */
+    public List<QuartzShardProgress> deleteExpiredJobProgress(final JobKey jobKey, final long startedBefore) throws JobPersistenceException {
+        return executeWithoutLock(conn -> {
+            PreparedStatement ps = null;
+            ResultSet rs = null;
+
+            List<QuartzShardProgress> expired = new ArrayList<>();
+
+            try {
+                ps = conn.prepareStatement(rtp(SELECT_EXPIRED_JOB_PROGRESS));
+                ps.setString(1, jobKey.getName());
+                ps.setString(2, jobKey.getGroup());
+                ps.setLong(3, startedBefore);
+                rs = ps.executeQuery();
+
+                while (rs.next()) {
+                    expired.add(new QuartzShardProgress(rs.getString(1), jobKey, rs.getInt(2), rs.getInt(3), rs.getInt(4), rs.getLong(5)));
+                }
+
+                List<QuartzShardProgress> deleted = new ArrayList<>(expired.size());
+
+                for (QuartzShardProgress progress : expired) {
+                    if (deleteJobProgress(conn, progress.getRunId())) {
+                        deleted.add(progress);
+                    }
+                }
+
+                return deleted;
+            } catch (SQLException e) {
+                throw new JobPersistenceException("清理分片任务进度失败: " + e.getMessage(), e);
+            } finally {
+                Util.closeResultSet(rs);
+                Util.closeStatement(ps);
+            }
+        });
+    }
+
+    /**
+     * 删除一次触发的进度及各分片的结束记录
+     *
+     * @return 进度记录是否由本次删除
+     */
+    private boolean deleteJobProgress(Connection conn, String runId) throws SQLException {
+        PreparedStatement ps = null;
+
+        try {
+            ps = conn.prepareStatement(rtp(DELETE_JOB_PROGRESS));
+            ps.setString(1, runId);
+
+            if (ps.executeUpdate() == 0) {
+                return false;
+            }
+
+            Util.closeStatement(ps);
+
+            ps = conn.prepareStatement(rtp(DELETE_JOB_PROGRESS_SHARDS));
+            ps.setString(1, runId);
+            ps.executeUpdate();
+
+            return true;
+        } finally {
+            Util.closeStatement(ps);
+        }
+    }
+
+    /**
+     * 查询分块批处理任务的检查点
+     *
+     * @param jobKey 任务
+     * @return 检查点，不存在时返回null
+     * @throws JobPersistenceException 数据库异常
+     */
+    public QuartzCheckpoint selectJobCheckpoint(final JobKey jobKey) throws JobPersistenceException {
+        return executeWithoutLock(conn -> {
+            PreparedStatement ps = null;
+            ResultSet rs = null;
+
+            try {
+                ps = conn.prepareStatement(rtp(SELECT_JOB_CHECKPOINT));
+                ps.setString(1, jobKey.getName());
+                ps.setString(2, jobKey.getGroup());
+                rs = ps.executeQuery();
+
+                return rs.next() ? new QuartzCheckpoint(rs.getString(1), rs.getLong(2), rs.getLong(3)) : null;
+            } catch (SQLException e) {
+                throw new JobPersistenceException("查询任务检查点失败: " + e.getMessage(), e);
+            } finally {
+                Util.closeResultSet(rs);
+                Util.closeStatement(ps);
+            }
+        });
+    }
+
+    /**
+     * 保存分块批处理任务的检查点，不存在时新增，在独立的事务中提交
+     *
+     * @param jobKey     任务
+     * @param checkpoint 读取位置
+     * @param itemCount  已读取的数据条数
+     * @throws JobPersistenceException 数据库异常
+     */
+    public void saveJobCheckpoint(final JobKey jobKey, final String checkpoint, final long itemCount) throws JobPersistenceException {
+        executeWithoutLock(conn -> {
+            PreparedStatement ps = null;
+            long now = System.currentTimeMillis();
+
+            try {
+                ps = conn.prepareStatement(rtp(UPDATE_JOB_CHECKPOINT));
+                ps.setString(1, checkpoint);
+                ps.setLong(2, itemCount);
+                ps.setLong(3, now);
+                ps.setString(4, jobKey.getName());
+                ps.setString(5, jobKey.getGroup());
+
+                if (ps.executeUpdate() > 0) {
+                    return 1;
+                }
+
+                Util.closeStatement(ps);
+
+                ps = conn.prepareStatement(rtp(INSERT_JOB_CHECKPOINT));
+                ps.setString(1, jobKey.getName());
+                ps.setString(2, jobKey.getGroup());
+                ps.setString(3, checkpoint);
+                ps.setLong(4, itemCount);
+                ps.setLong(5, now);
+
+                return ps.executeUpdate();
+            } catch (SQLException e) {
+                throw new JobPersistenceException("保存任务检查点失败: " + e.getMessage(), e);
+            } finally {
+                Util.closeStatement(ps);
+            }
+        });
+    }
+
+    /**
+     * 删除分块批处理任务的检查点
+     *
+     * @param jobKey 任务
+     * @return 是否存在检查点
+     * @throws JobPersistenceException 数据库异常
+     */
+    public boolean deleteJobCheckpoint(final JobKey jobKey) throws JobPersistenceException {
+        return executeWithoutLock(conn -> {
+            PreparedStatement ps = null;
+
+            try {
+                ps = conn.prepareStatement(rtp(DELETE_JOB_CHECKPOINT));
+                ps.setString(1, jobKey.getName());
+                ps.setString(2, jobKey.getGroup());
+
+                return ps.executeUpdate() > 0;
+            } catch (SQLException e) {
+                throw new JobPersistenceException("删除任务检查点失败: " + e.getMessage(), e);
+            } finally {
+                Util.closeStatement(ps);
+            }
+        });
+    }
+
+    /**
+     * 批量写入任务执行历史，一次JDBC批处理、一个事务内完成
+     * <p>整批失败时（如重复提交导致ENTRY_ID冲突、某条记录超出列长度）逐条重新写入，每条一个事务，跳过数据错误或违反约束的记录.
+     *
+     * @param executions 执行记录
+     * @return 写入的记录数
+     * @throws JobPersistenceException 数据库异常
+     */
+    public int insertJobHistory(final List<QuartzJobExecution> executions) throws JobPersistenceException {
+        if (executions.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            return executeWithoutLock(conn -> insertJobHistory(conn, executions));
+        } catch (JobPersistenceException e) {
+            if (!isBatchFailure(e)) {
+                throw e;
+            }
+
+            getLog().warn("批量写入任务执行历史失败，逐条重新写入{}条记录: {}", executions.size(), e.getMessage());
+        }
+
+        int inserted = 0;
+
+        for (QuartzJobExecution execution : executions) {
+            try {
+                inserted += executeWithoutLock(conn -> insertJobHistory(conn, Collections.singletonList(execution)));
+            } catch (JobPersistenceException e) {
+                if (!isDataError(e)) {
+                    throw e;
+                }
+
+                getLog().warn("跳过任务执行历史{}: {}", execution.getEntryId(), e.getMessage());
+            }
+        }
+
+        return inserted;
+    }
+
+    private int insertJobHistory(Connection conn, List<QuartzJobExecution> executions) throws JobPersistenceException {
+        PreparedStatement ps = null;
+
+        try {
+            ps = conn.prepareStatement(rtp(INSERT_JOB_HISTORY));
+
+            for (QuartzJobExecution execution : executions) {
+                ps.setString(1, execution.getEntryId());
+                ps.setString(2, execution.getJobKey().getName());
+                ps.setString(3, execution.getJobKey().getGroup());
+                ps.setString(4, execution.getTriggerKey().getName());
+                ps.setString(5, execution.getTriggerKey().getGroup());
+                ps.setString(6, execution.getInstanceName());
+                ps.setLong(7, execution.getStartTime());
+                ps.setLong(8, execution.getEndTime());
+                ps.setLong(9, execution.getRunTime());
+                ps.setString(10, execution.getOutcome().name());
+                ps.setString(11, truncateBytes(execution.getExceptionClass(), MAX_EXCEPTION_CLASS_BYTES));
+                ps.setString(12, truncateBytes(execution.getExceptionMessage(), MAX_EXCEPTION_MESSAGE_BYTES));
+                ps.addBatch();
+            }
+
+            ps.executeBatch();
+
+            return executions.size();
+        } catch (SQLException e) {
+            throw new JobPersistenceException("写入任务执行历史失败: " + e.getMessage(), e);
+        } finally {
+            Util.closeStatement(ps);
+        }
+    }
+
+    /**
+     * 批处理是否因其中的记录失败：驱动抛出{@link BatchUpdateException}，或数据错误、违反约束。
+     * 其它异常（如连接失败）逐条重试也不会成功
+     */
+    private static boolean isBatchFailure(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof BatchUpdateException) {
+                return true;
+            }
+        }
+
+        return isDataError(e);
+    }
+
+    /**
+     * 是否由记录本身的数据错误（SQLState以22开头，如超出列长度）或违反完整性约束（SQLState以23开头）引起
+     */
+    private static boolean isDataError(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException) {
+                for (SQLException sqlException = (SQLException) cause; sqlException != null; sqlException = sqlException.getNextException()) {
+                    String sqlState = sqlException.getSQLState();
+
+                    if (sqlException instanceof SQLIntegrityConstraintViolationException || sqlException instanceof SQLDataException
+                            || (sqlState != null && (sqlState.startsWith("22") || sqlState.startsWith("23")))) {
+                        return true;
+                    }
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * 按开始时间倒序查询任务在[from, to)内的执行历史，走{@code IDX_QRTZ_JH_J_ST}索引
+     *
+     * @param jobKey 任务
+     * @param from   开始时间下限（含）
+     * @param to     开始时间上限（不含）
+     * @param limit  最大记录数
+     * @return 执行历史
+     * @throws JobPersistenceException 数据库异常
+     */
+    public List<QuartzJobExecution> selectJobHistory(final JobKey jobKey, final long from, final long to, final int limit) throws JobPersistenceException {
+        return executeWithoutLock(conn -> {
+            PreparedStatement ps = null;
+            ResultSet rs = null;
+
+            try {
+                ps = prepareStatement(conn, SELECT_JOB_HISTORY, Arrays.asList(jobKey.getName(), jobKey.getGroup(), from, to), limit);
+                rs = ps.executeQuery();
+
+                List<QuartzJobExecution> executions = new ArrayList<>();
+
+                while (rs.next() && executions.size() < limit) {
+                    executions.add(new QuartzJobExecution(rs.getString(1), jobKey, new TriggerKey(rs.getString(2), rs.getString(3)),
+                            rs.getString(4), rs.getLong(5), rs.getLong(6), QuartzJobExecution.Outcome.valueOf(rs.getString(7)),
+                            rs.getString(8), rs.getString(9)));
+                }
+
+                return executions;
+            } catch (SQLException e) {
+                throw new JobPersistenceException("查询任务执行历史失败: " + e.getMessage(), e);
+            } finally {
+                Util.closeResultSet(rs);
+                Util.closeStatement(ps);
+            }
+        });
+    }
+
+    /**
+     * 统计任务在[from, to)内的执行情况，由数据库按执行结果聚合
+     *
+     * @param jobKey 任务
+     * @param from   开始时间下限（含）
+     * @param to     开始时间上限（不含）
+     * @return 执行统计
+     * @throws JobPersistenceException 数据库异常
+     */
+    public QuartzJobHistoryStats selectJobHistoryStats(final JobKey jobKey, final long from, final long to) throws JobPersistenceException {
+        return executeWithoutLock(conn -> {
+            PreparedStatement ps = null;
+            ResultSet rs = null;
+
+            try {
+                ps = prepareStatement(conn, SELECT_JOB_HISTORY_STATS, Arrays.asList(jobKey.getName(), jobKey.getGroup(), from, to), 0);
+                rs = ps.executeQuery();
+
+                long succeeded = 0, failed = 0, vetoed = 0, executed = 0, totalRunTime = 0, maxRunTime = 0;
+
+                while (rs.next()) {
+                    long count = rs.getLong(2);
+
+                    switch (QuartzJobExecution.Outcome.valueOf(rs.getString(1))) {
+                        case SUCCEEDED:
+                            succeeded = count;
+                            break;
+                        case FAILED:
+                            failed = count;
+                            break;
+                        default:
+                            vetoed = count;
+                            continue;
+                    }
+
+                    executed += count;
+                    totalRunTime += rs.getLong(3);
+                    maxRunTime = Math.max(maxRunTime, rs.getLong(4));
+                }
+
+                return new QuartzJobHistoryStats(jobKey, succeeded + failed + vetoed, succeeded, failed, vetoed,
+                        executed > 0 ? totalRunTime / executed : 0L, maxRunTime);
+            } catch (SQLException e) {
+                throw new JobPersistenceException("统计任务执行历史失败: " + e.getMessage(), e);
+            } finally {
+                Util.closeResultSet(rs);
+                Util.closeStatement(ps);
+            }
+        });
+    }
+
+    /**
+     * 删除开始时间早于{@code cutoff}的执行历史
+     * <p>从最早的记录起按{@code partitionMillis}划分时间分区，每个分区一条DELETE、一个事务，避免单条大事务长时间持有行锁、撑大回滚段.
+     *
+     * @param cutoff          保留的最早开始时间
+     * @param partitionMillis 每个分区的时间跨度
+     * @return 删除的记录数
+     * @throws JobPersistenceException 数据库异常
+     */
+    public int purgeJobHistory(final long cutoff, final long partitionMillis) throws JobPersistenceException {
+        Long oldest = executeWithoutLock(conn -> {
+            PreparedStatement ps = null;
+            ResultSet rs = null;
+
+            try {
+                ps = conn.prepareStatement(rtp(SELECT_JOB_HISTORY_MIN_START_TIME));
+                ps.setLong(1, cutoff);
+                rs = ps.executeQuery();
+
+                if (!rs.next()) {
+                    return null;
+                }
+
+                long minStartTime = rs.getLong(1);
+
+                return rs.wasNull() ? null : minStartTime;
+            } catch (SQLException e) {
+                throw new JobPersistenceException("查询任务执行历史失败: " + e.getMessage(), e);
+            } finally {
+                Util.closeResultSet(rs);
+                Util.closeStatement(ps);
+            }
+        });
+
+        if (oldest == null) {
+            return 0;
+        }
+
+        int deleted = 0;
+
+        for (long boundary = oldest + partitionMillis; ; boundary += partitionMillis) {
+            final long before = Math.min(boundary, cutoff);
+
+            deleted += executeWithoutLock(conn -> {
+                PreparedStatement ps = null;
+
+                try {
+                    ps = conn.prepareStatement(rtp(DELETE_JOB_HISTORY_BEFORE));
+                    ps.setLong(1, before);
+
+                    return ps.executeUpdate();
+                } catch (SQLException e) {
+                    throw new JobPersistenceException("清理任务执行历史失败: " + e.getMessage(), e);
+                } finally {
+                    Util.closeStatement(ps);
+                }
+            });
+
+            if (before >= cutoff) {
+                return deleted;
+            }
+        }
+    }
+
+    /**
+     * 按JobKey顺序（group、name）分页查询任务快照，一页在一个连接内完成
+     * <p>每{@link #MAX_KEYS_PER_STATEMENT}个任务以一条SQL读取任务详情、一条SQL读取全部Trigger及其状态，
+     * SIMPLE、CRON类型的Trigger再各以一条SQL读取，其它类型逐个读取.
+     * <p>是否有下一页按扫描到的JobKey数量判断，分页查询与读取详情之间被删除的任务不影响翻页.
+     *
+     * @param cursor 上一页返回的{@link QuartzPage#getNextCursor()}，首页传null
+     * @param limit  每页数量
+     * @return 一页任务快照
+     * @throws JobPersistenceException 数据库异常、游标格式错误
+     */
+    public QuartzPage<QuartzJobSnapshot> selectJobSnapshots(String cursor, final int limit) throws JobPersistenceException {
+        final JobKey after;
+
+        if (cursor != null) {
+            String[] jobKey = decodeCursor(cursor, 2);
+
+            after = new JobKey(jobKey[1], jobKey[0]);
+        } else {
+            after = null;
+        }
+
+        return executeWithoutLock(conn -> {
+            List<JobKey> jobKeys = selectJobKeys(conn, after, limit);
+
+            List<QuartzJobSnapshot> jobSnapshots = new ArrayList<>(jobKeys.size());
+
+            try {
+                for (int from = 0; from < jobKeys.size(); from += MAX_KEYS_PER_STATEMENT) {
+                    List<JobKey> chunk = jobKeys.subList(from, Math.min(from + MAX_KEYS_PER_STATEMENT, jobKeys.size()));
+
+                    List<String[]> nameGroups = toNameGroups(chunk);
+
+                    Map<JobKey, JobDetail> jobDetails = selectJobDetails(conn, nameGroups);
+
+                    Map<JobKey, List<OperableTrigger>> triggers = new HashMap<>();
+
+                    Map<TriggerKey, TriggerState> triggerStates = selectTriggersOfJobs(conn, nameGroups, triggers);
+
+                    for (JobKey jobKey : chunk) {
+                        JobDetail jobDetail = jobDetails.get(jobKey);
+
+                        // 分页查询与读取详情之间任务已被删除
+                        if (jobDetail == null) {
+                            continue;
+                        }
+
+                        List<OperableTrigger> jobTriggers = triggers.getOrDefault(jobKey, new ArrayList<>());
+
+                        Map<TriggerKey, TriggerState> states = new HashMap<>();
+
+                        for (OperableTrigger trigger : jobTriggers) {
+                            states.put(trigger.getKey(), triggerStates.get(trigger.getKey()));
+                        }
+
+                        jobSnapshots.add(new QuartzJobSnapshot(jobDetail, jobTriggers, states));
+                    }
+                }
+            } catch (SQLException | IOException | ClassNotFoundException e) {
+                throw new JobPersistenceException("查询任务快照失败: " + e.getMessage(), e);
+            }
+
+            String nextCursor = null;
+
+            if (jobKeys.size() >= limit) {
+                JobKey last = jobKeys.get(jobKeys.size() - 1);
+
+                nextCursor = encodeCursor(last.getGroup(), last.getName());
+            }
+
+            return new QuartzPage<>(jobSnapshots, nextCursor);
+        });
+    }
+
+    private Map<JobKey, JobDetail> selectJobDetails(Connection conn, List<String[]> nameGroups) throws SQLException, IOException, ClassNotFoundException {
+        PreparedStatement ps = null;
+        ResultSet rs = null;
+
+        try {
+            ps = prepareKeyStatement(conn, SELECT_JOB_DETAILS, JOB_KEY_COLUMNS, nameGroups);
+            rs = ps.executeQuery();
+
+            Map<JobKey, JobDetail> jobDetails = new HashMap<>();
+
+            while (rs.next()) {
+                JobDetailImpl jobDetail = new JobDetailImpl();
+
+                jobDetail.setKey(new JobKey(rs.getString(1), rs.getString(2)));
+                jobDetail.setDescription(rs.getString(3));
+                jobDetail.setJobClass(getClassLoadHelper().loadClass(rs.getString(4), Job.class));
+                jobDetail.setDurability(rs.getBoolean(5));
+                jobDetail.setRequestsRecovery(rs.getBoolean(6));
+                jobDetail.setJobDataMap(readJobDataMap(rs, 7));
+
+                jobDetails.put(jobDetail.getKey(), jobDetail);
+            }
+
+            return jobDetails;
+        } finally {
+            Util.closeResultSet(rs);
+            Util.closeStatement(ps);
+        }
+    }
+
+    private Map<TriggerKey, TriggerState> selectTriggersOfJobs(Connection conn, List<String[]> nameGroups, Map<JobKey, List<OperableTrigger>> triggers)
+            throws SQLException, IOException, ClassNotFoundException, JobPersistenceException {
+        Map<TriggerKey, TriggerState> triggerStates = new HashMap<>();
+
+        Map<TriggerKey, AbstractTrigger<?>> simpleTriggers = new HashMap<>();
+
+        Map<TriggerKey, AbstractTrigger<?>> cronTriggers = new HashMap<>();
+
+        List<TriggerKey> otherTriggers = new ArrayList<>();
+
+        PreparedStatement ps = null;
+        ResultSet rs = null;
+
+        try {
+            ps = prepareKeyStatement(conn, SELECT_TRIGGERS_OF_JOBS, JOB_KEY_COLUMNS, nameGroups);
+            rs = ps.executeQuery();
+
+            while (rs.next()) {
+                TriggerKey triggerKey = new TriggerKey(rs.getString(1), rs.getString(2));
+                String triggerType = rs.getString(10);
+
+                triggerStates.put(triggerKey, toTriggerState(rs.getString(9)));
+
+                AbstractTrigger<?> trigger;
+
+                if (Constants.TTYPE_SIMPLE.equals(triggerType)) {
+                    trigger = new SimpleTriggerImpl();
+                    simpleTriggers.put(triggerKey, trigger);
+                } else if (Constants.TTYPE_CRON.equals(triggerType)) {
+                    trigger = new CronTriggerImpl();
+                    cronTriggers.put(triggerKey, trigger);
+                } else {
+                    otherTriggers.add(triggerKey);
+                    continue;
+                }
+
+                trigger.setKey(triggerKey);
+                trigger.setJobKey(new JobKey(rs.getString(3), rs.getString(4)));
+                trigger.setDescription(rs.getString(5));
+                trigger.setNextFireTime(toDate(rs.getLong(6)));
+                trigger.setPreviousFireTime(toDate(rs.getLong(7)));
+                trigger.setPriority(rs.getInt(8));
+                trigger.setStartTime(new Date(rs.getLong(11)));
+                trigger.setEndTime(toDate(rs.getLong(12)));
+                trigger.setCalendarName(rs.getString(13));
+                trigger.setMisfireInstruction(rs.getInt(14));
+                trigger.setJobDataMap(readJobDataMap(rs, 15));
+
+                triggers.computeIfAbsent(trigger.getJobKey(), key -> new ArrayList<>()).add(trigger);
+            }
+        } finally {
+            Util.closeResultSet(rs);
+            Util.closeStatement(ps);
+        }
+
+        if (!simpleTriggers.isEmpty()) {
+            try {
+                ps = prepareKeyStatement(conn, SELECT_SIMPLE_TRIGGERS_OF_JOBS, JOB_KEY_COLUMNS, nameGroups);
+                rs = ps.executeQuery();
+
+                while (rs.next()) {
+                    SimpleTriggerImpl trigger = (SimpleTriggerImpl) simpleTriggers.get(new TriggerKey(rs.getString(1), rs.getString(2)));
+
+                    if (trigger != null) {
+                        trigger.setRepeatCount(rs.getInt(3));
+                        trigger.setRepeatInterval(rs.getLong(4));
+                        trigger.setTimesTriggered(rs.getInt(5));
+                    }
+                }
+            } finally {
+                Util.closeResultSet(rs);
+                Util.closeStatement(ps);
+            }
+        }
+
+        if (!cronTriggers.isEmpty()) {
+            try {
+                ps = prepareKeyStatement(conn, SELECT_CRON_TRIGGERS_OF_JOBS, JOB_KEY_COLUMNS, nameGroups);
+                rs = ps.executeQuery();
+
+                while (rs.next()) {
+                    CronTriggerImpl trigger = (CronTriggerImpl) cronTriggers.get(new TriggerKey(rs.getString(1), rs.getString(2)));
+
+                    if (trigger != null) {
+                        String timeZoneId = rs.getString(4);
+
+                        trigger.setCronExpression(rs.getString(3));
+
+                        if (timeZoneId != null) {
+                            trigger.setTimeZone(TimeZone.getTimeZone(timeZoneId));
+                        }
+                    }
+                }
+            } catch (ParseException e) {
+                throw new JobPersistenceException("Cron表达式格式错误: " + e.getMessage(), e);
+            } finally {
+                Util.closeResultSet(rs);
+                Util.closeStatement(ps);
+            }
+        }
+
+        // CAL_INT、DAILY_I、BLOB等类型逐个读取
+        for (TriggerKey triggerKey : otherTriggers) {
+            OperableTrigger trigger = getDelegate().selectTrigger(conn, triggerKey);
+
+            if (trigger != null) {
+                triggers.computeIfAbsent(trigger.getJobKey(), key -> new ArrayList<>()).add(trigger);
+            }
+        }
+
+        return triggerStates;
+    }
+
+    private PreparedStatement prepareKeyStatement(Connection conn, String sql, String keyColumns, List<String[]> nameGroups) throws SQLException {
+        StringBuilder statement = new StringBuilder(sql).append('(');
+
+        for (int i = 0; i < nameGroups.size(); i++) {
+            if (i > 0) {
+                statement.append(" OR ");
+            }
+
+            statement.append(keyColumns);
+        }
+
+        statement.append(')');
+
+        PreparedStatement ps = conn.prepareStatement(rtp(statement.toString()));
+
+        int index = 1;
+
+        for (String[] nameGroup : nameGroups) {
+            ps.setString(index++, nameGroup[0]);
+            ps.setString(index++, nameGroup[1]);
+        }
+
+        return ps;
+    }
+
+    /**
+     * 读取JOB_DATA列，与{@code StdJDBCDelegate}一致：useProperties时为{@link Properties}格式，否则为序列化的Map
+     */
+    private JobDataMap readJobDataMap(ResultSet rs, int column) throws SQLException, IOException, ClassNotFoundException {
+        InputStream binaryInput = rs.getBinaryStream(column);
+
+        if (binaryInput == null) {
+            return new JobDataMap();
+        }
+
+        try {
+            if (canUseProperties()) {
+                Properties properties = new Properties();
+
+                properties.load(binaryInput);
+
+                return new JobDataMap(properties);
+            }
+
+            PushbackInputStream input = new PushbackInputStream(binaryInput);
+
+            int first = input.read();
+
+            if (first < 0) {
+                return new JobDataMap();
+            }
+
+            input.unread(first);
+
+            try (ObjectInputStream in = new ObjectInputStream(input)) {
+                Object map = in.readObject();
+
+                return map == null ? new JobDataMap() : new JobDataMap((Map<?, ?>) map);
+            }
+        } finally {
+            binaryInput.close();
+        }
+    }
+
+    /**
+     * 批量写入任务快照，一批在一次锁获取、一个事务内完成
+     * <p>Trigger保留快照中的下次触发时间、已触发次数等信息，不重新计算；暂停、完成、错误状态原样恢复，其它状态恢复为WAITING
+     *
+     * @param jobSnapshots 任务快照
+     * @param replace 是否覆盖已存在的任务、Trigger
+     * @throws JobPersistenceException 数据库异常，或{@code replace}为false时任务、Trigger已存在
+     */
+    public void storeJobSnapshots(final Collection<QuartzJobSnapshot> jobSnapshots, final boolean replace) throws JobPersistenceException {
+        executeInLock(LOCK_TRIGGER_ACCESS, conn -> {
+            for (QuartzJobSnapshot jobSnapshot : jobSnapshots) {
+                storeJob(conn, jobSnapshot.getJobDetail(), replace);
+
+                for (OperableTrigger trigger : jobSnapshot.getTriggers()) {
+                    TriggerState triggerState = jobSnapshot.getTriggerState(trigger);
+
+                    switch (triggerState) {
+                        case PAUSED:
+                            storeTrigger(conn, trigger, jobSnapshot.getJobDetail(), replace, STATE_PAUSED, true, false);
+                            break;
+                        case COMPLETE:
+                            storeTrigger(conn, trigger, jobSnapshot.getJobDetail(), replace, STATE_COMPLETE, true, false);
+                            break;
+                        case ERROR:
+                            storeTrigger(conn, trigger, jobSnapshot.getJobDetail(), replace, STATE_ERROR, true, false);
+                            break;
+                        default:
+                            storeTrigger(conn, trigger, jobSnapshot.getJobDetail(), replace, STATE_WAITING, false, false);
+                            break;
+                    }
+                }
+            }
+
+            signalSchedulingChangeOnTxCompletion(0L);
+
+            return null;
+        });
+    }
+
+    /**
+     * 比较并写入任务及其Trigger，一批在一次锁获取、一个事务内完成
+     * <p>按JobKey集合读取已保存的任务及其Trigger：任务定义发生变化时覆盖JobDetail，只覆盖定义发生变化的Trigger，定义均未变化的任务不写入；
+     * 读取与写入在同一事务、同一把锁内，并发的保存不会交错.
+     *
+     * @param triggersAndJobs 任务及其Trigger，Trigger须已设置所属任务并通过校验
+     * @param jobUnchanged 判断任务定义与已保存的是否一致
+     * @param triggerUnchanged 判断Trigger定义与已保存的是否一致，已保存的Trigger不存在或属于其它任务时为null
+     * @return 实际写入的任务及其写入的Trigger
+     * @throws JobPersistenceException 数据库异常、Calendar不存在或Trigger永远不会触发
+     */
+    public Map<JobDetail, Set<Trigger>> storeChangedJobsAndTriggers(final Map<JobDetail, ? extends Set<? extends Trigger>> triggersAndJobs,
+                                                                    final BiPredicate<JobDetail, JobDetail> jobUnchanged,
+                                                                    final BiPredicate<Trigger, Trigger> triggerUnchanged) throws JobPersistenceException {
+        return (Map<JobDetail, Set<Trigger>>) executeInLock(LOCK_TRIGGER_ACCESS, conn -> {
+            Map<JobDetail, Set<Trigger>> stored = new LinkedHashMap<>();
+
+            List<JobDetail> jobDetails = new ArrayList<>(triggersAndJobs.keySet());
+
+            try {
+                for (int from = 0; from < jobDetails.size(); from += MAX_KEYS_PER_STATEMENT) {
+                    List<JobDetail> chunk = jobDetails.subList(from, Math.min(from + MAX_KEYS_PER_STATEMENT, jobDetails.size()));
+
+                    List<String[]> nameGroups = toNameGroups(chunk.stream().map(JobDetail::getKey).collect(Collectors.toList()));
+
+                    Map<JobKey, JobDetail> jobDetailsInStore = selectJobDetails(conn, nameGroups);
+
+                    Map<JobKey, List<OperableTrigger>> triggersInStore = new HashMap<>();
+
+                    selectTriggersOfJobs(conn, nameGroups, triggersInStore);
+
+                    for (JobDetail jobDetail : chunk) {
+                        Map<TriggerKey, Trigger> jobTriggersInStore = new HashMap<>();
+
+                        for (OperableTrigger triggerInStore : triggersInStore.getOrDefault(jobDetail.getKey(), Collections.emptyList())) {
+                            jobTriggersInStore.put(triggerInStore.getKey(), triggerInStore);
+                        }
+
+                        Set<Trigger> changedTriggers = new LinkedHashSet<>();
+
+                        for (Trigger trigger : triggersAndJobs.get(jobDetail)) {
+                            if (!triggerUnchanged.test(trigger, jobTriggersInStore.get(trigger.getKey()))) {
+                                changedTriggers.add(trigger);
+                            }
+                        }
+
+                        JobDetail jobDetailInStore = jobDetailsInStore.get(jobDetail.getKey());
+
+                        boolean jobChanged = jobDetailInStore == null || !jobUnchanged.test(jobDetail, jobDetailInStore);
+
+                        if (!jobChanged && changedTriggers.isEmpty()) {
+                            continue;
+                        }
+
+                        if (jobChanged) {
+                            storeJob(conn, jobDetail, true);
+                        }
+
+                        for (Trigger trigger : changedTriggers) {
+                            storeTrigger(conn, scheduled(conn, (OperableTrigger) trigger), jobDetail, true, STATE_WAITING, false, false);
+                        }
+
+                        stored.put(jobDetail, changedTriggers);
+                    }
+                }
+            } catch (SQLException | IOException | ClassNotFoundException e) {
+                throw new JobPersistenceException("比较并写入任务失败: " + e.getMessage(), e);
+            }
+
+            if (!stored.isEmpty()) {
+                signalSchedulingChangeOnTxCompletion(0L);
+            }
+
+            return stored;
+        });
+    }
+
+    /**
+     * 与{@code QuartzScheduler#scheduleJob}一致，写入前计算首次触发时间
+     */
+    private OperableTrigger scheduled(Connection conn, OperableTrigger trigger) throws JobPersistenceException {
+        Calendar calendar = null;
+
+        if (trigger.getCalendarName() != null) {
+            calendar = retrieveCalendar(conn, trigger.getCalendarName());
+
+            if (calendar == null) {
+                throw new JobPersistenceException("Calendar " + trigger.getCalendarName() + "不存在，Trigger: " + trigger.getKey());
+            }
+        }
+
+        if (trigger.computeFirstFireTime(calendar) == null) {
+            throw new JobPersistenceException("Trigger " + trigger.getKey() + "按其配置永远不会触发！");
+        }
+
+        return trigger;
+    }
+
+    /**
+     * 游标分页查询Trigger，一页对应一条SQL
+     *
+     * @param query 查询条件
+     * @return 一页Trigger投影
+     * @throws JobPersistenceException 数据库异常、游标格式错误
+     */
+    public QuartzPage<QuartzTriggerView> selectTriggerViews(final QuartzTriggerQuery query) throws JobPersistenceException {
+        Set<String> states = new LinkedHashSet<>();
+
+        for (TriggerState triggerState : query.getStates()) {
+            states.addAll(toStoreStates(triggerState));
+        }
+
+        // 仅查询不存在的状态
+        if (!query.getStates().isEmpty() && states.isEmpty()) {
+            return new QuartzPage<>(new ArrayList<>(), null);
+        }
+
+        boolean sortByNextFireTime = QuartzTriggerQuery.Sort.NEXT_FIRE_TIME.equals(query.getSort());
+
+        StringBuilder sql = new StringBuilder(SELECT_TRIGGER_VIEWS);
+
+        List<Object> params = new ArrayList<>();
+
+        if (query.getGroupPrefix() != null) {
+            sql.append(" AND T.").append(Constants.COL_TRIGGER_GROUP).append(" LIKE ?").append(LIKE_ESCAPE_CLAUSE);
+            params.add(escapeLike(query.getGroupPrefix()) + "%");
+        }
+
+        if (!states.isEmpty()) {
+            sql.append(" AND T.").append(Constants.COL_TRIGGER_STATE).append(" IN (");
+
+            int i = 0;
+
+            for (String state : states) {
+                sql.append(i++ > 0 ? ", ?" : "?");
+                params.add(state);
+            }
+
+            sql.append(')');
+        }
+
+        if (query.getJobClassName() != null) {
+            sql.append(" AND J.").append(Constants.COL_JOB_CLASS).append(" = ?");
+            params.add(query.getJobClassName());
+        }
+
+        if (query.getNextFireTimeFrom() != null) {
+            sql.append(" AND T.").append(Constants.COL_NEXT_FIRE_TIME).append(" >= ?");
+            params.add(query.getNextFireTimeFrom().getTime());
+        }
+
+        if (query.getNextFireTimeTo() != null) {
+            sql.append(" AND T.").append(Constants.COL_NEXT_FIRE_TIME).append(" < ?");
+            params.add(query.getNextFireTimeTo().getTime());
+        }
+
+        // 没有下次触发时间的Trigger，NEXT_FIRE_TIME为-1
+        if (sortByNextFireTime) {
+            sql.append(" AND T.").append(Constants.COL_NEXT_FIRE_TIME).append(" > 0");
+        }
+
+        if (query.getCursor() != null) {
+            String[] cursor = decodeCursor(query.getCursor(), sortByNextFireTime ? 3 : 2);
+
+            String keyAfter = "(T." + Constants.COL_TRIGGER_GROUP + " > ? OR (T." + Constants.COL_TRIGGER_GROUP + " = ? AND T."
+                    + Constants.COL_TRIGGER_NAME + " > ?))";
+
+            if (sortByNextFireTime) {
+                long nextFireTime;
+
+                try {
+                    nextFireTime = Long.parseLong(cursor[0]);
+                } catch (NumberFormatException e) {
+                    throw new JobPersistenceException("游标格式错误！", e);
+                }
+
+                sql.append(" AND (T.").append(Constants.COL_NEXT_FIRE_TIME).append(" > ? OR (T.").append(Constants.COL_NEXT_FIRE_TIME)
+                        .append(" = ? AND ").append(keyAfter).append("))");
+                params.add(nextFireTime);
+                params.add(nextFireTime);
+                params.add(cursor[1]);
+                params.add(cursor[1]);
+                params.add(cursor[2]);
+            } else {
+                sql.append(" AND ").append(keyAfter);
+                params.add(cursor[0]);
+                params.add(cursor[0]);
+                params.add(cursor[1]);
+            }
+        }
+
+        sql.append(" ORDER BY ");
+
+        if (sortByNextFireTime) {
+            sql.append("T.").append(Constants.COL_NEXT_FIRE_TIME).append(", ");
+        }
+
+        sql.append("T.").append(Constants.COL_TRIGGER_GROUP).append(", T.").append(Constants.COL_TRIGGER_NAME);
+
+        final int limit = query.getLimit();
+
+        List<QuartzTriggerView> triggerViews = executeWithoutLock(conn -> {
+            PreparedStatement ps = null;
+            ResultSet rs = null;
+
+            try {
+                ps = prepareStatement(conn, sql.toString(), params, limit + 1);
+
+                rs = ps.executeQuery();
+
+                List<QuartzTriggerView> views = new ArrayList<>(limit + 1);
+
+                while (rs.next()) {
+                    views.add(new QuartzTriggerView(
+                            new TriggerKey(rs.getString(1), rs.getString(2)),
+                            new JobKey(rs.getString(3), rs.getString(4)),
+                            rs.getString(5),
+                            rs.getString(6),
+                            toTriggerState(rs.getString(7)),
+                            toDate(rs.getLong(8)),
+                            toDate(rs.getLong(9)),
+                            rs.getInt(10),
+                            rs.getString(11),
+                            rs.getString(12)));
+                }
+
+                return views;
+            } catch (SQLException e) {
+                throw new JobPersistenceException("分页查询Trigger失败: " + e.getMessage(), e);
+            } finally {
+                Util.closeResultSet(rs);
+                Util.closeStatement(ps);
+            }
+        });
+
+        String nextCursor = null;
+
+        // 多查询一条，用于判断是否存在下一页
+        if (triggerViews.size() > limit) {
+            triggerViews = triggerViews.subList(0, limit);
+
+            QuartzTriggerView last = triggerViews.get(limit - 1);
+
+            nextCursor = sortByNextFireTime
+                    ? encodeCursor(String.valueOf(last.getNextFireTime().getTime()), last.getKey().getGroup(), last.getKey().getName())
+                    : encodeCursor(last.getKey().getGroup(), last.getKey().getName());
+        }
+
+        return new QuartzPage<>(triggerViews, nextCursor);
+    }
+
+    /**
+     * 游标分页查询任务，按任务分组、名称升序，一页对应一条SQL
+     *
+     * @param groupPrefix 任务分组前缀，可为null
+     * @param jobClassName 任务类名，可为null
+     * @param cursor 上一页返回的游标，首页传null
+     * @param limit 每页数量
+     * @return 一页任务投影
+     * @throws JobPersistenceException 数据库异常、游标格式错误
+     */
+    public QuartzPage<QuartzJobView> selectJobViews(String groupPrefix, String jobClassName, String cursor, final int limit) throws JobPersistenceException {
+        StringBuilder sql = new StringBuilder(SELECT_JOB_VIEWS);
+
+        List<Object> params = new ArrayList<>();
+
+        if (groupPrefix != null) {
+            sql.append(" AND ").append(Constants.COL_JOB_GROUP).append(" LIKE ?").append(LIKE_ESCAPE_CLAUSE);
+            params.add(escapeLike(groupPrefix) + "%");
+        }
+
+        if (jobClassName != null) {
+            sql.append(" AND ").append(Constants.COL_JOB_CLASS).append(" = ?");
+            params.add(jobClassName);
+        }
+
+        if (cursor != null) {
+            String[] jobKey = decodeCursor(cursor, 2);
+
+            sql.append(JOB_KEY_AFTER);
+            params.add(jobKey[0]);
+            params.add(jobKey[0]);
+            params.add(jobKey[1]);
+        }
+
+        sql.append(ORDER_BY_JOB_KEY);
+
+        List<QuartzJobView> jobViews = executeWithoutLock(conn -> {
+            PreparedStatement ps = null;
+            ResultSet rs = null;
+
+            try {
+                ps = prepareStatement(conn, sql.toString(), params, limit + 1);
+
+                rs = ps.executeQuery();
+
+                List<QuartzJobView> views = new ArrayList<>(limit + 1);
+
+                while (rs.next()) {
+                    views.add(new QuartzJobView(
+                            new JobKey(rs.getString(1), rs.getString(2)),
+                            rs.getString(3),
+                            rs.getString(4),
+                            rs.getBoolean(5),
+                            rs.getBoolean(6),
+                            rs.getBoolean(7)));
+                }
+
+                return views;
+            } catch (SQLException e) {
+                throw new JobPersistenceException("分页查询任务失败: " + e.getMessage(), e);
+            } finally {
+                Util.closeResultSet(rs);
+                Util.closeStatement(ps);
+            }
+        });
+
+        String nextCursor = null;
+
+        if (jobViews.size() > limit) {
+            jobViews = jobViews.subList(0, limit);
+
+            JobKey last = jobViews.get(limit - 1).getKey();
+
+            nextCursor = encodeCursor(last.getGroup(), last.getName());
+        }
+
+        return new QuartzPage<>(jobViews, nextCursor);
+    }
+
+    /**
+     * {@link TriggerState}对应的数据库中的Trigger状态
+     */
+    protected List<String> toStoreStates(TriggerState triggerState) {
+        List<String> states = new ArrayList<>(2);
+
+        switch (triggerState) {
+            case NORMAL:
+                states.add(STATE_WAITING);
+                states.add(STATE_ACQUIRED);
+                break;
+            case PAUSED:
+                states.add(STATE_PAUSED);
+                states.add(STATE_PAUSED_BLOCKED);
+                break;
+            case COMPLETE:
+                states.add(STATE_COMPLETE);
+                break;
+            case ERROR:
+                states.add(STATE_ERROR);
+                break;
+            case BLOCKED:
+                states.add(STATE_BLOCKED);
+                break;
+            default:
+                break;
+        }
+
+        return states;
+    }
+
+    private PreparedStatement prepareStatement(Connection conn, String sql, List<Object> params, int maxRows) throws SQLException {
+        PreparedStatement ps = conn.prepareStatement(rtp(sql));
+
+        ps.setMaxRows(maxRows);
+        ps.setFetchSize(maxRows);
+
+        for (int i = 0; i < params.size(); i++) {
+            Object param = params.get(i);
+
+            if (param instanceof Long) {
+                ps.setLong(i + 1, (Long) param);
+            } else {
+                ps.setString(i + 1, (String) param);
+            }
+        }
+
+        return ps;
+    }
+
+    private static String escapeLike(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 4);
+
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+
+            if (c == LIKE_ESCAPE || c == '%' || c == '_') {
+                escaped.append(LIKE_ESCAPE);
+            }
+
+            escaped.append(c);
+        }
+
+        return escaped.toString();
+    }
+
+    /**
+     * 按UTF-8编码的字节数截断，不拆分多字节字符及代理对
+     */
+    private static String truncateBytes(String value, int maxBytes) {
+        if (value == null || value.length() * 3 <= maxBytes) {
+            return value;
+        }
+
+        int bytes = 0;
+
+        for (int i = 0; i < value.length(); ) {
+            int codePoint = value.codePointAt(i);
+
+            bytes += codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+
+            if (bytes > maxBytes) {
+                return value.substring(0, i);
+            }
+
+            i += Character.charCount(codePoint);
+        }
+
+        return value;
+    }
+
+    private static Date toDate(long millis) {
+        return millis > 0 ? new Date(millis) : null;
+    }
+
+    private static String encodeCursor(String... parts) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(String.join(CURSOR_SEPARATOR, parts).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor, int parts) throws JobPersistenceException {
+        String[] decoded;
+
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(CURSOR_SEPARATOR, -1);
+        } catch (IllegalArgumentException e) {
+            throw new JobPersistenceException("游标格式错误！", e);
+        }
+
+        if (decoded.length != parts) {
+            throw new JobPersistenceException("游标格式错误！");
+        }
+
+        return decoded;
+    }
+
+    /**
+     * 按JobKey顺序分页查询JobKey
+     */
+    protected List<JobKey> selectJobKeys(Connection conn, JobKey after, int limit) throws JobPersistenceException {
+        PreparedStatement ps = null;
+        ResultSet rs = null;
+
+        try {
+            ps = conn.prepareStatement(rtp(SELECT_JOB_KEYS + (after == null ? "" : JOB_KEY_AFTER) + ORDER_BY_JOB_KEY));
+            ps.setMaxRows(limit);
+            ps.setFetchSize(limit);
+
+            if (after != null) {
+                ps.setString(1, after.getGroup());
+                ps.setString(2, after.getGroup());
+                ps.setString(3, after.getName());
+            }
+
+            rs = ps.executeQuery();
+
+            List<JobKey> jobKeys = new ArrayList<>(limit);
+
+            while (rs.next()) {
+                jobKeys.add(new JobKey(rs.getString(1), rs.getString(2)));
+            }
+
+            return jobKeys;
+        } catch (SQLException e) {
+            throw new JobPersistenceException("分页查询JobKey失败: " + e.getMessage(), e);
+        } finally {
+            Util.closeResultSet(rs);
+            Util.closeStatement(ps);
+        }
+    }
+
+    /**
+     * 以一条SQL查询多个Key对应Trigger的状态
+     *
+     * @param keyColumns {@link #TRIGGER_KEY_COLUMNS}或{@link #JOB_KEY_COLUMNS}
+     * @param nameGroups Key的名称、分组，数量不超过{@link #MAX_KEYS_PER_STATEMENT}
+     */
+    protected Map<TriggerKey, TriggerState> selectTriggerStates(Connection conn, String keyColumns, List<String[]> nameGroups) throws JobPersistenceException {
+        PreparedStatement ps = null;
+        ResultSet rs = null;
+
+        try {
+            ps = prepareKeyStatement(conn, SELECT_TRIGGER_STATES, keyColumns, nameGroups);
+            rs = ps.executeQuery();
+
+            Map<TriggerKey, TriggerState> triggerStates = new HashMap<>();
+
+            while (rs.next()) {
+                triggerStates.put(new TriggerKey(rs.getString(1), rs.getString(2)), toTriggerState(rs.getString(3)));
+            }
+
+            return triggerStates;
+        } catch (SQLException e) {
+            throw new JobPersistenceException("批量查询Trigger状态失败: " + e.getMessage(), e);
+        } finally {
+            Util.closeResultSet(rs);
+            Util.closeStatement(ps);
+        }
+    }
+
+    /**
+     * 数据库中的Trigger状态转换为{@link TriggerState}，与{@link #getTriggerState(Connection, TriggerKey)}一致
+     */
+    protected TriggerState toTriggerState(String state) {
+        if (state == null || STATE_DELETED.equals(state)) {
+            return TriggerState.NONE;
+        }
+
+        if (STATE_COMPLETE.equals(state)) {
+            return TriggerState.COMPLETE;
+        }
+
+        if (STATE_PAUSED.equals(state) || STATE_PAUSED_BLOCKED.equals(state)) {
+            return TriggerState.PAUSED;
+        }
+
+        if (STATE_ERROR.equals(state)) {
+            return TriggerState.ERROR;
+        }
+
+        if (STATE_BLOCKED.equals(state)) {
+            return TriggerState.BLOCKED;
+        }
+
+        return TriggerState.NORMAL;
+    }
+
+    private int pauseKeys(Connection conn, String keyColumns, List<String[]> nameGroups) throws JobPersistenceException {
+        int updated = 0;
+
+        for (int from = 0; from < nameGroups.size(); from += MAX_KEYS_PER_STATEMENT) {
+            List<String[]> chunk = nameGroups.subList(from, Math.min(from + MAX_KEYS_PER_STATEMENT, nameGroups.size()));
+
+            updated += updateStates(conn, keyColumns, chunk, STATE_PAUSED, STATE_WAITING, STATE_ACQUIRED, false);
+            updated += updateStates(conn, keyColumns, chunk, STATE_PAUSED_BLOCKED, STATE_BLOCKED, STATE_BLOCKED, false);
+        }
+
+        return updated;
+    }
+
+    private int resumeKeys(Connection conn, String keyColumns, List<String[]> nameGroups) throws JobPersistenceException {
+        int updated = 0;
+
+        for (int from = 0; from < nameGroups.size(); from += MAX_KEYS_PER_STATEMENT) {
+            List<String[]> chunk = nameGroups.subList(from, Math.min(from + MAX_KEYS_PER_STATEMENT, nameGroups.size()));
+
+            updated += updateStates(conn, keyColumns, chunk, STATE_BLOCKED, STATE_PAUSED, STATE_PAUSED_BLOCKED, true);
+            updated += updateStates(conn, keyColumns, chunk, STATE_WAITING, STATE_PAUSED, STATE_PAUSED_BLOCKED, false);
+        }
+
+        if (updated > 0) {
+            signalSchedulingChangeOnTxCompletion(0L);
+        }
+
+        return updated;
+    }
+
+    private int updateStates(Connection conn, String keyColumns, List<String[]> nameGroups, String newState,
+                             String oldState1, String oldState2, boolean onlyBlocked) throws JobPersistenceException {
+        StringBuilder sql = new StringBuilder(UPDATE_TRIGGER_STATES_FROM_STATES).append('(');
+
+        for (int i = 0; i < nameGroups.size(); i++) {
+            if (i > 0) {
+                sql.append(" OR ");
+            }
+
+            sql.append(keyColumns);
+        }
+
+        sql.append(')');
+
+        if (onlyBlocked) {
+            sql.append(BLOCKED_BY_FIRED_TRIGGERS);
+        }
+
+        PreparedStatement ps = null;
+
+        try {
+            ps = conn.prepareStatement(rtp(sql.toString()));
+
+            int index = 1;
+
+            ps.setString(index++, newState);
+            ps.setString(index++, oldState1);
+            ps.setString(index++, oldState2);
+
+            for (String[] nameGroup : nameGroups) {
+                ps.setString(index++, nameGroup[0]);
+                ps.setString(index++, nameGroup[1]);
+            }
+
+            if (onlyBlocked) {
+                setBoolean(ps, index, true);
+            }
+
+            return ps.executeUpdate();
+        } catch (SQLException e) {
+            throw new JobPersistenceException("批量更新Trigger状态为" + newState + "失败: " + e.getMessage(), e);
+        } finally {
+            Util.closeStatement(ps);
+        }
+    }
+
+    /**
+     * 与{@code IS_NONCONCURRENT}等列比较时，通过当前{@link DriverDelegate}绑定布尔值，与Quartz写入时的表示方式一致
+     */
+    private void setBoolean(PreparedStatement ps, int index, boolean value) throws SQLException, JobPersistenceException {
+        DriverDelegate delegate = getDelegate();
+
+        if (!(delegate instanceof StdJDBCDelegate)) {
+            ps.setBoolean(index, value);
+            return;
+        }
+
+        try {
+            DELEGATE_SET_BOOLEAN.invoke(delegate, ps, index, value);
+        } catch (InvocationTargetException e) {
+            if (e.getTargetException() instanceof SQLException) {
+                throw (SQLException) e.getTargetException();
+            }
+
+            ReflectionUtils.rethrowRuntimeException(e.getTargetException());
+        } catch (IllegalAccessException e) {
+            ReflectionUtils.handleReflectionException(e);
+        }
+    }
+
+    /**
+     * 替换SQL中的表前缀及调度器名称
+     */
+    protected String rtp(String query) {
+        return Util.rtp(query, getTablePrefix(), "'" + getInstanceName() + "'");
+    }
+
+    private static List<String[]> toNameGroups(Collection<? extends Key<?>> keys) {
+        List<String[]> nameGroups = new ArrayList<>(keys.size());
+
+        for (Key<?> key : keys) {
+            nameGroups.add(new String[] { key.getName(), key.getGroup() });
+        }
+
+        return nameGroups;
+    }
+
+}
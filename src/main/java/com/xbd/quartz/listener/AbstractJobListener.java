@@ -1,8 +1,8 @@
 package com.xbd.quartz.listener;
 
+import org.quartz.JobKey;
 import org.quartz.JobListener;
 import org.quartz.Matcher;
-import org.quartz.TriggerKey;
 import org.quartz.impl.matchers.EverythingMatcher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -18,10 +18,18 @@ public abstract class AbstractJobListener implements JobListener {
 	protected final Logger logger = LoggerFactory.getLogger(getClass());
 
 	/**
-	 * 返回匹配某一、某些Job的匹配策略
+	 * 返回匹配某一、某些Job的匹配策略，注册时生效；{@code KeyMatcher}、{@code GroupMatcher.jobGroupEquals}按哈希索引匹配
 	 */
-	public Matcher<TriggerKey> matcher() {
-		return EverythingMatcher.allTriggers();
+	public Matcher<JobKey> matcher() {
+		return EverythingMatcher.allJobs();
+	}
+
+	/**
+	 * 开启{@code listenerDispatch.async}时是否经{@link QuartzListenerDispatcher}异步回调，注册时生效；
+	 * 需要在工作线程中准确计时的监听返回false
+	 */
+	public boolean asyncDispatch() {
+		return true;
 	}
 	
 }
@@ -18,10 +18,18 @@ public abstract class AbstractTriggerListener implements TriggerListener {
 	protected final Logger logger = LoggerFactory.getLogger(getClass());
 
 	/**
-	 * 返回匹配某一、某些Trigger的匹配策略
+	 * 返回匹配某一、某些Trigger的匹配策略，注册时生效；{@code KeyMatcher}、{@code GroupMatcher.triggerGroupEquals}按哈希索引匹配
 	 */
 	public Matcher<TriggerKey> matcher() {
 		return EverythingMatcher.allTriggers();
 	}
+
+	/**
+	 * 开启{@code listenerDispatch.async}时是否经{@link QuartzListenerDispatcher}异步回调，注册时生效；
+	 * 需要在工作线程中准确计时的监听返回false
+	 */
+	public boolean asyncDispatch() {
+		return true;
+	}
 	
 }
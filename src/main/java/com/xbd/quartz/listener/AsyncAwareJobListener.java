@@ -0,0 +1,63 @@
+package com.xbd.quartz.listener;
+
+import com.xbd.quartz.AbstractAsyncQuartzJobBean;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.quartz.JobListener;
+import org.springframework.util.Assert;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 感知{@link AbstractAsyncQuartzJobBean}的JobListener
+ * <p>异步任务的{@link #jobWasExecuted(JobExecutionContext, JobExecutionException)}推迟到任务实际完成时回调，并传入异步执行的异常；
+ * 其余方法直接委托.
+ * <p>仅影响本监听器包装的委托；其它全局JobListener、插件及Quartz完成Trigger（{@code triggeredJobComplete}）仍在工作线程返回时执行，
+ * 见{@link AbstractAsyncQuartzJobBean}.
+ *
+ * @author luas
+ * @since 2.0
+ */
+public class AsyncAwareJobListener implements JobListener {
+
+	private final JobListener delegate;
+
+	public AsyncAwareJobListener(JobListener delegate) {
+		Assert.notNull(delegate, "delegate不能为空！");
+
+		this.delegate = delegate;
+	}
+
+	@Override
+	public String getName() {
+		return delegate.getName();
+	}
+
+	@Override
+	public void jobToBeExecuted(JobExecutionContext context) {
+		delegate.jobToBeExecuted(context);
+	}
+
+	@Override
+	public void jobExecutionVetoed(JobExecutionContext context) {
+		delegate.jobExecutionVetoed(context);
+	}
+
+	@Override
+	public void jobWasExecuted(JobExecutionContext context, JobExecutionException jobException) {
+		CompletableFuture<Object> completion = AbstractAsyncQuartzJobBean.getCompletion(context);
+
+		if (completion == null) {
+			delegate.jobWasExecuted(context, jobException);
+			return;
+		}
+
+		completion.whenComplete((result, failure) -> delegate.jobWasExecuted(context,
+				failure == null ? null : AbstractAsyncQuartzJobBean.toJobExecutionException(failure)));
+	}
+
+	public JobListener getDelegate() {
+		return delegate;
+	}
+
+}
@@ -0,0 +1,68 @@
+package com.xbd.quartz.listener;
+
+import com.xbd.quartz.AbstractAsyncQuartzJobBean;
+import org.quartz.JobExecutionContext;
+import org.quartz.Trigger;
+import org.quartz.Trigger.CompletedExecutionInstruction;
+import org.quartz.TriggerListener;
+import org.springframework.util.Assert;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 感知{@link AbstractAsyncQuartzJobBean}的TriggerListener
+ * <p>异步任务的{@link #triggerComplete(Trigger, JobExecutionContext, CompletedExecutionInstruction)}推迟到任务实际完成时回调；
+ * 其余方法直接委托，{@link #vetoJobExecution(Trigger, JobExecutionContext)}仍在工作线程中同步执行.
+ * <p>仅影响本监听器包装的委托；其它全局TriggerListener、插件及Quartz完成Trigger（{@code triggeredJobComplete}）仍在工作线程返回时执行，
+ * 见{@link AbstractAsyncQuartzJobBean}.
+ *
+ * @author luas
+ * @since 2.0
+ */
+public class AsyncAwareTriggerListener implements TriggerListener {
+
+	private final TriggerListener delegate;
+
+	public AsyncAwareTriggerListener(TriggerListener delegate) {
+		Assert.notNull(delegate, "delegate不能为空！");
+
+		this.delegate = delegate;
+	}
+
+	@Override
+	public String getName() {
+		return delegate.getName();
+	}
+
+	@Override
+	public void triggerFired(Trigger trigger, JobExecutionContext context) {
+		delegate.triggerFired(trigger, context);
+	}
+
+	@Override
+	public boolean vetoJobExecution(Trigger trigger, JobExecutionContext context) {
+		return delegate.vetoJobExecution(trigger, context);
+	}
+
+	@Override
+	public void triggerMisfired(Trigger trigger) {
+		delegate.triggerMisfired(trigger);
+	}
+
+	@Override
+	public void triggerComplete(Trigger trigger, JobExecutionContext context, CompletedExecutionInstruction triggerInstructionCode) {
+		CompletableFuture<Object> completion = AbstractAsyncQuartzJobBean.getCompletion(context);
+
+		if (completion == null) {
+			delegate.triggerComplete(trigger, context, triggerInstructionCode);
+			return;
+		}
+
+		completion.whenComplete((result, failure) -> delegate.triggerComplete(trigger, context, triggerInstructionCode));
+	}
+
+	public TriggerListener getDelegate() {
+		return delegate;
+	}
+
+}
@@ -0,0 +1,53 @@
+package com.xbd.quartz.listener;
+
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.quartz.JobListener;
+import org.springframework.util.Assert;
+
+/**
+ * 异步分发的JobListener
+ * <p>全部回调经{@link QuartzListenerDispatcher}异步执行，同一次执行的回调保持先后顺序.
+ *
+ * @author luas
+ * @since 2.0
+ */
+public class AsyncJobListener implements JobListener {
+
+	private final JobListener delegate;
+
+	private final QuartzListenerDispatcher dispatcher;
+
+	public AsyncJobListener(JobListener delegate, QuartzListenerDispatcher dispatcher) {
+		Assert.notNull(delegate, "delegate不能为空！");
+		Assert.notNull(dispatcher, "dispatcher不能为空！");
+
+		this.delegate = delegate;
+		this.dispatcher = dispatcher;
+	}
+
+	@Override
+	public String getName() {
+		return delegate.getName();
+	}
+
+	@Override
+	public void jobToBeExecuted(JobExecutionContext context) {
+		dispatcher.publish(context.getFireInstanceId(), () -> delegate.jobToBeExecuted(context));
+	}
+
+	@Override
+	public void jobExecutionVetoed(JobExecutionContext context) {
+		dispatcher.publish(context.getFireInstanceId(), () -> delegate.jobExecutionVetoed(context));
+	}
+
+	@Override
+	public void jobWasExecuted(JobExecutionContext context, JobExecutionException jobException) {
+		dispatcher.publish(context.getFireInstanceId(), () -> delegate.jobWasExecuted(context, jobException));
+	}
+
+	public JobListener getDelegate() {
+		return delegate;
+	}
+
+}
@@ -0,0 +1,136 @@
+package com.xbd.quartz.listener;
+
+import org.quartz.JobDetail;
+import org.quartz.JobKey;
+import org.quartz.SchedulerException;
+import org.quartz.SchedulerListener;
+import org.quartz.Trigger;
+import org.quartz.TriggerKey;
+import org.springframework.util.Assert;
+
+/**
+ * 异步分发的SchedulerListener
+ * <p>全部回调经{@link QuartzListenerDispatcher}异步执行，同一监听器的回调保持先后顺序.
+ *
+ * @author luas
+ * @since 2.0
+ */
+public class AsyncSchedulerListener implements SchedulerListener {
+
+	private final SchedulerListener delegate;
+
+	private final QuartzListenerDispatcher dispatcher;
+
+	public AsyncSchedulerListener(SchedulerListener delegate, QuartzListenerDispatcher dispatcher) {
+		Assert.notNull(delegate, "delegate不能为空！");
+		Assert.notNull(dispatcher, "dispatcher不能为空！");
+
+		this.delegate = delegate;
+		this.dispatcher = dispatcher;
+	}
+
+	@Override
+	public void jobScheduled(Trigger trigger) {
+		dispatcher.publish(delegate, () -> delegate.jobScheduled(trigger));
+	}
+
+	@Override
+	public void jobUnscheduled(TriggerKey triggerKey) {
+		dispatcher.publish(delegate, () -> delegate.jobUnscheduled(triggerKey));
+	}
+
+	@Override
+	public void triggerFinalized(Trigger trigger) {
+		dispatcher.publish(delegate, () -> delegate.triggerFinalized(trigger));
+	}
+
+	@Override
+	public void triggerPaused(TriggerKey triggerKey) {
+		dispatcher.publish(delegate, () -> delegate.triggerPaused(triggerKey));
+	}
+
+	@Override
+	public void triggersPaused(String triggerGroup) {
+		dispatcher.publish(delegate, () -> delegate.triggersPaused(triggerGroup));
+	}
+
+	@Override
+	public void triggerResumed(TriggerKey triggerKey) {
+		dispatcher.publish(delegate, () -> delegate.triggerResumed(triggerKey));
+	}
+
+	@Override
+	public void triggersResumed(String triggerGroup) {
+		dispatcher.publish(delegate, () -> delegate.triggersResumed(triggerGroup));
+	}
+
+	@Override
+	public void jobAdded(JobDetail jobDetail) {
+		dispatcher.publish(delegate, () -> delegate.jobAdded(jobDetail));
+	}
+
+	@Override
+	public void jobDeleted(JobKey jobKey) {
+		dispatcher.publish(delegate, () -> delegate.jobDeleted(jobKey));
+	}
+
+	@Override
+	public void jobPaused(JobKey jobKey) {
+		dispatcher.publish(delegate, () -> delegate.jobPaused(jobKey));
+	}
+
+	@Override
+	public void jobsPaused(String jobGroup) {
+		dispatcher.publish(delegate, () -> delegate.jobsPaused(jobGroup));
+	}
+
+	@Override
+	public void jobResumed(JobKey jobKey) {
+		dispatcher.publish(delegate, () -> delegate.jobResumed(jobKey));
+	}
+
+	@Override
+	public void jobsResumed(String jobGroup) {
+		dispatcher.publish(delegate, () -> delegate.jobsResumed(jobGroup));
+	}
+
+	@Override
+	public void schedulerError(String msg, SchedulerException cause) {
+		dispatcher.publish(delegate, () -> delegate.schedulerError(msg, cause));
+	}
+
+	@Override
+	public void schedulerInStandbyMode() {
+		dispatcher.publish(delegate, () -> delegate.schedulerInStandbyMode());
+	}
+
+	@Override
+	public void schedulerStarted() {
+		dispatcher.publish(delegate, () -> delegate.schedulerStarted());
+	}
+
+	@Override
+	public void schedulerStarting() {
+		dispatcher.publish(delegate, () -> delegate.schedulerStarting());
+	}
+
+	@Override
+	public void schedulerShutdown() {
+		dispatcher.publish(delegate, () -> delegate.schedulerShutdown());
+	}
+
+	@Override
+	public void schedulerShuttingdown() {
+		dispatcher.publish(delegate, () -> delegate.schedulerShuttingdown());
+	}
+
+	@Override
+	public void schedulingDataCleared() {
+		dispatcher.publish(delegate, () -> delegate.schedulingDataCleared());
+	}
+
+	public SchedulerListener getDelegate() {
+		return delegate;
+	}
+
+}
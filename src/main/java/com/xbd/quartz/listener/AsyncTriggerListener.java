@@ -0,0 +1,59 @@
+package com.xbd.quartz.listener;
+
+import org.quartz.JobExecutionContext;
+import org.quartz.Trigger;
+import org.quartz.TriggerListener;
+import org.springframework.util.Assert;
+
+/**
+ * 异步分发的TriggerListener
+ * <p>{@link #vetoJobExecution(Trigger, JobExecutionContext)}需要返回值，仍在工作线程中同步回调；其余回调经{@link QuartzListenerDispatcher}异步执行，
+ * 因此{@code triggerFired}可能晚于{@code vetoJobExecution}回调.
+ *
+ * @author luas
+ * @since 2.0
+ */
+public class AsyncTriggerListener implements TriggerListener {
+
+	private final TriggerListener delegate;
+
+	private final QuartzListenerDispatcher dispatcher;
+
+	public AsyncTriggerListener(TriggerListener delegate, QuartzListenerDispatcher dispatcher) {
+		Assert.notNull(delegate, "delegate不能为空！");
+		Assert.notNull(dispatcher, "dispatcher不能为空！");
+
+		this.delegate = delegate;
+		this.dispatcher = dispatcher;
+	}
+
+	@Override
+	public String getName() {
+		return delegate.getName();
+	}
+
+	@Override
+	public void triggerFired(Trigger trigger, JobExecutionContext context) {
+		dispatcher.publish(context.getFireInstanceId(), () -> delegate.triggerFired(trigger, context));
+	}
+
+	@Override
+	public boolean vetoJobExecution(Trigger trigger, JobExecutionContext context) {
+		return delegate.vetoJobExecution(trigger, context);
+	}
+
+	@Override
+	public void triggerMisfired(Trigger trigger) {
+		dispatcher.publish(trigger.getKey(), () -> delegate.triggerMisfired(trigger));
+	}
+
+	@Override
+	public void triggerComplete(Trigger trigger, JobExecutionContext context, Trigger.CompletedExecutionInstruction triggerInstructionCode) {
+		dispatcher.publish(context.getFireInstanceId(), () -> delegate.triggerComplete(trigger, context, triggerInstructionCode));
+	}
+
+	public TriggerListener getDelegate() {
+		return delegate;
+	}
+
+}
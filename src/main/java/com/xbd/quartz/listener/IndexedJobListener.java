@@ -0,0 +1,117 @@
+package com.xbd.quartz.listener;
+
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.quartz.JobKey;
+import org.quartz.JobListener;
+import org.quartz.Matcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * 按匹配策略索引分发的组合JobListener
+ * <p>以一个全局JobListener注册到Scheduler，每次回调按任务的JobKey从{@link QuartzListenerIndex}中查找匹配的监听器依次回调，
+ * 等值匹配（{@code KeyMatcher}、{@code GroupMatcher.jobGroupEquals}）不再逐个判断. 单个监听器的异常不影响其它监听器.
+ * <p>Scheduler中只登记本组合监听器，{@code ListenerManager.getJobListener(name)}、{@code removeJobListener(name)}
+ * 无法按原监听器名称查找，应改用{@link #getJobListener(String)}、{@link #removeJobListener(String)}.
+ *
+ * @author luas
+ * @since 2.0
+ */
+public class IndexedJobListener implements JobListener {
+
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	private final QuartzListenerIndex<JobKey, JobListener> index = new QuartzListenerIndex<>();
+
+	@Override
+	public String getName() {
+		return getClass().getName();
+	}
+
+	/**
+	 * 添加监听器
+	 *
+	 * @param jobListener 监听器
+	 * @param matcher     匹配策略，为null时匹配全部任务
+	 */
+	public void addJobListener(JobListener jobListener, Matcher<JobKey> matcher) {
+		index.add(matcher, jobListener);
+	}
+
+	/**
+	 * 任务匹配的监听器，按添加顺序排列
+	 */
+	public List<JobListener> getJobListeners(JobKey jobKey) {
+		return index.match(jobKey);
+	}
+
+	/**
+	 * 全部监听器，按添加顺序排列
+	 */
+	public List<JobListener> getJobListeners() {
+		return index.getListeners();
+	}
+
+	/**
+	 * 按名称获取监听器，替代{@code ListenerManager.getJobListener(name)}
+	 *
+	 * @param name 监听器名称
+	 * @return 监听器，不存在时返回null
+	 */
+	public JobListener getJobListener(String name) {
+		for (JobListener jobListener : index.getListeners()) {
+			if (jobListener.getName().equals(name)) {
+				return jobListener;
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * 按名称移除监听器，替代{@code ListenerManager.removeJobListener(name)}
+	 *
+	 * @param name 监听器名称
+	 * @return 是否移除了监听器
+	 */
+	public boolean removeJobListener(String name) {
+		return index.remove(jobListener -> jobListener.getName().equals(name));
+	}
+
+	@Override
+	public void jobToBeExecuted(JobExecutionContext context) {
+		for (JobListener jobListener : index.match(context.getJobDetail().getKey())) {
+			try {
+				jobListener.jobToBeExecuted(context);
+			} catch (Exception e) {
+				this.logger.error("JobListener " + jobListener.getName() + "回调jobToBeExecuted异常！", e);
+			}
+		}
+	}
+
+	@Override
+	public void jobExecutionVetoed(JobExecutionContext context) {
+		for (JobListener jobListener : index.match(context.getJobDetail().getKey())) {
+			try {
+				jobListener.jobExecutionVetoed(context);
+			} catch (Exception e) {
+				this.logger.error("JobListener " + jobListener.getName() + "回调jobExecutionVetoed异常！", e);
+			}
+		}
+	}
+
+	@Override
+	public void jobWasExecuted(JobExecutionContext context, JobExecutionException jobException) {
+		for (JobListener jobListener : index.match(context.getJobDetail().getKey())) {
+			try {
+				jobListener.jobWasExecuted(context, jobException);
+			} catch (Exception e) {
+				this.logger.error("JobListener " + jobListener.getName() + "回调jobWasExecuted异常！", e);
+			}
+		}
+	}
+
+}
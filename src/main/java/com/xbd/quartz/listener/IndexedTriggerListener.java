@@ -0,0 +1,138 @@
+package com.xbd.quartz.listener;
+
+import org.quartz.JobExecutionContext;
+import org.quartz.Matcher;
+import org.quartz.Trigger;
+import org.quartz.TriggerKey;
+import org.quartz.TriggerListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * 按匹配策略索引分发的组合TriggerListener
+ * <p>以一个全局TriggerListener注册到Scheduler，每次回调按TriggerKey从{@link QuartzListenerIndex}中查找匹配的监听器依次回调.
+ * 与Quartz一致，每个监听器先回调{@code triggerFired}再回调{@code vetoJobExecution}，任一监听器否决即否决本次执行；
+ * 单个监听器的异常只记录日志，不否决本次执行，也不影响其它监听器.
+ * <p>Scheduler中只登记本组合监听器，{@code ListenerManager.getTriggerListener(name)}、{@code removeTriggerListener(name)}
+ * 无法按原监听器名称查找，应改用{@link #getTriggerListener(String)}、{@link #removeTriggerListener(String)}.
+ *
+ * @author luas
+ * @since 2.0
+ */
+public class IndexedTriggerListener implements TriggerListener {
+
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	private final QuartzListenerIndex<TriggerKey, TriggerListener> index = new QuartzListenerIndex<>();
+
+	@Override
+	public String getName() {
+		return getClass().getName();
+	}
+
+	/**
+	 * 添加监听器
+	 *
+	 * @param triggerListener 监听器
+	 * @param matcher         匹配策略，为null时匹配全部Trigger
+	 */
+	public void addTriggerListener(TriggerListener triggerListener, Matcher<TriggerKey> matcher) {
+		index.add(matcher, triggerListener);
+	}
+
+	/**
+	 * Trigger匹配的监听器，按添加顺序排列
+	 */
+	public List<TriggerListener> getTriggerListeners(TriggerKey triggerKey) {
+		return index.match(triggerKey);
+	}
+
+	/**
+	 * 全部监听器，按添加顺序排列
+	 */
+	public List<TriggerListener> getTriggerListeners() {
+		return index.getListeners();
+	}
+
+	/**
+	 * 按名称获取监听器，替代{@code ListenerManager.getTriggerListener(name)}
+	 *
+	 * @param name 监听器名称
+	 * @return 监听器，不存在时返回null
+	 */
+	public TriggerListener getTriggerListener(String name) {
+		for (TriggerListener triggerListener : index.getListeners()) {
+			if (triggerListener.getName().equals(name)) {
+				return triggerListener;
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * 按名称移除监听器，替代{@code ListenerManager.removeTriggerListener(name)}
+	 *
+	 * @param name 监听器名称
+	 * @return 是否移除了监听器
+	 */
+	public boolean removeTriggerListener(String name) {
+		return index.remove(triggerListener -> triggerListener.getName().equals(name));
+	}
+
+	/**
+	 * {@code triggerFired}、{@code vetoJobExecution}由{@link #vetoJobExecution(Trigger, JobExecutionContext)}按监听器依次回调
+	 */
+	@Override
+	public void triggerFired(Trigger trigger, JobExecutionContext context) {
+
+	}
+
+	@Override
+	public boolean vetoJobExecution(Trigger trigger, JobExecutionContext context) {
+		boolean vetoed = false;
+
+		for (TriggerListener triggerListener : index.match(trigger.getKey())) {
+			try {
+				triggerListener.triggerFired(trigger, context);
+			} catch (Exception e) {
+				this.logger.error("TriggerListener " + triggerListener.getName() + "回调triggerFired异常！", e);
+			}
+
+			try {
+				if (triggerListener.vetoJobExecution(trigger, context)) {
+					vetoed = true;
+				}
+			} catch (Exception e) {
+				this.logger.error("TriggerListener " + triggerListener.getName() + "回调vetoJobExecution异常！", e);
+			}
+		}
+
+		return vetoed;
+	}
+
+	@Override
+	public void triggerMisfired(Trigger trigger) {
+		for (TriggerListener triggerListener : index.match(trigger.getKey())) {
+			try {
+				triggerListener.triggerMisfired(trigger);
+			} catch (Exception e) {
+				this.logger.error("TriggerListener " + triggerListener.getName() + "回调triggerMisfired异常！", e);
+			}
+		}
+	}
+
+	@Override
+	public void triggerComplete(Trigger trigger, JobExecutionContext context, Trigger.CompletedExecutionInstruction triggerInstructionCode) {
+		for (TriggerListener triggerListener : index.match(trigger.getKey())) {
+			try {
+				triggerListener.triggerComplete(trigger, context, triggerInstructionCode);
+			} catch (Exception e) {
+				this.logger.error("TriggerListener " + triggerListener.getName() + "回调triggerComplete异常！", e);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,50 @@
+package com.xbd.quartz.listener;
+
+import com.xbd.quartz.event.QuartzExecutionEvent;
+import com.xbd.quartz.event.QuartzExecutionEventSink;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.springframework.util.Assert;
+
+/**
+ * 采集任务执行事件的JobListener
+ * <p>将即将执行、执行结束、被否决的事件写入{@link QuartzExecutionEventSink}，替代逐次格式化的INFO日志.
+ *
+ * @author luas
+ * @since 2.0
+ */
+public class QuartzExecutionEventJobListener extends AbstractJobListener {
+
+	private QuartzExecutionEventSink sink;
+
+	@Override
+	public String getName() {
+		return getClass().getName();
+	}
+
+	@Override
+	public void jobToBeExecuted(JobExecutionContext context) {
+		sink.publish(QuartzExecutionEvent.Type.FIRED, context, null);
+	}
+
+	@Override
+	public void jobExecutionVetoed(JobExecutionContext context) {
+		sink.publish(QuartzExecutionEvent.Type.VETOED, context, null);
+	}
+
+	@Override
+	public void jobWasExecuted(JobExecutionContext context, JobExecutionException jobException) {
+		sink.publish(QuartzExecutionEvent.Type.COMPLETED, context, jobException);
+	}
+
+	public QuartzExecutionEventSink getSink() {
+		return sink;
+	}
+
+	public void setSink(QuartzExecutionEventSink sink) {
+		Assert.notNull(sink, "sink不能为空！");
+
+		this.sink = sink;
+	}
+
+}
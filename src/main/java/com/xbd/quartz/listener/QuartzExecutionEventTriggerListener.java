@@ -0,0 +1,54 @@
+package com.xbd.quartz.listener;
+
+import com.xbd.quartz.event.QuartzExecutionEvent;
+import com.xbd.quartz.event.QuartzExecutionEventSink;
+import org.quartz.JobExecutionContext;
+import org.quartz.Trigger;
+import org.springframework.util.Assert;
+
+/**
+ * 采集Trigger错过触发事件的TriggerListener，其余事件由{@link QuartzExecutionEventJobListener}采集
+ *
+ * @author luas
+ * @since 2.0
+ */
+public class QuartzExecutionEventTriggerListener extends AbstractTriggerListener {
+
+	private QuartzExecutionEventSink sink;
+
+	@Override
+	public String getName() {
+		return getClass().getName();
+	}
+
+	@Override
+	public void triggerFired(Trigger trigger, JobExecutionContext context) {
+
+	}
+
+	@Override
+	public boolean vetoJobExecution(Trigger trigger, JobExecutionContext context) {
+		return false;
+	}
+
+	@Override
+	public void triggerMisfired(Trigger trigger) {
+		sink.publish(QuartzExecutionEvent.Type.MISFIRED, trigger);
+	}
+
+	@Override
+	public void triggerComplete(Trigger trigger, JobExecutionContext context, Trigger.CompletedExecutionInstruction triggerInstructionCode) {
+
+	}
+
+	public QuartzExecutionEventSink getSink() {
+		return sink;
+	}
+
+	public void setSink(QuartzExecutionEventSink sink) {
+		Assert.notNull(sink, "sink不能为空！");
+
+		this.sink = sink;
+	}
+
+}
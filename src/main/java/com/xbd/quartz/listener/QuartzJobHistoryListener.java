@@ -0,0 +1,79 @@
+package com.xbd.quartz.listener;
+
+import com.xbd.quartz.AbstractAsyncQuartzJobBean;
+import com.xbd.quartz.history.QuartzJobExecution;
+import com.xbd.quartz.history.QuartzJobHistoryWriter;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.quartz.SchedulerException;
+import org.springframework.util.Assert;
+
+/**
+ * 记录任务执行历史的JobListener
+ * <p>任务执行结束或被否决时生成{@link QuartzJobExecution}交给{@link QuartzJobHistoryWriter}，不在工作线程中访问数据库.
+ * <p>声明为Spring Bean后由{@link com.xbd.quartz.QuartzListenerRegister}自动注册，异步任务在实际完成时记录，耗时为触发至完成的时间.
+ *
+ * @author luas
+ * @since 2.0
+ */
+public class QuartzJobHistoryListener extends AbstractJobListener {
+
+	private QuartzJobHistoryWriter writer;
+
+	@Override
+	public String getName() {
+		return getClass().getName();
+	}
+
+	@Override
+	public void jobToBeExecuted(JobExecutionContext context) {
+
+	}
+
+	@Override
+	public void jobExecutionVetoed(JobExecutionContext context) {
+		long now = System.currentTimeMillis();
+
+		writer.offer(toExecution(context, now, now, QuartzJobExecution.Outcome.VETOED, null));
+	}
+
+	@Override
+	public void jobWasExecuted(JobExecutionContext context, JobExecutionException jobException) {
+		long startTime = context.getFireTime().getTime();
+
+		// 异步任务在实际完成时回调，此时getJobRunTime()仅为提交耗时
+		long endTime = AbstractAsyncQuartzJobBean.getCompletion(context) != null || context.getJobRunTime() < 0
+				? System.currentTimeMillis() : startTime + context.getJobRunTime();
+
+		writer.offer(toExecution(context, startTime, endTime,
+				jobException == null ? QuartzJobExecution.Outcome.SUCCEEDED : QuartzJobExecution.Outcome.FAILED, jobException));
+	}
+
+	protected QuartzJobExecution toExecution(JobExecutionContext context, long startTime, long endTime,
+											 QuartzJobExecution.Outcome outcome, JobExecutionException jobException) {
+		Throwable cause = jobException != null && jobException.getCause() != null ? jobException.getCause() : jobException;
+
+		return new QuartzJobExecution(context.getFireInstanceId(), context.getJobDetail().getKey(), context.getTrigger().getKey(),
+				getInstanceName(context), startTime, endTime, outcome,
+				cause == null ? null : cause.getClass().getName(), cause == null ? null : cause.getMessage());
+	}
+
+	private String getInstanceName(JobExecutionContext context) {
+		try {
+			return context.getScheduler().getSchedulerInstanceId();
+		} catch (SchedulerException e) {
+			return "NON_CLUSTERED";
+		}
+	}
+
+	public QuartzJobHistoryWriter getWriter() {
+		return writer;
+	}
+
+	public void setWriter(QuartzJobHistoryWriter writer) {
+		Assert.notNull(writer, "writer不能为空！");
+
+		this.writer = writer;
+	}
+
+}
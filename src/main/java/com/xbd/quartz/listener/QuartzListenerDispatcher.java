@@ -0,0 +1,317 @@
+package com.xbd.quartz.listener;
+
+import org.quartz.JobListener;
+import org.quartz.SchedulerListener;
+import org.quartz.TriggerListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 监听器异步分发
+ * <p>监听器回调封装为事件发布到有界队列，由专用线程依次回调，Quartz工作线程及持有JobStore锁的线程不再等待监听器执行.
+ * 事件按Key（任务、Trigger事件为fireInstanceId）分配到固定的分发线程，同一次执行的回调保持先后顺序.
+ * <p>队列已满时按{@link OverflowPolicy}处理，并记录丢弃数量；{@link #getLag()}、{@link #getMaxDelayMillis()}反映分发滞后.
+ *
+ * @author luas
+ * @since 2.0
+ */
+public class QuartzListenerDispatcher {
+
+	/**
+	 * 队列已满时的处理策略
+	 */
+	public enum OverflowPolicy {
+
+		/**
+		 * 发布线程等待队列空闲
+		 */
+		BLOCK,
+
+		/**
+		 * 丢弃当前事件
+		 */
+		DROP_NEWEST,
+
+		/**
+		 * 丢弃队列中最早的事件
+		 */
+		DROP_OLDEST,
+
+		/**
+		 * 由发布线程直接回调
+		 */
+		CALLER_RUNS
+
+	}
+
+	private static final Logger logger = LoggerFactory.getLogger(QuartzListenerDispatcher.class);
+
+	/**
+	 * 分发线程等待事件的间隔，单位：毫秒
+	 */
+	private static final long POLL_INTERVAL_MILLIS = 100L;
+
+	private final BlockingQueue<Event>[] queues;
+
+	private final Thread[] threads;
+
+	private final OverflowPolicy overflowPolicy;
+
+	private volatile boolean running = true;
+
+	private final LongAdder publishedCount = new LongAdder();
+
+	private final LongAdder dispatchedCount = new LongAdder();
+
+	private final LongAdder droppedCount = new LongAdder();
+
+	private final LongAdder callerRunsCount = new LongAdder();
+
+	private final LongAdder failedCount = new LongAdder();
+
+	private final AtomicLong maxDelayNanos = new AtomicLong();
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public QuartzListenerDispatcher(String name, int threadCount, int queueCapacity, OverflowPolicy overflowPolicy) {
+		Assert.isTrue(threadCount > 0, "threadCount必须大于0！");
+		Assert.isTrue(queueCapacity > 0, "queueCapacity必须大于0！");
+		Assert.notNull(overflowPolicy, "overflowPolicy不能为空！");
+
+		this.overflowPolicy = overflowPolicy;
+		this.queues = new BlockingQueue[threadCount];
+		this.threads = new Thread[threadCount];
+
+		int capacity = Math.max(1, queueCapacity / threadCount);
+
+		for (int i = 0; i < threadCount; i++) {
+			BlockingQueue<Event> queue = new ArrayBlockingQueue<>(capacity);
+
+			this.queues[i] = queue;
+			this.threads[i] = new Thread(() -> consume(queue), name + "-" + (i + 1));
+			this.threads[i].setDaemon(true);
+			this.threads[i].start();
+		}
+	}
+
+	public JobListener wrap(JobListener jobListener) {
+		return new AsyncJobListener(jobListener, this);
+	}
+
+	public TriggerListener wrap(TriggerListener triggerListener) {
+		return new AsyncTriggerListener(triggerListener, this);
+	}
+
+	public SchedulerListener wrap(SchedulerListener schedulerListener) {
+		return new AsyncSchedulerListener(schedulerListener, this);
+	}
+
+	/**
+	 * 发布一次回调
+	 *
+	 * @param key      分发Key，Key相同的回调依次执行
+	 * @param callback 回调
+	 */
+	void publish(Object key, Runnable callback) {
+		this.publishedCount.increment();
+
+		if (!this.running) {
+			run(callback);
+			return;
+		}
+
+		BlockingQueue<Event> queue = this.queues[key == null ? 0 : (key.hashCode() & 0x7fffffff) % this.queues.length];
+
+		Event event = new Event(callback);
+
+		if (queue.offer(event)) {
+			return;
+		}
+
+		switch (this.overflowPolicy) {
+			case BLOCK:
+				try {
+					queue.put(event);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+
+					this.droppedCount.increment();
+				}
+				break;
+			case DROP_OLDEST:
+				while (!queue.offer(event)) {
+					if (queue.poll() != null) {
+						this.droppedCount.increment();
+					}
+				}
+				break;
+			case CALLER_RUNS:
+				this.callerRunsCount.increment();
+				run(callback);
+				break;
+			default:
+				this.droppedCount.increment();
+				break;
+		}
+	}
+
+	/**
+	 * 停止接收事件，等待队列中的事件分发完毕；之后发布的事件由发布线程直接回调
+	 * <p>分发线程在队列清空后自行退出，不中断进行中的回调；超过等待时间仍未退出的分发线程才被中断，其队列中剩余的事件计入丢弃数量.
+	 *
+	 * @param timeoutMillis 最长等待时间，单位：毫秒
+	 */
+	public void shutdown(long timeoutMillis) {
+		this.running = false;
+
+		long deadline = System.currentTimeMillis() + timeoutMillis;
+
+		for (int i = 0; i < this.threads.length; i++) {
+			try {
+				this.threads[i].join(Math.max(1L, deadline - System.currentTimeMillis()));
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			}
+
+			// 分发线程退出后才发布到队列的事件，由关闭线程回调
+			if (!this.threads[i].isAlive()) {
+				drain(this.queues[i]);
+			}
+		}
+
+		for (int i = 0; i < this.threads.length; i++) {
+			if (this.threads[i].isAlive()) {
+				this.threads[i].interrupt();
+
+				this.droppedCount.add(this.queues[i].size());
+
+				logger.warn("监听器分发线程{}未在{}毫秒内结束，已中断！", this.threads[i].getName(), timeoutMillis);
+			}
+		}
+	}
+
+	private void consume(BlockingQueue<Event> queue) {
+		while (this.running || !queue.isEmpty()) {
+			Event event;
+
+			try {
+				// 限时等待，关闭时无需中断即可退出
+				event = this.running ? queue.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS) : queue.poll();
+			} catch (InterruptedException e) {
+				// 仅在超过关闭等待时间后被中断，放弃剩余事件
+				break;
+			}
+
+			if (event != null) {
+				dispatch(event);
+			}
+		}
+	}
+
+	private void drain(BlockingQueue<Event> queue) {
+		Event event;
+
+		while ((event = queue.poll()) != null) {
+			dispatch(event);
+		}
+	}
+
+	private void dispatch(Event event) {
+		long delay = System.nanoTime() - event.publishTime;
+
+		this.maxDelayNanos.accumulateAndGet(delay, Math::max);
+
+		run(event.callback);
+
+		this.dispatchedCount.increment();
+	}
+
+	private void run(Runnable callback) {
+		try {
+			callback.run();
+		} catch (Throwable e) {
+			this.failedCount.increment();
+
+			logger.error("监听器回调异常！", e);
+		}
+	}
+
+	/**
+	 * 累计发布的回调数量
+	 */
+	public long getPublishedCount() {
+		return publishedCount.sum();
+	}
+
+	/**
+	 * 累计由分发线程回调的数量
+	 */
+	public long getDispatchedCount() {
+		return dispatchedCount.sum();
+	}
+
+	/**
+	 * 累计因队列已满丢弃的回调数量
+	 */
+	public long getDroppedCount() {
+		return droppedCount.sum();
+	}
+
+	/**
+	 * 累计因队列已满由发布线程直接回调的数量
+	 */
+	public long getCallerRunsCount() {
+		return callerRunsCount.sum();
+	}
+
+	/**
+	 * 累计回调异常数量
+	 */
+	public long getFailedCount() {
+		return failedCount.sum();
+	}
+
+	/**
+	 * 当前等待分发的回调数量
+	 */
+	public int getLag() {
+		int lag = 0;
+
+		for (BlockingQueue<Event> queue : this.queues) {
+			lag += queue.size();
+		}
+
+		return lag;
+	}
+
+	/**
+	 * 发布到回调的最大延迟，单位：毫秒
+	 */
+	public long getMaxDelayMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(maxDelayNanos.get());
+	}
+
+	public OverflowPolicy getOverflowPolicy() {
+		return overflowPolicy;
+	}
+
+	private static final class Event {
+
+		private final Runnable callback;
+
+		private final long publishTime = System.nanoTime();
+
+		private Event(Runnable callback) {
+			this.callback = callback;
+		}
+
+	}
+
+}
@@ -0,0 +1,276 @@
+package com.xbd.quartz.listener;
+
+import org.quartz.Matcher;
+import org.quartz.impl.matchers.EverythingMatcher;
+import org.quartz.impl.matchers.GroupMatcher;
+import org.quartz.impl.matchers.KeyMatcher;
+import org.quartz.impl.matchers.OrMatcher;
+import org.quartz.impl.matchers.StringMatcher;
+import org.quartz.utils.Key;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * 按匹配策略索引的监听器集合
+ * <p>{@link KeyMatcher}按Key、{@link GroupMatcher}的EQUALS按分组建立哈希索引，{@link EverythingMatcher}及ANYTHING分组直接匹配，
+ * {@link OrMatcher}两侧均可索引时分别索引；其余匹配策略（AND、NOT、名称匹配、分组前缀等）在每次匹配时逐个判断.
+ * 因此只使用等值匹配的监听器，无论数量多少，每次匹配的开销只与实际匹配到的监听器数量相关.
+ * <p>匹配结果保持监听器的添加顺序. 添加、移除监听器时整体替换索引，匹配过程无锁.
+ *
+ * @param <K> Key类型
+ * @param <L> 监听器类型
+ * @author luas
+ * @since 2.0
+ */
+class QuartzListenerIndex<K extends Key<K>, L> {
+
+	private volatile Snapshot<K, L> snapshot = new Snapshot<>();
+
+	private int ordinal;
+
+	/**
+	 * 添加监听器
+	 *
+	 * @param matcher  匹配策略，为null时匹配全部
+	 * @param listener 监听器
+	 */
+	synchronized void add(Matcher<K> matcher, L listener) {
+		Snapshot<K, L> next = new Snapshot<>(this.snapshot);
+
+		Entry<K, L> entry = new Entry<>(this.ordinal++, matcher, listener);
+
+		List<Matcher<K>> operands = new ArrayList<>();
+
+		if (matcher == null || !decompose(matcher, operands)) {
+			if (matcher == null || operands.isEmpty()) {
+				next.global.add(entry);
+			} else {
+				next.filtered.add(entry);
+			}
+		} else {
+			for (Matcher<K> operand : operands) {
+				if (operand instanceof KeyMatcher) {
+					next.byKey.computeIfAbsent(((KeyMatcher<K>) operand).getCompareToValue(), key -> new ArrayList<>()).add(entry);
+				} else {
+					next.byGroup.computeIfAbsent(((GroupMatcher<K>) operand).getCompareToValue(), group -> new ArrayList<>()).add(entry);
+				}
+			}
+		}
+
+		this.snapshot = next;
+	}
+
+	/**
+	 * 移除满足条件的监听器
+	 *
+	 * @param filter 条件
+	 * @return 是否移除了监听器
+	 */
+	synchronized boolean remove(Predicate<L> filter) {
+		Snapshot<K, L> next = new Snapshot<>(this.snapshot);
+
+		Predicate<Entry<K, L>> removed = entry -> filter.test(entry.listener);
+
+		boolean changed = next.global.removeIf(removed);
+		changed |= next.filtered.removeIf(removed);
+
+		for (Map<?, List<Entry<K, L>>> indexed : Arrays.asList(next.byKey, next.byGroup)) {
+			for (Iterator<List<Entry<K, L>>> iterator = indexed.values().iterator(); iterator.hasNext(); ) {
+				List<Entry<K, L>> entries = iterator.next();
+
+				changed |= entries.removeIf(removed);
+
+				if (entries.isEmpty()) {
+					iterator.remove();
+				}
+			}
+		}
+
+		if (changed) {
+			this.snapshot = next;
+		}
+
+		return changed;
+	}
+
+	/**
+	 * 匹配Key对应的监听器
+	 *
+	 * @param key Key
+	 * @return 按添加顺序排列的监听器
+	 */
+	List<L> match(K key) {
+		Snapshot<K, L> current = this.snapshot;
+
+		List<Entry<K, L>> byKey = current.byKey.get(key);
+		List<Entry<K, L>> byGroup = current.byGroup.isEmpty() ? null : current.byGroup.get(key.getGroup());
+
+		List<Entry<K, L>> matched = new ArrayList<>();
+
+		addAll(matched, current.global);
+		addAll(matched, byKey);
+		addAll(matched, byGroup);
+
+		for (Entry<K, L> entry : current.filtered) {
+			if (entry.matcher.isMatch(key)) {
+				matched.add(entry);
+			}
+		}
+
+		if (matched.size() > 1) {
+			Collections.sort(matched);
+		}
+
+		List<L> listeners = new ArrayList<>(matched.size());
+
+		Entry<K, L> previous = null;
+
+		for (Entry<K, L> entry : matched) {
+			// OrMatcher两侧同时匹配时去重
+			if (entry != previous) {
+				listeners.add(entry.listener);
+			}
+
+			previous = entry;
+		}
+
+		return listeners;
+	}
+
+	/**
+	 * 全部监听器，按添加顺序排列
+	 */
+	List<L> getListeners() {
+		Snapshot<K, L> current = this.snapshot;
+
+		List<Entry<K, L>> entries = new ArrayList<>(current.global);
+		entries.addAll(current.filtered);
+
+		for (List<Entry<K, L>> indexed : current.byKey.values()) {
+			entries.addAll(indexed);
+		}
+
+		for (List<Entry<K, L>> indexed : current.byGroup.values()) {
+			entries.addAll(indexed);
+		}
+
+		Collections.sort(entries);
+
+		List<L> listeners = new ArrayList<>(entries.size());
+
+		Entry<K, L> previous = null;
+
+		for (Entry<K, L> entry : entries) {
+			if (entry != previous) {
+				listeners.add(entry.listener);
+			}
+
+			previous = entry;
+		}
+
+		return listeners;
+	}
+
+	/**
+	 * 将匹配策略分解为可索引的等值匹配
+	 *
+	 * @return 全部可索引时返回true，{@code operands}为空表示匹配全部
+	 */
+	private static <K extends Key<K>> boolean decompose(Matcher<K> matcher, List<Matcher<K>> operands) {
+		if (matcher instanceof EverythingMatcher) {
+			return false;
+		}
+
+		if (matcher instanceof KeyMatcher) {
+			operands.add(matcher);
+			return true;
+		}
+
+		if (matcher instanceof GroupMatcher) {
+			StringMatcher.StringOperatorName operator = ((GroupMatcher<K>) matcher).getCompareWithOperator();
+
+			if (operator == StringMatcher.StringOperatorName.ANYTHING) {
+				return false;
+			}
+
+			operands.add(matcher);
+			return operator == StringMatcher.StringOperatorName.EQUALS;
+		}
+
+		if (matcher instanceof OrMatcher) {
+			List<Matcher<K>> either = new ArrayList<>();
+
+			if (decompose(((OrMatcher<K>) matcher).getLeftOperand(), either) && decompose(((OrMatcher<K>) matcher).getRightOperand(), either)) {
+				operands.addAll(either);
+				return true;
+			}
+		}
+
+		operands.add(matcher);
+		return false;
+	}
+
+	private static <K extends Key<K>, L> void addAll(List<Entry<K, L>> matched, List<Entry<K, L>> entries) {
+		if (entries != null) {
+			matched.addAll(entries);
+		}
+	}
+
+	private static final class Snapshot<K extends Key<K>, L> {
+
+		private final List<Entry<K, L>> global;
+
+		private final List<Entry<K, L>> filtered;
+
+		private final Map<K, List<Entry<K, L>>> byKey;
+
+		private final Map<String, List<Entry<K, L>>> byGroup;
+
+		private Snapshot() {
+			this.global = new ArrayList<>();
+			this.filtered = new ArrayList<>();
+			this.byKey = new HashMap<>();
+			this.byGroup = new HashMap<>();
+		}
+
+		private Snapshot(Snapshot<K, L> source) {
+			this.global = new ArrayList<>(source.global);
+			this.filtered = new ArrayList<>(source.filtered);
+			this.byKey = new HashMap<>();
+			this.byGroup = new HashMap<>();
+
+			source.byKey.forEach((key, entries) -> this.byKey.put(key, new ArrayList<>(entries)));
+			source.byGroup.forEach((group, entries) -> this.byGroup.put(group, new ArrayList<>(entries)));
+		}
+
+	}
+
+	private static final class Entry<K extends Key<K>, L> implements Comparable<Entry<K, L>> {
+
+		private final int ordinal;
+
+		private final Matcher<K> matcher;
+
+		private final L listener;
+
+		private Entry(int ordinal, Matcher<K> matcher, L listener) {
+			this.ordinal = ordinal;
+			this.matcher = matcher;
+			this.listener = listener;
+		}
+
+		@Override
+		public int compareTo(Entry<K, L> other) {
+			return Integer.compare(this.ordinal, other.ordinal);
+		}
+
+	}
+
+}
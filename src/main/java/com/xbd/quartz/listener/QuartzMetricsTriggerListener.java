@@ -0,0 +1,89 @@
+package com.xbd.quartz.listener;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import com.xbd.quartz.metrics.QuartzMetrics;
+import org.quartz.JobExecutionContext;
+import org.quartz.Trigger;
+import org.quartz.Trigger.CompletedExecutionInstruction;
+import org.springframework.util.Assert;
+
+/**
+ * 采集调度延迟的TriggerListener
+ * <p>在工作线程同步回调的{@code vetoJobExecution}中记录触发延迟（实际触发时间 - 计划触发时间）、
+ * 排队等待（开始执行时间 - 实际触发时间）并标记开始时间，{@code triggerComplete}中记录执行耗时，
+ * {@code triggerMisfired}中记录错过触发，均写入{@link QuartzMetrics}.
+ * <p>每次回调仅为若干原子计数，不经异步分发，见{@link #asyncDispatch()}.
+ *
+ * @author luas
+ * @since 2.0
+ */
+public class QuartzMetricsTriggerListener extends AbstractTriggerListener {
+
+	private static final String START_NANOS_KEY = QuartzMetricsTriggerListener.class.getName() + ".startNanos";
+
+	private QuartzMetrics metrics;
+
+	@Override
+	public String getName() {
+		return getClass().getName();
+	}
+
+	/**
+	 * 异步分发会将分发滞后计入耗时，始终同步回调
+	 */
+	@Override
+	public boolean asyncDispatch() {
+		return false;
+	}
+
+	@Override
+	public void triggerFired(Trigger trigger, JobExecutionContext context) {
+
+	}
+
+	@Override
+	public boolean vetoJobExecution(Trigger trigger, JobExecutionContext context) {
+		long now = System.currentTimeMillis();
+
+		context.put(START_NANOS_KEY, System.nanoTime());
+
+		long fireTime = context.getFireTime().getTime();
+		Date scheduledFireTime = context.getScheduledFireTime();
+
+		metrics.recordFired(trigger.getJobKey(), context.getJobDetail().getJobClass().getName(),
+				TimeUnit.MILLISECONDS.toMicros(scheduledFireTime == null ? 0L : fireTime - scheduledFireTime.getTime()),
+				TimeUnit.MILLISECONDS.toMicros(now - fireTime));
+
+		return false;
+	}
+
+	@Override
+	public void triggerMisfired(Trigger trigger) {
+		metrics.recordMisfired(trigger.getJobKey());
+	}
+
+	@Override
+	public void triggerComplete(Trigger trigger, JobExecutionContext context, CompletedExecutionInstruction triggerInstructionCode) {
+		Object startNanos = context.get(START_NANOS_KEY);
+
+		// 被其它监听否决时不会执行到此处；未标记开始时间时退回到Quartz统计的执行时间
+		long durationMicros = startNanos instanceof Long
+				? TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - (Long) startNanos)
+				: TimeUnit.MILLISECONDS.toMicros(Math.max(0L, context.getJobRunTime()));
+
+		metrics.recordCompleted(trigger.getJobKey(), context.getJobDetail().getJobClass().getName(), durationMicros);
+	}
+
+	public QuartzMetrics getMetrics() {
+		return metrics;
+	}
+
+	public void setMetrics(QuartzMetrics metrics) {
+		Assert.notNull(metrics, "metrics不能为空！");
+
+		this.metrics = metrics;
+	}
+
+}
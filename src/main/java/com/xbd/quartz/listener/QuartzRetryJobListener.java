@@ -0,0 +1,237 @@
+package com.xbd.quartz.listener;
+
+import com.xbd.quartz.QuartzRetryPolicy;
+import com.xbd.quartz.QuartzTaskHandler;
+import com.xbd.quartz.QuartzTrigger;
+import com.xbd.quartz.QuartzTriggerBuilder;
+import org.apache.commons.lang3.StringUtils;
+import org.quartz.JobDataMap;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.quartz.JobKey;
+import org.quartz.SchedulerException;
+import org.quartz.SimpleTrigger;
+import org.quartz.Trigger;
+import org.quartz.impl.matchers.GroupMatcher;
+import org.springframework.util.Assert;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 任务失败重试JobListener
+ * <p>任务执行失败且配置了{@link QuartzRetryPolicy}时，通过{@link QuartzTaskHandler}添加一个一次性SIMPLE Trigger，
+ * 在退避时间后重新执行，不占用工作线程等待. 重试Trigger的分组为{@link #RETRY_TRIGGER_GROUP}，
+ * 复制失败执行的Trigger的JobDataMap及优先级，并在{@link QuartzRetryPolicy#ATTEMPT_KEY}中记录执行次数.
+ * <p>达到最大执行次数或异常不可重试时，添加一个处于暂停状态的死信Trigger，分组为{@link #DEAD_LETTER_TRIGGER_GROUP}，
+ * 其JobDataMap中记录执行次数、失败原因及时间. 处理完问题后恢复该Trigger即重新执行一次任务，执行次数重新计算.
+ * <p>声明为Spring Bean后由{@link com.xbd.quartz.QuartzListenerRegister}自动注册，异步任务在实际完成时判断是否重试.
+ * {@code refireImmediately}的异常由Quartz立即重新执行，不再重试.
+ *
+ * @author luas
+ * @since 2.0
+ */
+public class QuartzRetryJobListener extends AbstractJobListener {
+
+	/**
+	 * 重试Trigger的分组
+	 */
+	public static final String RETRY_TRIGGER_GROUP = "QUARTZ_RETRIES";
+
+	/**
+	 * 死信Trigger的分组，该分组处于暂停状态
+	 */
+	public static final String DEAD_LETTER_TRIGGER_GROUP = "QUARTZ_DEAD_LETTERS";
+
+	/**
+	 * 死信Trigger的JobDataMap中执行次数的Key
+	 */
+	public static final String DEAD_LETTER_ATTEMPTS_KEY = "jobDeadLetterAttempts";
+
+	/**
+	 * 死信Trigger的JobDataMap中失败原因的Key
+	 */
+	public static final String DEAD_LETTER_CAUSE_KEY = "jobDeadLetterCause";
+
+	/**
+	 * 死信Trigger的JobDataMap中失败时间的Key，单位：毫秒
+	 */
+	public static final String DEAD_LETTER_TIME_KEY = "jobDeadLetterTime";
+
+	private static final int MAX_CAUSE_LENGTH = 500;
+
+	private QuartzTaskHandler quartzTaskHandler;
+
+	private final LongAdder retryCount = new LongAdder();
+
+	private final LongAdder deadLetterCount = new LongAdder();
+
+	@Override
+	public String getName() {
+		return getClass().getName();
+	}
+
+	/**
+	 * 始终同步回调：异步分发的DROP_NEWEST、DROP_OLDEST策略会丢弃回调，失败的执行将既不重试也不进入死信
+	 */
+	@Override
+	public boolean asyncDispatch() {
+		return false;
+	}
+
+	@Override
+	public void jobToBeExecuted(JobExecutionContext context) {
+
+	}
+
+	@Override
+	public void jobExecutionVetoed(JobExecutionContext context) {
+
+	}
+
+	@Override
+	public void jobWasExecuted(JobExecutionContext context, JobExecutionException jobException) {
+		if (jobException == null || jobException.refireImmediately()) {
+			return;
+		}
+
+		JobKey jobKey = context.getJobDetail().getKey();
+
+		QuartzRetryPolicy policy;
+
+		try {
+			policy = QuartzRetryPolicy.fromJobData(context.getMergedJobDataMap(), context.getJobDetail().getJobClass().getClassLoader());
+		} catch (ClassNotFoundException | RuntimeException e) {
+			this.logger.error("任务" + jobKey + "的重试策略配置错误，不再重试！", e);
+			return;
+		}
+
+		if (policy == null) {
+			return;
+		}
+
+		int attempt = getAttempt(context.getMergedJobDataMap());
+
+		try {
+			if (attempt < policy.getMaxAttempts() && policy.isRetryable(jobException)) {
+				long delayMillis = policy.delayMillis(attempt);
+
+				retry(context, attempt + 1, delayMillis);
+
+				this.retryCount.increment();
+				this.logger.warn("任务{}第{}次执行失败，{}毫秒后重试：{}", jobKey, attempt, delayMillis, jobException.getMessage());
+			} else {
+				deadLetter(context, attempt, jobException);
+
+				this.deadLetterCount.increment();
+				this.logger.error("任务{}第{}次执行失败，已转入死信分组{}：{}", jobKey, attempt, DEAD_LETTER_TRIGGER_GROUP, jobException.getMessage());
+			}
+		} catch (SchedulerException e) {
+			this.logger.error("任务" + jobKey + "添加重试Trigger失败！", e);
+		}
+	}
+
+	private void retry(JobExecutionContext context, int attempt, long delayMillis) throws SchedulerException {
+		Map<String, Object> jobData = copyTriggerJobData(context);
+		jobData.put(QuartzRetryPolicy.ATTEMPT_KEY, String.valueOf(attempt));
+
+		JobKey jobKey = context.getJobDetail().getKey();
+
+		QuartzTrigger retryTrigger = QuartzTriggerBuilder.newTrigger()
+				.withIdentity(jobKey.getName() + "." + UUID.randomUUID().toString().replace("-", ""), RETRY_TRIGGER_GROUP)
+				.withDescription("第" + attempt + "次执行" + jobKey)
+				.forJob(jobKey)
+				.startAt(new Date(System.currentTimeMillis() + delayMillis))
+				.withPriority(getPriority(context))
+				.withMisfireInstruction(SimpleTrigger.MISFIRE_INSTRUCTION_FIRE_NOW)
+				.setJobData(jobData)
+				.build();
+
+		this.quartzTaskHandler.addTrigger(retryTrigger);
+	}
+
+	private void deadLetter(JobExecutionContext context, int attempts, JobExecutionException jobException) throws SchedulerException {
+		Map<String, Object> jobData = copyTriggerJobData(context);
+		jobData.remove(QuartzRetryPolicy.ATTEMPT_KEY);
+		jobData.put(DEAD_LETTER_ATTEMPTS_KEY, String.valueOf(attempts));
+		jobData.put(DEAD_LETTER_CAUSE_KEY, StringUtils.abbreviate(String.valueOf(rootCause(jobException)), MAX_CAUSE_LENGTH));
+		jobData.put(DEAD_LETTER_TIME_KEY, String.valueOf(System.currentTimeMillis()));
+
+		JobKey jobKey = context.getJobDetail().getKey();
+
+		QuartzTrigger deadLetterTrigger = QuartzTriggerBuilder.newTrigger()
+				.withIdentity(jobKey.getName() + "." + UUID.randomUUID().toString().replace("-", ""), DEAD_LETTER_TRIGGER_GROUP)
+				.withDescription("执行" + attempts + "次失败：" + StringUtils.abbreviate(jobException.getMessage(), MAX_CAUSE_LENGTH))
+				.forJob(jobKey)
+				.startNow(true)
+				.withPriority(getPriority(context))
+				.withMisfireInstruction(SimpleTrigger.MISFIRE_INSTRUCTION_FIRE_NOW)
+				.setJobData(jobData)
+				.build();
+
+		// 暂停的分组会被Scheduler记录，之后添加到该分组的Trigger直接处于暂停状态
+		this.quartzTaskHandler.pauseTrigger(GroupMatcher.triggerGroupEquals(DEAD_LETTER_TRIGGER_GROUP));
+		this.quartzTaskHandler.addTrigger(deadLetterTrigger);
+	}
+
+	/**
+	 * 累计添加的重试Trigger数量
+	 */
+	public long getRetryCount() {
+		return retryCount.sum();
+	}
+
+	/**
+	 * 累计添加的死信Trigger数量
+	 */
+	public long getDeadLetterCount() {
+		return deadLetterCount.sum();
+	}
+
+	public QuartzTaskHandler getQuartzTaskHandler() {
+		return quartzTaskHandler;
+	}
+
+	public void setQuartzTaskHandler(QuartzTaskHandler quartzTaskHandler) {
+		Assert.notNull(quartzTaskHandler, "quartzTaskHandler不能为空！");
+
+		this.quartzTaskHandler = quartzTaskHandler;
+	}
+
+	/**
+	 * 本次为第几次执行，首次执行为1
+	 */
+	public static int getAttempt(JobDataMap jobDataMap) {
+		Object attempt = jobDataMap.get(QuartzRetryPolicy.ATTEMPT_KEY);
+
+		return attempt == null || StringUtils.isBlank(attempt.toString()) ? 1 : Integer.parseInt(attempt.toString().trim());
+	}
+
+	private static Map<String, Object> copyTriggerJobData(JobExecutionContext context) {
+		Map<String, Object> jobData = new HashMap<>();
+
+		if (context.getTrigger() != null) {
+			jobData.putAll(context.getTrigger().getJobDataMap());
+		}
+
+		return jobData;
+	}
+
+	private static int getPriority(JobExecutionContext context) {
+		return context.getTrigger() == null ? Trigger.DEFAULT_PRIORITY : context.getTrigger().getPriority();
+	}
+
+	private static Throwable rootCause(Throwable failure) {
+		Throwable cause = failure;
+
+		while (cause.getCause() != null && cause.getCause() != cause) {
+			cause = cause.getCause();
+		}
+
+		return cause;
+	}
+
+}
@@ -4,8 +4,8 @@ import com.xbd.quartz.listener.AbstractJobListener;
 
 import org.quartz.JobExecutionContext;
 import org.quartz.JobExecutionException;
+import org.quartz.JobKey;
 import org.quartz.Matcher;
-import org.quartz.TriggerKey;
 
 import java.time.LocalDateTime;
 
@@ -23,7 +23,7 @@ public class DefaultGlobalJobListener extends AbstractJobListener {
 	}
 
 	@Override
-	public Matcher<TriggerKey> matcher() {
+	public Matcher<JobKey> matcher() {
 		return super.matcher();
 	}
 
@@ -40,8 +40,10 @@ public class DefaultGlobalTriggerListener extends AbstractTriggerListener {
 	@Override
 	public void triggerComplete(Trigger trigger, JobExecutionContext context,
 			CompletedExecutionInstruction triggerInstructionCode) {
-		
-		log.info("任务：{}执行完成，开始执行：{}，上次执行：{}，下次执行：{}", new Object[] { trigger.getKey().toString(), trigger.getStartTime(), trigger.getPreviousFireTime(), trigger.getNextFireTime() });
+		// 每次触发均会回调，仅在DEBUG时格式化；需要执行记录时使用QuartzExecutionEventSink
+		if (log.isDebugEnabled()) {
+			log.debug("任务：{}执行完成，开始执行：{}，上次执行：{}，下次执行：{}", new Object[] { trigger.getKey(), trigger.getStartTime(), trigger.getPreviousFireTime(), trigger.getNextFireTime() });
+		}
 	}
 	
 }
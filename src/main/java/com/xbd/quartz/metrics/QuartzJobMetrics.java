@@ -0,0 +1,64 @@
+package com.xbd.quartz.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 一个任务分组或任务类的执行指标
+ *
+ * @author luas
+ * @since 2.0
+ */
+public class QuartzJobMetrics {
+
+    private final String name;
+
+    /**
+     * 触发延迟：实际触发时间 - 计划触发时间
+     */
+    private final QuartzLatencyHistogram fireLag = new QuartzLatencyHistogram();
+
+    /**
+     * 排队等待：工作线程开始执行时间 - 实际触发时间
+     */
+    private final QuartzLatencyHistogram queueWait = new QuartzLatencyHistogram();
+
+    /**
+     * 执行耗时，异步任务至实际完成
+     */
+    private final QuartzLatencyHistogram duration = new QuartzLatencyHistogram();
+
+    private final LongAdder misfireCount = new LongAdder();
+
+    public QuartzJobMetrics(String name) {
+        this.name = name;
+    }
+
+    void recordFired(long fireLagMicros, long queueWaitMicros) {
+        this.fireLag.record(fireLagMicros);
+        this.queueWait.record(queueWaitMicros);
+    }
+
+    void recordCompleted(long durationMicros) {
+        this.duration.record(durationMicros);
+    }
+
+    void recordMisfired() {
+        this.misfireCount.increment();
+    }
+
+    public QuartzJobMetricsSnapshot snapshot() {
+        return new QuartzJobMetricsSnapshot(this.name, this.misfireCount.sum(), this.fireLag.snapshot(),
+                this.queueWait.snapshot(), this.duration.snapshot());
+    }
+
+    public void reset() {
+        this.fireLag.reset();
+        this.queueWait.reset();
+        this.duration.reset();
+        this.misfireCount.reset();
+    }
+
+    public String getName() {
+        return name;
+    }
+}
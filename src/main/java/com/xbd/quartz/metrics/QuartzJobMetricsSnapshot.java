@@ -0,0 +1,81 @@
+package com.xbd.quartz.metrics;
+
+import java.beans.ConstructorProperties;
+import java.io.Serializable;
+
+/**
+ * {@link QuartzJobMetrics}的快照，延迟单位：微秒
+ *
+ * @author luas
+ * @since 2.0
+ */
+public class QuartzJobMetricsSnapshot implements Serializable {
+
+    private static final long serialVersionUID = -7402281745164402379L;
+
+    private final String name;
+
+    private final long misfireCount;
+
+    private final QuartzLatencySnapshot fireLag;
+
+    private final QuartzLatencySnapshot queueWait;
+
+    private final QuartzLatencySnapshot duration;
+
+    @ConstructorProperties({"name", "misfireCount", "fireLag", "queueWait", "duration"})
+    public QuartzJobMetricsSnapshot(String name, long misfireCount, QuartzLatencySnapshot fireLag,
+                                    QuartzLatencySnapshot queueWait, QuartzLatencySnapshot duration) {
+        this.name = name;
+        this.misfireCount = misfireCount;
+        this.fireLag = fireLag;
+        this.queueWait = queueWait;
+        this.duration = duration;
+    }
+
+    /**
+     * 任务分组或任务类名，汇总指标为{@link QuartzMetrics#TOTAL}
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 错过触发次数
+     */
+    public long getMisfireCount() {
+        return misfireCount;
+    }
+
+    /**
+     * 触发延迟：实际触发时间 - 计划触发时间，毫秒精度
+     */
+    public QuartzLatencySnapshot getFireLag() {
+        return fireLag;
+    }
+
+    /**
+     * 排队等待：工作线程开始执行时间 - 实际触发时间，毫秒精度
+     */
+    public QuartzLatencySnapshot getQueueWait() {
+        return queueWait;
+    }
+
+    /**
+     * 执行耗时，异步任务至实际完成
+     */
+    public QuartzLatencySnapshot getDuration() {
+        return duration;
+    }
+
+    @Override
+    public String toString() {
+        return "QuartzJobMetricsSnapshot{" +
+                "name='" + name + '\'' +
+                ", misfireCount=" + misfireCount +
+                ", fireLag=" + fireLag +
+                ", queueWait=" + queueWait +
+                ", duration=" + duration +
+                '}';
+    }
+}
@@ -0,0 +1,116 @@
+package com.xbd.quartz.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 无锁、固定内存的延迟直方图
+ * <p>按对数-线性划分桶：每个2的幂区间再均分为{@value #SUB_BUCKETS}个子桶，相对误差不超过12.5%，
+ * 覆盖0至{@code Long.MAX_VALUE}微秒，共{@value #BUCKETS}个计数，约4KB.
+ * <p>记录只做一次桶计数的原子自增及计数、求和、极值的累加，不加锁、不分配对象；百分位在读取时由桶计数计算.
+ *
+ * @author luas
+ * @since 2.0
+ */
+public class QuartzLatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    private final LongAdder sum = new LongAdder();
+
+    private final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+    /**
+     * 记录一个值
+     *
+     * @param micros 延迟，单位：微秒，小于0时按0记录
+     */
+    public void record(long micros) {
+        long value = Math.max(0L, micros);
+
+        this.counts.incrementAndGet(indexOf(value));
+        this.sum.add(value);
+        this.min.accumulate(value);
+        this.max.accumulate(value);
+    }
+
+    /**
+     * 生成快照，并发记录时各统计值之间可能存在微小偏差
+     */
+    public QuartzLatencySnapshot snapshot() {
+        long[] buckets = new long[BUCKETS];
+        long count = 0L;
+
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = this.counts.get(i);
+            count += buckets[i];
+        }
+
+        if (count == 0L) {
+            return new QuartzLatencySnapshot(0L, 0L, 0L, 0L, 0L, 0L, 0L, 0L);
+        }
+
+        long maxValue = this.max.get();
+
+        return new QuartzLatencySnapshot(count, this.min.get(), maxValue, this.sum.sum() / count,
+                percentile(buckets, count, 0.5D, maxValue), percentile(buckets, count, 0.9D, maxValue),
+                percentile(buckets, count, 0.99D, maxValue), percentile(buckets, count, 0.999D, maxValue));
+    }
+
+    /**
+     * 清空统计，与并发记录之间不保证原子性
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            this.counts.set(i, 0L);
+        }
+
+        this.sum.reset();
+        this.min.reset();
+        this.max.reset();
+    }
+
+    private static long percentile(long[] buckets, long count, double quantile, long maxValue) {
+        long rank = (long) Math.ceil(quantile * count);
+        long seen = 0L;
+
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets[i];
+
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), maxValue);
+            }
+        }
+
+        return maxValue;
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+
+        int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+
+        return ((shift + 1) << SUB_BUCKET_BITS) + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+    }
+
+    static long upperBoundOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+
+        int shift = (index >> SUB_BUCKET_BITS) - 1;
+
+        return ((long) (SUB_BUCKETS + (index & (SUB_BUCKETS - 1))) << shift) + (1L << shift) - 1;
+    }
+}
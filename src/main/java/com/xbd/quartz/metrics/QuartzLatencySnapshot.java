@@ -0,0 +1,90 @@
+package com.xbd.quartz.metrics;
+
+import java.beans.ConstructorProperties;
+import java.io.Serializable;
+
+/**
+ * {@link QuartzLatencyHistogram}的快照，单位：微秒
+ * <p>百分位为所在桶的上界，不超过最大值.
+ *
+ * @author luas
+ * @since 2.0
+ */
+public class QuartzLatencySnapshot implements Serializable {
+
+    private static final long serialVersionUID = 2906651372218497104L;
+
+    private final long count;
+
+    private final long min;
+
+    private final long max;
+
+    private final long mean;
+
+    private final long p50;
+
+    private final long p90;
+
+    private final long p99;
+
+    private final long p999;
+
+    @ConstructorProperties({"count", "min", "max", "mean", "p50", "p90", "p99", "p999"})
+    public QuartzLatencySnapshot(long count, long min, long max, long mean, long p50, long p90, long p99, long p999) {
+        this.count = count;
+        this.min = min;
+        this.max = max;
+        this.mean = mean;
+        this.p50 = p50;
+        this.p90 = p90;
+        this.p99 = p99;
+        this.p999 = p999;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getMin() {
+        return min;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public long getMean() {
+        return mean;
+    }
+
+    public long getP50() {
+        return p50;
+    }
+
+    public long getP90() {
+        return p90;
+    }
+
+    public long getP99() {
+        return p99;
+    }
+
+    public long getP999() {
+        return p999;
+    }
+
+    @Override
+    public String toString() {
+        return "QuartzLatencySnapshot{" +
+                "count=" + count +
+                ", min=" + min +
+                ", max=" + max +
+                ", mean=" + mean +
+                ", p50=" + p50 +
+                ", p90=" + p90 +
+                ", p99=" + p99 +
+                ", p999=" + p999 +
+                '}';
+    }
+}
@@ -0,0 +1,284 @@
+package com.xbd.quartz.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.quartz.JobKey;
+import org.quartz.Scheduler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.util.Assert;
+
+/**
+ * 调度延迟指标
+ * <p>按任务分组、任务类分别统计触发延迟、排队等待、执行耗时的直方图及错过触发次数，由
+ * {@link com.xbd.quartz.listener.QuartzMetricsTriggerListener}采集. 分组、任务类的数量超过{@link #setMaxKeys(int) maxKeys}后
+ * 新出现的计入{@link #OTHER}，内存占用固定.
+ * <p>启动后按调度器名称登记，{@link com.xbd.quartz.QuartzTaskHandler}通过{@link #getInstance(String)}获取；
+ * 默认同时注册到平台MBeanServer，见{@link QuartzMetricsMXBean}.
+ *
+ * @author luas
+ * @since 2.0
+ */
+public class QuartzMetrics implements QuartzMetricsMXBean, InitializingBean, DisposableBean {
+
+    /**
+     * 汇总指标的名称
+     */
+    public static final String TOTAL = "TOTAL";
+
+    /**
+     * 超过{@code maxKeys}后新出现的分组、任务类合并计入的名称
+     */
+    public static final String OTHER = "OTHER";
+
+    private static final Logger logger = LoggerFactory.getLogger(QuartzMetrics.class);
+
+    private static final Map<String, QuartzMetrics> INSTANCES = new ConcurrentHashMap<>();
+
+    private Scheduler scheduler;
+
+    private int maxKeys = 256;
+
+    private int maxJobs = 10000;
+
+    private boolean jmxEnabled = true;
+
+    private String schedulerName;
+
+    private ObjectName objectName;
+
+    private final QuartzJobMetrics total = new QuartzJobMetrics(TOTAL);
+
+    private final ConcurrentMap<String, QuartzJobMetrics> jobGroups = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, QuartzJobMetrics> jobClasses = new ConcurrentHashMap<>();
+
+    /**
+     * 错过触发时仅有JobKey，按已执行过的任务查找任务类
+     */
+    private final ConcurrentMap<JobKey, String> jobClassNames = new ConcurrentHashMap<>();
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        Assert.notNull(this.scheduler, "scheduler不能为空！");
+
+        this.schedulerName = this.scheduler.getSchedulerName();
+
+        INSTANCES.put(this.schedulerName, this);
+
+        if (this.jmxEnabled) {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+            this.objectName = new ObjectName("com.xbd.quartz:type=QuartzMetrics,scheduler=" + ObjectName.quote(this.schedulerName));
+
+            if (server.isRegistered(this.objectName)) {
+                server.unregisterMBean(this.objectName);
+            }
+
+            server.registerMBean(this, this.objectName);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (this.schedulerName != null) {
+            INSTANCES.remove(this.schedulerName, this);
+        }
+
+        if (this.objectName != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(this.objectName);
+            } catch (JMException e) {
+                logger.warn("注销{}失败！", this.objectName, e);
+            }
+
+            this.objectName = null;
+        }
+    }
+
+    /**
+     * 获取指定调度器的指标
+     *
+     * @param schedulerName 调度器名称
+     * @return 指标，未配置时返回null
+     */
+    public static QuartzMetrics getInstance(String schedulerName) {
+        return INSTANCES.get(schedulerName);
+    }
+
+    /**
+     * 记录一次触发
+     *
+     * @param jobKey          任务
+     * @param jobClassName    任务类名
+     * @param fireLagMicros   触发延迟，单位：微秒
+     * @param queueWaitMicros 排队等待，单位：微秒
+     */
+    public void recordFired(JobKey jobKey, String jobClassName, long fireLagMicros, long queueWaitMicros) {
+        if (this.jobClassNames.size() < this.maxJobs) {
+            this.jobClassNames.putIfAbsent(jobKey, jobClassName);
+        }
+
+        this.total.recordFired(fireLagMicros, queueWaitMicros);
+        metrics(this.jobGroups, jobKey.getGroup()).recordFired(fireLagMicros, queueWaitMicros);
+        metrics(this.jobClasses, jobClassName).recordFired(fireLagMicros, queueWaitMicros);
+    }
+
+    /**
+     * 记录一次执行结束
+     *
+     * @param jobKey         任务
+     * @param jobClassName   任务类名
+     * @param durationMicros 执行耗时，单位：微秒
+     */
+    public void recordCompleted(JobKey jobKey, String jobClassName, long durationMicros) {
+        this.total.recordCompleted(durationMicros);
+        metrics(this.jobGroups, jobKey.getGroup()).recordCompleted(durationMicros);
+        metrics(this.jobClasses, jobClassName).recordCompleted(durationMicros);
+    }
+
+    /**
+     * 记录一次错过触发，任务未执行过时不计入任务类
+     *
+     * @param jobKey 任务
+     */
+    public void recordMisfired(JobKey jobKey) {
+        this.total.recordMisfired();
+        metrics(this.jobGroups, jobKey.getGroup()).recordMisfired();
+
+        String jobClassName = this.jobClassNames.get(jobKey);
+
+        if (jobClassName != null) {
+            metrics(this.jobClasses, jobClassName).recordMisfired();
+        }
+    }
+
+    private QuartzJobMetrics metrics(ConcurrentMap<String, QuartzJobMetrics> metricsMap, String key) {
+        QuartzJobMetrics metrics = metricsMap.get(key);
+
+        if (metrics != null) {
+            return metrics;
+        }
+
+        String name = metricsMap.size() < this.maxKeys ? key : OTHER;
+
+        return metricsMap.computeIfAbsent(name, QuartzJobMetrics::new);
+    }
+
+    @Override
+    public QuartzJobMetricsSnapshot getTotal() {
+        return this.total.snapshot();
+    }
+
+    @Override
+    public List<QuartzJobMetricsSnapshot> getJobGroups() {
+        return snapshots(this.jobGroups);
+    }
+
+    @Override
+    public List<QuartzJobMetricsSnapshot> getJobClasses() {
+        return snapshots(this.jobClasses);
+    }
+
+    /**
+     * 获取任务分组的指标
+     *
+     * @param jobGroup 任务分组
+     * @return 指标，尚无记录时返回null
+     */
+    public QuartzJobMetricsSnapshot getJobGroup(String jobGroup) {
+        QuartzJobMetrics metrics = this.jobGroups.get(jobGroup);
+
+        return metrics == null ? null : metrics.snapshot();
+    }
+
+    /**
+     * 获取任务类的指标
+     *
+     * @param jobClassName 任务类名
+     * @return 指标，尚无记录时返回null
+     */
+    public QuartzJobMetricsSnapshot getJobClass(String jobClassName) {
+        QuartzJobMetrics metrics = this.jobClasses.get(jobClassName);
+
+        return metrics == null ? null : metrics.snapshot();
+    }
+
+    @Override
+    public void reset() {
+        this.total.reset();
+        this.jobGroups.clear();
+        this.jobClasses.clear();
+    }
+
+    private static List<QuartzJobMetricsSnapshot> snapshots(Map<String, QuartzJobMetrics> metricsMap) {
+        List<QuartzJobMetricsSnapshot> snapshots = new ArrayList<>(metricsMap.size());
+
+        for (QuartzJobMetrics metrics : metricsMap.values()) {
+            snapshots.add(metrics.snapshot());
+        }
+
+        snapshots.sort(Comparator.comparing(QuartzJobMetricsSnapshot::getName));
+
+        return snapshots;
+    }
+
+    public Scheduler getScheduler() {
+        return scheduler;
+    }
+
+    public void setScheduler(Scheduler scheduler) {
+        Assert.notNull(scheduler, "scheduler不能为空！");
+
+        this.scheduler = scheduler;
+    }
+
+    public int getMaxKeys() {
+        return maxKeys;
+    }
+
+    /**
+     * 分别统计的任务分组、任务类的最大数量，每个约占12KB
+     */
+    public void setMaxKeys(int maxKeys) {
+        Assert.isTrue(maxKeys > 0, "maxKeys必须大于0！");
+
+        this.maxKeys = maxKeys;
+    }
+
+    public int getMaxJobs() {
+        return maxJobs;
+    }
+
+    /**
+     * 错过触发时用于查找任务类的JobKey缓存的最大数量
+     */
+    public void setMaxJobs(int maxJobs) {
+        Assert.isTrue(maxJobs > 0, "maxJobs必须大于0！");
+
+        this.maxJobs = maxJobs;
+    }
+
+    public boolean isJmxEnabled() {
+        return jmxEnabled;
+    }
+
+    /**
+     * 是否注册到平台MBeanServer，默认true
+     */
+    public void setJmxEnabled(boolean jmxEnabled) {
+        this.jmxEnabled = jmxEnabled;
+    }
+}
@@ -0,0 +1,32 @@
+package com.xbd.quartz.metrics;
+
+import java.util.List;
+
+/**
+ * 调度延迟指标的JMX管理接口，注册名称为{@code com.xbd.quartz:type=QuartzMetrics,scheduler=<调度器名称>}
+ *
+ * @author luas
+ * @since 2.0
+ */
+public interface QuartzMetricsMXBean {
+
+    /**
+     * 全部任务的汇总指标
+     */
+    QuartzJobMetricsSnapshot getTotal();
+
+    /**
+     * 各任务分组的指标
+     */
+    List<QuartzJobMetricsSnapshot> getJobGroups();
+
+    /**
+     * 各任务类的指标
+     */
+    List<QuartzJobMetricsSnapshot> getJobClasses();
+
+    /**
+     * 清空全部指标
+     */
+    void reset();
+}
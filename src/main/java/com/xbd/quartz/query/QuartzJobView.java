@@ -0,0 +1,70 @@
+package com.xbd.quartz.query;
+
+import java.io.Serializable;
+
+import org.quartz.JobKey;
+
+/**
+ * 任务查询投影，仅包含列表展示所需的列，不反序列化JobDataMap
+ *
+ * @author luas
+ * @since 2.0
+ */
+public class QuartzJobView implements Serializable {
+
+    private static final long serialVersionUID = -3409627815734906517L;
+
+    private final JobKey key;
+
+    private final String jobClassName;
+
+    private final String description;
+
+    private final boolean durable;
+
+    private final boolean concurrentExecutionDisallowed;
+
+    private final boolean requestsRecovery;
+
+    public QuartzJobView(JobKey key, String jobClassName, String description, boolean durable,
+                         boolean concurrentExecutionDisallowed, boolean requestsRecovery) {
+        this.key = key;
+        this.jobClassName = jobClassName;
+        this.description = description;
+        this.durable = durable;
+        this.concurrentExecutionDisallowed = concurrentExecutionDisallowed;
+        this.requestsRecovery = requestsRecovery;
+    }
+
+    public JobKey getKey() {
+        return key;
+    }
+
+    public String getJobClassName() {
+        return jobClassName;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public boolean isDurable() {
+        return durable;
+    }
+
+    public boolean isConcurrentExecutionDisallowed() {
+        return concurrentExecutionDisallowed;
+    }
+
+    public boolean isRequestsRecovery() {
+        return requestsRecovery;
+    }
+
+    @Override
+    public String toString() {
+        return "QuartzJobView{" +
+                "key=" + key +
+                ", jobClassName='" + jobClassName + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,49 @@
+package com.xbd.quartz.query;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 游标分页查询结果
+ *
+ * @param <T> 结果类型
+ * @author luas
+ * @since 2.0
+ */
+public class QuartzPage<T> implements Serializable {
+
+    private static final long serialVersionUID = 5512395790263416431L;
+
+    private final List<T> items;
+
+    private final String nextCursor;
+
+    public QuartzPage(List<T> items, String nextCursor) {
+        this.items = Collections.unmodifiableList(items);
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * 下一页游标，已是最后一页时为null
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+
+    @Override
+    public String toString() {
+        return "QuartzPage{" +
+                "size=" + items.size() +
+                ", nextCursor='" + nextCursor + '\'' +
+                '}';
+    }
+}
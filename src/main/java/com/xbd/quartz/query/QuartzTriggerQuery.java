@@ -0,0 +1,168 @@
+package com.xbd.quartz.query;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.Set;
+
+import org.quartz.Job;
+import org.quartz.Trigger.TriggerState;
+import org.springframework.util.Assert;
+
+/**
+ * Trigger分页查询条件
+ * <p>所有条件均为可选，多个条件之间为且的关系；结果按{@link Sort}升序排列，以{@link QuartzPage#getNextCursor()}翻页.
+ * <pre>
+ *    {@code
+ *      QuartzTriggerQuery query = QuartzTriggerQuery.newQuery()
+ *              .withGroupPrefix("order-")
+ *              .withStates(TriggerState.PAUSED)
+ *              .sortBy(QuartzTriggerQuery.Sort.NEXT_FIRE_TIME)
+ *              .withLimit(200);
+ *    }
+ * </pre>
+ *
+ * @author luas
+ * @since 2.0
+ */
+public class QuartzTriggerQuery implements Serializable {
+
+    private static final long serialVersionUID = -1587462417934165822L;
+
+    public static final int DEFAULT_LIMIT = 100;
+
+    public static final int MAX_LIMIT = 10000;
+
+    /**
+     * 排序方式
+     */
+    public enum Sort {
+
+        /**
+         * 按Trigger分组、名称
+         */
+        KEY,
+
+        /**
+         * 按下次触发时间，相同时按Trigger分组、名称；不包含下次触发时间为空的Trigger
+         */
+        NEXT_FIRE_TIME
+
+    }
+
+    private String groupPrefix;
+
+    private Set<TriggerState> states = Collections.emptySet();
+
+    private String jobClassName;
+
+    private Date nextFireTimeFrom;
+
+    private Date nextFireTimeTo;
+
+    private Sort sort = Sort.KEY;
+
+    private String cursor;
+
+    private int limit = DEFAULT_LIMIT;
+
+    private QuartzTriggerQuery() {
+
+    }
+
+    public static QuartzTriggerQuery newQuery() {
+        return new QuartzTriggerQuery();
+    }
+
+    /**
+     * Trigger分组前缀
+     */
+    public QuartzTriggerQuery withGroupPrefix(String groupPrefix) {
+        this.groupPrefix = groupPrefix;
+        return this;
+    }
+
+    /**
+     * Trigger状态，多个状态之间为或的关系
+     */
+    public QuartzTriggerQuery withStates(TriggerState... states) {
+        this.states = states == null || states.length == 0 ? Collections.emptySet() : EnumSet.copyOf(Arrays.asList(states));
+        return this;
+    }
+
+    public QuartzTriggerQuery withJobClass(Class<? extends Job> jobClass) {
+        this.jobClassName = jobClass == null ? null : jobClass.getName();
+        return this;
+    }
+
+    public QuartzTriggerQuery withJobClassName(String jobClassName) {
+        this.jobClassName = jobClassName;
+        return this;
+    }
+
+    /**
+     * 下次触发时间范围，包含{@code from}，不包含{@code to}，任意一端可为null
+     */
+    public QuartzTriggerQuery withNextFireTimeBetween(Date from, Date to) {
+        this.nextFireTimeFrom = from;
+        this.nextFireTimeTo = to;
+        return this;
+    }
+
+    public QuartzTriggerQuery sortBy(Sort sort) {
+        Assert.notNull(sort, "sort不能为空！");
+
+        this.sort = sort;
+        return this;
+    }
+
+    /**
+     * 上一页返回的{@link QuartzPage#getNextCursor()}，首页传null；翻页时其它条件须与上一页一致
+     */
+    public QuartzTriggerQuery after(String cursor) {
+        this.cursor = cursor;
+        return this;
+    }
+
+    public QuartzTriggerQuery withLimit(int limit) {
+        Assert.isTrue(limit > 0 && limit <= MAX_LIMIT, "limit须在1到" + MAX_LIMIT + "之间！");
+
+        this.limit = limit;
+        return this;
+    }
+
+    public String getGroupPrefix() {
+        return groupPrefix;
+    }
+
+    public Set<TriggerState> getStates() {
+        return states;
+    }
+
+    public String getJobClassName() {
+        return jobClassName;
+    }
+
+    public Date getNextFireTimeFrom() {
+        return nextFireTimeFrom;
+    }
+
+    public Date getNextFireTimeTo() {
+        return nextFireTimeTo;
+    }
+
+    public Sort getSort() {
+        return sort;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+}
@@ -0,0 +1,107 @@
+package com.xbd.quartz.query;
+
+import java.io.Serializable;
+import java.util.Date;
+
+import org.quartz.JobKey;
+import org.quartz.Trigger.TriggerState;
+import org.quartz.TriggerKey;
+
+/**
+ * Trigger查询投影，仅包含列表展示所需的列，不反序列化JobDataMap
+ *
+ * @author luas
+ * @since 2.0
+ */
+public class QuartzTriggerView implements Serializable {
+
+    private static final long serialVersionUID = 2919062340125366730L;
+
+    private final TriggerKey key;
+
+    private final JobKey jobKey;
+
+    private final String jobClassName;
+
+    /**
+     * Trigger类别，如CRON、SIMPLE
+     */
+    private final String type;
+
+    private final TriggerState state;
+
+    private final Date nextFireTime;
+
+    private final Date previousFireTime;
+
+    private final int priority;
+
+    private final String calendarName;
+
+    private final String description;
+
+    public QuartzTriggerView(TriggerKey key, JobKey jobKey, String jobClassName, String type, TriggerState state,
+                             Date nextFireTime, Date previousFireTime, int priority, String calendarName, String description) {
+        this.key = key;
+        this.jobKey = jobKey;
+        this.jobClassName = jobClassName;
+        this.type = type;
+        this.state = state;
+        this.nextFireTime = nextFireTime;
+        this.previousFireTime = previousFireTime;
+        this.priority = priority;
+        this.calendarName = calendarName;
+        this.description = description;
+    }
+
+    public TriggerKey getKey() {
+        return key;
+    }
+
+    public JobKey getJobKey() {
+        return jobKey;
+    }
+
+    public String getJobClassName() {
+        return jobClassName;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public TriggerState getState() {
+        return state;
+    }
+
+    public Date getNextFireTime() {
+        return nextFireTime;
+    }
+
+    public Date getPreviousFireTime() {
+        return previousFireTime;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public String getCalendarName() {
+        return calendarName;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public String toString() {
+        return "QuartzTriggerView{" +
+                "key=" + key +
+                ", jobKey=" + jobKey +
+                ", type='" + type + '\'' +
+                ", state=" + state +
+                ", nextFireTime=" + nextFireTime +
+                '}';
+    }
+}
@@ -0,0 +1,150 @@
+package com.xbd.quartz.transfer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.xbd.quartz.AbstractQuartzJobBean;
+import com.xbd.quartz.QuartzJob;
+import com.xbd.quartz.QuartzTrigger;
+
+import org.apache.commons.lang3.EnumUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.quartz.CronExpression;
+import org.quartz.JobKey;
+import org.quartz.TriggerKey;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+/**
+ * 每行一个任务、一个Trigger的CSV格式{@link QuartzJobLineMapper}，适用于由传统cron表迁移
+ * <p>列顺序如下，字段中包含逗号或引号时以双引号包裹、引号写两次，不支持字段内换行：
+ * <pre>
+ *     name,group,jobClass,description,triggerType,triggerName,triggerGroup,cronExpression,repeatInterval,repeatCount
+ * </pre>
+ * <p>triggerType为空时，该任务不包含Trigger；一个任务的多个Trigger写在相邻的多行，由{@link QuartzJobImporter}合并为一个任务.
+ *
+ * @author luas
+ * @since 2.0
+ */
+public class CsvQuartzJobLineMapper implements QuartzJobLineMapper {
+
+    private static final int COLUMNS = 10;
+
+    private ClassLoader classLoader = ClassUtils.getDefaultClassLoader();
+
+    /**
+     * 是否跳过首行表头
+     */
+    private boolean skipHeader = true;
+
+    @Override
+    public QuartzJob mapLine(String line, long lineNumber) throws Exception {
+        if (this.skipHeader && lineNumber == 1) {
+            return null;
+        }
+
+        List<String> columns = split(line);
+
+        Assert.isTrue(columns.size() == COLUMNS, "第" + lineNumber + "行列数应为" + COLUMNS + "！");
+
+        Assert.isTrue(StringUtils.isNotEmpty(columns.get(0)), "第" + lineNumber + "行job名称不能为空！");
+        Assert.isTrue(StringUtils.isNotEmpty(columns.get(2)), "第" + lineNumber + "行job class不能为空！");
+
+        Class<?> jobClass = ClassUtils.forName(columns.get(2), this.classLoader);
+
+        Assert.isAssignable(AbstractQuartzJobBean.class, jobClass, "第" + lineNumber + "行job class必须继承自AbstractQuartzJobBean！");
+
+        QuartzJob quartzJob = new QuartzJob();
+
+        quartzJob.setKey(new JobKey(columns.get(0), StringUtils.defaultIfEmpty(columns.get(1), null)));
+        quartzJob.setJobClass(jobClass.asSubclass(AbstractQuartzJobBean.class));
+        quartzJob.setDescription(StringUtils.defaultIfEmpty(columns.get(3), null));
+
+        if (StringUtils.isNotEmpty(columns.get(4))) {
+            Assert.isTrue(StringUtils.isNotEmpty(columns.get(5)), "第" + lineNumber + "行trigger名称不能为空！");
+
+            QuartzTrigger.TriggerType triggerType = EnumUtils.getEnum(QuartzTrigger.TriggerType.class, columns.get(4).toUpperCase());
+
+            Assert.notNull(triggerType, "第" + lineNumber + "行trigger类别" + columns.get(4) + "错误！");
+
+            if (triggerType == QuartzTrigger.TriggerType.CRON) {
+                Assert.isTrue(CronExpression.isValidExpression(columns.get(7)), "第" + lineNumber + "行Cron表达式" + columns.get(7) + "错误！");
+            }
+
+            QuartzTrigger quartzTrigger = new QuartzTrigger();
+
+            quartzTrigger.setType(triggerType);
+            quartzTrigger.setJobKey(quartzJob.getKey());
+            quartzTrigger.setKey(new TriggerKey(columns.get(5), StringUtils.defaultIfEmpty(columns.get(6), null)));
+            quartzTrigger.setCronExpression(StringUtils.defaultIfEmpty(columns.get(7), null));
+
+            if (StringUtils.isNotEmpty(columns.get(8))) {
+                quartzTrigger.setRepeatInterval(Long.parseLong(columns.get(8)));
+            }
+
+            if (StringUtils.isNotEmpty(columns.get(9))) {
+                quartzTrigger.setRepeatCount(Integer.parseInt(columns.get(9)));
+            }
+
+            quartzJob.addTrigger(quartzTrigger);
+        }
+
+        return quartzJob;
+    }
+
+    /**
+     * 按逗号拆分一行，支持双引号包裹的字段
+     */
+    protected List<String> split(String line) {
+        List<String> columns = new ArrayList<>(COLUMNS);
+
+        StringBuilder column = new StringBuilder();
+
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        column.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    column.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                columns.add(column.toString().trim());
+                column.setLength(0);
+            } else {
+                column.append(c);
+            }
+        }
+
+        columns.add(column.toString().trim());
+
+        return columns;
+    }
+
+    public ClassLoader getClassLoader() {
+        return classLoader;
+    }
+
+    public void setClassLoader(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    public boolean isSkipHeader() {
+        return skipHeader;
+    }
+
+    public void setSkipHeader(boolean skipHeader) {
+        this.skipHeader = skipHeader;
+    }
+
+}
@@ -0,0 +1,146 @@
+package com.xbd.quartz.transfer;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
+import com.xbd.quartz.AbstractQuartzJobBean;
+import com.xbd.quartz.QuartzJob;
+import com.xbd.quartz.QuartzTrigger;
+
+import org.apache.commons.lang3.EnumUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.quartz.CronExpression;
+import org.quartz.JobKey;
+import org.quartz.Trigger;
+import org.quartz.TriggerKey;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+/**
+ * 每行一个JSON对象（NDJSON）的{@link QuartzJobLineMapper}
+ * <p>行格式如下，其中jobClass、name、triggers[].type必填，日期可为毫秒数或日期字符串；
+ * CRON类型的cronExpression必须有效，没有Trigger的任务durability不能为false：
+ * <pre>
+ *     {"name":"job1","group":"group1","jobClass":"com.xxx.DemoJob","description":"","durability":true,"shouldRecover":false,
+ *      "jobData":{"key":"value"},
+ *      "triggers":[{"type":"CRON","name":"trigger1","group":"group1","cronExpression":"0 0/5 * * * ?","calendarName":null,
+ *                   "startAt":null,"startNow":false,"endAt":null,"repeatCount":0,"repeatInterval":0,"priority":5,"misfireInstruction":0,
+ *                   "jobData":{}}]}
+ * </pre>
+ *
+ * @author luas
+ * @since 2.0
+ */
+public class JsonQuartzJobLineMapper implements QuartzJobLineMapper {
+
+    private ClassLoader classLoader = ClassUtils.getDefaultClassLoader();
+
+    @Override
+    public QuartzJob mapLine(String line, long lineNumber) throws Exception {
+        JSONObject json = JSON.parseObject(line);
+
+        String name = json.getString("name");
+        String jobClassName = json.getString("jobClass");
+
+        Assert.isTrue(StringUtils.isNotEmpty(name), "第" + lineNumber + "行job名称不能为空！");
+        Assert.isTrue(StringUtils.isNotEmpty(jobClassName), "第" + lineNumber + "行job class不能为空！");
+
+        Class<?> jobClass = ClassUtils.forName(jobClassName, this.classLoader);
+
+        Assert.isAssignable(AbstractQuartzJobBean.class, jobClass, "第" + lineNumber + "行job class必须继承自AbstractQuartzJobBean！");
+
+        QuartzJob quartzJob = new QuartzJob();
+
+        quartzJob.setKey(new JobKey(name, json.getString("group")));
+        quartzJob.setDescription(json.getString("description"));
+        quartzJob.setJobClass(jobClass.asSubclass(AbstractQuartzJobBean.class));
+
+        if (json.containsKey("durability")) {
+            quartzJob.setDurability(json.getBooleanValue("durability"));
+        }
+
+        quartzJob.setShouldRecover(json.getBooleanValue("shouldRecover"));
+
+        JSONObject jobData = json.getJSONObject("jobData");
+        if (jobData != null && !jobData.isEmpty()) {
+            quartzJob.setJobData(jobData.getInnerMap());
+        }
+
+        JSONArray triggers = json.getJSONArray("triggers");
+        if (triggers != null && !triggers.isEmpty()) {
+            Set<QuartzTrigger> quartzTriggers = new HashSet<>();
+
+            for (int i = 0; i < triggers.size(); i++) {
+                quartzTriggers.add(mapTrigger(triggers.getJSONObject(i), quartzJob.getKey(), lineNumber));
+            }
+
+            quartzJob.setTriggers(quartzTriggers);
+        }
+
+        Assert.isTrue(quartzJob.isDurability() || quartzJob.getTriggers() != null,
+                "第" + lineNumber + "行任务没有Trigger，必须设置为持久化（durability）！");
+
+        return quartzJob;
+    }
+
+    protected QuartzTrigger mapTrigger(JSONObject json, JobKey jobKey, long lineNumber) {
+        String type = json.getString("type");
+        String name = json.getString("name");
+
+        Assert.isTrue(StringUtils.isNotEmpty(type), "第" + lineNumber + "行trigger类别不能为空！");
+        Assert.isTrue(StringUtils.isNotEmpty(name), "第" + lineNumber + "行trigger名称不能为空！");
+
+        QuartzTrigger.TriggerType triggerType = EnumUtils.getEnum(QuartzTrigger.TriggerType.class, type.toUpperCase());
+
+        Assert.notNull(triggerType, "第" + lineNumber + "行trigger类别" + type + "错误！");
+
+        String cronExpression = json.getString("cronExpression");
+
+        if (triggerType == QuartzTrigger.TriggerType.CRON) {
+            Assert.isTrue(CronExpression.isValidExpression(cronExpression), "第" + lineNumber + "行Cron表达式" + cronExpression + "错误！");
+        }
+
+        QuartzTrigger quartzTrigger = new QuartzTrigger();
+
+        quartzTrigger.setType(triggerType);
+        quartzTrigger.setJobKey(jobKey);
+        quartzTrigger.setKey(new TriggerKey(name, json.getString("group")));
+        quartzTrigger.setDescription(json.getString("description"));
+        quartzTrigger.setCalendarName(json.getString("calendarName"));
+        quartzTrigger.setStartAt(json.getDate("startAt"));
+        quartzTrigger.setStartNow(json.getBooleanValue("startNow"));
+        quartzTrigger.setEndAt(json.getDate("endAt"));
+        quartzTrigger.setRepeatCount(json.getIntValue("repeatCount"));
+        quartzTrigger.setRepeatInterval(json.getLongValue("repeatInterval"));
+        quartzTrigger.setCronExpression(cronExpression);
+
+        if (json.containsKey("priority")) {
+            quartzTrigger.setPriority(json.getIntValue("priority"));
+        }
+
+        if (json.containsKey("misfireInstruction")) {
+            quartzTrigger.setMisfireInstruction(json.getIntValue("misfireInstruction"));
+        } else {
+            quartzTrigger.setMisfireInstruction(Trigger.MISFIRE_INSTRUCTION_SMART_POLICY);
+        }
+
+        JSONObject jobData = json.getJSONObject("jobData");
+        if (jobData != null && !jobData.isEmpty()) {
+            quartzTrigger.setJobData(jobData.getInnerMap());
+        }
+
+        return quartzTrigger;
+    }
+
+    public ClassLoader getClassLoader() {
+        return classLoader;
+    }
+
+    public void setClassLoader(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+}
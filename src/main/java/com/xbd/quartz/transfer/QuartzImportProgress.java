@@ -0,0 +1,90 @@
+package com.xbd.quartz.transfer;
+
+import java.io.Serializable;
+
+/**
+ * 导入进度
+ * <p>{@link #getOffset()}为已处理完成的最后一行的行号，只推进到全部写入成功的分块，中断或失败后以该值作为{@code offset}重新导入即可从下一行继续.
+ *
+ * @author luas
+ * @since 2.0
+ */
+public class QuartzImportProgress implements Serializable {
+
+    private static final long serialVersionUID = -4376139215728490533L;
+
+    /**
+     * 已处理完成的最后一行的行号，不超过第一个写入失败的分块
+     */
+    private final long offset;
+
+    /**
+     * 已提交的任务数量，包含未变化跳过的任务
+     */
+    private final long submitted;
+
+    /**
+     * 定义未变化、跳过写入的任务数量
+     */
+    private final long skipped;
+
+    /**
+     * 写入失败的任务数量
+     */
+    private final long failed;
+
+    /**
+     * 格式错误、无法映射的行数
+     */
+    private final long invalid;
+
+    /**
+     * 已耗时，单位：毫秒
+     */
+    private final long elapsedMillis;
+
+    public QuartzImportProgress(long offset, long submitted, long skipped, long failed, long invalid, long elapsedMillis) {
+        this.offset = offset;
+        this.submitted = submitted;
+        this.skipped = skipped;
+        this.failed = failed;
+        this.invalid = invalid;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    public long getSubmitted() {
+        return submitted;
+    }
+
+    public long getSkipped() {
+        return skipped;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public long getInvalid() {
+        return invalid;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "QuartzImportProgress{" +
+                "offset=" + offset +
+                ", submitted=" + submitted +
+                ", skipped=" + skipped +
+                ", failed=" + failed +
+                ", invalid=" + invalid +
+                ", elapsedMillis=" + elapsedMillis +
+                '}';
+    }
+}
@@ -0,0 +1,292 @@
+package com.xbd.quartz.transfer;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import com.xbd.quartz.QuartzBatchResult;
+import com.xbd.quartz.QuartzJob;
+import com.xbd.quartz.QuartzTaskHandler;
+
+import org.apache.commons.lang3.StringUtils;
+import org.quartz.JobKey;
+import org.quartz.SchedulerException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.util.Assert;
+
+/**
+ * 任务定义流式导入
+ * <p>逐行读取任务定义，由{@link QuartzJobLineMapper}映射为{@link QuartzJob}，每满{@code chunkSize}个任务调用一次
+ * {@link QuartzTaskHandler#saveJobs(java.util.Collection)}写入，内存中最多保留一个分块，与文件大小无关.
+ * <p>分块内同一任务（JobKey）的多行合并为一个任务，其Trigger合并为一个集合；连续的同一任务的行不会被拆分到两个分块，
+ * 如CSV中一个任务的多个Trigger应写在相邻行.
+ * <p>每个分块写入后回调进度，回调中的{@link QuartzImportProgress#getOffset()}只推进到全部写入成功的分块，
+ * 可作为{@code offset}参数中断或失败后继续导入.
+ * 空行及以{@code #}开头的行忽略.
+ * <p>配置方式如下：
+ * <pre>
+ *    {@code
+ *      @Bean
+ *      public QuartzJobImporter quartzJobImporter() {
+ *          QuartzJobImporter quartzJobImporter = new QuartzJobImporter();
+ *          quartzJobImporter.setQuartzTaskHandler(defaultQuartzTaskHandler());
+ *          return quartzJobImporter;
+ *      }
+ *    }
+ * </pre>
+ *
+ * @author luas
+ * @since 2.0
+ */
+public class QuartzJobImporter implements InitializingBean {
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private QuartzTaskHandler quartzTaskHandler;
+
+    private QuartzJobLineMapper lineMapper = new JsonQuartzJobLineMapper();
+
+    private int chunkSize = QuartzTaskHandler.DEFAULT_BATCH_SIZE;
+
+    /**
+     * 行格式错误时是否终止导入，默认记录后跳过
+     */
+    private boolean failOnInvalidLine = false;
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        Assert.notNull(this.quartzTaskHandler, "quartzTaskHandler不能为空！");
+        Assert.notNull(this.lineMapper, "lineMapper不能为空！");
+    }
+
+    /**
+     * 从文件导入
+     *
+     * @param file 文件，UTF-8编码
+     * @param offset 已处理完成的行号，从其下一行开始导入，首次导入传0
+     * @param progressListener 进度回调，可为null
+     * @return 最终进度
+     * @throws IOException 文件读取异常
+     * @throws SchedulerException 行格式错误且{@code failOnInvalidLine}为true，或{@code Scheduler}内部异常
+     */
+    public QuartzImportProgress importJobs(File file, long offset, Consumer<QuartzImportProgress> progressListener) throws IOException, SchedulerException {
+        Assert.notNull(file, "file不能为空！");
+
+        try (InputStream inputStream = Files.newInputStream(file.toPath())) {
+            return importJobs(inputStream, offset, progressListener);
+        }
+    }
+
+    /**
+     * 从输入流导入，输入流由调用方关闭
+     *
+     * @param inputStream 输入流，UTF-8编码
+     * @param offset 已处理完成的行号，从其下一行开始导入，首次导入传0
+     * @param progressListener 进度回调，可为null
+     * @return 最终进度，有分块写入失败时offset停留在第一个失败分块之前
+     * @throws IOException 输入流读取异常
+     * @throws SchedulerException 行格式错误且{@code failOnInvalidLine}为true，或{@code Scheduler}内部异常
+     */
+    public QuartzImportProgress importJobs(InputStream inputStream, long offset, Consumer<QuartzImportProgress> progressListener) throws IOException, SchedulerException {
+        Assert.notNull(inputStream, "inputStream不能为空！");
+        Assert.isTrue(offset >= 0, "offset不能小于0！");
+
+        long start = System.currentTimeMillis();
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+
+        Map<JobKey, QuartzJob> chunk = new LinkedHashMap<>();
+
+        Counters counters = new Counters(offset);
+
+        long lineNumber = 0;
+
+        String line;
+
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+
+            if (lineNumber <= offset || StringUtils.isBlank(line) || line.startsWith("#")) {
+                continue;
+            }
+
+            QuartzJob quartzJob;
+
+            try {
+                quartzJob = this.lineMapper.mapLine(line, lineNumber);
+
+                // 自定义的QuartzJobLineMapper未校验的属性错误同样按行格式错误处理，不在写入时中断导入
+                if (quartzJob != null) {
+                    this.quartzTaskHandler.validateJob(quartzJob);
+                }
+            } catch (Exception e) {
+                if (this.failOnInvalidLine) {
+                    throw new SchedulerException("第" + lineNumber + "行格式错误！", e);
+                }
+
+                this.logger.warn("第{}行格式错误，已跳过：{}", lineNumber, e.getMessage());
+
+                counters.invalid++;
+                continue;
+            }
+
+            if (quartzJob == null) {
+                continue;
+            }
+
+            QuartzJob existing = chunk.get(quartzJob.getKey());
+
+            if (existing != null) {
+                if (!Objects.equals(existing.getJobClass(), quartzJob.getJobClass())) {
+                    if (this.failOnInvalidLine) {
+                        throw new SchedulerException("第" + lineNumber + "行任务" + quartzJob.getKey() + "的job class与之前的行不一致！");
+                    }
+
+                    this.logger.warn("第{}行任务{}的job class与之前的行不一致，已跳过！", lineNumber, quartzJob.getKey());
+
+                    counters.invalid++;
+                    continue;
+                }
+
+                if (quartzJob.getTriggers() != null) {
+                    quartzJob.getTriggers().forEach(existing::addTrigger);
+                }
+
+                continue;
+            }
+
+            // 分块已满且遇到新任务时写入，之前的行均已处理完成
+            if (chunk.size() >= this.chunkSize) {
+                saveChunk(chunk, lineNumber - 1, counters);
+
+                notifyProgress(progressListener, counters.toProgress(start));
+            }
+
+            chunk.put(quartzJob.getKey(), quartzJob);
+        }
+
+        saveChunk(chunk, Math.max(lineNumber, offset), counters);
+
+        QuartzImportProgress progress = counters.toProgress(start);
+
+        notifyProgress(progressListener, progress);
+
+        this.logger.info("任务导入完成，{}", progress);
+
+        return progress;
+    }
+
+    private void saveChunk(Map<JobKey, QuartzJob> chunk, long lastLineNumber, Counters counters) throws SchedulerException {
+        boolean success = true;
+
+        if (!chunk.isEmpty()) {
+            for (QuartzBatchResult result : this.quartzTaskHandler.saveJobs(chunk.values())) {
+                counters.skipped += result.getSkipped();
+
+                if (!result.isSuccess()) {
+                    counters.failed += result.getSize();
+
+                    success = false;
+                }
+            }
+
+            counters.submitted += chunk.size();
+
+            chunk.clear();
+        }
+
+        // 出现失败的分块后不再推进offset，重新导入时从失败分块开始
+        if (!success) {
+            counters.failedChunk = true;
+        } else if (!counters.failedChunk) {
+            counters.offset = lastLineNumber;
+        }
+    }
+
+    private void notifyProgress(Consumer<QuartzImportProgress> progressListener, QuartzImportProgress progress) {
+        if (progressListener == null) {
+            return;
+        }
+
+        try {
+            progressListener.accept(progress);
+        } catch (Exception e) {
+            this.logger.error("导入进度回调异常！", e);
+        }
+    }
+
+    /**
+     * 单次导入过程中的计数
+     */
+    private static final class Counters {
+
+        /**
+         * 已处理完成、且之前的分块均写入成功的最后一行的行号
+         */
+        private long offset;
+
+        private boolean failedChunk;
+
+        private long submitted;
+
+        private long skipped;
+
+        private long failed;
+
+        private long invalid;
+
+        private Counters(long offset) {
+            this.offset = offset;
+        }
+
+        private QuartzImportProgress toProgress(long start) {
+            return new QuartzImportProgress(offset, submitted, skipped, failed, invalid, System.currentTimeMillis() - start);
+        }
+
+    }
+
+    public QuartzTaskHandler getQuartzTaskHandler() {
+        return quartzTaskHandler;
+    }
+
+    public void setQuartzTaskHandler(QuartzTaskHandler quartzTaskHandler) {
+        this.quartzTaskHandler = quartzTaskHandler;
+    }
+
+    public QuartzJobLineMapper getLineMapper() {
+        return lineMapper;
+    }
+
+    public void setLineMapper(QuartzJobLineMapper lineMapper) {
+        this.lineMapper = lineMapper;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        Assert.isTrue(chunkSize > 0, "chunkSize必须大于0！");
+
+        this.chunkSize = chunkSize;
+    }
+
+    public boolean isFailOnInvalidLine() {
+        return failOnInvalidLine;
+    }
+
+    public void setFailOnInvalidLine(boolean failOnInvalidLine) {
+        this.failOnInvalidLine = failOnInvalidLine;
+    }
+
+}
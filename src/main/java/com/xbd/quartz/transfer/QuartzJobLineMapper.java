@@ -0,0 +1,25 @@
+package com.xbd.quartz.transfer;
+
+import com.xbd.quartz.QuartzJob;
+
+/**
+ * 将导入文件中的一行映射为{@link QuartzJob}
+ * <p>默认实现为{@link JsonQuartzJobLineMapper}，CSV格式见{@link CsvQuartzJobLineMapper}，其它格式可自行实现.
+ *
+ * @author luas
+ * @since 2.0
+ */
+@FunctionalInterface
+public interface QuartzJobLineMapper {
+
+    /**
+     * 映射一行
+     *
+     * @param line 行内容，不包含换行符
+     * @param lineNumber 行号，从1开始
+     * @return {@link QuartzJob}，返回null时忽略该行
+     * @throws Exception 行内容格式错误
+     */
+    QuartzJob mapLine(String line, long lineNumber) throws Exception;
+
+}
@@ -0,0 +1,60 @@
+package com.xbd.quartz.transfer;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.quartz.JobDetail;
+import org.quartz.Trigger;
+import org.quartz.Trigger.TriggerState;
+import org.quartz.TriggerKey;
+import org.quartz.spi.OperableTrigger;
+
+/**
+ * 任务快照，包含{@link JobDetail}（含JobDataMap）、其全部Trigger及各Trigger的状态
+ *
+ * @author luas
+ * @since 2.0
+ */
+public class QuartzJobSnapshot implements Serializable {
+
+    private static final long serialVersionUID = -6811546436364939150L;
+
+    private final JobDetail jobDetail;
+
+    private final List<OperableTrigger> triggers;
+
+    private final Map<TriggerKey, TriggerState> triggerStates;
+
+    public QuartzJobSnapshot(JobDetail jobDetail, List<OperableTrigger> triggers, Map<TriggerKey, TriggerState> triggerStates) {
+        this.jobDetail = jobDetail;
+        this.triggers = triggers == null ? Collections.emptyList() : triggers;
+        this.triggerStates = triggerStates == null ? Collections.emptyMap() : triggerStates;
+    }
+
+    public JobDetail getJobDetail() {
+        return jobDetail;
+    }
+
+    public List<OperableTrigger> getTriggers() {
+        return triggers;
+    }
+
+    public Map<TriggerKey, TriggerState> getTriggerStates() {
+        return triggerStates;
+    }
+
+    /**
+     * 获取Trigger快照时的状态
+     *
+     * @param trigger Trigger
+     * @return 状态，快照中不存在时返回{@link TriggerState#NORMAL}
+     */
+    public TriggerState getTriggerState(Trigger trigger) {
+        TriggerState triggerState = this.triggerStates.get(trigger.getKey());
+
+        return triggerState == null ? TriggerState.NORMAL : triggerState;
+    }
+
+}
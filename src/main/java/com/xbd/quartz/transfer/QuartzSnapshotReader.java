@@ -0,0 +1,270 @@
+package com.xbd.quartz.transfer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamClass;
+import java.io.StreamCorruptedException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import org.quartz.Calendar;
+import org.quartz.Job;
+import org.quartz.JobDetail;
+import org.quartz.Trigger;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+/**
+ * 快照读取，格式见{@link QuartzSnapshotWriter}
+ * <p>使用方式与{@link java.sql.ResultSet}类似，{@link #next()}返回true时，按{@link #getType()}读取对应记录内容.
+ * <p>只反序列化JobDetail、Trigger、Calendar及其实现类，以及JobDataMap中常用的值类型（字符串、基本类型包装类、日期、集合等），
+ * 其它类型抛出{@link InvalidClassException}，可通过构造参数{@code allowedClasses}额外允许.
+ *
+ * @author luas
+ * @since 2.0
+ */
+public class QuartzSnapshotReader implements Closeable {
+
+    private static final Set<String> ALLOWED_CLASSES = new HashSet<>(Arrays.asList(
+            "java.lang.String", "java.lang.Number", "java.lang.Enum", "java.lang.Boolean", "java.lang.Character",
+            "java.lang.Byte", "java.lang.Short", "java.lang.Integer", "java.lang.Long", "java.lang.Float", "java.lang.Double",
+            "java.math.BigDecimal", "java.math.BigInteger",
+            "java.util.Date", "java.util.HashMap", "java.util.LinkedHashMap", "java.util.TreeMap", "java.util.Hashtable",
+            "java.util.Properties", "java.util.ArrayList", "java.util.LinkedList", "java.util.HashSet", "java.util.LinkedHashSet",
+            "java.util.TreeSet", "java.util.Locale", "java.util.TimeZone", "java.util.SimpleTimeZone", "java.util.Calendar",
+            "java.util.GregorianCalendar", "sun.util.calendar.ZoneInfo", "java.sql.Timestamp", "java.sql.Date",
+            "org.quartz.JobDataMap", "org.quartz.utils.DirtyFlagMap", "org.quartz.utils.StringKeyDirtyFlagMap",
+            "org.quartz.JobKey", "org.quartz.TriggerKey", "org.quartz.utils.Key", "org.quartz.CronExpression",
+            "org.quartz.TimeOfDay", "org.quartz.DateBuilder$IntervalUnit", "org.quartz.Trigger$TriggerState",
+            "org.quartz.impl.JobDetailImpl", QuartzJobSnapshot.class.getName()));
+
+    private static final List<String> ALLOWED_PACKAGES = Arrays.asList(
+            "java.util.Collections$", "org.quartz.impl.triggers.", "org.quartz.impl.calendar.");
+
+    private static final Class<?>[] ALLOWED_TYPES = { Job.class, JobDetail.class, Trigger.class, Calendar.class };
+
+    private final ObjectInputStream in;
+
+    private final short version;
+
+    private final long createdAt;
+
+    private byte type = -1;
+
+    private String pausedTriggerGroup;
+
+    private String calendarName;
+
+    private Calendar calendar;
+
+    private QuartzJobSnapshot job;
+
+    public QuartzSnapshotReader(InputStream inputStream) throws IOException {
+        this(inputStream, Collections.emptyList());
+    }
+
+    /**
+     * @param inputStream    快照输入流
+     * @param allowedClasses 额外允许反序列化的类名，以{@code .*}结尾时表示包前缀
+     */
+    public QuartzSnapshotReader(InputStream inputStream, Collection<String> allowedClasses) throws IOException {
+        this(inputStream, ClassUtils.getDefaultClassLoader(), allowedClasses);
+    }
+
+    public QuartzSnapshotReader(InputStream inputStream, ClassLoader classLoader) throws IOException {
+        this(inputStream, classLoader, Collections.emptyList());
+    }
+
+    public QuartzSnapshotReader(InputStream inputStream, final ClassLoader classLoader, Collection<String> allowedClasses) throws IOException {
+        Assert.notNull(allowedClasses, "allowedClasses不能为空！");
+
+        final Set<String> classNames = new HashSet<>(ALLOWED_CLASSES);
+
+        final List<String> packages = new ArrayList<>(ALLOWED_PACKAGES);
+
+        for (String allowedClass : allowedClasses) {
+            if (allowedClass.endsWith(".*")) {
+                packages.add(allowedClass.substring(0, allowedClass.length() - 1));
+            } else {
+                classNames.add(allowedClass);
+            }
+        }
+
+        this.in = new ObjectInputStream(new GZIPInputStream(inputStream, 64 * 1024)) {
+            @Override
+            protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+                String name = desc.getName();
+
+                String componentName = componentName(name);
+
+                // 基本类型数组、允许的类型及其数组
+                if (componentName == null || isAllowed(componentName, classNames, packages)) {
+                    return resolve(desc);
+                }
+
+                // 任务类、自定义的Trigger、Calendar等，加载时不初始化
+                Class<?> clazz = resolve(desc);
+
+                Class<?> componentType = clazz;
+
+                while (componentType.isArray()) {
+                    componentType = componentType.getComponentType();
+                }
+
+                for (Class<?> allowedType : ALLOWED_TYPES) {
+                    if (allowedType.isAssignableFrom(componentType)) {
+                        return clazz;
+                    }
+                }
+
+                throw new InvalidClassException(name, "快照中不允许的类型");
+            }
+
+            @Override
+            protected Class<?> resolveProxyClass(String[] interfaces) throws IOException {
+                throw new InvalidClassException(Arrays.toString(interfaces), "快照中不允许代理类");
+            }
+
+            private Class<?> resolve(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+                try {
+                    return ClassUtils.forName(desc.getName(), classLoader);
+                } catch (ClassNotFoundException e) {
+                    return super.resolveClass(desc);
+                }
+            }
+        };
+
+        if (this.in.readInt() != QuartzSnapshotWriter.MAGIC) {
+            throw new StreamCorruptedException("不是有效的快照文件！");
+        }
+
+        this.version = this.in.readShort();
+
+        if (this.version > QuartzSnapshotWriter.VERSION) {
+            throw new StreamCorruptedException("不支持的快照版本：" + this.version);
+        }
+
+        this.createdAt = this.in.readLong();
+    }
+
+    /**
+     * 读取下一条记录
+     *
+     * @return 读取到结束标记时返回false
+     * @throws IOException 读取异常、快照格式错误
+     */
+    public boolean next() throws IOException {
+        if (this.type == QuartzSnapshotWriter.RECORD_END) {
+            return false;
+        }
+
+        this.pausedTriggerGroup = null;
+        this.calendarName = null;
+        this.calendar = null;
+        this.job = null;
+
+        this.type = this.in.readByte();
+
+        try {
+            switch (this.type) {
+                case QuartzSnapshotWriter.RECORD_END:
+                    this.in.readInt();
+                    return false;
+                case QuartzSnapshotWriter.RECORD_PAUSED_TRIGGER_GROUP:
+                    this.pausedTriggerGroup = this.in.readUTF();
+                    return true;
+                case QuartzSnapshotWriter.RECORD_CALENDAR:
+                    this.calendarName = this.in.readUTF();
+                    this.calendar = (Calendar) this.in.readObject();
+                    return true;
+                case QuartzSnapshotWriter.RECORD_JOB:
+                    this.job = (QuartzJobSnapshot) this.in.readObject();
+                    return true;
+                default:
+                    throw new StreamCorruptedException("未知的快照记录类别：" + this.type);
+            }
+        } catch (ClassNotFoundException e) {
+            throw new IOException("快照中的类不存在：" + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 数组类名转换为元素类名
+     *
+     * @return 元素类名，基本类型数组返回null
+     */
+    private static String componentName(String name) {
+        int dimensions = 0;
+
+        while (name.charAt(dimensions) == '[') {
+            dimensions++;
+        }
+
+        if (dimensions == 0) {
+            return name;
+        }
+
+        if (name.charAt(dimensions) == 'L' && name.endsWith(";")) {
+            return name.substring(dimensions + 1, name.length() - 1);
+        }
+
+        return null;
+    }
+
+    private static boolean isAllowed(String name, Set<String> classNames, List<String> packages) {
+        if (classNames.contains(name)) {
+            return true;
+        }
+
+        for (String pkg : packages) {
+            if (name.startsWith(pkg)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    public short getVersion() {
+        return version;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public byte getType() {
+        return type;
+    }
+
+    public String getPausedTriggerGroup() {
+        return pausedTriggerGroup;
+    }
+
+    public String getCalendarName() {
+        return calendarName;
+    }
+
+    public Calendar getCalendar() {
+        return calendar;
+    }
+
+    public QuartzJobSnapshot getJob() {
+        return job;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.in.close();
+    }
+
+}
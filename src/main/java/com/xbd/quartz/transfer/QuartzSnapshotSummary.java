@@ -0,0 +1,58 @@
+package com.xbd.quartz.transfer;
+
+import java.io.Serializable;
+
+/**
+ * 快照导出、恢复结果
+ *
+ * @author luas
+ * @since 2.0
+ */
+public class QuartzSnapshotSummary implements Serializable {
+
+    private static final long serialVersionUID = 2583413630741262093L;
+
+    private final int calendars;
+
+    private final int jobs;
+
+    private final int triggers;
+
+    /**
+     * 耗时，单位：毫秒
+     */
+    private final long elapsedMillis;
+
+    public QuartzSnapshotSummary(int calendars, int jobs, int triggers, long elapsedMillis) {
+        this.calendars = calendars;
+        this.jobs = jobs;
+        this.triggers = triggers;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public int getCalendars() {
+        return calendars;
+    }
+
+    public int getJobs() {
+        return jobs;
+    }
+
+    public int getTriggers() {
+        return triggers;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "QuartzSnapshotSummary{" +
+                "calendars=" + calendars +
+                ", jobs=" + jobs +
+                ", triggers=" + triggers +
+                ", elapsedMillis=" + elapsedMillis +
+                '}';
+    }
+}
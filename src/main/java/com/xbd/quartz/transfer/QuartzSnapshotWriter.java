@@ -0,0 +1,113 @@
+package com.xbd.quartz.transfer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.quartz.Calendar;
+
+/**
+ * 快照写入
+ * <p>格式：GZIP压缩的Java序列化流，依次为魔数{@link #MAGIC}、版本号{@link #VERSION}、创建时间，
+ * 之后为若干条记录（记录类别 + 记录内容），以{@link #RECORD_END}结束.
+ * 每写入{@code resetInterval}条任务记录重置一次序列化句柄表，内存占用与快照大小无关.
+ *
+ * @author luas
+ * @since 2.0
+ */
+public class QuartzSnapshotWriter implements Closeable {
+
+    /**
+     * 魔数，即"QBSN"
+     */
+    public static final int MAGIC = 0x5142534E;
+
+    /**
+     * 当前格式版本
+     */
+    public static final short VERSION = 1;
+
+    public static final byte RECORD_END = 0;
+
+    public static final byte RECORD_PAUSED_TRIGGER_GROUP = 1;
+
+    public static final byte RECORD_CALENDAR = 2;
+
+    public static final byte RECORD_JOB = 3;
+
+    private static final int DEFAULT_RESET_INTERVAL = 500;
+
+    private final GZIPOutputStream gzip;
+
+    private final ObjectOutputStream out;
+
+    private final int resetInterval;
+
+    private int jobs;
+
+    private boolean finished;
+
+    public QuartzSnapshotWriter(OutputStream outputStream) throws IOException {
+        this(outputStream, DEFAULT_RESET_INTERVAL);
+    }
+
+    public QuartzSnapshotWriter(OutputStream outputStream, int resetInterval) throws IOException {
+        this.gzip = new GZIPOutputStream(outputStream, 64 * 1024);
+        this.out = new ObjectOutputStream(this.gzip);
+        this.resetInterval = resetInterval;
+
+        this.out.writeInt(MAGIC);
+        this.out.writeShort(VERSION);
+        this.out.writeLong(System.currentTimeMillis());
+    }
+
+    public void writePausedTriggerGroup(String group) throws IOException {
+        this.out.writeByte(RECORD_PAUSED_TRIGGER_GROUP);
+        this.out.writeUTF(group);
+    }
+
+    public void writeCalendar(String name, Calendar calendar) throws IOException {
+        this.out.writeByte(RECORD_CALENDAR);
+        this.out.writeUTF(name);
+        this.out.writeObject(calendar);
+    }
+
+    public void writeJob(QuartzJobSnapshot jobSnapshot) throws IOException {
+        this.out.writeByte(RECORD_JOB);
+        this.out.writeObject(jobSnapshot);
+
+        if (++this.jobs % this.resetInterval == 0) {
+            this.out.reset();
+        }
+    }
+
+    /**
+     * 写入结束标记并完成压缩，不关闭底层输出流
+     */
+    public void finish() throws IOException {
+        if (this.finished) {
+            return;
+        }
+
+        this.finished = true;
+
+        this.out.writeByte(RECORD_END);
+        this.out.writeInt(this.jobs);
+        this.out.flush();
+
+        this.gzip.finish();
+    }
+
+    /**
+     * 完成写入并关闭底层输出流
+     */
+    @Override
+    public void close() throws IOException {
+        finish();
+
+        this.out.close();
+    }
+
+}
@@ -0,0 +1,207 @@
+package com.xbd.quartz;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import com.xbd.quartz.batch.QuartzCheckpoint;
+import com.xbd.quartz.batch.QuartzItemReader;
+import com.xbd.quartz.batch.QuartzItemWriter;
+import com.xbd.quartz.jdbcjobstore.H2Schedulers;
+import com.xbd.quartz.jdbcjobstore.QuartzJobStoreTX;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.quartz.JobBuilder;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.quartz.JobKey;
+import org.quartz.Scheduler;
+import org.quartz.impl.StdSchedulerFactory;
+import org.quartz.impl.matchers.KeyMatcher;
+import org.quartz.listeners.JobListenerSupport;
+import org.quartz.simpl.RAMJobStore;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class AbstractChunkedQuartzJobBeanTests {
+
+    private static final JobKey JOB_KEY = JobKey.jobKey("chunked", "chunks");
+
+    private static final int ITEMS = 10;
+
+    private static final List<String> OPENED = new CopyOnWriteArrayList<>();
+
+    private static final List<Integer> WRITTEN = new CopyOnWriteArrayList<>();
+
+    private static final List<Long> COMPLETED = new CopyOnWriteArrayList<>();
+
+    private static volatile boolean failChunk;
+
+    private final BlockingQueue<Object> results = new LinkedBlockingQueue<>();
+
+    private Scheduler scheduler;
+
+    @Before
+    public void init() {
+        OPENED.clear();
+        WRITTEN.clear();
+        COMPLETED.clear();
+        failChunk = true;
+    }
+
+    @After
+    public void destroy() throws Exception {
+        if (scheduler != null) {
+            scheduler.shutdown(true);
+        }
+    }
+
+    @Test
+    public void resumesFromJobStoreCheckpointAfterFailedChunk() throws Exception {
+        scheduler = H2Schedulers.create("chunked");
+
+        QuartzJobStoreTX jobStore = QuartzJobStoreTX.getInstance("chunked");
+
+        start();
+
+        assertNotNull(runOnce());
+
+        QuartzCheckpoint checkpoint = jobStore.selectJobCheckpoint(JOB_KEY);
+
+        assertEquals("6", checkpoint.getValue());
+        assertEquals(6L, checkpoint.getItemCount());
+
+        assertResumesAndCompletes();
+
+        assertNull(jobStore.selectJobCheckpoint(JOB_KEY));
+    }
+
+    @Test
+    public void resumesFromLocalCheckpointAfterFailedChunk() throws Exception {
+        Properties properties = new Properties();
+        properties.setProperty("org.quartz.scheduler.instanceName", "chunkedLocal");
+        properties.setProperty("org.quartz.threadPool.threadCount", "1");
+        properties.setProperty("org.quartz.jobStore.class", RAMJobStore.class.getName());
+
+        scheduler = new StdSchedulerFactory(properties).getScheduler();
+
+        start();
+
+        assertNotNull(runOnce());
+
+        assertResumesAndCompletes();
+    }
+
+    private void start() throws Exception {
+        scheduler.addJob(JobBuilder.newJob(ChunkedJob.class).withIdentity(JOB_KEY).storeDurably()
+                .usingJobData(AbstractChunkedQuartzJobBean.CHUNK_SIZE_KEY, "3").build(), false);
+        scheduler.getListenerManager().addJobListener(new JobListenerSupport() {
+
+            @Override
+            public String getName() {
+                return "chunkedResults";
+            }
+
+            @Override
+            public void jobWasExecuted(JobExecutionContext context, JobExecutionException jobException) {
+                results.add(jobException == null ? Boolean.TRUE : jobException);
+            }
+
+        }, KeyMatcher.keyEquals(JOB_KEY));
+        scheduler.start();
+    }
+
+    /**
+     * 执行一次，成功时返回null，失败时返回异常
+     */
+    private JobExecutionException runOnce() throws Exception {
+        scheduler.triggerJob(JOB_KEY);
+
+        Object result = results.poll(10, TimeUnit.SECONDS);
+
+        assertNotNull(result);
+
+        return result instanceof JobExecutionException ? (JobExecutionException) result : null;
+    }
+
+    private void assertResumesAndCompletes() throws Exception {
+        // 第三块写入失败，前两块已写入
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5), WRITTEN);
+
+        failChunk = false;
+
+        assertNull(runOnce());
+
+        assertEquals(Arrays.asList(null, "6"), OPENED);
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), WRITTEN);
+        assertEquals(Arrays.asList((long) ITEMS), COMPLETED);
+
+        // 检查点已删除，再次执行从头读取
+        assertNull(runOnce());
+
+        assertEquals(Arrays.asList(null, "6", null), OPENED);
+    }
+
+    /**
+     * 读取0到9，{@link #failChunk}为true时写入包含6的块失败
+     */
+    public static class ChunkedJob extends AbstractChunkedQuartzJobBean<Integer, Integer> {
+
+        @Override
+        public String name() {
+            return "chunked";
+        }
+
+        @Override
+        protected QuartzItemReader<Integer> reader(JobExecutionContext context) {
+            return new QuartzItemReader<Integer>() {
+
+                private int next;
+
+                @Override
+                public void open(String checkpoint) {
+                    OPENED.add(checkpoint);
+
+                    this.next = checkpoint == null ? 0 : Integer.parseInt(checkpoint);
+                }
+
+                @Override
+                public Integer read() {
+                    return this.next < ITEMS ? this.next++ : null;
+                }
+
+                @Override
+                public String checkpoint() {
+                    return String.valueOf(this.next);
+                }
+
+            };
+        }
+
+        @Override
+        protected QuartzItemWriter<Integer> writer(JobExecutionContext context) {
+            return items -> {
+                if (failChunk && items.contains(6)) {
+                    throw new IllegalStateException("chunk " + items + " failed");
+                }
+
+                WRITTEN.addAll(new ArrayList<>(items));
+            };
+        }
+
+        @Override
+        protected void onCompleted(JobExecutionContext context, long itemCount) {
+            COMPLETED.add(itemCount);
+        }
+
+    }
+
+}
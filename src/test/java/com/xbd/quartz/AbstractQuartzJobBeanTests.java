@@ -0,0 +1,208 @@
+package com.xbd.quartz;
+
+import java.lang.reflect.Proxy;
+import java.util.Date;
+import java.util.UUID;
+
+import org.junit.Test;
+import org.quartz.JobBuilder;
+import org.quartz.JobDetail;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerContext;
+import org.quartz.TriggerBuilder;
+import org.quartz.impl.JobExecutionContextImpl;
+import org.quartz.spi.OperableTrigger;
+import org.quartz.spi.TriggerFiredBundle;
+import org.springframework.context.support.StaticApplicationContext;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class AbstractQuartzJobBeanTests {
+
+    @Test
+    public void bindsSchedulerContextAndMergedJobDataMapOnExecute() throws Exception {
+        SchedulerContext schedulerContext = new SchedulerContext();
+        schedulerContext.put("region", "east");
+
+        TriggerFiredBundle bundle = bundle(BindingJob.class);
+        bundle.getJobDetail().getJobDataMap().put("name", "job");
+        bundle.getJobDetail().getJobDataMap().put("count", "1");
+        bundle.getTrigger().getJobDataMap().put("count", "5");
+
+        BindingJob job = new BindingJob();
+        job.execute(context(bundle, job, schedulerContext));
+
+        assertEquals("east", job.region);
+        assertEquals("job", job.name);
+        assertEquals("Trigger的JobDataMap应覆盖任务的JobDataMap", 5, job.count);
+    }
+
+    @Test
+    public void doesNotBindStatelessJob() throws Exception {
+        TriggerFiredBundle bundle = bundle(StatelessBindingJob.class);
+        bundle.getJobDetail().getJobDataMap().put("name", "job");
+
+        StatelessBindingJob job = new StatelessBindingJob();
+        job.execute(context(bundle, job, new SchedulerContext()));
+
+        assertNull(job.name);
+    }
+
+    @Test
+    public void bindsJobWithoutNoArgConstructor() throws Exception {
+        TriggerFiredBundle bundle = bundle(ConstructedJob.class);
+        bundle.getJobDetail().getJobDataMap().put("name", "job");
+
+        // 构造时不解析元数据，没有无参构造器的子类同样可以创建
+        ConstructedJob job = new ConstructedJob("constructed");
+        job.execute(context(bundle, job, new SchedulerContext()));
+
+        assertEquals("job", job.name);
+
+        try {
+            QuartzJobBeanMetadata.forClass(ConstructedJob.class).newInstance();
+            fail("没有无参构造器时newInstance应失败");
+        } catch (IllegalStateException e) {
+            assertTrue(e.getMessage().contains("无参构造器"));
+        }
+    }
+
+    @Test
+    public void factoryLeavesBindingToExecute() throws Exception {
+        for (boolean jobInstanceCaching : new boolean[] { false, true }) {
+            AutowiredSpringBeanJobFactory factory = new AutowiredSpringBeanJobFactory();
+            factory.setApplicationContext(new StaticApplicationContext());
+            factory.setJobInstanceCaching(jobInstanceCaching);
+
+            TriggerFiredBundle bundle = bundle(BindingJob.class);
+            bundle.getJobDetail().getJobDataMap().put("name", "job");
+
+            BindingJob job = (BindingJob) factory.newJob(bundle, null);
+
+            assertNull("创建实例时不应绑定属性", job.name);
+            assertEquals(0, job.setterCalls);
+
+            job.execute(context(bundle, job, new SchedulerContext()));
+
+            assertEquals("job", job.name);
+            assertEquals("每次执行只应绑定一次", 1, job.setterCalls);
+        }
+    }
+
+    @Test
+    public void factoryReusesStatelessJobInstance() throws Exception {
+        AutowiredSpringBeanJobFactory factory = new AutowiredSpringBeanJobFactory();
+        factory.setApplicationContext(new StaticApplicationContext());
+        factory.setJobInstanceCaching(true);
+
+        assertSame(factory.newJob(bundle(StatelessBindingJob.class), null), factory.newJob(bundle(StatelessBindingJob.class), null));
+    }
+
+    private static TriggerFiredBundle bundle(Class<? extends AbstractQuartzJobBean> jobClass) {
+        JobDetail jobDetail = JobBuilder.newJob(jobClass).withIdentity("job", "group").build();
+        OperableTrigger trigger = (OperableTrigger) TriggerBuilder.newTrigger().withIdentity("trigger", "group").forJob(jobDetail).build();
+        trigger.setFireInstanceId(UUID.randomUUID().toString());
+
+        Date now = new Date();
+
+        return new TriggerFiredBundle(jobDetail, trigger, null, false, now, now, null, null);
+    }
+
+    private static JobExecutionContext context(TriggerFiredBundle bundle, AbstractQuartzJobBean job, SchedulerContext schedulerContext) {
+        Scheduler scheduler = (Scheduler) Proxy.newProxyInstance(Scheduler.class.getClassLoader(), new Class<?>[] { Scheduler.class },
+                (proxy, method, args) -> {
+                    if ("getContext".equals(method.getName())) {
+                        return schedulerContext;
+                    }
+
+                    throw new UnsupportedOperationException(method.getName());
+                });
+
+        return new JobExecutionContextImpl(scheduler, bundle, job);
+    }
+
+    public static class BindingJob extends AbstractQuartzJobBean {
+
+        private String region;
+
+        private String name;
+
+        private int count;
+
+        private int setterCalls;
+
+        @Override
+        public String name() {
+            return "binding";
+        }
+
+        @Override
+        protected void executeInternalInternal(JobExecutionContext context) throws JobExecutionException {
+
+        }
+
+        public void setRegion(String region) {
+            this.region = region;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+            this.setterCalls++;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+    }
+
+    public static class ConstructedJob extends AbstractQuartzJobBean {
+
+        private final String jobName;
+
+        private String name;
+
+        public ConstructedJob(String jobName) {
+            this.jobName = jobName;
+        }
+
+        @Override
+        public String name() {
+            return jobName;
+        }
+
+        @Override
+        protected void executeInternalInternal(JobExecutionContext context) throws JobExecutionException {
+
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+
+    @StatelessJob
+    public static class StatelessBindingJob extends AbstractQuartzJobBean {
+
+        private String name;
+
+        @Override
+        public String name() {
+            return "stateless";
+        }
+
+        @Override
+        protected void executeInternalInternal(JobExecutionContext context) throws JobExecutionException {
+
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+}
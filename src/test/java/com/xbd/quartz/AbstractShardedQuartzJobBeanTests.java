@@ -0,0 +1,184 @@
+package com.xbd.quartz;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import com.xbd.quartz.jdbcjobstore.H2Schedulers;
+import com.xbd.quartz.jdbcjobstore.QuartzJobStoreTX;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.quartz.JobBuilder;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.quartz.JobKey;
+import org.quartz.Scheduler;
+import org.quartz.SimpleScheduleBuilder;
+import org.quartz.TriggerBuilder;
+import org.quartz.impl.StdSchedulerFactory;
+import org.quartz.impl.matchers.GroupMatcher;
+import org.quartz.simpl.RAMJobStore;
+import org.quartz.spi.OperableTrigger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class AbstractShardedQuartzJobBeanTests {
+
+    private static final JobKey JOB_KEY = JobKey.jobKey("sharded", "shards");
+
+    private static final Set<Integer> EXECUTED = ConcurrentHashMap.newKeySet();
+
+    private static final List<QuartzShardProgress> COMPLETED = new CopyOnWriteArrayList<>();
+
+    private static volatile CountDownLatch completed;
+
+    private Scheduler scheduler;
+
+    @Before
+    public void init() {
+        EXECUTED.clear();
+        COMPLETED.clear();
+        completed = new CountDownLatch(1);
+    }
+
+    @After
+    public void destroy() throws Exception {
+        if (scheduler != null) {
+            scheduler.shutdown(true);
+        }
+    }
+
+    @Test
+    public void fansOutShardsThroughJobStoreAndCompletesOnce() throws Exception {
+        scheduler = H2Schedulers.create("sharded");
+
+        assertFansOutAndCompletesOnce();
+
+        assertEquals(0, QuartzJobStoreTX.getInstance("sharded").deleteExpiredJobProgress(JOB_KEY, Long.MAX_VALUE).size());
+    }
+
+    @Test
+    public void fansOutShardsLocallyAndCompletesOnce() throws Exception {
+        Properties properties = new Properties();
+        properties.setProperty("org.quartz.scheduler.instanceName", "shardedLocal");
+        properties.setProperty("org.quartz.threadPool.threadCount", "2");
+        properties.setProperty("org.quartz.jobStore.class", RAMJobStore.class.getName());
+
+        scheduler = new StdSchedulerFactory(properties).getScheduler();
+
+        assertFansOutAndCompletesOnce();
+    }
+
+    @Test
+    public void completeShardCountsEachShardOnce() throws Exception {
+        scheduler = H2Schedulers.create("shardProgress");
+        scheduler.addJob(JobBuilder.newJob(ShardedJob.class).withIdentity(JOB_KEY).storeDurably().build(), false);
+
+        QuartzJobStoreTX jobStore = QuartzJobStoreTX.getInstance("shardProgress");
+
+        jobStore.insertJobProgress("run", JOB_KEY, Arrays.asList(shardTrigger("run", 0), shardTrigger("run", 1)));
+
+        QuartzShardProgress progress = jobStore.completeShard("run", 0, false);
+
+        assertEquals(0, progress.getSucceeded());
+        assertEquals(1, progress.getFailed());
+        assertNull(jobStore.completeShard("run", 0, false));
+
+        // 重试成功的分片改计为成功
+        progress = jobStore.completeShard("run", 0, true);
+
+        assertEquals(1, progress.getSucceeded());
+        assertEquals(0, progress.getFailed());
+        assertNull(jobStore.completeShard("run", 0, true));
+
+        progress = jobStore.completeShard("run", 1, true);
+
+        assertTrue(progress.isFinished());
+        assertEquals(2, progress.getSucceeded());
+
+        // 全部结束后进度已删除
+        assertNull(jobStore.completeShard("run", 1, true));
+        assertNull(jobStore.completeShard("missing", 0, true));
+    }
+
+    private void assertFansOutAndCompletesOnce() throws Exception {
+        scheduler.addJob(JobBuilder.newJob(ShardedJob.class).withIdentity(JOB_KEY).storeDurably()
+                .usingJobData(AbstractShardedQuartzJobBean.SHARDS_KEY, "3").build(), false);
+        scheduler.start();
+        scheduler.triggerJob(JOB_KEY);
+
+        assertTrue(completed.await(10, TimeUnit.SECONDS));
+
+        assertEquals(new HashSet<>(Arrays.asList(0, 1, 2)), EXECUTED);
+        assertEquals(1, COMPLETED.size());
+
+        QuartzShardProgress progress = COMPLETED.get(0);
+
+        assertEquals(JOB_KEY, progress.getJobKey());
+        assertEquals(3, progress.getTotal());
+        assertEquals(2, progress.getSucceeded());
+        assertEquals(1, progress.getFailed());
+
+        // 分片Trigger为一次性Trigger，执行后即删除
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+
+        while (!scheduler.getTriggerKeys(GroupMatcher.triggerGroupEquals(AbstractShardedQuartzJobBean.SHARD_TRIGGER_GROUP)).isEmpty()
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10L);
+        }
+
+        assertEquals(Collections.emptySet(), scheduler.getTriggerKeys(GroupMatcher.triggerGroupEquals(AbstractShardedQuartzJobBean.SHARD_TRIGGER_GROUP)));
+    }
+
+    private static OperableTrigger shardTrigger(String runId, int shardIndex) {
+        OperableTrigger trigger = (OperableTrigger) TriggerBuilder.newTrigger()
+                .withIdentity(runId + "." + shardIndex, AbstractShardedQuartzJobBean.SHARD_TRIGGER_GROUP)
+                .forJob(JOB_KEY)
+                .startAt(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                .withSchedule(SimpleScheduleBuilder.simpleSchedule())
+                .build();
+
+        trigger.computeFirstFireTime(null);
+
+        return trigger;
+    }
+
+    /**
+     * 最后一个分片执行失败
+     */
+    public static class ShardedJob extends AbstractShardedQuartzJobBean {
+
+        @Override
+        public String name() {
+            return "sharded";
+        }
+
+        @Override
+        protected void executeShard(JobExecutionContext context, int shardIndex, int shardTotal) throws JobExecutionException {
+            EXECUTED.add(shardIndex);
+
+            if (shardIndex == shardTotal - 1) {
+                throw new JobExecutionException("shard " + shardIndex + " failed");
+            }
+        }
+
+        @Override
+        protected void onShardsCompleted(JobExecutionContext context, QuartzShardProgress progress) {
+            COMPLETED.add(progress);
+            completed.countDown();
+        }
+
+    }
+
+}
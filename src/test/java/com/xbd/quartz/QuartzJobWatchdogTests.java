@@ -0,0 +1,207 @@
+package com.xbd.quartz;
+
+import java.util.Collections;
+import java.util.Properties;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.quartz.JobBuilder;
+import org.quartz.JobDataMap;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.quartz.JobKey;
+import org.quartz.Scheduler;
+import org.quartz.impl.StdSchedulerFactory;
+import org.quartz.listeners.JobListenerSupport;
+import org.quartz.simpl.RAMJobStore;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class QuartzJobWatchdogTests {
+
+    private static final JobKey JOB_KEY = JobKey.jobKey("watched", "watchdog");
+
+    private static final String MODE_KEY = "mode";
+
+    private static final BlockingQueue<Boolean> INTERRUPTED = new LinkedBlockingQueue<>();
+
+    private static volatile CountDownLatch started;
+
+    private final BlockingQueue<JobExecutionException> failures = new LinkedBlockingQueue<>();
+
+    private final BlockingQueue<JobExecutionContext> executed = new LinkedBlockingQueue<>();
+
+    private Scheduler scheduler;
+
+    @Before
+    public void init() throws Exception {
+        INTERRUPTED.clear();
+        started = new CountDownLatch(1);
+
+        // 单个工作线程，后一次执行与前一次在同一线程中
+        Properties properties = new Properties();
+        properties.setProperty("org.quartz.scheduler.instanceName", "watchdog");
+        properties.setProperty("org.quartz.threadPool.threadCount", "1");
+        properties.setProperty("org.quartz.jobStore.class", RAMJobStore.class.getName());
+
+        scheduler = new StdSchedulerFactory(properties).getScheduler();
+        scheduler.addJob(JobBuilder.newJob(WatchedJob.class).withIdentity(JOB_KEY).storeDurably().build(), false);
+        scheduler.getListenerManager().addJobListener(new JobListenerSupport() {
+
+            @Override
+            public String getName() {
+                return "watchdogResults";
+            }
+
+            @Override
+            public void jobWasExecuted(JobExecutionContext context, JobExecutionException jobException) {
+                if (jobException != null) {
+                    failures.add(jobException);
+                }
+
+                executed.add(context);
+            }
+
+        });
+        scheduler.start();
+    }
+
+    @After
+    public void destroy() throws Exception {
+        scheduler.shutdown(true);
+    }
+
+    @Test
+    public void interruptsBlockedExecutionOnTimeout() throws Exception {
+        long timeouts = QuartzJobWatchdog.getTimeoutCount();
+
+        JobExecutionContext context = run("sleep", 100L);
+
+        assertTrue(QuartzJobWatchdog.isTimedOut(context));
+        assertEquals(Boolean.TRUE, INTERRUPTED.poll());
+        assertTimedOut();
+        assertEquals(timeouts + 1, QuartzJobWatchdog.getTimeoutCount());
+
+        assertInterruptFlagCleared();
+    }
+
+    @Test
+    public void clearsInterruptFlagWhenTimedOutExecutionIgnoresIt() throws Exception {
+        JobExecutionContext context = run("spin", 50L);
+
+        assertTrue(QuartzJobWatchdog.isTimedOut(context));
+        assertEquals("执行线程应被中断", Boolean.TRUE, INTERRUPTED.poll());
+        assertTimedOut();
+
+        assertInterruptFlagCleared();
+    }
+
+    @Test
+    public void interruptsExecutionThroughScheduler() throws Exception {
+        scheduler.triggerJob(JOB_KEY, new JobDataMap(Collections.singletonMap(MODE_KEY, "sleep")));
+
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        assertEquals(1, QuartzJobWatchdog.getExecutingCount());
+        assertTrue(scheduler.interrupt(JOB_KEY));
+
+        JobExecutionContext context = executed.poll(10, TimeUnit.SECONDS);
+
+        assertNotNull(context);
+        assertFalse("未限时的执行不记录超时", QuartzJobWatchdog.isTimedOut(context));
+        assertEquals(Boolean.TRUE, INTERRUPTED.poll());
+        assertNotNull(failures.poll());
+
+        assertInterruptFlagCleared();
+    }
+
+    private JobExecutionContext run(String mode, long timeoutMillis) throws Exception {
+        JobDataMap jobDataMap = new JobDataMap();
+        jobDataMap.put(MODE_KEY, mode);
+
+        if (timeoutMillis > 0) {
+            jobDataMap.put(AbstractQuartzJobBean.TIMEOUT_KEY, String.valueOf(timeoutMillis));
+        }
+
+        scheduler.triggerJob(JOB_KEY, jobDataMap);
+
+        JobExecutionContext context = executed.poll(10, TimeUnit.SECONDS);
+
+        assertNotNull(context);
+
+        return context;
+    }
+
+    private void assertTimedOut() {
+        JobExecutionException failure = failures.poll();
+
+        assertNotNull(failure);
+        assertTrue(failure.getMessage().contains("执行超过"));
+    }
+
+    /**
+     * 同一工作线程执行的下一个任务不应看到中断标记
+     */
+    private void assertInterruptFlagCleared() throws Exception {
+        run("probe", 0L);
+
+        assertEquals(Boolean.FALSE, INTERRUPTED.poll());
+        assertEquals(0, QuartzJobWatchdog.getExecutingCount());
+    }
+
+    /**
+     * sleep：阻塞直到被中断；spin：忙等300毫秒，不检查中断；probe：记录开始时的中断标记
+     */
+    public static class WatchedJob extends AbstractQuartzJobBean {
+
+        @Override
+        public String name() {
+            return "watched";
+        }
+
+        @Override
+        protected void executeInternalInternal(JobExecutionContext context) throws JobExecutionException {
+            String mode = context.getMergedJobDataMap().getString(MODE_KEY);
+
+            if ("probe".equals(mode)) {
+                INTERRUPTED.add(Thread.currentThread().isInterrupted());
+                return;
+            }
+
+            started.countDown();
+
+            if ("sleep".equals(mode)) {
+                try {
+                    Thread.sleep(TimeUnit.SECONDS.toMillis(10));
+
+                    INTERRUPTED.add(Boolean.FALSE);
+                } catch (InterruptedException e) {
+                    INTERRUPTED.add(Boolean.TRUE);
+
+                    Thread.currentThread().interrupt();
+
+                    throw new JobExecutionException(e);
+                }
+
+                return;
+            }
+
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(300);
+
+            while (System.nanoTime() < deadline) {
+                // 忙等，不检查中断
+            }
+
+            INTERRUPTED.add(Thread.currentThread().isInterrupted());
+        }
+
+    }
+
+}
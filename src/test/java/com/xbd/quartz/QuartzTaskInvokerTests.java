@@ -0,0 +1,151 @@
+package com.xbd.quartz;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.alibaba.fastjson.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.context.support.GenericApplicationContext;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+public class QuartzTaskInvokerTests {
+
+    private static final List<Object> CALLS = new CopyOnWriteArrayList<>();
+
+    private static final AtomicInteger INSTANCES = new AtomicInteger();
+
+    @Before
+    public void init() {
+        QuartzTaskInvoker.evictAll();
+        CALLS.clear();
+        INSTANCES.set(0);
+    }
+
+    @Test
+    public void cachesSingletonBeanUntilEvicted() throws Throwable {
+        CountingApplicationContext context = newContext(BeanDefinition.SCOPE_SINGLETON);
+
+        QuartzTaskInvoker.invoke(context, "target", null, "run", null);
+        QuartzTaskInvoker.invoke(context, "target", null, "run", null);
+
+        assertEquals(2, CALLS.size());
+        assertEquals("单例Bean只获取一次", 1, context.lookups.get());
+
+        QuartzTaskInvoker.evict(null, Target.class.getName());
+        QuartzTaskInvoker.invoke(context, "target", null, "run", null);
+
+        assertEquals("按类名清除不影响按Bean名称缓存的调用", 1, context.lookups.get());
+
+        QuartzTaskInvoker.evict("target", null);
+        QuartzTaskInvoker.invoke(context, "target", null, "run", null);
+
+        assertEquals(2, context.lookups.get());
+
+        // 更换Spring上下文后重新解析
+        CountingApplicationContext refreshed = newContext(BeanDefinition.SCOPE_SINGLETON);
+
+        QuartzTaskInvoker.invoke(refreshed, "target", null, "run", null);
+
+        assertEquals(1, refreshed.lookups.get());
+
+        QuartzTaskInvoker.evictAll();
+        QuartzTaskInvoker.invoke(refreshed, "target", null, "run", null);
+
+        assertEquals(2, refreshed.lookups.get());
+    }
+
+    @Test
+    public void looksUpPrototypeBeanOnEveryInvocation() throws Throwable {
+        CountingApplicationContext context = newContext(BeanDefinition.SCOPE_PROTOTYPE);
+
+        QuartzTaskInvoker.invoke(context, "target", null, "run", null);
+        QuartzTaskInvoker.invoke(context, "target", null, "run", null);
+
+        assertEquals(3, context.lookups.get());
+        assertEquals(2, CALLS.size());
+    }
+
+    @Test
+    public void createsTargetClassInstancePerInvocation() throws Throwable {
+        QuartzTaskInvoker.invoke(null, null, Target.class.getName(), "run", "[\"a\",1]");
+        QuartzTaskInvoker.invoke(null, null, Target.class.getName(), "run", "[\"a\",1]");
+
+        assertEquals(2, INSTANCES.get());
+        assertEquals("a1", CALLS.get(0));
+        assertEquals("a1", CALLS.get(1));
+    }
+
+    @Test
+    public void reparsesMutableParametersOnEveryInvocation() throws Throwable {
+        QuartzTaskInvoker.invoke(null, null, Target.class.getName(), "run", "[{\"value\":1}]");
+        QuartzTaskInvoker.invoke(null, null, Target.class.getName(), "run", "[{\"value\":1}]");
+
+        assertEquals(2, CALLS.size());
+        assertEquals(1, ((JSONObject) CALLS.get(0)).getIntValue("value"));
+        assertNotSame("可变参数不应在多次调用间共享", CALLS.get(0), CALLS.get(1));
+
+        // JSON对象以原字符串作为唯一参数
+        QuartzTaskInvoker.invoke(null, null, Target.class.getName(), "run", "{\"value\":1}");
+
+        assertEquals("{\"value\":1}", CALLS.get(2));
+    }
+
+    private static CountingApplicationContext newContext(String scope) {
+        RootBeanDefinition beanDefinition = new RootBeanDefinition(Target.class);
+        beanDefinition.setScope(scope);
+
+        CountingApplicationContext context = new CountingApplicationContext();
+        context.registerBeanDefinition("target", beanDefinition);
+        context.refresh();
+
+        return context;
+    }
+
+    /**
+     * 记录按名称获取Bean的次数
+     */
+    private static class CountingApplicationContext extends GenericApplicationContext {
+
+        private final AtomicInteger lookups = new AtomicInteger();
+
+        @Override
+        public Object getBean(String name) throws BeansException {
+            this.lookups.incrementAndGet();
+
+            return super.getBean(name);
+        }
+
+    }
+
+    public static class Target {
+
+        public Target() {
+            INSTANCES.incrementAndGet();
+        }
+
+        public void run() {
+            CALLS.add("run");
+        }
+
+        public void run(String text, Integer number) {
+            CALLS.add(text + number);
+        }
+
+        public void run(JSONObject value) {
+            CALLS.add(value);
+        }
+
+        public void run(Object value) {
+            CALLS.add(value);
+        }
+
+    }
+
+}
@@ -0,0 +1,213 @@
+package com.xbd.quartz.event;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.After;
+import org.junit.Test;
+import org.quartz.Trigger;
+import org.quartz.TriggerBuilder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class QuartzExecutionEventSinkTests {
+
+    private final RecordingOutput output = new RecordingOutput();
+
+    private QuartzExecutionEventSink sink;
+
+    @After
+    public void destroy() {
+        output.release.countDown();
+
+        if (sink != null) {
+            sink.stop();
+        }
+    }
+
+    @Test
+    public void deliversInOrderAcrossWraparound() throws Exception {
+        // 容量5取整为8，发布的事件数为其数倍，序号多次越过缓冲区末尾
+        sink = newSink(5, 3, 1L);
+        output.release.countDown();
+
+        for (int i = 0; i < 100; i++) {
+            sink.publish(QuartzExecutionEvent.Type.MISFIRED, trigger(i));
+
+            // 未刷新的事件不超过缓冲区大小，不丢弃
+            awaitPending(7);
+        }
+
+        awaitPending(0);
+
+        assertEquals(0L, sink.getDroppedCount());
+        assertEquals(100L, sink.getWrittenCount());
+        assertEquals(names(0, 100), output.received);
+        assertTrue("每批不超过batchSize", output.batchSizes.stream().allMatch(size -> size <= 3));
+    }
+
+    @Test
+    public void dropsEventsWhileFlusherIsStalled() throws Exception {
+        sink = newSink(5, 100, 1L);
+
+        sink.publish(QuartzExecutionEvent.Type.MISFIRED, trigger(0));
+
+        // 刷新线程阻塞在输出中，第一个事件尚未释放槽位
+        assertTrue(output.writing.await(10, TimeUnit.SECONDS));
+
+        for (int i = 1; i < 20; i++) {
+            sink.publish(QuartzExecutionEvent.Type.MISFIRED, trigger(i));
+        }
+
+        assertEquals("缓冲区取整为8，其余事件丢弃", 12L, sink.getDroppedCount());
+        assertEquals(8L, sink.getPending());
+
+        output.release.countDown();
+
+        awaitPending(0);
+
+        assertEquals(names(0, 8), output.received);
+        assertEquals(8L, sink.getWrittenCount());
+
+        // 刷新后恢复接收
+        sink.publish(QuartzExecutionEvent.Type.MISFIRED, trigger(20));
+
+        awaitPending(0);
+
+        assertEquals("t20", output.received.get(8));
+        assertEquals(12L, sink.getDroppedCount());
+    }
+
+    @Test
+    public void stopDeliversEveryClaimedEvent() throws Exception {
+        // 刷新间隔足够长，事件只会在停止时刷新
+        sink = newSink(1 << 16, 64, TimeUnit.MINUTES.toMillis(1));
+        output.release.countDown();
+
+        int threads = 4;
+        int events = 5000;
+
+        CountDownLatch started = new CountDownLatch(threads);
+        AtomicBoolean failed = new AtomicBoolean();
+        List<Thread> publishers = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            Thread publisher = new Thread(() -> {
+                started.countDown();
+
+                try {
+                    for (int i = 0; i < events; i++) {
+                        sink.publish(QuartzExecutionEvent.Type.MISFIRED, trigger(i));
+                    }
+                } catch (RuntimeException e) {
+                    failed.set(true);
+                }
+            });
+
+            publishers.add(publisher);
+            publisher.start();
+        }
+
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        while (sink.getPending() == 0) {
+            Thread.yield();
+        }
+
+        // 与发布线程并发停止，停止前已占位的事件均应输出
+        sink.stop();
+
+        for (Thread publisher : publishers) {
+            publisher.join(TimeUnit.SECONDS.toMillis(10));
+        }
+
+        assertFalse(failed.get());
+        assertEquals(0L, sink.getPending());
+        assertTrue(output.received.size() > 0);
+        assertEquals(threads * events, output.received.size() + sink.getDroppedCount());
+        assertEquals(output.received.size(), sink.getWrittenCount());
+        assertTrue("停止时关闭输出", output.closed.get());
+    }
+
+    private QuartzExecutionEventSink newSink(int capacity, int batchSize, long flushIntervalMillis) {
+        QuartzExecutionEventSink sink = new QuartzExecutionEventSink();
+        sink.setCapacity(capacity);
+        sink.setBatchSize(batchSize);
+        sink.setFlushIntervalMillis(flushIntervalMillis);
+        sink.setOutputs(Collections.singletonList(output));
+        sink.afterPropertiesSet();
+
+        return sink;
+    }
+
+    private void awaitPending(long pending) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+
+        while (sink.getPending() > pending && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1L);
+        }
+
+        assertTrue(sink.getPending() <= pending);
+    }
+
+    private static Trigger trigger(int index) {
+        return TriggerBuilder.newTrigger().withIdentity("t" + index, "events").forJob("job", "events").build();
+    }
+
+    private static List<String> names(int from, int to) {
+        List<String> names = new ArrayList<>();
+
+        for (int i = from; i < to; i++) {
+            names.add("t" + i);
+        }
+
+        return names;
+    }
+
+    /**
+     * 记录Trigger名称（事件对象会被复用），{@link #release}之前阻塞在第一次写入
+     */
+    private static class RecordingOutput implements QuartzExecutionEventOutput {
+
+        private final List<String> received = new CopyOnWriteArrayList<>();
+
+        private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+
+        private final CountDownLatch writing = new CountDownLatch(1);
+
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        @Override
+        public void write(List<QuartzExecutionEvent> events) {
+            writing.countDown();
+
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            batchSizes.add(events.size());
+
+            for (QuartzExecutionEvent event : events) {
+                received.add(event.getTriggerName());
+            }
+        }
+
+        @Override
+        public void close() {
+            closed.set(true);
+        }
+
+    }
+
+}
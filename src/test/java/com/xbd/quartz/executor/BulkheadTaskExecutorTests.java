@@ -0,0 +1,247 @@
+package com.xbd.quartz.executor;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.xbd.quartz.configure.QuartzProperties;
+import org.junit.After;
+import org.junit.Test;
+import org.quartz.Job;
+import org.quartz.JobBuilder;
+import org.quartz.JobDetail;
+import org.quartz.JobExecutionContext;
+import org.quartz.Scheduler;
+import org.quartz.SimpleScheduleBuilder;
+import org.quartz.Trigger;
+import org.quartz.TriggerBuilder;
+import org.quartz.TriggerKey;
+import org.quartz.core.JobRunShell;
+import org.quartz.impl.JobExecutionContextImpl;
+import org.quartz.spi.OperableTrigger;
+import org.quartz.spi.TriggerFiredBundle;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.quartz.SchedulerFactoryBean;
+import org.springframework.util.ReflectionUtils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BulkheadTaskExecutorTests {
+
+    private BulkheadTaskExecutor executor;
+
+    private final ExecutorService caller = Executors.newSingleThreadExecutor();
+
+    @After
+    public void destroy() throws Exception {
+        caller.shutdownNow();
+
+        if (executor != null) {
+            executor.destroy();
+        }
+    }
+
+    @Test
+    public void fullBulkheadOverflowsAfterBoundedWait() throws Exception {
+        QuartzProperties.Bulkhead slow = new QuartzProperties.Bulkhead();
+        slow.setPoolSize(1);
+        slow.setQueueCapacity(1);
+        slow.setOverflowTimeoutMillis(100L);
+        slow.setGroups(Collections.singletonList("slow"));
+
+        Map<String, QuartzProperties.Bulkhead> bulkheads = new LinkedHashMap<>();
+        bulkheads.put("slow", slow);
+
+        QuartzProperties.Bulkhead defaultBulkhead = new QuartzProperties.Bulkhead();
+        defaultBulkhead.setPoolSize(2);
+        defaultBulkhead.setQueueCapacity(10);
+
+        executor = new BulkheadTaskExecutor();
+        executor.setBulkheads(bulkheads);
+        executor.setDefaultBulkhead(defaultBulkhead);
+        executor.setBorrowing(false);
+        executor.afterPropertiesSet();
+
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch slowDone = new CountDownLatch(3);
+
+        Runnable slowTask = () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                slowDone.countDown();
+            }
+        };
+
+        // 占满slow舱壁的线程及队列
+        executor.execute(jobRunShell("slow", slowTask));
+        executor.execute(jobRunShell("slow", slowTask));
+
+        // 模拟Quartz调度线程继续提交：等待overflowTimeoutMillis后超出容量入队，而不是拒绝
+        long start = System.nanoTime();
+
+        caller.submit(() -> executor.execute(jobRunShell("slow", slowTask))).get(5, TimeUnit.SECONDS);
+
+        assertTrue("队列已满时应等待后再溢出入队", System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(100L));
+
+        CountDownLatch otherDone = new CountDownLatch(5);
+
+        caller.submit(() -> {
+            for (int i = 0; i < 5; i++) {
+                executor.execute(jobRunShell("other", otherDone::countDown));
+            }
+        }).get(5, TimeUnit.SECONDS);
+
+        assertTrue("其它舱壁的任务被阻塞：" + otherDone.getCount(), otherDone.await(5, TimeUnit.SECONDS));
+
+        BulkheadStats stats = executor.getStats().get("slow");
+        assertEquals(1, stats.getOverflowCount());
+        assertEquals(2, stats.getQueueSize());
+
+        release.countDown();
+
+        assertTrue("slow舱壁中已接收的任务未执行：" + slowDone.getCount(), slowDone.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void overflowingFireDoesNotLeaveTriggersInError() throws Exception {
+        QuartzProperties.Bulkhead slow = new QuartzProperties.Bulkhead();
+        slow.setPoolSize(1);
+        slow.setQueueCapacity(1);
+        slow.setOverflowTimeoutMillis(50L);
+        slow.setGroups(Collections.singletonList("slow"));
+
+        executor = new BulkheadTaskExecutor();
+        executor.setBulkheads(Collections.singletonMap("slow", slow));
+        executor.setBorrowing(false);
+        executor.afterPropertiesSet();
+
+        SchedulerFactoryBean factory = new SchedulerFactoryBean();
+        factory.setSchedulerName("BulkheadTaskExecutorTests");
+        factory.setTaskExecutor(executor);
+        factory.setAutoStartup(false);
+        factory.afterPropertiesSet();
+
+        Scheduler scheduler = factory.getObject();
+
+        BlockingJob.release = new CountDownLatch(1);
+        BlockingJob.done = new CountDownLatch(3);
+
+        try {
+            List<TriggerKey> triggerKeys = new ArrayList<>();
+
+            // 同一时刻触发3次，超过舱壁线程数与队列容量之和
+            for (int i = 0; i < 3; i++) {
+                JobDetail jobDetail = JobBuilder.newJob(BlockingJob.class).withIdentity("job" + i, "slow").build();
+                Trigger trigger = TriggerBuilder.newTrigger().withIdentity("trigger" + i, "slow").startNow()
+                        .withSchedule(SimpleScheduleBuilder.repeatHourlyForever()).build();
+
+                scheduler.scheduleJob(jobDetail, trigger);
+                triggerKeys.add(trigger.getKey());
+            }
+
+            scheduler.start();
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5L);
+
+            while (executor.getStats().get("slow").getOverflowCount() == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(10L);
+            }
+
+            assertEquals(1, executor.getStats().get("slow").getOverflowCount());
+
+            for (TriggerKey triggerKey : triggerKeys) {
+                assertEquals(triggerKey.toString(), Trigger.TriggerState.NORMAL, scheduler.getTriggerState(triggerKey));
+            }
+
+            BlockingJob.release.countDown();
+
+            assertTrue("溢出入队的触发未执行：" + BlockingJob.done.getCount(), BlockingJob.done.await(5, TimeUnit.SECONDS));
+        } finally {
+            BlockingJob.release.countDown();
+            factory.destroy();
+        }
+    }
+
+    @Test
+    public void defaultBulkheadFollowsThreadPoolSettings() throws Exception {
+        QuartzProperties properties = new QuartzProperties();
+        properties.getThreadPool().setCorePoolSize(3);
+        properties.getThreadPool().setQueueCapacity(7);
+
+        QuartzProperties.Bulkhead slow = new QuartzProperties.Bulkhead();
+        slow.setGroups(Collections.singletonList("slow"));
+        properties.getBulkheads().put("slow", slow);
+
+        TaskExecutor taskExecutor = QuartzTaskExecutors.newTaskExecutor(properties);
+        assertTrue(taskExecutor instanceof BulkheadTaskExecutor);
+
+        executor = (BulkheadTaskExecutor) taskExecutor;
+        executor.afterPropertiesSet();
+
+        BulkheadStats stats = executor.getStats().get(BulkheadTaskExecutor.DEFAULT_BULKHEAD);
+        assertEquals(3, stats.getPoolSize());
+        assertEquals(7, stats.getQueueCapacity());
+    }
+
+    /**
+     * 构造携带执行上下文的{@link JobRunShell}，使舱壁按任务分组路由
+     */
+    private static JobRunShell jobRunShell(String group, Runnable body) {
+        JobDetail jobDetail = JobBuilder.newJob(NoopJob.class).withIdentity("job", group).build();
+        OperableTrigger trigger = (OperableTrigger) TriggerBuilder.newTrigger().withIdentity("trigger", group).forJob(jobDetail).build();
+
+        Date now = new Date();
+        TriggerFiredBundle bundle = new TriggerFiredBundle(jobDetail, trigger, null, false, now, now, null, null);
+
+        JobRunShell shell = new JobRunShell(null, bundle) {
+            @Override
+            public void run() {
+                body.run();
+            }
+        };
+
+        Field field = ReflectionUtils.findField(JobRunShell.class, "jec");
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, shell, new JobExecutionContextImpl(null, bundle, new NoopJob()));
+
+        return shell;
+    }
+
+    public static class BlockingJob implements Job {
+
+        private static volatile CountDownLatch release;
+
+        private static volatile CountDownLatch done;
+
+        @Override
+        public void execute(JobExecutionContext context) {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                done.countDown();
+            }
+        }
+    }
+
+    public static class NoopJob implements Job {
+
+        @Override
+        public void execute(JobExecutionContext context) {
+
+        }
+    }
+}
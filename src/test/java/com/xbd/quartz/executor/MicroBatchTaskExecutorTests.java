@@ -0,0 +1,96 @@
+package com.xbd.quartz.executor;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.xbd.quartz.AbstractMicroBatchQuartzJobBean;
+import com.xbd.quartz.QuartzMicroBatchItem;
+import org.junit.Test;
+import org.quartz.JobBuilder;
+import org.quartz.JobDetail;
+import org.quartz.Scheduler;
+import org.quartz.SimpleScheduleBuilder;
+import org.quartz.Trigger;
+import org.quartz.TriggerBuilder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.quartz.SchedulerFactoryBean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MicroBatchTaskExecutorTests {
+
+    private static final int FIRES = 20;
+
+    @Test
+    public void mergesCoFiredTriggersBeforeDispatch() throws Exception {
+        ThreadPoolTaskExecutor delegate = new ThreadPoolTaskExecutor();
+        delegate.setCorePoolSize(2);
+
+        MicroBatchTaskExecutor executor = QuartzTaskExecutors.newMicroBatchTaskExecutor(delegate);
+        executor.afterPropertiesSet();
+
+        SchedulerFactoryBean factory = new SchedulerFactoryBean();
+        factory.setSchedulerName("MicroBatchTaskExecutorTests");
+        factory.setTaskExecutor(executor);
+        factory.setAutoStartup(false);
+        factory.afterPropertiesSet();
+
+        Scheduler scheduler = factory.getObject();
+
+        CountingBatchJob.done = new CountDownLatch(FIRES);
+
+        try {
+            for (int i = 0; i < FIRES; i++) {
+                JobDetail jobDetail = JobBuilder.newJob(CountingBatchJob.class).withIdentity("job" + i, "batch").build();
+                Trigger trigger = TriggerBuilder.newTrigger().withIdentity("trigger" + i, "batch").startNow()
+                        .withSchedule(SimpleScheduleBuilder.repeatHourlyForever()).build();
+
+                scheduler.scheduleJob(jobDetail, trigger);
+            }
+
+            scheduler.start();
+
+            assertTrue("未执行的触发：" + CountingBatchJob.done.getCount(), CountingBatchJob.done.await(5, TimeUnit.SECONDS));
+
+            assertEquals(FIRES, AbstractMicroBatchQuartzJobBean.getItemCount(CountingBatchJob.class));
+            assertTrue("同一时刻的触发应在分发前合并：" + CountingBatchJob.batches.get() + "个批次", CountingBatchJob.batches.get() < FIRES);
+            assertEquals(CountingBatchJob.batches.get(), AbstractMicroBatchQuartzJobBean.getBatchCount(CountingBatchJob.class));
+            assertTrue(executor.getMergedCount() > 0);
+        } finally {
+            factory.destroy();
+            executor.destroy();
+        }
+    }
+
+    public static class CountingBatchJob extends AbstractMicroBatchQuartzJobBean {
+
+        private static final AtomicInteger batches = new AtomicInteger();
+
+        private static volatile CountDownLatch done;
+
+        @Override
+        public String name() {
+            return "counting";
+        }
+
+        @Override
+        protected long batchWindowMillis() {
+            return 200L;
+        }
+
+        @Override
+        protected void executeBatch(List<QuartzMicroBatchItem> items) {
+            batches.incrementAndGet();
+
+            for (QuartzMicroBatchItem item : items) {
+                item.succeed(item.getJobKey().getName());
+                done.countDown();
+            }
+        }
+
+    }
+
+}
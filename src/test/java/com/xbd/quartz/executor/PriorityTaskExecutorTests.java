@@ -0,0 +1,100 @@
+package com.xbd.quartz.executor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.xbd.quartz.configure.QuartzProperties;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.core.task.TaskExecutor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PriorityTaskExecutorTests {
+
+    private PriorityTaskExecutor executor;
+
+    @After
+    public void destroy() throws Exception {
+        if (executor != null) {
+            executor.destroy();
+        }
+    }
+
+    @Test
+    public void runsEveryTaskWhenSubmissionsExceedPermits() throws Exception {
+        QuartzProperties.ThreadPool threadPool = new QuartzProperties.ThreadPool();
+        threadPool.setCorePoolSize(2);
+        threadPool.setMaxPoolSize(2);
+        threadPool.setQueueCapacity(100);
+        threadPool.setPriorityDispatch(true);
+
+        TaskExecutor taskExecutor = QuartzTaskExecutors.newTaskExecutor(threadPool);
+        assertTrue(taskExecutor instanceof PriorityTaskExecutor);
+
+        executor = (PriorityTaskExecutor) taskExecutor;
+        executor.afterPropertiesSet();
+
+        int tasks = 20;
+        CountDownLatch latch = new CountDownLatch(tasks);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        for (int i = 0; i < tasks; i++) {
+            executor.execute(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    running.decrementAndGet();
+                    latch.countDown();
+                }
+            });
+        }
+
+        assertTrue("部分任务未执行：" + latch.getCount(), latch.await(10, TimeUnit.SECONDS));
+        assertEquals(tasks, executor.getSubmittedCount());
+        assertEquals(0, executor.getQueueSize());
+        assertTrue(maxRunning.get() <= 2);
+    }
+
+    @Test
+    public void requeuesPolledTaskWhenDelegateRejects() throws Exception {
+        AtomicInteger accepted = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(10);
+
+        executor = new PriorityTaskExecutor();
+        executor.setMaxConcurrency(2);
+        // 拒绝第2、3次提交，分别覆盖直接提交与从队列取出后提交，模拟线程尚未回到线程池
+        executor.setDelegate(task -> {
+            int call = accepted.incrementAndGet();
+
+            if (call == 2 || call == 3) {
+                throw new RejectedExecutionException("busy");
+            }
+
+            new Thread(task).start();
+        });
+        executor.afterPropertiesSet();
+
+        for (int i = 0; i < 10; i++) {
+            executor.execute(() -> {
+                try {
+                    Thread.sleep(10);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        assertTrue("部分任务未执行：" + latch.getCount(), latch.await(10, TimeUnit.SECONDS));
+    }
+}
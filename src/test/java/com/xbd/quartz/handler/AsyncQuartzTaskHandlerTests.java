@@ -0,0 +1,255 @@
+package com.xbd.quartz.handler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import com.xbd.quartz.QuartzBatchResult;
+import com.xbd.quartz.QuartzJob;
+import com.xbd.quartz.QuartzTaskHandler;
+
+import org.junit.After;
+import org.junit.Test;
+import org.quartz.JobKey;
+import org.quartz.ObjectAlreadyExistsException;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.impl.StdSchedulerFactory;
+import org.quartz.simpl.RAMJobStore;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class AsyncQuartzTaskHandlerTests {
+
+    private static final JobKey BAD_KEY = JobKey.jobKey("bad");
+
+    private final List<List<JobKey>> calls = Collections.synchronizedList(new ArrayList<>());
+
+    private final CountDownLatch started = new CountDownLatch(1);
+
+    private volatile CountDownLatch release;
+
+    private AsyncQuartzTaskHandler asyncHandler;
+
+    @After
+    public void destroy() throws Exception {
+        if (asyncHandler != null) {
+            asyncHandler.destroy();
+        }
+    }
+
+    @Test
+    public void coalescesConsecutiveOperations() throws Exception {
+        asyncHandler = newAsyncHandler(200L);
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+        for (int i = 0; i < 5; i++) {
+            futures.add(asyncHandler.pauseJob(JobKey.jobKey("job" + i)));
+        }
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+
+        assertEquals("5个操作应合并为一次批量调用", 1, calls.size());
+        assertEquals(5, calls.get(0).size());
+        assertEquals(1, asyncHandler.getBatchCount());
+    }
+
+    @Test
+    public void attributesBatchFailureToFailedKey() throws Exception {
+        asyncHandler = newAsyncHandler(200L);
+
+        CompletableFuture<Void> first = asyncHandler.pauseJob(JobKey.jobKey("job1"));
+        CompletableFuture<Void> bad = asyncHandler.pauseJob(BAD_KEY);
+        CompletableFuture<Void> last = asyncHandler.pauseJob(JobKey.jobKey("job2"));
+
+        first.get(5, TimeUnit.SECONDS);
+        last.get(5, TimeUnit.SECONDS);
+
+        try {
+            bad.get(5, TimeUnit.SECONDS);
+            fail("失败的Key应以异常结束");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof SchedulerException);
+        }
+
+        assertEquals(1, asyncHandler.getFailedCount());
+    }
+
+    @Test
+    public void splitsRepeatedSavesOfSameJob() throws Exception {
+        asyncHandler = newAsyncHandler(200L);
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+        for (String name : new String[] { "job1", "job2", "job1", "job3" }) {
+            futures.add(asyncHandler.saveJob(newJob(name)));
+        }
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+
+        assertEquals("同一任务再次保存时应分段写入", 2, calls.size());
+        assertEquals(Arrays.asList(JobKey.jobKey("job1"), JobKey.jobKey("job2")), calls.get(0));
+        assertEquals(Arrays.asList(JobKey.jobKey("job1"), JobKey.jobKey("job3")), calls.get(1));
+    }
+
+    @Test
+    public void failsOnlyInvalidJobsMergedWithValidOnes() throws Exception {
+        Properties properties = new Properties();
+        properties.setProperty("org.quartz.scheduler.instanceName", "asyncAdd");
+        properties.setProperty("org.quartz.threadPool.threadCount", "1");
+        properties.setProperty("org.quartz.jobStore.class", RAMJobStore.class.getName());
+
+        Scheduler scheduler = new StdSchedulerFactory(properties).getScheduler();
+
+        try {
+            DefaultQuartzTaskHandler handler = new DefaultQuartzTaskHandler();
+            handler.setScheduler(scheduler);
+            handler.addJob(newJob("existing"));
+
+            asyncHandler = newAsyncHandler(handler, 200L);
+
+            QuartzJob nonDurable = newJob("nonDurable");
+            nonDurable.setDurability(false);
+
+            CompletableFuture<Void> first = asyncHandler.addJob(newJob("job1"));
+            CompletableFuture<Void> invalid = asyncHandler.addJob(nonDurable);
+            CompletableFuture<Void> existing = asyncHandler.addJob(newJob("existing"));
+            CompletableFuture<Void> last = asyncHandler.addJob(newJob("job2"));
+
+            assertTrue("属性错误的任务应在提交时失败", invalid.isCompletedExceptionally());
+
+            try {
+                invalid.get();
+                fail();
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof IllegalArgumentException);
+            }
+
+            first.get(5, TimeUnit.SECONDS);
+            last.get(5, TimeUnit.SECONDS);
+
+            try {
+                existing.get(5, TimeUnit.SECONDS);
+                fail("已存在的任务应以异常结束");
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof ObjectAlreadyExistsException);
+            }
+
+            // 整批失败回滚后逐个重试，其余任务照常写入
+            assertTrue(scheduler.checkExists(JobKey.jobKey("job1")));
+            assertTrue(scheduler.checkExists(JobKey.jobKey("job2")));
+            assertFalse(scheduler.checkExists(JobKey.jobKey("nonDurable")));
+            assertEquals(2, asyncHandler.getFailedCount());
+        } finally {
+            scheduler.shutdown(true);
+        }
+    }
+
+    @Test
+    public void completesQueuedOperationsOnShutdown() throws Exception {
+        asyncHandler = newAsyncHandler(0L);
+        asyncHandler.setAwaitTerminationSeconds(1);
+
+        release = new CountDownLatch(1);
+
+        CompletableFuture<Void> running = asyncHandler.pauseJob(JobKey.jobKey("running"));
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<Void> queued = asyncHandler.pauseJob(JobKey.jobKey("queued"));
+
+        asyncHandler.destroy();
+
+        assertTrue("队列中的操作应结束", queued.isDone());
+
+        // 执行中的操作被中断后由分发线程结束
+        try {
+            running.get(5, TimeUnit.SECONDS);
+            fail("被中断的操作应以异常结束");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof SchedulerException);
+        }
+
+        try {
+            queued.get();
+            fail("关闭时未执行的操作应以异常结束");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof RejectedExecutionException);
+        }
+
+        CompletableFuture<Void> afterShutdown = asyncHandler.pauseJob(JobKey.jobKey("late"));
+
+        assertTrue(afterShutdown.isCompletedExceptionally());
+        assertFalse(calls.stream().anyMatch(keys -> keys.contains(JobKey.jobKey("late"))));
+
+        asyncHandler = null;
+    }
+
+    private AsyncQuartzTaskHandler newAsyncHandler(long lingerMillis) {
+        return newAsyncHandler(new RecordingQuartzTaskHandler(), lingerMillis);
+    }
+
+    private AsyncQuartzTaskHandler newAsyncHandler(QuartzTaskHandler quartzTaskHandler, long lingerMillis) {
+        AsyncQuartzTaskHandler handler = new AsyncQuartzTaskHandler();
+        handler.setQuartzTaskHandler(quartzTaskHandler);
+        handler.setLingerMillis(lingerMillis);
+        handler.afterPropertiesSet();
+
+        return handler;
+    }
+
+    private static QuartzJob newJob(String name) {
+        QuartzJob quartzJob = new QuartzJob();
+        quartzJob.setKey(JobKey.jobKey(name));
+        quartzJob.setJobClass(DefaultQuartzTaskHandlerTests.NoopJob.class);
+
+        return quartzJob;
+    }
+
+    /**
+     * 记录批量暂停、保存调用，暂停包含{@link #BAD_KEY}时整批失败，{@link #release}不为空时阻塞到放行或被中断
+     */
+    private class RecordingQuartzTaskHandler extends DefaultQuartzTaskHandler {
+
+        @Override
+        public void pauseJob(List<JobKey> jobKeys) throws SchedulerException {
+            calls.add(new ArrayList<>(jobKeys));
+            started.countDown();
+
+            if (release != null) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new SchedulerException("interrupted", e);
+                }
+            }
+
+            if (jobKeys.contains(BAD_KEY)) {
+                throw new SchedulerException("bad key");
+            }
+        }
+
+        @Override
+        public List<QuartzBatchResult> saveJobs(Collection<QuartzJob> quartzJobs) {
+            List<JobKey> jobKeys = quartzJobs.stream().map(QuartzJob::getKey).collect(Collectors.toList());
+
+            calls.add(jobKeys);
+
+            return Collections.singletonList(new QuartzBatchResult(0, jobKeys, 0L, null));
+        }
+    }
+}
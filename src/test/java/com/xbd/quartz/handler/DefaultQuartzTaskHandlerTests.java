@@ -0,0 +1,235 @@
+package com.xbd.quartz.handler;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Properties;
+
+import com.xbd.quartz.AbstractQuartzJobBean;
+import com.xbd.quartz.QuartzBatchResult;
+import com.xbd.quartz.QuartzJob;
+import com.xbd.quartz.QuartzTrigger;
+import com.xbd.quartz.jdbcjobstore.H2Schedulers;
+import org.junit.After;
+import org.junit.Test;
+import org.quartz.CronTrigger;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobKey;
+import org.quartz.Scheduler;
+import org.quartz.Trigger;
+import org.quartz.TriggerKey;
+import org.quartz.impl.StdSchedulerFactory;
+import org.quartz.simpl.RAMJobStore;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class DefaultQuartzTaskHandlerTests {
+
+    private static final JobKey JOB_KEY = JobKey.jobKey("job", "save");
+
+    private static final TriggerKey CRON_KEY = TriggerKey.triggerKey("cron", "save");
+
+    private static final TriggerKey SIMPLE_KEY = TriggerKey.triggerKey("simple", "save");
+
+    private Scheduler scheduler;
+
+    @After
+    public void destroy() throws Exception {
+        if (scheduler != null) {
+            scheduler.shutdown(true);
+        }
+    }
+
+    @Test
+    public void jobStoreSkipsUnchangedDefinitionAndReschedulesChangedTrigger() throws Exception {
+        scheduler = H2Schedulers.create("saveJobStore");
+
+        assertSkipsUnchangedDefinition(newHandler(scheduler));
+    }
+
+    @Test
+    public void schedulerSkipsUnchangedDefinitionAndReplacesChangedJob() throws Exception {
+        Properties properties = new Properties();
+        properties.setProperty("org.quartz.scheduler.instanceName", "saveRam");
+        properties.setProperty("org.quartz.threadPool.threadCount", "1");
+        properties.setProperty("org.quartz.jobStore.class", RAMJobStore.class.getName());
+
+        scheduler = new StdSchedulerFactory(properties).getScheduler();
+
+        assertSkipsUnchangedDefinition(newHandler(scheduler));
+    }
+
+    @Test
+    public void rejectsDuplicateAndNonDurableJobsBeforeWriting() throws Exception {
+        scheduler = H2Schedulers.create("saveInvalid");
+
+        DefaultQuartzTaskHandler handler = newHandler(scheduler);
+
+        QuartzJob withoutTriggers = new QuartzJob();
+        withoutTriggers.setKey(JobKey.jobKey("withoutTriggers", "save"));
+        withoutTriggers.setJobClass(NoopJob.class);
+        withoutTriggers.setDurability(false);
+
+        try {
+            handler.addJobs(Arrays.asList(newJob("0 0 1 * * ?", "a"), withoutTriggers));
+            fail("没有Trigger的非持久化任务应被拒绝");
+        } catch (IllegalArgumentException e) {
+            assertFalse("校验失败时不应写入任何任务", scheduler.checkExists(JOB_KEY));
+        }
+
+        try {
+            handler.saveJobs(Arrays.asList(newJob("0 0 1 * * ?", "a"), newJob("0 0 2 * * ?", "b")));
+            fail("重复的JobKey应被拒绝");
+        } catch (IllegalArgumentException e) {
+            assertFalse(scheduler.checkExists(JOB_KEY));
+        }
+    }
+
+    @Test
+    public void rejectsInvalidTriggersBeforeFirstBatch() throws Exception {
+        scheduler = H2Schedulers.create("saveInvalidTrigger");
+
+        DefaultQuartzTaskHandler handler = newHandler(scheduler);
+        handler.setBatchSize(1);
+
+        QuartzJob invalidCron = newJob("not a cron", "a");
+        invalidCron.setKey(JobKey.jobKey("invalidCron", "save"));
+
+        QuartzJob withoutType = newJob("0 0 1 * * ?", "a");
+        withoutType.setKey(JobKey.jobKey("withoutType", "save"));
+        withoutType.getTriggers().forEach(trigger -> trigger.setType(null));
+
+        for (QuartzJob invalid : Arrays.asList(invalidCron, withoutType)) {
+            try {
+                handler.addJobs(Arrays.asList(newJob("0 0 1 * * ?", "a"), invalid));
+                fail("Trigger属性错误的任务应在写入前被拒绝");
+            } catch (IllegalArgumentException e) {
+                assertFalse("前面的批次不应已写入", scheduler.checkExists(JOB_KEY));
+            }
+        }
+
+        // 写入时才能发现的错误记为所在批次失败，其余批次照常写入
+        QuartzJob missingCalendar = newJob("0 0 1 * * ?", "a");
+        missingCalendar.setKey(JobKey.jobKey("missingCalendar", "save"));
+        missingCalendar.getTriggers().forEach(trigger -> {
+            trigger.setKey(TriggerKey.triggerKey(trigger.getKey().getName() + "Calendar", "save"));
+            trigger.setCalendarName("missing");
+        });
+
+        List<QuartzBatchResult> results = handler.addJobs(Arrays.asList(newJob("0 0 1 * * ?", "a"), missingCalendar));
+
+        assertEquals(2, results.size());
+        assertTrue(results.get(0).isSuccess());
+        assertFalse(results.get(1).isSuccess());
+        assertTrue(scheduler.checkExists(JOB_KEY));
+        assertFalse(scheduler.checkExists(missingCalendar.getKey()));
+    }
+
+    @Test
+    public void restoresPausedTriggersWithoutStandby() throws Exception {
+        Properties properties = new Properties();
+        properties.setProperty("org.quartz.scheduler.instanceName", "snapshotSource");
+        properties.setProperty("org.quartz.threadPool.threadCount", "1");
+        properties.setProperty("org.quartz.jobStore.class", RAMJobStore.class.getName());
+
+        Scheduler source = new StdSchedulerFactory(properties).getScheduler();
+
+        ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+
+        try {
+            DefaultQuartzTaskHandler sourceHandler = newHandler(source);
+            sourceHandler.saveJob(newJob("0 0 1 * * ?", "a"));
+            source.pauseTrigger(CRON_KEY);
+            sourceHandler.exportSnapshot(snapshot);
+        } finally {
+            source.shutdown();
+        }
+
+        scheduler = H2Schedulers.create("snapshotTarget");
+        scheduler.start();
+
+        newHandler(scheduler).restoreSnapshot(new ByteArrayInputStream(snapshot.toByteArray()));
+
+        assertEquals(Trigger.TriggerState.PAUSED, scheduler.getTriggerState(CRON_KEY));
+        assertEquals(Trigger.TriggerState.NORMAL, scheduler.getTriggerState(SIMPLE_KEY));
+        assertFalse("恢复期间不应切换standby", scheduler.isInStandbyMode());
+    }
+
+    private void assertSkipsUnchangedDefinition(DefaultQuartzTaskHandler handler) throws Exception {
+        handler.saveJob(newJob("0 0 1 * * ?", "a"));
+
+        Trigger simple = scheduler.getTrigger(SIMPLE_KEY);
+
+        assertEquals("Trigger的JobDataMap只含用户数据", Collections.singletonMap("value", "a"), scheduler.getTrigger(CRON_KEY).getJobDataMap().getWrappedMap());
+
+        List<QuartzBatchResult> results = handler.saveJobs(Collections.singletonList(newJob("0 0 1 * * ?", "a")));
+
+        assertEquals("定义未变化的任务应跳过写入", 1, results.get(0).getSkipped());
+        assertEquals(simple.getStartTime(), scheduler.getTrigger(SIMPLE_KEY).getStartTime());
+
+        handler.saveJob(newJob("0 0 2 * * ?", "b"));
+
+        CronTrigger cron = (CronTrigger) scheduler.getTrigger(CRON_KEY);
+
+        assertEquals("0 0 2 * * ?", cron.getCronExpression());
+        assertEquals("b", cron.getJobDataMap().getString("value"));
+        assertEquals(2, scheduler.getTriggersOfJob(JOB_KEY).size());
+
+        results = handler.saveJobs(Collections.singletonList(newJob("0 0 2 * * ?", "b")));
+
+        assertEquals(1, results.get(0).getSkipped());
+        assertTrue(results.get(0).isSuccess());
+    }
+
+    private DefaultQuartzTaskHandler newHandler(Scheduler scheduler) {
+        DefaultQuartzTaskHandler handler = new DefaultQuartzTaskHandler();
+        handler.setScheduler(scheduler);
+
+        return handler;
+    }
+
+    private QuartzJob newJob(String cronExpression, String value) {
+        QuartzJob quartzJob = new QuartzJob();
+        quartzJob.setKey(JOB_KEY);
+        quartzJob.setJobClass(NoopJob.class);
+        quartzJob.setJobData(Collections.singletonMap("job", "data"));
+
+        QuartzTrigger cron = new QuartzTrigger();
+        cron.setType(QuartzTrigger.TriggerType.CRON);
+        cron.setKey(CRON_KEY);
+        cron.setCronExpression(cronExpression);
+        cron.setJobData(Collections.singletonMap("value", value));
+        quartzJob.addTrigger(cron);
+
+        QuartzTrigger simple = new QuartzTrigger();
+        simple.setType(QuartzTrigger.TriggerType.SIMPLE);
+        simple.setKey(SIMPLE_KEY);
+        simple.setStartNow(true);
+        simple.setEndAt(new Date(4102444800000L));
+        simple.setRepeatCount(-1);
+        simple.setRepeatInterval(60000L);
+        quartzJob.addTrigger(simple);
+
+        return quartzJob;
+    }
+
+    public static class NoopJob extends AbstractQuartzJobBean {
+
+        @Override
+        public String name() {
+            return "noop";
+        }
+
+        @Override
+        protected void executeInternalInternal(JobExecutionContext context) {
+        }
+
+    }
+
+}
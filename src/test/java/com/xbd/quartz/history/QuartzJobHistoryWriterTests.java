@@ -0,0 +1,153 @@
+package com.xbd.quartz.history;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.xbd.quartz.jdbcjobstore.H2Schedulers;
+import com.xbd.quartz.jdbcjobstore.QuartzJobStoreTX;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.quartz.JobKey;
+import org.quartz.Scheduler;
+import org.quartz.TriggerKey;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class QuartzJobHistoryWriterTests {
+
+    private static final JobKey JOB_KEY = JobKey.jobKey("job", "history");
+
+    private Scheduler scheduler;
+
+    private QuartzJobStoreTX jobStore;
+
+    private QuartzJobHistoryWriter writer;
+
+    @Before
+    public void init() throws Exception {
+        scheduler = H2Schedulers.create("history");
+        jobStore = QuartzJobStoreTX.getInstance("history");
+    }
+
+    @After
+    public void destroy() throws Exception {
+        if (writer != null) {
+            writer.destroy();
+        }
+
+        scheduler.shutdown(true);
+    }
+
+    @Test
+    public void writesOfferedExecutionsInBatchesAndFlushesOnStop() throws Exception {
+        writer = newWriter(TimeUnit.DAYS.toMillis(1));
+        writer.setBatchSize(3);
+        writer.setFlushIntervalMillis(50L);
+        writer.afterPropertiesSet();
+
+        assertNotNull("启动时应添加清理任务", scheduler.getTrigger(QuartzJobHistoryPurgeJob.TRIGGER_KEY));
+
+        for (int i = 0; i < 7; i++) {
+            assertTrue(writer.offer(newExecution("offered" + i, JOB_KEY, 1000L + i, null)));
+        }
+
+        writer.stop();
+
+        assertEquals(7L, writer.getWrittenCount());
+        assertEquals(0L, writer.getFailedCount());
+        assertEquals(0, writer.getPending());
+        assertEquals(7, jobStore.selectJobHistory(JOB_KEY, 0L, Long.MAX_VALUE, 10).size());
+
+        // 停止后不再接收记录
+        assertFalse(writer.offer(newExecution("late", JOB_KEY, 2000L, null)));
+        assertEquals(1L, writer.getDroppedCount());
+    }
+
+    @Test
+    public void purgesExecutionsOlderThanRetention() throws Exception {
+        long now = System.currentTimeMillis();
+
+        jobStore.insertJobHistory(Arrays.asList(
+                newExecution("threeDaysAgo", JOB_KEY, now - TimeUnit.DAYS.toMillis(3), null),
+                newExecution("twoDaysAgo", JOB_KEY, now - TimeUnit.DAYS.toMillis(2), null),
+                newExecution("hourAgo", JOB_KEY, now - TimeUnit.HOURS.toMillis(1), null)));
+
+        writer = newWriter(TimeUnit.DAYS.toMillis(1));
+        writer.setPartitionMillis(TimeUnit.HOURS.toMillis(6));
+        writer.afterPropertiesSet();
+
+        assertEquals(2, writer.purge());
+        assertEquals(0, writer.purge());
+        assertEquals(2L, writer.getPurgedCount());
+
+        List<QuartzJobExecution> remaining = jobStore.selectJobHistory(JOB_KEY, 0L, Long.MAX_VALUE, 10);
+
+        assertEquals(1, remaining.size());
+        assertEquals("hourAgo", remaining.get(0).getEntryId());
+
+        // 清理任务委托本节点同名调度器的写入器
+        jobStore.insertJobHistory(Collections.singletonList(newExecution("dayAgo", JOB_KEY, now - TimeUnit.HOURS.toMillis(25), null)));
+
+        scheduler.start();
+        scheduler.triggerJob(QuartzJobHistoryPurgeJob.JOB_KEY);
+
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+
+        while (writer.getPurgedCount() < 3L && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10L);
+        }
+
+        assertEquals(3L, writer.getPurgedCount());
+        assertEquals(1, jobStore.selectJobHistory(JOB_KEY, 0L, Long.MAX_VALUE, 10).size());
+    }
+
+    @Test
+    public void truncatesExceptionMessageByEncodedBytes() throws Exception {
+        String message = StringUtils.repeat("执", 1000);
+
+        assertEquals(1, jobStore.insertJobHistory(Collections.singletonList(newExecution("cjk", JOB_KEY, 1000L, message))));
+
+        String stored = jobStore.selectJobHistory(JOB_KEY, 0L, Long.MAX_VALUE, 10).get(0).getExceptionMessage();
+
+        assertEquals("按UTF-8字节数截断，不拆分多字节字符", 333, stored.length());
+        assertTrue(stored.getBytes(StandardCharsets.UTF_8).length <= 1000);
+    }
+
+    @Test
+    public void insertsRowByRowWhenBatchFails() throws Exception {
+        jobStore.insertJobHistory(Collections.singletonList(newExecution("duplicate", JOB_KEY, 1000L, null)));
+
+        // 主键冲突（SQLState 23）及超出列长度（SQLState 22）的记录跳过，其余记录写入
+        List<QuartzJobExecution> executions = Arrays.asList(
+                newExecution("first", JOB_KEY, 2000L, null),
+                newExecution("duplicate", JOB_KEY, 3000L, null),
+                newExecution("tooLong", JobKey.jobKey(StringUtils.repeat("x", 201), "history"), 4000L, null),
+                newExecution("last", JOB_KEY, 5000L, null));
+
+        assertEquals(2, jobStore.insertJobHistory(executions));
+        assertEquals(3, jobStore.selectJobHistory(JOB_KEY, 0L, Long.MAX_VALUE, 10).size());
+    }
+
+    private QuartzJobHistoryWriter newWriter(long retentionMillis) {
+        QuartzJobHistoryWriter writer = new QuartzJobHistoryWriter();
+        writer.setScheduler(scheduler);
+        writer.setRetentionMillis(retentionMillis);
+
+        return writer;
+    }
+
+    private static QuartzJobExecution newExecution(String entryId, JobKey jobKey, long startTime, String exceptionMessage) {
+        return new QuartzJobExecution(entryId, jobKey, TriggerKey.triggerKey("trigger", "history"), "instance", startTime, startTime + 10L,
+                exceptionMessage == null ? QuartzJobExecution.Outcome.SUCCEEDED : QuartzJobExecution.Outcome.FAILED,
+                exceptionMessage == null ? null : IllegalStateException.class.getName(), exceptionMessage);
+    }
+
+}
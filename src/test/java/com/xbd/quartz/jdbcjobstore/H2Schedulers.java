@@ -0,0 +1,52 @@
+package com.xbd.quartz.jdbcjobstore;
+
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.util.Properties;
+
+import org.h2.tools.RunScript;
+import org.quartz.Scheduler;
+import org.quartz.impl.StdSchedulerFactory;
+import org.quartz.impl.jdbcjobstore.StdJDBCDelegate;
+
+/**
+ * 以H2内存库及docs/dbTables/tables_h2.sql创建使用{@link QuartzJobStoreTX}的{@code Scheduler}，供测试使用
+ */
+public final class H2Schedulers {
+
+    private H2Schedulers() {
+    }
+
+    /**
+     * 创建未启动的{@code Scheduler}，每个名称对应一个独立的内存库，每次创建时重建表
+     */
+    public static Scheduler create(String schedulerName) throws Exception {
+        String url = "jdbc:h2:mem:" + schedulerName + ";DB_CLOSE_DELAY=-1;MVCC=TRUE";
+
+        try (Connection conn = DriverManager.getConnection(url, "sa", "");
+             Reader reader = Files.newBufferedReader(Paths.get("docs", "dbTables", "tables_h2.sql"), StandardCharsets.UTF_8)) {
+            conn.createStatement().execute("DROP ALL OBJECTS");
+
+            RunScript.execute(conn, reader);
+        }
+
+        Properties properties = new Properties();
+        properties.setProperty("org.quartz.scheduler.instanceName", schedulerName);
+        properties.setProperty("org.quartz.threadPool.threadCount", "2");
+        properties.setProperty("org.quartz.jobStore.class", QuartzJobStoreTX.class.getName());
+        properties.setProperty("org.quartz.jobStore.driverDelegateClass", StdJDBCDelegate.class.getName());
+        properties.setProperty("org.quartz.jobStore.dataSource", "h2");
+        properties.setProperty("org.quartz.dataSource.h2.driver", "org.h2.Driver");
+        properties.setProperty("org.quartz.dataSource.h2.URL", url);
+        properties.setProperty("org.quartz.dataSource.h2.user", "sa");
+        properties.setProperty("org.quartz.dataSource.h2.password", "");
+        properties.setProperty("org.quartz.dataSource.h2.maxConnections", "4");
+
+        return new StdSchedulerFactory(properties).getScheduler();
+    }
+
+}
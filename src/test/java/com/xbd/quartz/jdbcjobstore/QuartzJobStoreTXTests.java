@@ -0,0 +1,81 @@
+package com.xbd.quartz.jdbcjobstore;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.quartz.DisallowConcurrentExecution;
+import org.quartz.Job;
+import org.quartz.JobBuilder;
+import org.quartz.JobExecutionContext;
+import org.quartz.Scheduler;
+import org.quartz.SimpleScheduleBuilder;
+import org.quartz.Trigger;
+import org.quartz.TriggerBuilder;
+import org.quartz.TriggerKey;
+
+import static org.junit.Assert.assertEquals;
+
+public class QuartzJobStoreTXTests {
+
+    private static final String SCHEDULER_NAME = "jobStore";
+
+    private Scheduler scheduler;
+
+    @Before
+    public void init() throws Exception {
+        scheduler = H2Schedulers.create(SCHEDULER_NAME);
+    }
+
+    @After
+    public void destroy() throws Exception {
+        scheduler.shutdown(true);
+    }
+
+    @Test
+    public void resumesTriggerOfRunningNonConcurrentJobAsBlocked() throws Exception {
+        TriggerKey running = schedule("running");
+        TriggerKey idle = schedule("idle");
+
+        QuartzJobStoreTX jobStore = QuartzJobStoreTX.getInstance(SCHEDULER_NAME);
+
+        assertEquals(2, jobStore.pauseTriggerKeys(Arrays.asList(running, idle)));
+
+        try (Connection conn = DriverManager.getConnection("jdbc:h2:mem:" + SCHEDULER_NAME, "sa", "");
+             PreparedStatement ps = conn.prepareStatement("INSERT INTO QRTZ_FIRED_TRIGGERS (SCHED_NAME, ENTRY_ID, TRIGGER_NAME, TRIGGER_GROUP, "
+                     + "INSTANCE_NAME, FIRED_TIME, SCHED_TIME, PRIORITY, STATE, JOB_NAME, JOB_GROUP, IS_NONCONCURRENT, REQUESTS_RECOVERY) "
+                     + "VALUES (?, 'entry', 'other', 'resume', 'instance', 0, 0, 5, 'EXECUTING', 'running', 'resume', TRUE, FALSE)")) {
+            ps.setString(1, SCHEDULER_NAME);
+            ps.executeUpdate();
+        }
+
+        assertEquals(2, jobStore.resumeTriggerKeys(Arrays.asList(running, idle)));
+
+        assertEquals(Trigger.TriggerState.BLOCKED, scheduler.getTriggerState(running));
+        assertEquals(Trigger.TriggerState.NORMAL, scheduler.getTriggerState(idle));
+    }
+
+    private TriggerKey schedule(String name) throws Exception {
+        TriggerKey triggerKey = TriggerKey.triggerKey(name, "resume");
+
+        scheduler.scheduleJob(JobBuilder.newJob(NonConcurrentJob.class).withIdentity(name, "resume").build(),
+                TriggerBuilder.newTrigger().withIdentity(triggerKey).startNow()
+                        .withSchedule(SimpleScheduleBuilder.repeatMinutelyForever()).build());
+
+        return triggerKey;
+    }
+
+    @DisallowConcurrentExecution
+    public static class NonConcurrentJob implements Job {
+
+        @Override
+        public void execute(JobExecutionContext context) {
+        }
+
+    }
+
+}
@@ -0,0 +1,196 @@
+package com.xbd.quartz.listener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class QuartzListenerDispatcherTests {
+
+    private static final String KEY = "fireInstanceId";
+
+    private QuartzListenerDispatcher dispatcher;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @After
+    public void destroy() {
+        release.countDown();
+
+        if (dispatcher != null) {
+            dispatcher.shutdown(1000L);
+        }
+    }
+
+    @Test
+    public void keepsOrderPerKey() throws Exception {
+        dispatcher = new QuartzListenerDispatcher("test", 4, 10000, QuartzListenerDispatcher.OverflowPolicy.BLOCK);
+
+        int keys = 20;
+        int eventsPerKey = 200;
+
+        Map<Integer, List<Integer>> received = new HashMap<>();
+
+        for (int key = 0; key < keys; key++) {
+            received.put(key, Collections.synchronizedList(new ArrayList<>()));
+        }
+
+        CountDownLatch done = new CountDownLatch(keys * eventsPerKey);
+
+        for (int i = 0; i < eventsPerKey; i++) {
+            for (int key = 0; key < keys; key++) {
+                List<Integer> list = received.get(key);
+                int sequence = i;
+
+                dispatcher.publish(key, () -> {
+                    list.add(sequence);
+                    done.countDown();
+                });
+            }
+        }
+
+        assertTrue("回调未全部执行：" + done.getCount(), done.await(10, TimeUnit.SECONDS));
+
+        for (int key = 0; key < keys; key++) {
+            List<Integer> list = received.get(key);
+
+            assertEquals(eventsPerKey, list.size());
+
+            for (int i = 0; i < eventsPerKey; i++) {
+                assertEquals("Key " + key + "的回调顺序错误", Integer.valueOf(i), list.get(i));
+            }
+        }
+
+        assertEquals(keys * eventsPerKey, dispatcher.getDispatchedCount());
+        assertEquals(0, dispatcher.getDroppedCount());
+    }
+
+    @Test
+    public void dropNewestDiscardsIncomingEvent() throws Exception {
+        dispatcher = new QuartzListenerDispatcher("test", 1, 2, QuartzListenerDispatcher.OverflowPolicy.DROP_NEWEST);
+
+        blockDispatchThread();
+
+        List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+
+        for (int i = 0; i < 5; i++) {
+            int sequence = i;
+            dispatcher.publish(KEY, () -> received.add(sequence));
+        }
+
+        assertEquals(3, dispatcher.getDroppedCount());
+
+        release.countDown();
+        dispatcher.shutdown(5000L);
+
+        assertEquals("应保留最早的事件", Arrays.asList(0, 1), received);
+    }
+
+    @Test
+    public void dropOldestDiscardsQueuedEvent() throws Exception {
+        dispatcher = new QuartzListenerDispatcher("test", 1, 2, QuartzListenerDispatcher.OverflowPolicy.DROP_OLDEST);
+
+        blockDispatchThread();
+
+        List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+
+        for (int i = 0; i < 5; i++) {
+            int sequence = i;
+            dispatcher.publish(KEY, () -> received.add(sequence));
+        }
+
+        assertEquals(3, dispatcher.getDroppedCount());
+
+        release.countDown();
+        dispatcher.shutdown(5000L);
+
+        assertEquals("应保留最新的事件", Arrays.asList(3, 4), received);
+    }
+
+    @Test
+    public void callerRunsOnPublishingThread() throws Exception {
+        dispatcher = new QuartzListenerDispatcher("test", 1, 1, QuartzListenerDispatcher.OverflowPolicy.CALLER_RUNS);
+
+        blockDispatchThread();
+
+        dispatcher.publish(KEY, () -> { });
+
+        AtomicReference<Thread> thread = new AtomicReference<>();
+
+        dispatcher.publish(KEY, () -> thread.set(Thread.currentThread()));
+
+        assertSame("队列已满时应由发布线程回调", Thread.currentThread(), thread.get());
+        assertEquals(1, dispatcher.getCallerRunsCount());
+        assertEquals(0, dispatcher.getDroppedCount());
+    }
+
+    @Test
+    public void shutdownDrainsQueueWithoutInterrupting() throws Exception {
+        dispatcher = new QuartzListenerDispatcher("test", 1, 100, QuartzListenerDispatcher.OverflowPolicy.BLOCK);
+
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+
+        dispatcher.publish(KEY, () -> {
+            started.countDown();
+
+            long end = System.currentTimeMillis() + 200L;
+
+            while (System.currentTimeMillis() < end) {
+                if (Thread.currentThread().isInterrupted()) {
+                    interrupted.set(true);
+                }
+            }
+        });
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        CountDownLatch queued = new CountDownLatch(10);
+
+        for (int i = 0; i < 10; i++) {
+            dispatcher.publish(KEY, queued::countDown);
+        }
+
+        dispatcher.shutdown(5000L);
+
+        assertEquals("队列中的事件应在关闭前分发完毕", 0, queued.getCount());
+        assertFalse("进行中的回调不应被中断", interrupted.get());
+        assertEquals(11, dispatcher.getDispatchedCount());
+        assertEquals(0, dispatcher.getLag());
+
+        dispatcher = null;
+    }
+
+    /**
+     * 使唯一的分发线程阻塞在回调中，之后发布的事件只能进入队列
+     */
+    private void blockDispatchThread() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+
+        dispatcher.publish(KEY, () -> {
+            started.countDown();
+
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,170 @@
+package com.xbd.quartz.listener;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.Test;
+import org.quartz.Job;
+import org.quartz.JobBuilder;
+import org.quartz.JobDetail;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobKey;
+import org.quartz.Matcher;
+import org.quartz.TriggerBuilder;
+import org.quartz.impl.JobExecutionContextImpl;
+import org.quartz.impl.matchers.EverythingMatcher;
+import org.quartz.impl.matchers.GroupMatcher;
+import org.quartz.impl.matchers.KeyMatcher;
+import org.quartz.impl.matchers.NameMatcher;
+import org.quartz.impl.matchers.OrMatcher;
+import org.quartz.listeners.JobListenerSupport;
+import org.quartz.spi.OperableTrigger;
+import org.quartz.spi.TriggerFiredBundle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class QuartzListenerIndexTests {
+
+    private static final JobKey REPORT = JobKey.jobKey("report", "reports");
+
+    private static final JobKey DAILY_REPORT = JobKey.jobKey("dailyReport", "reports");
+
+    private static final JobKey CLEANUP = JobKey.jobKey("cleanup", "maintenance");
+
+    private static final JobKey REPORT_ARCHIVE = JobKey.jobKey("archive", "reports.archive");
+
+    private final List<String> fired = new CopyOnWriteArrayList<>();
+
+    @Test
+    public void matchesIndexedAndFilteredListenersInAddOrder() {
+        IndexedJobListener indexed = new IndexedJobListener();
+
+        JobListenerSupport byKey = listener("byKey");
+        JobListenerSupport byGroup = listener("byGroup");
+        JobListenerSupport byPrefix = listener("byPrefix");
+        JobListenerSupport anything = listener("anything");
+        JobListenerSupport everything = listener("everything");
+        JobListenerSupport unmatched = listener("unmatched");
+
+        indexed.addJobListener(byKey, KeyMatcher.keyEquals(REPORT));
+        indexed.addJobListener(byGroup, GroupMatcher.jobGroupEquals("reports"));
+        indexed.addJobListener(byPrefix, GroupMatcher.jobGroupStartsWith("reports"));
+        indexed.addJobListener(anything, GroupMatcher.anyJobGroup());
+        indexed.addJobListener(everything, EverythingMatcher.allJobs());
+        indexed.addJobListener(unmatched, KeyMatcher.keyEquals(JobKey.jobKey("missing", "reports")));
+
+        assertEquals(Arrays.asList(byKey, byGroup, byPrefix, anything, everything), indexed.getJobListeners(REPORT));
+        assertEquals(Arrays.asList(byGroup, byPrefix, anything, everything), indexed.getJobListeners(DAILY_REPORT));
+        assertEquals("分组前缀匹配逐个判断", Arrays.asList(byPrefix, anything, everything), indexed.getJobListeners(REPORT_ARCHIVE));
+        assertEquals(Arrays.asList(anything, everything), indexed.getJobListeners(CLEANUP));
+        assertEquals(Arrays.asList(byKey, byGroup, byPrefix, anything, everything, unmatched), indexed.getJobListeners());
+    }
+
+    @Test
+    public void matchesOrOfIndexableAndNonIndexableMatchers() {
+        IndexedJobListener indexed = new IndexedJobListener();
+
+        JobListenerSupport either = listener("either");
+
+        Matcher<JobKey> matcher = OrMatcher.or(KeyMatcher.keyEquals(CLEANUP), NameMatcher.jobNameEndsWith("Report"));
+
+        indexed.addJobListener(either, matcher);
+
+        assertEquals(Collections.singletonList(either), indexed.getJobListeners(CLEANUP));
+        assertEquals(Collections.singletonList(either), indexed.getJobListeners(DAILY_REPORT));
+        assertTrue(indexed.getJobListeners(REPORT).isEmpty());
+        assertTrue(indexed.getJobListeners(REPORT_ARCHIVE).isEmpty());
+    }
+
+    @Test
+    public void firesOnceWhenBothOrOperandsMatch() {
+        IndexedJobListener indexed = new IndexedJobListener();
+
+        JobListenerSupport before = listener("before");
+        JobListenerSupport either = listener("either");
+        JobListenerSupport after = listener("after");
+
+        indexed.addJobListener(before, GroupMatcher.jobGroupEquals("reports"));
+        indexed.addJobListener(either, OrMatcher.or(KeyMatcher.keyEquals(REPORT), GroupMatcher.jobGroupEquals("reports")));
+        indexed.addJobListener(after, KeyMatcher.keyEquals(REPORT));
+
+        assertEquals(Arrays.asList(before, either, after), indexed.getJobListeners(REPORT));
+        assertEquals(Arrays.asList(before, either), indexed.getJobListeners(DAILY_REPORT));
+        assertEquals(Arrays.asList(before, either, after), indexed.getJobListeners());
+
+        indexed.jobToBeExecuted(context(REPORT));
+
+        assertEquals(Arrays.asList("before", "either", "after"), fired);
+    }
+
+    @Test
+    public void removesListenerFromEveryIndex() {
+        IndexedJobListener indexed = new IndexedJobListener();
+
+        JobListenerSupport either = listener("either");
+        JobListenerSupport filtered = listener("filtered");
+        JobListenerSupport kept = listener("kept");
+
+        indexed.addJobListener(either, OrMatcher.or(KeyMatcher.keyEquals(REPORT), GroupMatcher.jobGroupEquals("maintenance")));
+        indexed.addJobListener(filtered, GroupMatcher.jobGroupStartsWith("reports"));
+        indexed.addJobListener(kept, GroupMatcher.jobGroupEquals("reports"));
+
+        assertSame(either, indexed.getJobListener("either"));
+        assertTrue(indexed.removeJobListener("either"));
+        assertFalse("已移除的监听器再次移除返回false", indexed.removeJobListener("either"));
+        assertNull(indexed.getJobListener("either"));
+
+        assertEquals(Arrays.asList(filtered, kept), indexed.getJobListeners(REPORT));
+        assertTrue(indexed.getJobListeners(CLEANUP).isEmpty());
+
+        assertTrue(indexed.removeJobListener("filtered"));
+
+        assertEquals(Collections.singletonList(kept), indexed.getJobListeners(REPORT));
+        assertEquals(Collections.singletonList(kept), indexed.getJobListeners());
+
+        indexed.jobToBeExecuted(context(REPORT));
+
+        assertEquals(Collections.singletonList("kept"), fired);
+    }
+
+    private JobListenerSupport listener(String name) {
+        return new JobListenerSupport() {
+
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public void jobToBeExecuted(JobExecutionContext context) {
+                fired.add(name);
+            }
+
+        };
+    }
+
+    private static JobExecutionContext context(JobKey jobKey) {
+        JobDetail jobDetail = JobBuilder.newJob(NoopJob.class).withIdentity(jobKey).build();
+        OperableTrigger trigger = (OperableTrigger) TriggerBuilder.newTrigger().forJob(jobDetail).build();
+
+        Date now = new Date();
+
+        return new JobExecutionContextImpl(null, new TriggerFiredBundle(jobDetail, trigger, null, false, now, now, null, null), new NoopJob());
+    }
+
+    public static class NoopJob implements Job {
+
+        @Override
+        public void execute(JobExecutionContext context) {
+        }
+
+    }
+
+}
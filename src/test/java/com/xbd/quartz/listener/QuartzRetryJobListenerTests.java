@@ -0,0 +1,196 @@
+package com.xbd.quartz.listener;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import com.xbd.quartz.AbstractQuartzJobBean;
+import com.xbd.quartz.QuartzRetryPolicy;
+import com.xbd.quartz.handler.DefaultQuartzTaskHandler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.quartz.JobBuilder;
+import org.quartz.JobDataMap;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.quartz.JobKey;
+import org.quartz.Scheduler;
+import org.quartz.Trigger;
+import org.quartz.TriggerKey;
+import org.quartz.impl.StdSchedulerFactory;
+import org.quartz.impl.matchers.GroupMatcher;
+import org.quartz.simpl.RAMJobStore;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class QuartzRetryJobListenerTests {
+
+    private static final JobKey JOB_KEY = JobKey.jobKey("failing", "retry");
+
+    private static final List<Integer> ATTEMPTS = new CopyOnWriteArrayList<>();
+
+    private Scheduler scheduler;
+
+    private QuartzRetryJobListener listener;
+
+    @Before
+    public void init() throws Exception {
+        ATTEMPTS.clear();
+
+        Properties properties = new Properties();
+        properties.setProperty("org.quartz.scheduler.instanceName", "retry");
+        properties.setProperty("org.quartz.threadPool.threadCount", "1");
+        properties.setProperty("org.quartz.jobStore.class", RAMJobStore.class.getName());
+
+        scheduler = new StdSchedulerFactory(properties).getScheduler();
+
+        DefaultQuartzTaskHandler handler = new DefaultQuartzTaskHandler();
+        handler.setScheduler(scheduler);
+
+        listener = new QuartzRetryJobListener();
+        listener.setQuartzTaskHandler(handler);
+
+        scheduler.getListenerManager().addJobListener(listener);
+        scheduler.start();
+    }
+
+    @After
+    public void destroy() throws Exception {
+        scheduler.shutdown(true);
+    }
+
+    @Test
+    public void backsOffExponentiallyUpToMaxInterval() throws Exception {
+        QuartzRetryPolicy policy = QuartzRetryPolicy.newPolicy(5).withBackoff(100L, 2.0D, 300L).withJitter(0D);
+
+        assertEquals(100L, policy.delayMillis(1));
+        assertEquals(200L, policy.delayMillis(2));
+        assertEquals(300L, policy.delayMillis(3));
+        assertEquals(300L, policy.delayMillis(4));
+
+        policy.withJitter(0.5D);
+
+        for (int i = 0; i < 100; i++) {
+            long delay = policy.delayMillis(2);
+
+            assertTrue(delay >= 100L && delay <= 300L);
+        }
+
+        JobDataMap jobDataMap = new JobDataMap(policy.retryOn(IOException.class).toJobData());
+
+        QuartzRetryPolicy restored = QuartzRetryPolicy.fromJobData(jobDataMap, getClass().getClassLoader());
+
+        assertEquals(policy.toString(), restored.toString());
+        assertTrue(restored.isRetryable(new JobExecutionException(new IOException())));
+        assertFalse(restored.isRetryable(new JobExecutionException(new IllegalStateException())));
+        assertNull(QuartzRetryPolicy.fromJobData(new JobDataMap(), getClass().getClassLoader()));
+    }
+
+    @Test
+    public void retriesUntilMaxAttemptsThenDeadLetters() throws Exception {
+        addJob(QuartzRetryPolicy.newPolicy(3).withBackoff(10L, 2.0D, 50L).withJitter(0D));
+
+        scheduler.triggerJob(JOB_KEY);
+
+        TriggerKey deadLetter = awaitDeadLetter();
+
+        assertEquals(Arrays.asList(1, 2, 3), ATTEMPTS);
+        assertEquals(2L, listener.getRetryCount());
+        assertEquals(1L, listener.getDeadLetterCount());
+
+        assertDeadLetter(deadLetter, 3, "attempt 3");
+        assertTrue("重试Trigger执行后应删除",
+                scheduler.getTriggerKeys(GroupMatcher.triggerGroupEquals(QuartzRetryJobListener.RETRY_TRIGGER_GROUP)).isEmpty());
+
+        // 恢复死信Trigger后重新执行，执行次数重新计算
+        scheduler.resumeTrigger(deadLetter);
+
+        awaitAttempts(4);
+
+        assertEquals(Integer.valueOf(1), ATTEMPTS.get(3));
+    }
+
+    @Test
+    public void deadLettersNonRetryableFailureImmediately() throws Exception {
+        addJob(QuartzRetryPolicy.newPolicy(3).withBackoff(10L, 2.0D, 50L).withJitter(0D).retryOn(IOException.class));
+
+        scheduler.triggerJob(JOB_KEY);
+
+        TriggerKey deadLetter = awaitDeadLetter();
+
+        assertEquals(Arrays.asList(1), ATTEMPTS);
+        assertEquals(0L, listener.getRetryCount());
+
+        assertDeadLetter(deadLetter, 1, "attempt 1");
+    }
+
+    private void addJob(QuartzRetryPolicy policy) throws Exception {
+        scheduler.addJob(JobBuilder.newJob(FailingJob.class).withIdentity(JOB_KEY).storeDurably()
+                .usingJobData(new JobDataMap(policy.toJobData())).build(), false);
+    }
+
+    private TriggerKey awaitDeadLetter() throws Exception {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+
+        Set<TriggerKey> triggerKeys;
+
+        while ((triggerKeys = scheduler.getTriggerKeys(GroupMatcher.triggerGroupEquals(QuartzRetryJobListener.DEAD_LETTER_TRIGGER_GROUP))).isEmpty()
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10L);
+        }
+
+        assertEquals(1, triggerKeys.size());
+
+        return triggerKeys.iterator().next();
+    }
+
+    private void awaitAttempts(int attempts) throws Exception {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+
+        while (ATTEMPTS.size() < attempts && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10L);
+        }
+
+        assertEquals(attempts, ATTEMPTS.size());
+    }
+
+    private void assertDeadLetter(TriggerKey triggerKey, int attempts, String cause) throws Exception {
+        Trigger trigger = scheduler.getTrigger(triggerKey);
+
+        assertEquals(Trigger.TriggerState.PAUSED, scheduler.getTriggerState(triggerKey));
+        assertEquals(JOB_KEY, trigger.getJobKey());
+        assertEquals(String.valueOf(attempts), trigger.getJobDataMap().getString(QuartzRetryJobListener.DEAD_LETTER_ATTEMPTS_KEY));
+        assertTrue(trigger.getJobDataMap().getString(QuartzRetryJobListener.DEAD_LETTER_CAUSE_KEY).contains(cause));
+        assertNull(trigger.getJobDataMap().get(QuartzRetryPolicy.ATTEMPT_KEY));
+    }
+
+    /**
+     * 每次执行均失败，记录执行次数
+     */
+    public static class FailingJob extends AbstractQuartzJobBean {
+
+        @Override
+        public String name() {
+            return "failing";
+        }
+
+        @Override
+        protected void executeInternalInternal(JobExecutionContext context) throws JobExecutionException {
+            int attempt = QuartzRetryJobListener.getAttempt(context.getMergedJobDataMap());
+
+            ATTEMPTS.add(attempt);
+
+            throw new JobExecutionException(new IllegalStateException("attempt " + attempt));
+        }
+
+    }
+
+}
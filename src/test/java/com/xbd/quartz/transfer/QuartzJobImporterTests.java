@@ -0,0 +1,160 @@
+package com.xbd.quartz.transfer;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import com.xbd.quartz.AbstractQuartzJobBean;
+import com.xbd.quartz.QuartzBatchResult;
+import com.xbd.quartz.QuartzJob;
+import com.xbd.quartz.handler.DefaultQuartzTaskHandler;
+import org.junit.Test;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobKey;
+import org.quartz.SchedulerException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class QuartzJobImporterTests {
+
+    private static final String JOB_CLASS = NoopJob.class.getName();
+
+    private final List<Map<JobKey, Integer>> chunks = new ArrayList<>();
+
+    @Test
+    public void mergesRowsOfSameJobIntoOneChunkEntry() throws Exception {
+        String csv = "name,group,jobClass,description,triggerType,triggerName,triggerGroup,cronExpression,repeatInterval,repeatCount\n"
+                + "job1,," + JOB_CLASS + ",,CRON,t1,,0 0 1 * * ?,,\n"
+                + "job1,," + JOB_CLASS + ",,CRON,t2,,0 0 2 * * ?,,\n"
+                + "job2,," + JOB_CLASS + ",,CRON,t3,,0 0 3 * * ?,,\n"
+                + "job1,," + JOB_CLASS + ",,CRON,t4,,0 0 4 * * ?,,\n"
+                + "job3,," + JOB_CLASS + ",,CRON,t5,,0 0 5 * * ?,,\n";
+
+        QuartzImportProgress progress = newImporter(2).importJobs(toStream(csv), 0, null);
+
+        assertEquals(2, chunks.size());
+        assertEquals("同一任务的多行应合并为一个任务", Integer.valueOf(3), chunks.get(0).get(JobKey.jobKey("job1")));
+        assertEquals(Integer.valueOf(1), chunks.get(0).get(JobKey.jobKey("job2")));
+        assertEquals(Collections.singleton(JobKey.jobKey("job3")), chunks.get(1).keySet());
+        assertEquals(3, progress.getSubmitted());
+        assertEquals(6, progress.getOffset());
+    }
+
+    @Test
+    public void offsetStopsBeforeFailedChunk() throws Exception {
+        String csv = "name,group,jobClass,description,triggerType,triggerName,triggerGroup,cronExpression,repeatInterval,repeatCount\n"
+                + "job1,," + JOB_CLASS + ",,CRON,t1,,0 0 1 * * ?,,\n"
+                + "bad,," + JOB_CLASS + ",,CRON,t2,,0 0 2 * * ?,,\n"
+                + "job3,," + JOB_CLASS + ",,CRON,t3,,0 0 3 * * ?,,\n";
+
+        List<Long> offsets = new ArrayList<>();
+
+        QuartzImportProgress progress = newImporter(1).importJobs(toStream(csv), 0, p -> offsets.add(p.getOffset()));
+
+        assertEquals(3, chunks.size());
+        assertEquals("offset只推进到全部写入成功的分块", 2L, progress.getOffset());
+        assertEquals(1, progress.getFailed());
+        assertEquals(2L, (long) offsets.get(offsets.size() - 1));
+    }
+
+    @Test
+    public void countsInvalidCronAsInvalidLine() throws Exception {
+        String csv = "name,group,jobClass,description,triggerType,triggerName,triggerGroup,cronExpression,repeatInterval,repeatCount\n"
+                + "job1,," + JOB_CLASS + ",,CRON,t1,,0 0 1 * * ?,,\n"
+                + "badCron,," + JOB_CLASS + ",,CRON,t2,,not a cron,,\n"
+                + "badType,," + JOB_CLASS + ",,DAILY,t3,,,,\n"
+                + "job2,," + JOB_CLASS + ",,CRON,t4,,0 0 4 * * ?,,\n";
+
+        QuartzImportProgress progress = newImporter(10).importJobs(toStream(csv), 0, null);
+
+        assertEquals(2, progress.getInvalid());
+        assertEquals(2, progress.getSubmitted());
+        assertEquals(5L, progress.getOffset());
+        assertEquals(new HashSet<>(Arrays.asList(JobKey.jobKey("job1"), JobKey.jobKey("job2"))), chunks.get(0).keySet());
+
+        QuartzJobImporter importer = newImporter(10);
+        importer.setFailOnInvalidLine(true);
+
+        try {
+            importer.importJobs(toStream(csv), 0, null);
+            fail("failOnInvalidLine为true时应以SchedulerException结束");
+        } catch (SchedulerException e) {
+            assertTrue(e.getMessage().contains("第3行"));
+        }
+    }
+
+    @Test
+    public void countsNonDurableJobWithoutTriggersAsInvalidLine() throws Exception {
+        String json = "{\"name\":\"job1\",\"jobClass\":\"" + JOB_CLASS + "\",\"triggers\":[{\"type\":\"CRON\",\"name\":\"t1\",\"cronExpression\":\"0 0 1 * * ?\"}]}\n"
+                + "{\"name\":\"transient\",\"jobClass\":\"" + JOB_CLASS + "\",\"durability\":false}\n"
+                + "{\"name\":\"badCron\",\"jobClass\":\"" + JOB_CLASS + "\",\"triggers\":[{\"type\":\"CRON\",\"name\":\"t2\",\"cronExpression\":\"* *\"}]}\n"
+                + "{\"name\":\"durable\",\"jobClass\":\"" + JOB_CLASS + "\"}\n";
+
+        QuartzJobImporter importer = newImporter(10, new JsonQuartzJobLineMapper());
+
+        QuartzImportProgress progress = importer.importJobs(toStream(json), 0, null);
+
+        assertEquals(2, progress.getInvalid());
+        assertEquals(2, progress.getSubmitted());
+        assertEquals(4L, progress.getOffset());
+        assertEquals(new HashSet<>(Arrays.asList(JobKey.jobKey("job1"), JobKey.jobKey("durable"))), chunks.get(0).keySet());
+    }
+
+    private QuartzJobImporter newImporter(int chunkSize) throws Exception {
+        return newImporter(chunkSize, new CsvQuartzJobLineMapper());
+    }
+
+    private QuartzJobImporter newImporter(int chunkSize, QuartzJobLineMapper lineMapper) throws Exception {
+        QuartzJobImporter importer = new QuartzJobImporter();
+        importer.setQuartzTaskHandler(new RecordingQuartzTaskHandler());
+        importer.setLineMapper(lineMapper);
+        importer.setChunkSize(chunkSize);
+        importer.afterPropertiesSet();
+
+        return importer;
+    }
+
+    private static ByteArrayInputStream toStream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 记录每个分块中各任务的Trigger数量，包含名为bad的任务时该分块失败
+     */
+    private class RecordingQuartzTaskHandler extends DefaultQuartzTaskHandler {
+
+        @Override
+        public List<QuartzBatchResult> saveJobs(Collection<QuartzJob> quartzJobs) {
+            chunks.add(quartzJobs.stream().collect(Collectors.toMap(QuartzJob::getKey, quartzJob -> quartzJob.getTriggers() == null ? 0 : quartzJob.getTriggers().size())));
+
+            List<JobKey> jobKeys = quartzJobs.stream().map(QuartzJob::getKey).collect(Collectors.toList());
+
+            SchedulerException exception = jobKeys.contains(JobKey.jobKey("bad")) ? new SchedulerException("bad job") : null;
+
+            return Collections.singletonList(new QuartzBatchResult(0, jobKeys, 0L, exception));
+        }
+    }
+
+    public static class NoopJob extends AbstractQuartzJobBean {
+
+        @Override
+        public String name() {
+            return "noop";
+        }
+
+        @Override
+        protected void executeInternalInternal(JobExecutionContext context) {
+        }
+
+    }
+
+}